@@ -0,0 +1,96 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import quizlogic.AnswerGrader;
+import quizlogic.dto.AnswerDTO;
+import quizlogic.dto.QuestionDTO;
+
+/**
+ * Benchmarks the grading of the answers selected by a user with
+ * {@link AnswerGrader#isCorrect(List, List)}.
+ * <p>
+ * The selections cycle through selecting all correct answers, only the first
+ * correct answer and a wrong answer, independently of the number of correct
+ * answers of the question, so every return path of the grader is taken. Debug
+ * mode must be off in the configuration, otherwise the measurement is
+ * dominated by console output.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx4g" })
+public class AnswerGradingBenchmark {
+
+	/** Number of questions in the bank */
+	@Param({ "1000", "100000", "1000000" })
+	private int bankSize;
+
+	/** Answers of the questions of the bank */
+	private List<List<AnswerDTO>> answers;
+
+	/** Selected answer indices per question */
+	private List<List<Integer>> selections;
+
+	/** Index of the next question to grade */
+	private int next;
+
+	/**
+	 * Generates the question bank and the selections.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		answers = new ArrayList<>(bankSize);
+		selections = new ArrayList<>(bankSize);
+		for (QuestionDTO question : SyntheticQuizData.questions(bankSize)) {
+			List<AnswerDTO> questionAnswers = question.getAnswers();
+			List<Integer> correct = new ArrayList<>();
+			for (int i = 0; i < questionAnswers.size(); i++) {
+				if (questionAnswers.get(i).isCorrect()) {
+					correct.add(i);
+				}
+			}
+			List<Integer> selection = switch (question.getId() / 3 % 3) {
+			case 0 -> correct;
+			case 1 -> correct.subList(0, 1);
+			default -> List.of(questionAnswers.size() - 1);
+			};
+			answers.add(questionAnswers);
+			selections.add(selection);
+		}
+		next = 0;
+	}
+
+	/**
+	 * Grades the selection of the next question.
+	 *
+	 * @return true if the selection is correct
+	 */
+	@Benchmark
+	public boolean grade() {
+		int index = next;
+		next = index + 1 == bankSize ? 0 : index + 1;
+		return AnswerGrader.isCorrect(selections.get(index), answers.get(index));
+	}
+}
@@ -0,0 +1,794 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import constants.ConfigManager;
+import constants.LogicConstants;
+import constants.UserStringConstants;
+import persistence.LatencyHistogram;
+import persistence.mariaDB.DBManager;
+import persistence.mariaDB.PooledConnection;
+import quizlogic.dto.AnswerDTO;
+import quizlogic.dto.QuestionDTO;
+import quizlogic.dto.QuizSessionDTO;
+import quizlogic.dto.ThemeDTO;
+import quizlogic.dto.UserAnswerDTO;
+
+/**
+ * Scaling benchmark of the {@link DBManager} against a local MariaDB server.
+ * <p>
+ * The driver creates a dedicated benchmark database from the setup script
+ * {@code quizzle.sql} and loads synthetic question banks of growing size into
+ * it, each together with a matching session history of
+ * {@value #SESSIONS_PER_1000_QUESTIONS} sessions per 1,000 questions. For
+ * every bank size, every operation and every number of concurrent callers the
+ * operation is called in a loop by all callers for the warmup time and then
+ * for the measurement time. Throughput and latency percentiles of the
+ * measurement are written as CSV and JSON after every run, so a long run can
+ * be evaluated while it is still going.
+ * <p>
+ * Sessions and questions written during a run are removed after it, so every
+ * run sees the loaded data only. Operations loading the whole catalog are
+ * measured with a single caller, many concurrent copies of a large catalog
+ * would measure the heap instead of the database.
+ * <p>
+ * Arguments are given as {@code key=value}:
+ * <ul>
+ * <li>{@code url} – JDBC URL of the server without database, default
+ * {@value #DEFAULT_SERVER_URL}</li>
+ * <li>{@code database} – benchmark database, must end with
+ * {@value #DATABASE_SUFFIX}; it is dropped and created again, default
+ * {@value #DEFAULT_DATABASE}</li>
+ * <li>{@code user}, {@code password} – database account, default from the
+ * configuration</li>
+ * <li>{@code sizes} – bank sizes, default {@value #DEFAULT_SIZES}</li>
+ * <li>{@code callers} – numbers of concurrent callers, default
+ * {@value #DEFAULT_CALLERS}</li>
+ * <li>{@code poolSize} – connection pool size, default the largest number of
+ * callers</li>
+ * <li>{@code warmup}, {@code measure} – seconds per run, default
+ * {@value #DEFAULT_WARMUP_SECONDS} and {@value #DEFAULT_MEASURE_SECONDS}</li>
+ * <li>{@code operations} – operations to measure, default all</li>
+ * <li>{@code schema} – setup script, default {@value #DEFAULT_SCHEMA}</li>
+ * <li>{@code out} – result directory, default {@value #DEFAULT_OUT}</li>
+ * </ul>
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public final class DBManagerScalingBenchmark {
+
+	/** Default JDBC URL of the server */
+	private static final String DEFAULT_SERVER_URL = "jdbc:mariadb://localhost:3306/";
+
+	/** Default name of the benchmark database */
+	private static final String DEFAULT_DATABASE = "quizzle_bench";
+
+	/** Name suffix of a benchmark database, protects other databases */
+	private static final String DATABASE_SUFFIX = "_bench";
+
+	/** Default bank sizes */
+	private static final String DEFAULT_SIZES = "10000,100000,1000000";
+
+	/** Default numbers of concurrent callers */
+	private static final String DEFAULT_CALLERS = "1,8,64";
+
+	/** Default warmup time per run in seconds */
+	private static final int DEFAULT_WARMUP_SECONDS = 5;
+
+	/** Default measurement time per run in seconds */
+	private static final int DEFAULT_MEASURE_SECONDS = 15;
+
+	/** Default setup script */
+	private static final String DEFAULT_SCHEMA = "src/persistence/mariaDB/quizzle.sql";
+
+	/** Default result directory */
+	private static final String DEFAULT_OUT = "bench/results";
+
+	/** Sessions in the history per 1,000 questions */
+	private static final int SESSIONS_PER_1000_QUESTIONS = 10;
+
+	/** Answered questions per session */
+	private static final int ANSWERS_PER_SESSION = 20;
+
+	/** Number of simulated users the sessions belong to */
+	private static final int USERS = 50;
+
+	/** Time span of the session history in days */
+	private static final int HISTORY_DAYS = 365;
+
+	/** Largest number of questions whose answers are loaded for sessions */
+	private static final int MAX_ANSWER_REFERENCES = 20_000;
+
+	/** Limit of the queries for recent sessions */
+	private static final int RECENT_LIMIT = 20;
+
+	/** Time span of the streamed sessions in days */
+	private static final int STREAM_DAYS = 30;
+
+	/** SQL statement removing the sessions written by a run */
+	private static final String SQL_DELETE_SESSIONS_AFTER = "DELETE FROM QuizSession WHERE id > ?";
+
+	/** SQL statement removing the questions written by a run */
+	private static final String SQL_DELETE_QUESTIONS_AFTER = "DELETE FROM Questions WHERE id > ?";
+
+	/** SQL query for the largest session ID */
+	private static final String SQL_MAX_SESSION_ID = "SELECT COALESCE(MAX(id), 0) FROM QuizSession";
+
+	/** SQL query for the largest question ID */
+	private static final String SQL_MAX_QUESTION_ID = "SELECT COALESCE(MAX(id), 0) FROM Questions";
+
+	/** CSV header of the results */
+	private static final String CSV_HEADER = "bankSize,operation,callers,calls,errors,seconds,throughputPerSec,"
+			+ "meanUs,p50Us,p95Us,p99Us,maxUs";
+
+	/**
+	 * A call of a measured operation.
+	 */
+	@FunctionalInterface
+	private interface Call {
+
+		/**
+		 * Calls the operation once.
+		 *
+		 * @param caller state of the calling thread
+		 * @return true if the call succeeded
+		 * @throws Exception if the call failed
+		 */
+		boolean run(Caller caller) throws Exception;
+	}
+
+	/**
+	 * A measured operation.
+	 *
+	 * @param name         name of the operation, the name of the method
+	 * @param singleCaller true if the operation is measured with one caller
+	 *                     only
+	 * @param write        true if the operation writes data
+	 * @param call         the call of the operation
+	 */
+	private record Operation(String name, boolean singleCaller, boolean write, Call call) {
+	}
+
+	/**
+	 * Result of one run.
+	 *
+	 * @param bankSize  number of questions in the bank
+	 * @param operation name of the operation
+	 * @param callers   number of concurrent callers
+	 * @param calls     number of measured calls
+	 * @param errors    number of failed calls
+	 * @param seconds   duration of the measurement
+	 * @param latency   latencies of the measured calls
+	 */
+	private record Result(int bankSize, String operation, int callers, long calls, long errors, double seconds,
+			LatencyHistogram latency) {
+
+		/**
+		 * Returns the calls per second.
+		 *
+		 * @return the throughput
+		 */
+		double throughput() {
+			return seconds > 0 ? calls / seconds : 0;
+		}
+	}
+
+	/**
+	 * Answer of a question that sessions can refer to.
+	 *
+	 * @param questionId ID of the question
+	 * @param answerId   ID of the answer
+	 * @param correct    true if the answer is correct
+	 */
+	private record AnswerReference(int questionId, int answerId, boolean correct) {
+	}
+
+	/**
+	 * State of a calling thread.
+	 */
+	private final class Caller {
+
+		/** Random numbers of the caller */
+		private final Random random = ThreadLocalRandom.current();
+
+		/** Session the caller appends answers to, created on first use */
+		private QuizSessionDTO session;
+
+		/**
+		 * Returns a random theme of the bank.
+		 *
+		 * @return the theme
+		 */
+		private ThemeDTO theme() {
+			return themes.get(random.nextInt(themes.size()));
+		}
+
+		/**
+		 * Returns a random question ID of the bank.
+		 *
+		 * @return the question ID
+		 */
+		private int questionId() {
+			return questionIds[random.nextInt(loadedQuestions)];
+		}
+
+		/**
+		 * Returns a random answer that sessions can refer to.
+		 *
+		 * @return the answer
+		 */
+		private AnswerReference answer() {
+			return answerReferences.get(random.nextInt(answerReferences.size()));
+		}
+	}
+
+	/** Database under test */
+	private final DBManager database = DBManager.getInstance();
+
+	/** Settings of the benchmark */
+	private final Map<String, String> settings;
+
+	/** Themes of the loaded bank */
+	private final List<ThemeDTO> themes = new ArrayList<>();
+
+	/** IDs of the loaded questions */
+	private int[] questionIds = new int[0];
+
+	/** Number of loaded questions */
+	private int loadedQuestions;
+
+	/** Number of loaded sessions */
+	private int loadedSessions;
+
+	/** Answers the generated sessions refer to */
+	private List<AnswerReference> answerReferences = new ArrayList<>();
+
+	/** Largest session ID of the loaded history */
+	private int maxLoadedSessionId;
+
+	/** Largest question ID of the loaded bank */
+	private int maxLoadedQuestionId;
+
+	/** Results of all runs */
+	private final List<Result> results = new ArrayList<>();
+
+	/** CSV result file */
+	private Path csvFile;
+
+	/** JSON result file */
+	private Path jsonFile;
+
+	/**
+	 * Creates a benchmark with the given settings.
+	 *
+	 * @param settings the settings by key
+	 */
+	private DBManagerScalingBenchmark(Map<String, String> settings) {
+		this.settings = settings;
+	}
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args settings as {@code key=value}
+	 * @throws Exception if the benchmark cannot run
+	 */
+	public static void main(String[] args) throws Exception {
+		Map<String, String> settings = new HashMap<>();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (separator <= 0) {
+				throw new IllegalArgumentException("Expected key=value: " + arg);
+			}
+			settings.put(arg.substring(0, separator), arg.substring(separator + 1));
+		}
+		new DBManagerScalingBenchmark(settings).run();
+	}
+
+	/**
+	 * Creates the database, then loads and measures every bank size.
+	 *
+	 * @throws Exception if the benchmark cannot run
+	 */
+	private void run() throws Exception {
+		ConfigManager configManager = ConfigManager.getInstance();
+		String serverUrl = setting("url", DEFAULT_SERVER_URL);
+		String databaseName = setting("database", DEFAULT_DATABASE);
+		String user = setting("user", configManager.getDatabaseUser());
+		String password = setting("password", configManager.getDatabasePassword());
+		int[] sizes = numbers(setting("sizes", DEFAULT_SIZES));
+		int[] callers = numbers(setting("callers", DEFAULT_CALLERS));
+		int maxCallers = Arrays.stream(callers).max().orElse(1);
+		long warmupNanos = TimeUnit.SECONDS.toNanos(Integer.parseInt(setting("warmup", "" + DEFAULT_WARMUP_SECONDS)));
+		long measureNanos = TimeUnit.SECONDS
+				.toNanos(Integer.parseInt(setting("measure", "" + DEFAULT_MEASURE_SECONDS)));
+		List<String> selected = settings.containsKey("operations")
+				? Arrays.asList(settings.get("operations").split(","))
+				: null;
+		Arrays.sort(sizes);
+
+		if (!databaseName.matches("\\w+") || !databaseName.endsWith(DATABASE_SUFFIX)) {
+			throw new IllegalArgumentException("Benchmark database name must end with " + DATABASE_SUFFIX);
+		}
+		createDatabase(serverUrl, databaseName, user, password, Paths.get(setting("schema", DEFAULT_SCHEMA)));
+
+		configManager.setProperty(ConfigManager.DB_URL, serverUrl + databaseName);
+		configManager.setProperty(ConfigManager.DB_USER, user);
+		configManager.setProperty(ConfigManager.DB_PASSWORD, password);
+		configManager.setProperty(ConfigManager.DB_READ_URL, "");
+		configManager.setIntProperty(ConfigManager.DB_POOL_MAX_SIZE,
+				Integer.parseInt(setting("poolSize", "" + maxCallers)));
+		configManager.setDebugMode(false);
+		database.connect();
+
+		Path out = Paths.get(setting("out", DEFAULT_OUT));
+		Files.createDirectories(out);
+		String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+		csvFile = out.resolve("dbmanager-scaling-" + stamp + ".csv");
+		jsonFile = out.resolve("dbmanager-scaling-" + stamp + ".json");
+
+		try {
+			for (int size : sizes) {
+				load(size);
+				for (Operation operation : operations()) {
+					if (selected != null && !selected.contains(operation.name())) {
+						continue;
+					}
+					for (int count : callers) {
+						if (operation.singleCaller() && count > 1) {
+							continue;
+						}
+						Result result = measure(size, operation, count, warmupNanos, measureNanos);
+						if (operation.write()) {
+							removeWrittenData();
+						}
+						results.add(result);
+						writeResults();
+						System.out.println(csvRow(result));
+					}
+				}
+			}
+		} finally {
+			database.disconnect();
+		}
+		System.out.println("Results written to " + csvFile.toAbsolutePath() + " and " + jsonFile.toAbsolutePath());
+	}
+
+	/**
+	 * Returns the measured operations.
+	 *
+	 * @return the operations in measurement order
+	 */
+	private List<Operation> operations() {
+		List<Operation> operations = new ArrayList<>();
+		operations.add(new Operation("getRandomQuestion", false, false, c -> database.getRandomQuestion() != null));
+		operations.add(new Operation("getRandomQuestionFor", false, false,
+				c -> database.getRandomQuestionFor(c.theme()) != null));
+		operations.add(new Operation("getRandomQuestionWithAnswers", false, false,
+				c -> database.getRandomQuestionWithAnswers(c.theme()) != null));
+		operations.add(new Operation("getAllThemes", false, false, c -> !database.getAllThemes().isEmpty()));
+		operations.add(new Operation("getThemeTitles", false, false, c -> !database.getThemeTitles().isEmpty()));
+		operations.add(new Operation("getQuestionsFor", false, false,
+				c -> !database.getQuestionsFor(c.theme()).isEmpty()));
+		operations.add(new Operation("streamQuestions", false, false, c -> {
+			try (Stream<QuestionDTO> questions = database.streamQuestions(c.theme())) {
+				return questions.count() > 0;
+			}
+		}));
+		operations.add(new Operation("getQuestionListEntries", false, false,
+				c -> !database.getQuestionListEntries(c.theme().getThemeTitle()).isEmpty()));
+		operations.add(new Operation("getQuestionByGlobalIndex", false, false,
+				c -> database.getQuestionByGlobalIndex(c.random.nextInt(loadedQuestions)) != null));
+		operations.add(new Operation("getAnswersFor", false, false,
+				c -> !database.getAnswersFor(new QuestionDTO(c.questionId())).isEmpty()));
+		operations.add(new Operation("loadCatalog", true, false, c -> !database.loadCatalog().isEmpty()));
+		operations.add(new Operation("getAllQuizSessions", false, false,
+				c -> !database.getAllQuizSessions().isEmpty()));
+		operations.add(new Operation("getRecentQuizSessions", false, false,
+				c -> !database.getRecentQuizSessions(RECENT_LIMIT).isEmpty()));
+		operations.add(new Operation("streamSessions", false, false, c -> {
+			Date since = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(STREAM_DAYS));
+			try (Stream<QuizSessionDTO> sessions = database.streamSessions(since)) {
+				sessions.count();
+				return true;
+			}
+		}));
+		operations.add(new Operation("getQuizStatistics", false, false,
+				c -> database.getQuizStatistics().totalSessions() > 0));
+		operations.add(new Operation("getRecentSessionSummaries", false, false,
+				c -> !database.getRecentSessionSummaries(RECENT_LIMIT).isEmpty()));
+		operations.add(new Operation("saveQuizSession", false, true,
+				c -> database.saveQuizSession(session(c.random, new Date())) == null));
+		// A caller appends to one session until it is twice the usual size, the
+		// call after that starts a new session
+		operations.add(new Operation("appendUserAnswers", false, true, c -> {
+			if (c.session == null || c.session.getUserAnswers().size() >= 2 * ANSWERS_PER_SESSION) {
+				c.session = session(c.random, new Date());
+				if (database.saveQuizSession(c.session) != null) {
+					c.session = null;
+					return false;
+				}
+			}
+			UserAnswerDTO answer = userAnswer(c.answer());
+			c.session.addUserAnswer(answer);
+			return database.appendUserAnswers(c.session, List.of(answer)) == null;
+		}));
+		operations.add(new Operation("saveQuestion+deleteQuestion", false, true, c -> {
+			QuestionDTO question = SyntheticQuizData.unsavedQuestion(c.random.nextInt(Integer.MAX_VALUE));
+			database.saveQuestion(question, c.theme());
+			return question.getId() > 0 && UserStringConstants.DB_MSG_QUESTION_DELETED_SUCCESS
+					.equals(database.deleteQuestion(question));
+		}));
+		return operations;
+	}
+
+	/**
+	 * Measures one operation with a number of concurrent callers. Every caller
+	 * makes at least one measured call, so slow operations are measured as
+	 * well.
+	 *
+	 * @param size         number of questions in the bank
+	 * @param operation    the operation
+	 * @param callers      number of concurrent callers
+	 * @param warmupNanos  warmup time
+	 * @param measureNanos measurement time
+	 * @return the result
+	 * @throws InterruptedException if interrupted while waiting for the callers
+	 */
+	private Result measure(int size, Operation operation, int callers, long warmupNanos, long measureNanos)
+			throws InterruptedException {
+		database.clearMappings();
+		LatencyHistogram latency = new LatencyHistogram();
+		LongAdder errors = new LongAdder();
+		LongAccumulator lastEnd = new LongAccumulator(Math::max, Long.MIN_VALUE);
+		CountDownLatch start = new CountDownLatch(1);
+		long[] window = new long[2];
+		Thread[] threads = new Thread[callers];
+		for (int i = 0; i < callers; i++) {
+			threads[i] = new Thread(() -> {
+				Caller caller = new Caller();
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				boolean measured = false;
+				long now = System.nanoTime();
+				while (now < window[1] || !measured) {
+					boolean succeeded;
+					try {
+						succeeded = operation.call().run(caller);
+					} catch (Exception e) {
+						succeeded = false;
+					}
+					long end = System.nanoTime();
+					if (now >= window[0]) {
+						latency.record(end - now);
+						if (!succeeded) {
+							errors.increment();
+						}
+						lastEnd.accumulate(end);
+						measured = true;
+					}
+					now = end;
+				}
+			}, "quizzle-bench-caller-" + i);
+			threads[i].start();
+		}
+		window[0] = System.nanoTime() + warmupNanos;
+		window[1] = window[0] + measureNanos;
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		double seconds = Math.max(measureNanos, lastEnd.get() - window[0]) / 1e9;
+		return new Result(size, operation.name(), callers, latency.getCount(), errors.sum(), seconds, latency);
+	}
+
+	/**
+	 * Loads the bank up to a size together with its session history. Banks grow
+	 * from one size to the next, so only the missing questions and sessions are
+	 * loaded.
+	 *
+	 * @param size number of questions of the bank
+	 */
+	private void load(int size) {
+		long started = System.nanoTime();
+		questionIds = Arrays.copyOf(questionIds, Math.max(size, questionIds.length));
+		while (loadedQuestions < size) {
+			ThemeDTO theme = new ThemeDTO("Theme " + (themes.size() + 1),
+					"Synthetic theme " + (themes.size() + 1) + " for benchmarks");
+			database.saveTheme(theme);
+			if (theme.getId() <= 0) {
+				throw new IllegalStateException("Creating " + theme.getThemeTitle() + " failed");
+			}
+			List<QuestionDTO> questions = new ArrayList<>(SyntheticQuizData.THEME_SIZE);
+			for (int i = 0; i < SyntheticQuizData.THEME_SIZE && loadedQuestions + i < size; i++) {
+				questions.add(SyntheticQuizData.unsavedQuestion(loadedQuestions + i + 1));
+			}
+			String error = database.importQuestions(Map.of(theme, questions));
+			if (error != null) {
+				throw new IllegalStateException(error);
+			}
+			ThemeDTO reference = new ThemeDTO(theme.getId());
+			reference.setThemeTitle(theme.getThemeTitle());
+			themes.add(reference);
+			for (QuestionDTO question : questions) {
+				questionIds[loadedQuestions++] = question.getId();
+			}
+		}
+		long questionsLoaded = System.nanoTime();
+
+		loadAnswerReferences();
+		int sessions = (int) ((long) size * SESSIONS_PER_1000_QUESTIONS / 1000);
+		Random random = new Random(size);
+		long now = System.currentTimeMillis();
+		for (; loadedSessions < sessions; loadedSessions++) {
+			Date timestamp = new Date(now - (long) (random.nextDouble() * TimeUnit.DAYS.toMillis(HISTORY_DAYS)));
+			String error = database.saveQuizSession(session(random, timestamp));
+			if (error != null) {
+				throw new IllegalStateException(error);
+			}
+		}
+		maxLoadedSessionId = queryInt(SQL_MAX_SESSION_ID);
+		maxLoadedQuestionId = queryInt(SQL_MAX_QUESTION_ID);
+		long finished = System.nanoTime();
+		System.out.printf(Locale.ROOT, "Loaded %d questions in %.1f s and %d sessions in %.1f s%n", loadedQuestions,
+				(questionsLoaded - started) / 1e9, loadedSessions, (finished - questionsLoaded) / 1e9);
+	}
+
+	/**
+	 * Loads the answers of a random sample of the bank for the generated
+	 * sessions.
+	 */
+	private void loadAnswerReferences() {
+		Random random = new Random(loadedQuestions);
+		int count = Math.min(loadedQuestions, MAX_ANSWER_REFERENCES);
+		List<AnswerReference> references = new ArrayList<>(count * SyntheticQuizData.ANSWERS_PER_QUESTION);
+		for (int i = 0; i < count; i++) {
+			int questionId = questionIds[random.nextInt(loadedQuestions)];
+			for (AnswerDTO answer : database.getAnswersFor(new QuestionDTO(questionId))) {
+				references.add(new AnswerReference(questionId, answer.getId(), answer.isCorrect()));
+			}
+		}
+		answerReferences = references;
+	}
+
+	/**
+	 * Creates a new session with random answers.
+	 *
+	 * @param random    random numbers
+	 * @param timestamp time of the session
+	 * @return the session
+	 */
+	private QuizSessionDTO session(Random random, Date timestamp) {
+		QuizSessionDTO session = new QuizSessionDTO(timestamp, 1 + random.nextInt(USERS));
+		for (int i = 0; i < ANSWERS_PER_SESSION; i++) {
+			session.addUserAnswer(userAnswer(answerReferences.get(random.nextInt(answerReferences.size()))));
+		}
+		return session;
+	}
+
+	/**
+	 * Creates a new user answer selecting an answer.
+	 *
+	 * @param answer the selected answer
+	 * @return the user answer
+	 */
+	private static UserAnswerDTO userAnswer(AnswerReference answer) {
+		return new UserAnswerDTO(LogicConstants.INVALID_ID, answer.questionId(), answer.answerId(), true,
+				answer.correct());
+	}
+
+	/**
+	 * Removes the sessions and questions written by a run.
+	 *
+	 * @throws SQLException if the data cannot be removed
+	 */
+	private void removeWrittenData() throws SQLException {
+		try (PooledConnection pooled = database.borrowConnection()) {
+			try (PreparedStatement sessions = pooled.getConnection().prepareStatement(SQL_DELETE_SESSIONS_AFTER);
+					PreparedStatement questions = pooled.getConnection()
+							.prepareStatement(SQL_DELETE_QUESTIONS_AFTER)) {
+				sessions.setInt(1, maxLoadedSessionId);
+				sessions.executeUpdate();
+				questions.setInt(1, maxLoadedQuestionId);
+				questions.executeUpdate();
+			}
+			pooled.getConnection().commit();
+		}
+	}
+
+	/**
+	 * Runs a query returning a single number.
+	 *
+	 * @param sql the query
+	 * @return the number
+	 */
+	private int queryInt(String sql) {
+		try (PooledConnection pooled = database.borrowConnection();
+				Statement statement = pooled.getConnection().createStatement();
+				ResultSet rs = statement.executeQuery(sql)) {
+			rs.next();
+			return rs.getInt(1);
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Drops and creates the benchmark database and runs the setup script in it.
+	 * The statements creating and selecting the database of the application are
+	 * skipped.
+	 *
+	 * @param serverUrl    JDBC URL of the server
+	 * @param databaseName name of the benchmark database
+	 * @param user         database user
+	 * @param password     database password
+	 * @param schema       setup script
+	 * @throws SQLException if the database cannot be created
+	 * @throws IOException  if the setup script cannot be read
+	 */
+	private static void createDatabase(String serverUrl, String databaseName, String user, String password,
+			Path schema) throws SQLException, IOException {
+		StringBuilder script = new StringBuilder();
+		for (String line : Files.readAllLines(schema, StandardCharsets.UTF_8)) {
+			if (!line.trim().startsWith("--")) {
+				script.append(line).append('\n');
+			}
+		}
+		try (Connection connection = DriverManager.getConnection(serverUrl, user, password);
+				Statement statement = connection.createStatement()) {
+			statement.execute("DROP DATABASE IF EXISTS " + databaseName);
+			statement.execute("CREATE DATABASE " + databaseName);
+			statement.execute("USE " + databaseName);
+			for (String sql : script.toString().split(";")) {
+				String trimmed = sql.trim();
+				String upper = trimmed.toUpperCase(Locale.ROOT);
+				if (trimmed.isEmpty() || upper.startsWith("CREATE DATABASE") || upper.startsWith("USE ")) {
+					continue;
+				}
+				statement.execute(trimmed);
+			}
+		}
+		System.out.println("Created benchmark database " + databaseName);
+	}
+
+	/**
+	 * Writes all results as CSV and JSON.
+	 *
+	 * @throws IOException if a file cannot be written
+	 */
+	private void writeResults() throws IOException {
+		try (Writer csv = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8)) {
+			csv.write(CSV_HEADER);
+			csv.write('\n');
+			for (Result result : results) {
+				csv.write(csvRow(result));
+				csv.write('\n');
+			}
+		}
+		try (Writer json = Files.newBufferedWriter(jsonFile, StandardCharsets.UTF_8)) {
+			json.write("[\n");
+			for (int i = 0; i < results.size(); i++) {
+				json.write(jsonRecord(results.get(i)));
+				json.write(i + 1 < results.size() ? ",\n" : "\n");
+			}
+			json.write("]\n");
+		}
+	}
+
+	/**
+	 * Formats a result as CSV row.
+	 *
+	 * @param result the result
+	 * @return the row
+	 */
+	private static String csvRow(Result result) {
+		LatencyHistogram latency = result.latency();
+		return String.format(Locale.ROOT, "%d,%s,%d,%d,%d,%.3f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f", result.bankSize(),
+				result.operation(), result.callers(), result.calls(), result.errors(), result.seconds(),
+				result.throughput(), micros(latency.getMeanNanos()), micros(latency.getPercentileNanos(50)),
+				micros(latency.getPercentileNanos(95)), micros(latency.getPercentileNanos(99)),
+				micros(latency.getMaxNanos()));
+	}
+
+	/**
+	 * Formats a result as JSON object.
+	 *
+	 * @param result the result
+	 * @return the object
+	 */
+	private static String jsonRecord(Result result) {
+		LatencyHistogram latency = result.latency();
+		Map<String, Object> fields = new LinkedHashMap<>();
+		fields.put("bankSize", result.bankSize());
+		fields.put("operation", result.operation());
+		fields.put("callers", result.callers());
+		fields.put("calls", result.calls());
+		fields.put("errors", result.errors());
+		fields.put("seconds", result.seconds());
+		fields.put("throughputPerSec", result.throughput());
+		fields.put("meanUs", micros(latency.getMeanNanos()));
+		fields.put("p50Us", micros(latency.getPercentileNanos(50)));
+		fields.put("p95Us", micros(latency.getPercentileNanos(95)));
+		fields.put("p99Us", micros(latency.getPercentileNanos(99)));
+		fields.put("maxUs", micros(latency.getMaxNanos()));
+		StringBuilder sb = new StringBuilder("  {");
+		for (Map.Entry<String, Object> field : fields.entrySet()) {
+			if (sb.length() > 3) {
+				sb.append(", ");
+			}
+			sb.append('"').append(field.getKey()).append("\": ");
+			Object value = field.getValue();
+			if (value instanceof String text) {
+				sb.append('"').append(text).append('"');
+			} else if (value instanceof Double number) {
+				sb.append(String.format(Locale.ROOT, "%.3f", number));
+			} else {
+				sb.append(value);
+			}
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * Converts nanoseconds to microseconds.
+	 *
+	 * @param nanos duration in nanoseconds
+	 * @return duration in microseconds
+	 */
+	private static double micros(long nanos) {
+		return nanos / 1000.0;
+	}
+
+	/**
+	 * Returns a setting.
+	 *
+	 * @param key          key of the setting
+	 * @param defaultValue value if the setting is not given
+	 * @return the value
+	 */
+	private String setting(String key, String defaultValue) {
+		return settings.getOrDefault(key, defaultValue);
+	}
+
+	/**
+	 * Parses a comma separated list of numbers.
+	 *
+	 * @param list the list
+	 * @return the numbers
+	 */
+	private static int[] numbers(String list) {
+		return Arrays.stream(list.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+	}
+}
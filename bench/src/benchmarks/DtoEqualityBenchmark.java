@@ -0,0 +1,206 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import quizlogic.DataTransportObject;
+import quizlogic.dto.QuestionDTO;
+import quizlogic.dto.ThemeDTO;
+
+/**
+ * Benchmarks {@link DataTransportObject#equals(Object)} and
+ * {@link DataTransportObject#hashCode()} of the question and theme DTOs.
+ * <p>
+ * Every comparison is made against an equal copy, not the same instance, so
+ * the identity shortcut is never taken. The three equality paths of
+ * {@link QuestionDTO} are measured separately: persisted against persisted
+ * (ID), new against new (content) and new against persisted (title). The
+ * single-object benchmarks walk through the bank, so with large banks they
+ * include the cache misses of real collections; the set benchmarks hash the
+ * whole bank.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx4g" })
+public class DtoEqualityBenchmark {
+
+	/** Number of questions in the bank */
+	@Param({ "1000", "100000", "1000000" })
+	private int bankSize;
+
+	/** Persisted questions of the bank */
+	private List<QuestionDTO> persisted;
+
+	/** Persisted copies of the questions with the same IDs */
+	private List<QuestionDTO> persistedCopies;
+
+	/** New questions with the content of the bank */
+	private List<QuestionDTO> unsaved;
+
+	/** New copies of the new questions */
+	private List<QuestionDTO> unsavedCopies;
+
+	/** Themes of the bank */
+	private List<ThemeDTO> themes;
+
+	/** Set holding the persisted questions */
+	private Set<QuestionDTO> persistedSet;
+
+	/** Index of the next question to compare */
+	private int next;
+
+	/**
+	 * Generates the question bank and its copies.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		themes = SyntheticQuizData.themes(bankSize);
+		persisted = new ArrayList<>(bankSize);
+		persistedCopies = new ArrayList<>(bankSize);
+		unsaved = new ArrayList<>(bankSize);
+		unsavedCopies = new ArrayList<>(bankSize);
+		for (ThemeDTO theme : themes) {
+			for (QuestionDTO question : theme.getQuestions()) {
+				persisted.add(question);
+				persistedCopies.add(SyntheticQuizData.question(question.getId()));
+				unsaved.add(unsavedCopy(question));
+				unsavedCopies.add(unsavedCopy(question));
+			}
+		}
+		persistedSet = new HashSet<>(persisted);
+		next = 0;
+	}
+
+	/**
+	 * Creates a new question with the content of another one.
+	 *
+	 * @param question the question to copy
+	 * @return the new question
+	 */
+	private static QuestionDTO unsavedCopy(QuestionDTO question) {
+		QuestionDTO copy = new QuestionDTO(question.getQuestionText(), question.getQuestionTitle());
+		copy.setAnswers(question.getAnswers());
+		return copy;
+	}
+
+	/**
+	 * Returns the index of the next question and advances it.
+	 *
+	 * @return the index
+	 */
+	private int advance() {
+		int index = next;
+		next = index + 1 == bankSize ? 0 : index + 1;
+		return index;
+	}
+
+	/**
+	 * Compares two persisted questions.
+	 *
+	 * @return the result of the comparison
+	 */
+	@Benchmark
+	public boolean equalsPersisted() {
+		int index = advance();
+		return persisted.get(index).equals(persistedCopies.get(index));
+	}
+
+	/**
+	 * Compares two new questions.
+	 *
+	 * @return the result of the comparison
+	 */
+	@Benchmark
+	public boolean equalsUnsaved() {
+		int index = advance();
+		return unsaved.get(index).equals(unsavedCopies.get(index));
+	}
+
+	/**
+	 * Compares a new question with a persisted one.
+	 *
+	 * @return the result of the comparison
+	 */
+	@Benchmark
+	public boolean equalsMixed() {
+		int index = advance();
+		return unsaved.get(index).equals(persisted.get(index));
+	}
+
+	/**
+	 * Hashes a persisted question.
+	 *
+	 * @return the hash code
+	 */
+	@Benchmark
+	public int hashCodePersisted() {
+		return persisted.get(advance()).hashCode();
+	}
+
+	/**
+	 * Hashes a new question.
+	 *
+	 * @return the hash code
+	 */
+	@Benchmark
+	public int hashCodeUnsaved() {
+		return unsaved.get(advance()).hashCode();
+	}
+
+	/**
+	 * Hashes all themes of the bank.
+	 *
+	 * @param blackhole sink for the hash codes
+	 */
+	@Benchmark
+	public void hashCodeThemes(Blackhole blackhole) {
+		for (ThemeDTO theme : themes) {
+			blackhole.consume(theme.hashCode());
+		}
+	}
+
+	/**
+	 * Looks up a copy of a persisted question in a set of the bank.
+	 *
+	 * @return true if the question was found
+	 */
+	@Benchmark
+	public boolean setContains() {
+		return persistedSet.contains(persistedCopies.get(advance()));
+	}
+
+	/**
+	 * Builds a set of the whole bank.
+	 *
+	 * @return the set
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public Set<QuestionDTO> buildSet() {
+		return new HashSet<>(persisted);
+	}
+}
@@ -0,0 +1,152 @@
+package benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import persistence.serialization.QuizDataManager;
+import quizlogic.dto.QuestionDTO;
+import quizlogic.dto.ThemeDTO;
+
+/**
+ * Benchmarks Java serialization round trips of {@link ThemeDTO} and
+ * {@link QuestionDTO}, the format of the file storage of the
+ * {@link QuizDataManager}.
+ * <p>
+ * The theme benchmarks serialize one theme holding the whole bank, which is
+ * what the file storage writes for a theme of that size. The question
+ * benchmark serializes the questions of the bank one at a time. Serialization
+ * goes to memory, so disk speed is not part of the measurement.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx6g" })
+public class DtoSerializationBenchmark {
+
+	/** Number of questions in the bank */
+	@Param({ "1000", "100000", "1000000" })
+	private int bankSize;
+
+	/** Theme holding the whole bank */
+	private ThemeDTO theme;
+
+	/** Serialized form of the theme */
+	private byte[] serializedTheme;
+
+	/** Questions of the bank */
+	private List<QuestionDTO> questions;
+
+	/** Index of the next question to serialize */
+	private int next;
+
+	/**
+	 * Generates the question bank and serializes the theme once.
+	 *
+	 * @throws IOException if the theme cannot be serialized
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		questions = SyntheticQuizData.questions(bankSize);
+		theme = SyntheticQuizData.theme(1, questions);
+		serializedTheme = serialize(theme);
+		next = 0;
+	}
+
+	/**
+	 * Writes and reads back the theme.
+	 *
+	 * @return the read theme
+	 * @throws Exception if the theme cannot be serialized
+	 */
+	@Benchmark
+	public Object themeRoundTrip() throws Exception {
+		return deserialize(serialize(theme));
+	}
+
+	/**
+	 * Writes the theme.
+	 *
+	 * @return the serialized theme
+	 * @throws IOException if the theme cannot be serialized
+	 */
+	@Benchmark
+	public byte[] themeWrite() throws IOException {
+		return serialize(theme);
+	}
+
+	/**
+	 * Reads the theme.
+	 *
+	 * @return the read theme
+	 * @throws Exception if the theme cannot be deserialized
+	 */
+	@Benchmark
+	public Object themeRead() throws Exception {
+		return deserialize(serializedTheme);
+	}
+
+	/**
+	 * Writes and reads back the next question.
+	 *
+	 * @return the read question
+	 * @throws Exception if the question cannot be serialized
+	 */
+	@Benchmark
+	public Object questionRoundTrip() throws Exception {
+		QuestionDTO question = questions.get(next);
+		next = next + 1 == bankSize ? 0 : next + 1;
+		return deserialize(serialize(question));
+	}
+
+	/**
+	 * Serializes an object into memory.
+	 *
+	 * @param object the object
+	 * @return the serialized form
+	 * @throws IOException if the object cannot be serialized
+	 */
+	private static byte[] serialize(Object object) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			oos.writeObject(object);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Deserializes an object from memory.
+	 *
+	 * @param bytes the serialized form
+	 * @return the object
+	 * @throws Exception if the object cannot be deserialized
+	 */
+	private static Object deserialize(byte[] bytes) throws Exception {
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return ois.readObject();
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import quizlogic.QuestionSessionManager;
+import quizlogic.dto.QuestionDTO;
+import quizlogic.dto.ThemeDTO;
+
+/**
+ * Benchmarks the question selection of the {@link QuestionSessionManager}.
+ * <p>
+ * The session manager is created once per trial, so the measurement covers
+ * the steady state of a long quiz session: questions are drawn until the bank
+ * is exhausted, after which the session starts over. Theme selections go round
+ * robin over the themes of the bank.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx4g" })
+public class QuestionSelectionBenchmark {
+
+	/** Number of questions in the bank */
+	@Param({ "1000", "100000", "1000000" })
+	private int bankSize;
+
+	/** All questions of the bank */
+	private List<QuestionDTO> questions;
+
+	/** IDs of all questions of the bank */
+	private int[] questionIds;
+
+	/** Themes of the bank */
+	private List<ThemeDTO> themes;
+
+	/** Session manager under test */
+	private QuestionSessionManager sessionManager;
+
+	/** Index of the next theme to select from */
+	private int nextTheme;
+
+	/**
+	 * Generates the question bank and a fresh session manager.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		themes = SyntheticQuizData.themes(bankSize);
+		questions = themes.stream().flatMap(theme -> theme.getQuestions().stream()).toList();
+		questionIds = questions.stream().mapToInt(QuestionDTO::getId).toArray();
+		sessionManager = new QuestionSessionManager();
+		nextTheme = 0;
+	}
+
+	/**
+	 * Selects a question from the whole bank.
+	 *
+	 * @return the selected question
+	 */
+	@Benchmark
+	public QuestionDTO randomQuestion() {
+		return sessionManager.getRandomQuestionWithVariety(questions);
+	}
+
+	/**
+	 * Selects a question ID from the IDs of the whole bank.
+	 *
+	 * @return the selected ID
+	 */
+	@Benchmark
+	public int randomQuestionId() {
+		return sessionManager.getRandomQuestionIdWithVariety(questionIds);
+	}
+
+	/**
+	 * Selects a question from the next theme.
+	 *
+	 * @return the selected question
+	 */
+	@Benchmark
+	public QuestionDTO randomQuestionForTheme() {
+		ThemeDTO theme = themes.get(nextTheme);
+		nextTheme = (nextTheme + 1) % themes.size();
+		return sessionManager.getRandomQuestionForThemeWithVariety(theme);
+	}
+}
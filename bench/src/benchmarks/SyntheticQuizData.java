@@ -0,0 +1,165 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import quizlogic.dto.AnswerDTO;
+import quizlogic.dto.QuestionDTO;
+import quizlogic.dto.ThemeDTO;
+
+/**
+ * Generates synthetic question banks for the benchmarks.
+ * <p>
+ * All questions are persisted DTOs with IDs starting at 1, grouped into themes
+ * of {@link #THEME_SIZE} questions. Every question has
+ * {@link #ANSWERS_PER_QUESTION} answers; every third question has two correct
+ * answers, the others have one. The generated content is deterministic, so
+ * runs with the same bank size are comparable.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public final class SyntheticQuizData {
+
+	/** Number of questions per theme */
+	public static final int THEME_SIZE = 1_000;
+
+	/** Number of answers per question */
+	public static final int ANSWERS_PER_QUESTION = 4;
+
+	/**
+	 * Private constructor, only static methods.
+	 */
+	private SyntheticQuizData() {
+	}
+
+	/**
+	 * Creates a question bank grouped into themes.
+	 *
+	 * @param questionCount total number of questions
+	 * @return the themes holding the questions
+	 */
+	public static List<ThemeDTO> themes(int questionCount) {
+		int themeCount = (questionCount + THEME_SIZE - 1) / THEME_SIZE;
+		List<ThemeDTO> themes = new ArrayList<>(themeCount);
+		int questionId = 1;
+		for (int t = 1; t <= themeCount; t++) {
+			int size = Math.min(THEME_SIZE, questionCount - questionId + 1);
+			List<QuestionDTO> questions = new ArrayList<>(size);
+			for (int q = 0; q < size; q++) {
+				questions.add(question(questionId++));
+			}
+			themes.add(theme(t, questions));
+		}
+		return themes;
+	}
+
+	/**
+	 * Creates a question bank as one flat list.
+	 *
+	 * @param questionCount total number of questions
+	 * @return the questions
+	 */
+	public static List<QuestionDTO> questions(int questionCount) {
+		List<QuestionDTO> questions = new ArrayList<>(questionCount);
+		for (ThemeDTO theme : themes(questionCount)) {
+			questions.addAll(theme.getQuestions());
+		}
+		return questions;
+	}
+
+	/**
+	 * Creates a theme holding the given questions.
+	 *
+	 * @param id        ID of the theme
+	 * @param questions questions of the theme
+	 * @return the theme
+	 */
+	public static ThemeDTO theme(int id, List<QuestionDTO> questions) {
+		ThemeDTO theme = new ThemeDTO(id);
+		theme.setThemeTitle("Theme " + id);
+		theme.setThemeDescription("Synthetic theme " + id + " for benchmarks");
+		theme.setQuestions(questions);
+		return theme;
+	}
+
+	/**
+	 * Creates a question with its answers.
+	 *
+	 * @param id ID of the question
+	 * @return the question
+	 */
+	public static QuestionDTO question(int id) {
+		QuestionDTO question = new QuestionDTO(id);
+		question.setQuestionTitle(questionTitle(id));
+		question.setQuestionText(questionText(id));
+		List<AnswerDTO> answers = new ArrayList<>(ANSWERS_PER_QUESTION);
+		for (int a = 0; a < ANSWERS_PER_QUESTION; a++) {
+			int answerId = (id - 1) * ANSWERS_PER_QUESTION + a + 1;
+			answers.add(new AnswerDTO(answerId, answerText(id, a), isCorrect(id, a), id));
+		}
+		question.setAnswers(answers);
+		return question;
+	}
+
+	/**
+	 * Creates a new, not yet persisted question with its answers, e.g. for an
+	 * import into a database.
+	 *
+	 * @param number number of the question, determines its content
+	 * @return the question
+	 */
+	public static QuestionDTO unsavedQuestion(int number) {
+		QuestionDTO question = new QuestionDTO(questionText(number), questionTitle(number));
+		List<AnswerDTO> answers = new ArrayList<>(ANSWERS_PER_QUESTION);
+		for (int a = 0; a < ANSWERS_PER_QUESTION; a++) {
+			answers.add(new AnswerDTO(answerText(number, a), isCorrect(number, a)));
+		}
+		question.setAnswers(answers);
+		return question;
+	}
+
+	/**
+	 * Returns the title of a question.
+	 *
+	 * @param number number of the question
+	 * @return the title
+	 */
+	private static String questionTitle(int number) {
+		return "Question " + number;
+	}
+
+	/**
+	 * Returns the text of a question.
+	 *
+	 * @param number number of the question
+	 * @return the text
+	 */
+	private static String questionText(int number) {
+		return "Which of the following statements about synthetic question " + number + " is true?";
+	}
+
+	/**
+	 * Returns the text of an answer.
+	 *
+	 * @param number number of the question
+	 * @param index  index of the answer within the question
+	 * @return the text
+	 */
+	private static String answerText(int number, int index) {
+		return "Answer " + (index + 1) + " of question " + number;
+	}
+
+	/**
+	 * Tells whether an answer is correct. Every third question has two correct
+	 * answers, the others have one.
+	 *
+	 * @param number number of the question
+	 * @param index  index of the answer within the question
+	 * @return true if the answer is correct
+	 */
+	private static boolean isCorrect(int number, int index) {
+		return index < (number % 3 == 0 ? 2 : 1);
+	}
+}
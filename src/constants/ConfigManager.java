@@ -45,6 +45,34 @@ public class ConfigManager {
 	public static final String WINDOW_HEIGHT = "window.height";
 	public static final String WINDOW_MAXIMIZED = "window.maximized";
 	public static final String DEBUG_MODE = "debug.enabled";
+	public static final String DB_POOL_MAX_SIZE = "database.pool.maxSize";
+	public static final String DB_POOL_MIN_IDLE = "database.pool.minIdle";
+	public static final String DB_POOL_BORROW_TIMEOUT = "database.pool.borrowTimeoutMs";
+	public static final String DB_POOL_IDLE_TIMEOUT = "database.pool.idleTimeoutMs";
+	public static final String DB_POOL_MAX_LIFETIME = "database.pool.maxLifetimeMs";
+	public static final String DB_POOL_VALIDATION_TIMEOUT = "database.pool.validationTimeoutSec";
+	public static final String DB_STATEMENT_CACHE_SIZE = "database.pool.statementCacheSize";
+	public static final String DB_IDENTITY_MAP_SIZE = "database.identityMap.maxSize";
+	public static final String DB_FETCH_SIZE = "database.fetchSize";
+	public static final String DB_READ_URL = "database.read.url";
+	public static final String DB_READ_USER = "database.read.user";
+	public static final String DB_READ_PASSWORD = "database.read.password";
+	public static final String DB_READ_MAX_LAG = "database.read.maxLagSec";
+	public static final String DB_READ_LAG_CHECK_INTERVAL = "database.read.lagCheckIntervalMs";
+	public static final String DB_READ_RETRY_DELAY = "database.read.retryDelayMs";
+	public static final String DB_BREAKER_FAILURE_THRESHOLD = "database.breaker.failureThreshold";
+	public static final String DB_BREAKER_PROBE_DELAY = "database.breaker.probeDelayMs";
+	public static final String DB_BREAKER_MAX_PROBE_DELAY = "database.breaker.maxProbeDelayMs";
+	public static final String DATA_CACHE_MAX_ENTRIES = "data.cache.maxEntries";
+	public static final String DATA_CACHE_TTL = "data.cache.ttlMs";
+	public static final String SESSION_JOURNAL_FILE = "session.journal.file";
+	public static final String IMPORT_BATCH_SIZE = "import.batchSize";
+	public static final String EXPORT_CHUNK_SIZE = "export.chunkSize";
+	public static final String SYNC_JOURNAL_FILE = "sync.journal.file";
+	public static final String SYNC_BATCH_SIZE = "sync.batchSize";
+	public static final String STANDBY_SNAPSHOT_INTERVAL = "standby.snapshot.intervalMs";
+	public static final String STANDBY_SNAPSHOT_INITIAL_DELAY = "standby.snapshot.initialDelayMs";
+	public static final String METRICS_JMX_ENABLED = "metrics.jmx.enabled";
 
 	/**
 	 * Private constructor for singleton pattern.
@@ -98,6 +126,35 @@ public class ConfigManager {
 		properties.setProperty(DB_PASSWORD, "password");
 		properties.setProperty(DB_DRIVER, "org.mariadb.jdbc.Driver");
 
+		properties.setProperty(DB_POOL_MAX_SIZE, "8");
+		properties.setProperty(DB_POOL_MIN_IDLE, "1");
+		properties.setProperty(DB_POOL_BORROW_TIMEOUT, "5000");
+		properties.setProperty(DB_POOL_IDLE_TIMEOUT, "300000");
+		properties.setProperty(DB_POOL_MAX_LIFETIME, "1800000");
+		properties.setProperty(DB_POOL_VALIDATION_TIMEOUT, "2");
+		properties.setProperty(DB_STATEMENT_CACHE_SIZE, "32");
+		properties.setProperty(DB_IDENTITY_MAP_SIZE, "1000");
+		properties.setProperty(DB_FETCH_SIZE, "500");
+		properties.setProperty(DB_READ_URL, "");
+		properties.setProperty(DB_READ_USER, "");
+		properties.setProperty(DB_READ_PASSWORD, "");
+		properties.setProperty(DB_READ_MAX_LAG, "5");
+		properties.setProperty(DB_READ_LAG_CHECK_INTERVAL, "5000");
+		properties.setProperty(DB_READ_RETRY_DELAY, "30000");
+		properties.setProperty(DB_BREAKER_FAILURE_THRESHOLD, "3");
+		properties.setProperty(DB_BREAKER_PROBE_DELAY, "1000");
+		properties.setProperty(DB_BREAKER_MAX_PROBE_DELAY, "60000");
+		properties.setProperty(DATA_CACHE_MAX_ENTRIES, "256");
+		properties.setProperty(DATA_CACHE_TTL, "60000");
+		properties.setProperty(SESSION_JOURNAL_FILE, "./quizData/session.journal");
+		properties.setProperty(IMPORT_BATCH_SIZE, "1000");
+		properties.setProperty(EXPORT_CHUNK_SIZE, "100000");
+		properties.setProperty(SYNC_JOURNAL_FILE, "./quizData/offline.journal");
+		properties.setProperty(SYNC_BATCH_SIZE, "200");
+		properties.setProperty(STANDBY_SNAPSHOT_INTERVAL, "300000");
+		properties.setProperty(STANDBY_SNAPSHOT_INITIAL_DELAY, "10000");
+		properties.setProperty(METRICS_JMX_ENABLED, "true");
+
 		properties.setProperty(APP_TITLE, "Quizzle");
 		properties.setProperty(APP_VERSION, "1.0");
 
@@ -275,6 +332,282 @@ public class ConfigManager {
 		return getProperty(DB_DRIVER);
 	}
 
+	/**
+	 * Gets the JDBC URL of the read replica. Read-only queries are routed to the
+	 * replica if a URL is set; all writes go to {@link #getDatabaseUrl()}.
+	 * 
+	 * @return read replica URL, or null if no replica is configured
+	 */
+	public String getDatabaseReadUrl() {
+		String url = getProperty(DB_READ_URL);
+		return url != null && !url.isBlank() ? url.trim() : null;
+	}
+
+	/**
+	 * Gets the user of the read replica, falling back to the database user.
+	 * 
+	 * @return read replica user
+	 */
+	public String getDatabaseReadUser() {
+		String user = getProperty(DB_READ_USER);
+		return user != null && !user.isBlank() ? user : getDatabaseUser();
+	}
+
+	/**
+	 * Gets the password of the read replica, falling back to the database
+	 * password if no replica user is set.
+	 * 
+	 * @return read replica password
+	 */
+	public String getDatabaseReadPassword() {
+		String user = getProperty(DB_READ_USER);
+		return user != null && !user.isBlank() ? getProperty(DB_READ_PASSWORD, "") : getDatabasePassword();
+	}
+
+	/**
+	 * Gets the replication lag in seconds above which reads go to the primary
+	 * instead of the replica.
+	 * 
+	 * @return maximum replica lag in seconds
+	 */
+	public int getDatabaseReadMaxLag() {
+		return getIntProperty(DB_READ_MAX_LAG, 5);
+	}
+
+	/**
+	 * Gets the interval in milliseconds between two replication lag checks of
+	 * the read replica.
+	 * 
+	 * @return lag check interval in milliseconds
+	 */
+	public int getDatabaseReadLagCheckInterval() {
+		return getIntProperty(DB_READ_LAG_CHECK_INTERVAL, 5000);
+	}
+
+	/**
+	 * Gets the time in milliseconds reads stay on the primary after the read
+	 * replica failed.
+	 * 
+	 * @return replica retry delay in milliseconds
+	 */
+	public int getDatabaseReadRetryDelay() {
+		return getIntProperty(DB_READ_RETRY_DELAY, 30000);
+	}
+
+	/**
+	 * Gets the maximum number of pooled database connections.
+	 * 
+	 * @return maximum pool size
+	 */
+	public int getDatabasePoolMaxSize() {
+		return getIntProperty(DB_POOL_MAX_SIZE, 8);
+	}
+
+	/**
+	 * Gets the number of idle connections the pool keeps open.
+	 * 
+	 * @return minimum number of idle connections
+	 */
+	public int getDatabasePoolMinIdle() {
+		return getIntProperty(DB_POOL_MIN_IDLE, 1);
+	}
+
+	/**
+	 * Gets how long a caller waits for a free pooled connection.
+	 * 
+	 * @return borrow timeout in milliseconds
+	 */
+	public int getDatabasePoolBorrowTimeout() {
+		return getIntProperty(DB_POOL_BORROW_TIMEOUT, 5000);
+	}
+
+	/**
+	 * Gets how long a pooled connection may stay idle before it is closed.
+	 * 
+	 * @return idle timeout in milliseconds
+	 */
+	public int getDatabasePoolIdleTimeout() {
+		return getIntProperty(DB_POOL_IDLE_TIMEOUT, 300000);
+	}
+
+	/**
+	 * Gets the maximum lifetime of a pooled connection.
+	 * 
+	 * @return maximum lifetime in milliseconds
+	 */
+	public int getDatabasePoolMaxLifetime() {
+		return getIntProperty(DB_POOL_MAX_LIFETIME, 1800000);
+	}
+
+	/**
+	 * Gets the timeout used when validating a pooled connection.
+	 * 
+	 * @return validation timeout in seconds
+	 */
+	public int getDatabasePoolValidationTimeout() {
+		return getIntProperty(DB_POOL_VALIDATION_TIMEOUT, 2);
+	}
+
+	/**
+	 * Gets the number of prepared statements cached per pooled connection.
+	 * 
+	 * @return statement cache size per connection
+	 */
+	public int getDatabaseStatementCacheSize() {
+		return getIntProperty(DB_STATEMENT_CACHE_SIZE, 32);
+	}
+
+	/**
+	 * Gets the maximum number of DAOs kept in each identity map of the database
+	 * manager.
+	 * 
+	 * @return identity map size
+	 */
+	public int getDatabaseIdentityMapSize() {
+		return getIntProperty(DB_IDENTITY_MAP_SIZE, 1000);
+	}
+
+	/**
+	 * Gets the number of rows the database driver fetches per round trip when
+	 * streaming large results.
+	 * 
+	 * @return fetch size
+	 */
+	public int getDatabaseFetchSize() {
+		return getIntProperty(DB_FETCH_SIZE, 500);
+	}
+
+	/**
+	 * Gets the number of consecutive failed database operations after which the
+	 * data manager switches to file storage.
+	 * 
+	 * @return failure threshold
+	 */
+	public int getDatabaseBreakerFailureThreshold() {
+		return getIntProperty(DB_BREAKER_FAILURE_THRESHOLD, 3);
+	}
+
+	/**
+	 * Gets the delay before the first background check whether the database is
+	 * reachable again. The delay doubles after every failed check.
+	 * 
+	 * @return initial probe delay in milliseconds
+	 */
+	public int getDatabaseBreakerProbeDelay() {
+		return getIntProperty(DB_BREAKER_PROBE_DELAY, 1000);
+	}
+
+	/**
+	 * Gets the upper limit of the delay between background checks whether the
+	 * database is reachable again.
+	 * 
+	 * @return maximum probe delay in milliseconds
+	 */
+	public int getDatabaseBreakerMaxProbeDelay() {
+		return getIntProperty(DB_BREAKER_MAX_PROBE_DELAY, 60000);
+	}
+
+	/**
+	 * Gets the maximum number of question and answer lists kept in the data
+	 * cache.
+	 * 
+	 * @return data cache size
+	 */
+	public int getDataCacheMaxEntries() {
+		return getIntProperty(DATA_CACHE_MAX_ENTRIES, 256);
+	}
+
+	/**
+	 * Gets the time in milliseconds after which cached themes, questions and
+	 * answers are reloaded.
+	 * 
+	 * @return data cache time to live in milliseconds
+	 */
+	public int getDataCacheTtl() {
+		return getIntProperty(DATA_CACHE_TTL, 60000);
+	}
+
+	/**
+	 * Gets the location of the journal that protects recorded quiz answers until
+	 * they are stored.
+	 * 
+	 * @return session journal file path
+	 */
+	public String getSessionJournalFile() {
+		return getProperty(SESSION_JOURNAL_FILE, "./quizData/session.journal");
+	}
+
+	/**
+	 * Gets the number of questions a question bank import validates and writes
+	 * together, with one commit per batch.
+	 * 
+	 * @return import batch size
+	 */
+	public int getImportBatchSize() {
+		return getIntProperty(IMPORT_BATCH_SIZE, 1000);
+	}
+
+	/**
+	 * Gets the number of records an export writes to one chunk file before it
+	 * starts the next one. An interrupted export resumes after the last
+	 * completed chunk.
+	 * 
+	 * @return export chunk size in records
+	 */
+	public int getExportChunkSize() {
+		return getIntProperty(EXPORT_CHUNK_SIZE, 100000);
+	}
+
+	/**
+	 * Gets the location of the journal recording the changes made on file
+	 * storage while the database was unavailable.
+	 * 
+	 * @return offline write journal file path
+	 */
+	public String getSyncJournalFile() {
+		return getProperty(SYNC_JOURNAL_FILE, "./quizData/offline.journal");
+	}
+
+	/**
+	 * Gets the number of journaled offline changes replayed into the database
+	 * in one transaction.
+	 * 
+	 * @return replay batch size
+	 */
+	public int getSyncBatchSize() {
+		return getIntProperty(SYNC_BATCH_SIZE, 200);
+	}
+
+	/**
+	 * Gets the interval in milliseconds between two snapshots of the database
+	 * catalog into the file store. 0 disables the snapshots.
+	 * 
+	 * @return standby snapshot interval in milliseconds
+	 */
+	public int getStandbySnapshotInterval() {
+		return getIntProperty(STANDBY_SNAPSHOT_INTERVAL, 300000);
+	}
+
+	/**
+	 * Gets the delay in milliseconds before the first standby snapshot after
+	 * startup.
+	 * 
+	 * @return initial standby snapshot delay in milliseconds
+	 */
+	public int getStandbySnapshotInitialDelay() {
+		return getIntProperty(STANDBY_SNAPSHOT_INITIAL_DELAY, 10000);
+	}
+
+	/**
+	 * Checks whether the latency statistics of the data manager are published
+	 * over JMX.
+	 * 
+	 * @return true if the metrics MBean is registered
+	 */
+	public boolean isMetricsJmxEnabled() {
+		return getBooleanProperty(METRICS_JMX_ENABLED, true);
+	}
+
 	/**
 	 * Gets the application title.
 	 * 
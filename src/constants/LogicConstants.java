@@ -32,4 +32,7 @@ public interface LogicConstants {
 	
 	/** Length of the theme prefix "* " used for themes without descriptions */
 	int THEME_PREFIX_LENGTH = 2;
+
+	/** Number of questions loaded ahead of time in quiz mode */
+	int QUESTION_PREFETCH_SIZE = 3;
 }
\ No newline at end of file
@@ -23,6 +23,12 @@ public interface UserStringConstants {
 	/** Content type for HTML display */
 	String HTML_CONTENT_TYPE = "text/html";
 
+	/** Message shown while data is being loaded or saved */
+	String MSG_LOADING = "Lade Daten...";
+
+	/** Message shown when loading or saving data failed */
+	String MSG_LOADING_FAILED = "Fehler beim Laden der Daten: %s";
+
 	// ========================================
 	// Theme Labels
 	// ========================================
@@ -0,0 +1,92 @@
+package gui;
+
+import java.awt.Cursor;
+import java.util.concurrent.CompletableFuture;
+
+import javax.swing.JComponent;
+
+/**
+ * Shows a wait cursor on a component while asynchronous data operations are
+ * running.
+ * <p>
+ * Operations are counted per component, so overlapping loads keep the
+ * indicator visible until the last one has finished. All methods must be called
+ * on the Swing event dispatch thread; futures from
+ * {@link persistence.AsyncDataManager} complete there.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LoadingIndicator {
+
+	/** Client property holding the number of running operations */
+	private static final String PENDING_PROPERTY = "quizzle.loading.pending";
+
+	/**
+	 * Utility class, not instantiable.
+	 */
+	private LoadingIndicator() {
+	}
+
+	/**
+	 * Shows the loading indicator on the component until the future completes.
+	 *
+	 * @param <T>       result type
+	 * @param component the component showing the indicator
+	 * @param future    the running operation
+	 * @return the given future
+	 */
+	public static <T> CompletableFuture<T> track(JComponent component, CompletableFuture<T> future) {
+		begin(component);
+		future.whenComplete((_, _) -> end(component));
+		return future;
+	}
+
+	/**
+	 * Checks whether operations are running for the component.
+	 *
+	 * @param component the component to check
+	 * @return true if at least one tracked operation is running
+	 */
+	public static boolean isLoading(JComponent component) {
+		return pending(component) > 0;
+	}
+
+	/**
+	 * Registers a running operation.
+	 *
+	 * @param component the component showing the indicator
+	 */
+	private static void begin(JComponent component) {
+		int pending = pending(component) + 1;
+		component.putClientProperty(PENDING_PROPERTY, pending);
+		if (pending == 1) {
+			component.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+		}
+	}
+
+	/**
+	 * Unregisters a finished operation.
+	 *
+	 * @param component the component showing the indicator
+	 */
+	private static void end(JComponent component) {
+		int pending = Math.max(0, pending(component) - 1);
+		component.putClientProperty(PENDING_PROPERTY, pending);
+		if (pending == 0) {
+			component.setCursor(Cursor.getDefaultCursor());
+		}
+	}
+
+	/**
+	 * Returns the number of running operations for the component.
+	 *
+	 * @param component the component
+	 * @return number of running operations
+	 */
+	private static int pending(JComponent component) {
+		Object value = component.getClientProperty(PENDING_PROPERTY);
+		return value instanceof Integer count ? count : 0;
+	}
+}
@@ -7,7 +7,9 @@ import constants.GUIConstants;
 import constants.ThemeManager;
 import constants.UserStringConstants;
 import gui.subpanels.TabPane;
+import persistence.CachingDataInterface;
 import persistence.DataManager;
+import persistence.SessionJournal;
 
 /**
  * Main application frame that contains the primary window and tabbed panels for
@@ -34,6 +36,12 @@ public class QFrame extends JFrame implements GUIConstants {
 	/** Smart data manager with automatic fallback capability */
 	private DataManager dataManager;
 
+	/** Read-through cache in front of the data manager, shared by all panels */
+	private CachingDataInterface cachedDataManager;
+
+	/** Journal persisting quiz answers as they are recorded */
+	private SessionJournal sessionJournal;
+
 	/** Panel managing quiz themes */
 	private QuizThemeMainPanel themeMainPanel;
 
@@ -80,10 +88,13 @@ public class QFrame extends JFrame implements GUIConstants {
 					"Datenbankverbindung - Fallback zu Dateispeicherung", javax.swing.JOptionPane.WARNING_MESSAGE);
 		}
 
-		themeMainPanel = new QuizThemeMainPanel(dataManager);
-		questionMainPanel = new QuizQuestionMainPanel(dataManager);
-		quizMainPanel = new QuizMainPanel(dataManager);
-		statisticsMainPanel = new QuizStatisticsMainPanel(dataManager);
+		cachedDataManager = new CachingDataInterface(dataManager);
+		dataManager.getMetrics().setCacheStats(cachedDataManager::getCacheStats);
+
+		themeMainPanel = new QuizThemeMainPanel(cachedDataManager);
+		questionMainPanel = new QuizQuestionMainPanel(cachedDataManager);
+		quizMainPanel = new QuizMainPanel(cachedDataManager);
+		statisticsMainPanel = new QuizStatisticsMainPanel(cachedDataManager);
 
 		questionMainPanel.setParentFrame(this);
 
@@ -91,6 +102,10 @@ public class QFrame extends JFrame implements GUIConstants {
 
 		quizMainPanel.setParentFrame(this);
 
+		sessionJournal = new SessionJournal(dataManager);
+		sessionJournal.start();
+		quizMainPanel.setSessionJournal(sessionJournal);
+
 		TabPane tabPane = new TabPane();
 		tabPane.addTab(UserStringConstants.TAB_QUIZ_THEMES, themeMainPanel);
 		tabPane.addTab(UserStringConstants.TAB_QUIZ_QUESTIONS, questionMainPanel);
@@ -103,6 +118,10 @@ public class QFrame extends JFrame implements GUIConstants {
 
 			saveCurrentSessionOnExit();
 
+			if (quizMainPanel != null) {
+				quizMainPanel.stopPrefetching();
+			}
+
 			if (dataManager != null) {
 				dataManager.close();
 				ConfigManager.debugPrint("Data storage connections closed");
@@ -149,8 +168,15 @@ public class QFrame extends JFrame implements GUIConstants {
 	/**
 	 * Saves the current quiz session when the application is closing. This ensures
 	 * that any progress made during the current session is preserved.
+	 * <p>
+	 * Answers are already persisted through the session journal as they are
+	 * recorded, so only the last few still pending have to be flushed.
 	 */
 	private void saveCurrentSessionOnExit() {
+		if (sessionJournal != null) {
+			sessionJournal.close();
+			return;
+		}
 		try {
 			if (quizMainPanel != null && dataManager != null) {
 				quizlogic.dto.QuizSessionDTO currentSession = quizMainPanel.getCurrentSession();
@@ -180,6 +206,15 @@ public class QFrame extends JFrame implements GUIConstants {
 		return dataManager;
 	}
 
+	/**
+	 * Returns the cached data source shared by all panels.
+	 *
+	 * @return the caching data interface
+	 */
+	public CachingDataInterface getCachedDataManager() {
+		return cachedDataManager;
+	}
+
 	/**
 	 * Attempts to reconnect to the database if currently using file storage.
 	 *
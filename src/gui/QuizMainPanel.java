@@ -3,6 +3,7 @@ package gui;
 import java.awt.BorderLayout;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.JPanel;
 
@@ -14,7 +15,11 @@ import gui.interfaces.QuizPanelDelegator;
 import gui.subpanels.QuestionPanel;
 import gui.subpanels.QuizButtonPanel;
 import gui.subpanels.QuizInfoViewPanel;
+import persistence.AsyncDataManager;
+import persistence.QuestionPrefetcher;
 import persistence.QuizDataInterface;
+import persistence.SessionJournal;
+import quizlogic.AnswerGrader;
 import quizlogic.dto.AnswerDTO;
 import quizlogic.dto.QuestionDTO;
 import quizlogic.dto.QuizSessionDTO;
@@ -66,6 +71,16 @@ public class QuizMainPanel extends JPanel implements GUIConstants, QuizPanelDele
 	private QuizInfoViewPanel quizInfoViewPanel;
 	private QuizButtonPanel buttonPanel;
 	private QuizDataInterface dataManager;
+	private AsyncDataManager asyncDataManager;
+
+	/** Loads upcoming questions in the background */
+	private QuestionPrefetcher questionPrefetcher;
+
+	/** Question requested from the prefetcher and not yet shown, null if none */
+	private CompletableFuture<QuestionDTO> pendingQuestion;
+
+	/** Journal persisting recorded answers, null if answers are only kept in memory */
+	private SessionJournal sessionJournal;
 
 	/** State */
 	private ThemeDTO selectedTheme;
@@ -77,9 +92,12 @@ public class QuizMainPanel extends JPanel implements GUIConstants, QuizPanelDele
 
 	public QuizMainPanel(QuizDataInterface dataManager) {
 		this.dataManager = dataManager;
+		this.asyncDataManager = new AsyncDataManager(dataManager);
 		setBackground(BACKGROUND_COLOR);
 		setLayout(new BorderLayout(PANEL_MARGIN_H, PANEL_MARGIN_V));
 
+		questionPrefetcher = new QuestionPrefetcher(dataManager, LogicConstants.QUESTION_PREFETCH_SIZE);
+
 		initPanels();
 		startNewSession();
 		loadNextQuestion();
@@ -108,25 +126,37 @@ public class QuizMainPanel extends JPanel implements GUIConstants, QuizPanelDele
 		currentSession.start();
 	}
 
-	private void loadNextQuestion() {
-		if (selectedTheme != null) {
-			currentQuestion = dataManager.getRandomQuestionFor(selectedTheme);
-		} else {
-			currentQuestion = dataManager.getRandomQuestion();
+	/**
+	 * Requests the next question from the prefetcher and shows it once it is
+	 * loaded. A question still pending from an earlier request is cancelled, so
+	 * the prefetcher gives it back.
+	 *
+	 * @return future completed on the EDT after the question is shown
+	 */
+	private CompletableFuture<QuestionDTO> loadNextQuestion() {
+		if (pendingQuestion != null) {
+			pendingQuestion.cancel(false);
 		}
-
-		fillWithQuestionData(currentQuestion);
-		quizInfoViewPanel.showWelcomeMessage();
+		CompletableFuture<QuestionDTO> request = questionPrefetcher.next();
+		pendingQuestion = request;
+		return LoadingIndicator.track(this, request).whenComplete((question, error) -> {
+			if (request.isCancelled()) {
+				return;
+			}
+			pendingQuestion = null;
+			if (error != null) {
+				buttonPanel.setMessage(String.format(UserStringConstants.MSG_LOADING_FAILED,
+						AsyncDataManager.unwrap(error).getMessage()));
+				return;
+			}
+			fillWithQuestionData(question);
+			quizInfoViewPanel.showWelcomeMessage();
+		});
 	}
 
 	public void fillWithQuestionData(QuestionDTO question) {
 		this.currentQuestion = question;
 
-		if (question != null) {
-			List<AnswerDTO> answers = dataManager.getAnswersFor(question);
-			question.setAnswers(answers);
-		}
-
 		String themeName = null;
 		if (selectedTheme != null) {
 			themeName = selectedTheme.getThemeTitle();
@@ -154,6 +184,7 @@ public class QuizMainPanel extends JPanel implements GUIConstants, QuizPanelDele
 
 	public void setSelectedTheme(ThemeDTO theme) {
 		this.selectedTheme = theme;
+		questionPrefetcher.setTheme(theme);
 		loadNextQuestion();
 	}
 
@@ -209,7 +240,7 @@ public class QuizMainPanel extends JPanel implements GUIConstants, QuizPanelDele
 				AnswerDTO firstAnswer = answers.get(0);
 				UserAnswerDTO userAnswer = new UserAnswerDTO(currentSession.getId(), currentQuestion.getId(),
 						firstAnswer.getId(), false, false);
-				currentSession.addUserAnswer(userAnswer);
+				recordUserAnswer(userAnswer);
 			}
 
 			buttonPanel.setMessage("✗ Keine Antwort gegeben - als falsch bewertet.");
@@ -225,7 +256,7 @@ public class QuizMainPanel extends JPanel implements GUIConstants, QuizPanelDele
 			return;
 		}
 
-		boolean isCorrect = checkUserAnswers(selectedIndices, answers);
+		boolean isCorrect = AnswerGrader.isCorrect(selectedIndices, answers);
 
 		for (Integer index : selectedIndices) {
 			if (index < answers.size()) {
@@ -233,7 +264,7 @@ public class QuizMainPanel extends JPanel implements GUIConstants, QuizPanelDele
 				UserAnswerDTO userAnswer = new UserAnswerDTO(currentSession.getId(), currentQuestion.getId(),
 						answer.getId(), true, isCorrect);
 
-				currentSession.addUserAnswer(userAnswer);
+				recordUserAnswer(userAnswer);
 			}
 		}
 
@@ -258,65 +289,9 @@ public class QuizMainPanel extends JPanel implements GUIConstants, QuizPanelDele
 		}
 	}
 
-	/**
-	 * Checks if the user's selected answers are correct.
-	 * 
-	 * For questions with multiple correct answers (2 or more), ALL correct answers
-	 * must be selected and NO incorrect answers must be selected for the question
-	 * to be considered correct. If only some of the correct answers are selected,
-	 * the question is marked as incorrect.
-	 *
-	 * @param selectedIndices List of indices of answers selected by the user
-	 * @param answers         List of all answers for the question
-	 * @return true if all selected answers are correct and no correct answers are
-	 *         missed
-	 */
-	private boolean checkUserAnswers(List<Integer> selectedIndices, List<AnswerDTO> answers) {
-
-		int totalCorrectAnswers = 0;
-		int userCorrectAnswers = 0;
-
-		for (int i = 0; i < answers.size(); i++) {
-			AnswerDTO answer = answers.get(i);
-			if (answer.isCorrect()) {
-				totalCorrectAnswers++;
-
-				if (selectedIndices.contains(i)) {
-					userCorrectAnswers++;
-				}
-			} else {
-
-				if (selectedIndices.contains(i)) {
-					ConfigManager.debugPrint("DEBUG: User selected incorrect answer at index " + i);
-					return false;
-				}
-			}
-		}
-
-		ConfigManager.debugPrint("DEBUG: Total correct answers: " + totalCorrectAnswers);
-		ConfigManager.debugPrint("DEBUG: User correct answers: " + userCorrectAnswers);
-		ConfigManager.debugPrint("DEBUG: Selected indices: " + selectedIndices);
-
-		if (totalCorrectAnswers >= 2) {
-			boolean result = userCorrectAnswers == totalCorrectAnswers;
-			ConfigManager.debugPrint("DEBUG: Multiple correct answers case - returning: " + result);
-			return result;
-		}
-
-		if (totalCorrectAnswers == 1) {
-			boolean result = userCorrectAnswers == 1;
-			ConfigManager.debugPrint("DEBUG: Single correct answer case - returning: " + result);
-			return result;
-		}
-
-		ConfigManager.debugPrint("DEBUG: No correct answers found - returning false");
-		return false;
-	}
-
 	@Override
 	public void onNextQuestionClicked() {
-		loadNextQuestion();
-		buttonPanel.setMessage(UserStringConstants.MSG_NEXT_QUESTION);
+		loadNextQuestion().thenRun(() -> buttonPanel.setMessage(UserStringConstants.MSG_NEXT_QUESTION));
 
 		buttonPanel.getButton1().setEnabled(true);
 		buttonPanel.getButton2().setEnabled(true);
@@ -341,25 +316,42 @@ public class QuizMainPanel extends JPanel implements GUIConstants, QuizPanelDele
 					: themeTitle;
 
 			if (dataManager != null) {
-				List<ThemeDTO> themes = dataManager.getAllThemes();
-				for (ThemeDTO theme : themes) {
-					if (theme.getThemeTitle().equals(actualThemeTitle)) {
-						setSelectedTheme(theme);
+				LoadingIndicator.track(this, asyncDataManager.getAllThemes()).whenComplete((themes, error) -> {
+					if (error != null) {
+						buttonPanel.setMessage(
+								String.format(UserStringConstants.MSG_LOADING_FAILED,
+										AsyncDataManager.unwrap(error).getMessage()));
 						return;
 					}
-				}
+					for (ThemeDTO theme : themes) {
+						if (theme.getThemeTitle().equals(actualThemeTitle)) {
+							setSelectedTheme(theme);
+							return;
+						}
+					}
+				});
 			}
 		}
 	}
 
 	/**
 	 * Refreshes the theme combo box in the quiz info view panel. This should be
-	 * called when new themes are created or questions are added.
+	 * called when new themes are created or questions are added. Questions that
+	 * were loaded ahead of time are discarded, as they may be outdated.
 	 */
 	public void refreshThemeComboBox() {
 		if (quizInfoViewPanel != null) {
 			quizInfoViewPanel.refreshThemeComboBox(dataManager);
 		}
+		questionPrefetcher.invalidate();
+	}
+
+	/**
+	 * Stops loading questions in the background. Called when the application
+	 * shuts down.
+	 */
+	public void stopPrefetching() {
+		questionPrefetcher.shutdown();
 	}
 
 	public QuizSessionDTO getCurrentSession() {
@@ -378,4 +370,26 @@ public class QuizMainPanel extends JPanel implements GUIConstants, QuizPanelDele
 	public void setParentFrame(QFrame parentFrame) {
 		this.parentFrame = parentFrame;
 	}
+
+	/**
+	 * Sets the journal that persists each recorded answer.
+	 * 
+	 * @param sessionJournal the session journal, or null to keep answers in memory
+	 *                       only
+	 */
+	public void setSessionJournal(SessionJournal sessionJournal) {
+		this.sessionJournal = sessionJournal;
+	}
+
+	/**
+	 * Adds a user answer to the current session and journals it.
+	 * 
+	 * @param userAnswer the recorded answer
+	 */
+	private void recordUserAnswer(UserAnswerDTO userAnswer) {
+		currentSession.addUserAnswer(userAnswer);
+		if (sessionJournal != null) {
+			sessionJournal.append(currentSession, userAnswer);
+		}
+	}
 }
\ No newline at end of file
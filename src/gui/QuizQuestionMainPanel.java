@@ -15,6 +15,7 @@ import gui.subpanels.QuestionButtonPanel;
 import gui.subpanels.QuestionListPanel;
 import gui.subpanels.QuestionPanel;
 
+import persistence.AsyncDataManager;
 import persistence.QuizDataInterface;
 
 import quizlogic.dto.AnswerDTO;
@@ -39,6 +40,8 @@ public class QuizQuestionMainPanel extends JPanel implements GUIConstants, QuizQ
 
 	private final QuizDataInterface dataManager;
 
+	private final AsyncDataManager asyncDataManager;
+
 	private QuestionPanel questionPanel;
 
 	private QuestionListPanel questionListPanel;
@@ -47,6 +50,18 @@ public class QuizQuestionMainPanel extends JPanel implements GUIConstants, QuizQ
 
 	private QFrame parentFrame;
 
+	/** Number of the latest question selection, older results are dropped */
+	private int selectionRequest;
+
+	/**
+	 * Outcome of a background save operation.
+	 * 
+	 * @param success whether the question and all answers were saved
+	 * @param message message to show to the user
+	 */
+	private record SaveOutcome(boolean success, String message) {
+	}
+
 	/**
 	 * Constructs the quiz question main panel setting up UI layout and components.
 	 * 
@@ -55,6 +70,7 @@ public class QuizQuestionMainPanel extends JPanel implements GUIConstants, QuizQ
 	 */
 	public QuizQuestionMainPanel(QuizDataInterface dataManager) {
 		this.dataManager = dataManager;
+		this.asyncDataManager = new AsyncDataManager(dataManager);
 		initializeLayout();
 		initializeComponents();
 		connectComponents();
@@ -132,15 +148,25 @@ public class QuizQuestionMainPanel extends JPanel implements GUIConstants, QuizQ
 	 */
 	@Override
 	public void onQuestionSelected(String entry, int index) {
+		int request = ++selectionRequest;
 		QuestionDTO question = questionListPanel.getQuestionByIndex(index);
 		if (question != null) {
-			ArrayList<AnswerDTO> answers = dataManager.getAnswersFor(question);
-			question.setAnswers(answers);
-			String selectedThemeName = questionListPanel.getSelectedThemeTitle();
-			if (selectedThemeName.equals(UserStringConstants.ALL_THEMES_OPTION)) {
-				selectedThemeName = getThemeNameForQuestion(question);
-			}
-			questionPanel.fillWithQuestionData(question, selectedThemeName);
+			String themeTitle = questionListPanel.getThemeTitleByIndex(index);
+			String selectedThemeName = themeTitle != null ? themeTitle : "";
+			LoadingIndicator.track(this, asyncDataManager.read(data -> {
+				question.setAnswers(data.getAnswersFor(question));
+				return question;
+			})).whenComplete((_, error) -> {
+				if (request != selectionRequest) {
+					return;
+				}
+				if (error != null) {
+					buttonPanel.setMessage(String.format(UserStringConstants.MSG_LOADING_FAILED,
+							AsyncDataManager.unwrap(error).getMessage()));
+					return;
+				}
+				questionPanel.fillWithQuestionData(question, selectedThemeName);
+			});
 		}
 	}
 
@@ -163,16 +189,21 @@ public class QuizQuestionMainPanel extends JPanel implements GUIConstants, QuizQ
 				buttonPanel.setMessage(UserStringConstants.MSG_QUESTION_NOT_FOUND);
 				return;
 			}
-			String result = dataManager.deleteQuestion(questionToDelete);
-			if (result != null && result.contains("successfully")) {
-				buttonPanel.setMessage(String.format(UserStringConstants.MSG_QUESTION_DELETED_SUCCESS,
-						questionToDelete.getQuestionTitle()));
-				clearQuestionSelection();
-				questionListPanel.updateQuestionList(questionListPanel.getSelectedThemeTitle());
-			} else {
-				buttonPanel.setMessage(String.format(UserStringConstants.MSG_QUESTION_DELETE_ERROR,
-						(result != null ? result : "Unbekannter Fehler")));
-			}
+			LoadingIndicator.track(this, asyncDataManager.deleteQuestion(questionToDelete))
+					.whenComplete((result, error) -> {
+						if (error != null) {
+							buttonPanel.setMessage(String.format(UserStringConstants.MSG_QUESTION_DELETE_EXCEPTION,
+									AsyncDataManager.unwrap(error).getMessage()));
+						} else if (result != null && result.contains("successfully")) {
+							buttonPanel.setMessage(String.format(UserStringConstants.MSG_QUESTION_DELETED_SUCCESS,
+									questionToDelete.getQuestionTitle()));
+							clearQuestionSelection();
+							questionListPanel.updateQuestionList(questionListPanel.getSelectedThemeTitle());
+						} else {
+							buttonPanel.setMessage(String.format(UserStringConstants.MSG_QUESTION_DELETE_ERROR,
+									(result != null ? result : "Unbekannter Fehler")));
+						}
+					});
 		} catch (Exception e) {
 			buttonPanel.setMessage(String.format(UserStringConstants.MSG_QUESTION_DELETE_EXCEPTION, e.getMessage()));
 		}
@@ -180,7 +211,9 @@ public class QuizQuestionMainPanel extends JPanel implements GUIConstants, QuizQ
 
 	/**
 	 * Responds to a request to save a question, including answers and applies
-	 * validation. Updates UI messages accordingly.
+	 * validation. The input is validated on the event dispatch thread; the
+	 * question and its answers are then saved in the background and UI messages
+	 * are updated once the save has finished.
 	 * 
 	 * @param questionTitle    The question title
 	 * @param themeTitle       The theme title
@@ -198,16 +231,8 @@ public class QuizQuestionMainPanel extends JPanel implements GUIConstants, QuizQ
 				ConfigManager.debugPrint("DEBUG: Theme validation failed");
 				return;
 			}
-			ThemeDTO targetTheme = findTheme(themeTitle);
-			if (targetTheme == null) {
-				ConfigManager.debugPrint("DEBUG: Theme not found: " + themeTitle);
-				buttonPanel.setMessage(String.format(UserStringConstants.MSG_THEME_NOT_FOUND, themeTitle));
-				return;
-			}
-
-			ConfigManager.debugPrint("DEBUG: Found theme: " + targetTheme.getThemeTitle());
 
-			QuestionDTO question = getOrCreateQuestion(targetTheme);
+			QuestionDTO question = getOrCreateQuestion();
 			if (question == null) {
 				ConfigManager.debugPrint("DEBUG: Failed to create/get question");
 				buttonPanel.setMessage(UserStringConstants.MSG_QUESTION_CREATE_ERROR);
@@ -228,80 +253,108 @@ public class QuizQuestionMainPanel extends JPanel implements GUIConstants, QuizQ
 			question.setAnswers(answers);
 			ConfigManager.debugPrint("DEBUG: Attached " + answers.size() + " answers to question before saving");
 
-			String result = dataManager.saveQuestion(question, targetTheme);
-			ConfigManager.debugPrint("DEBUG: Save question result: " + result);
+			LoadingIndicator.track(this,
+					asyncDataManager.write(data -> saveQuestion(data, themeTitle, question, answers)))
+					.whenComplete((outcome, error) -> {
+						if (error != null) {
+							ConfigManager.debugPrint("DEBUG: Exception occurred: " + error.getMessage());
+							error.printStackTrace();
+							buttonPanel.setMessage(
+									String.format(UserStringConstants.MSG_QUESTION_SAVE_ERROR, AsyncDataManager.unwrap(error).getMessage()));
+							return;
+						}
+						buttonPanel.setMessage(outcome.message());
+						if (outcome.success()) {
+							questionListPanel.updateQuestionList(questionListPanel.getSelectedThemeTitle());
+							if (parentFrame != null) {
+								parentFrame.onQuestionSaved();
+							}
+						}
+						ConfigManager.debugPrint("=== DEBUG: onQuestionSaved END ===");
+					});
+		} catch (Exception e) {
+			ConfigManager.debugPrint("DEBUG: Exception occurred: " + e.getMessage());
+			e.printStackTrace();
+			buttonPanel.setMessage(String.format(UserStringConstants.MSG_QUESTION_SAVE_ERROR, e.getMessage()));
+		}
+	}
 
-			if (result != null && result.contains("successfully")) {
+	/**
+	 * Saves a question and its answers. Runs in the background and must not touch
+	 * Swing components.
+	 * 
+	 * @param data       the data source to write to
+	 * @param themeTitle The theme title
+	 * @param question   The question to save
+	 * @param answers    The answers of the question
+	 * @return the outcome of the save operation
+	 */
+	private SaveOutcome saveQuestion(QuizDataInterface data, String themeTitle, QuestionDTO question,
+			ArrayList<AnswerDTO> answers) {
+		ThemeDTO targetTheme = findTheme(data, themeTitle);
+		if (targetTheme == null) {
+			ConfigManager.debugPrint("DEBUG: Theme not found: " + themeTitle);
+			return new SaveOutcome(false, String.format(UserStringConstants.MSG_THEME_NOT_FOUND, themeTitle));
+		}
 
-				if (question.getId() == -1) {
+		ConfigManager.debugPrint("DEBUG: Found theme: " + targetTheme.getThemeTitle());
 
-					ConfigManager.debugPrint("DEBUG: Question ID still -1, trying to refresh from database");
-					ArrayList<QuestionDTO> questionsForTheme = dataManager.getQuestionsFor(targetTheme);
-					for (QuestionDTO dbQuestion : questionsForTheme) {
-						if (dbQuestion.getQuestionTitle().equals(question.getQuestionTitle())
-								&& dbQuestion.getText().equals(question.getText())) {
-							question.setId(dbQuestion.getId());
-							ConfigManager.debugPrint("DEBUG: Found question in DB with ID: " + question.getId());
-							break;
-						}
-					}
-				}
+		String result = data.saveQuestion(question, targetTheme);
+		ConfigManager.debugPrint("DEBUG: Save question result: " + result);
 
-				ConfigManager.debugPrint("DEBUG: Question ID after save: " + question.getId());
+		if (result == null || !result.contains("successfully")) {
+			ConfigManager.debugPrint("DEBUG: Question save failed: " + result);
+			return new SaveOutcome(false, String.format(UserStringConstants.MSG_QUESTION_SAVE_ERROR,
+					(result != null ? result : "Unbekannter Fehler")));
+		}
 
-				QuestionDTO freshQuestion = null;
-				if (question.getId() != -1) {
-					ArrayList<QuestionDTO> questionsForTheme = dataManager.getQuestionsFor(targetTheme);
-					for (QuestionDTO dbQuestion : questionsForTheme) {
-						if (dbQuestion.getId() == question.getId()) {
-							freshQuestion = dbQuestion;
-							ConfigManager.debugPrint("DEBUG: Using fresh question object from database");
-							break;
-						}
-					}
-				}
+		if (question.getId() == -1) {
 
-				QuestionDTO questionForAnswers = (freshQuestion != null) ? freshQuestion : question;
-
-				boolean allAnswersSaved = true;
-				for (int i = 0; i < answers.size(); i++) {
-					AnswerDTO answer = answers.get(i);
-					ConfigManager.debugPrint("DEBUG: Saving answer " + (i + 1) + ": '" + answer.getAnswerText()
-							+ "' (correct: " + answer.isCorrect() + ")");
-					String answerResult = dataManager.saveAnswer(answer, questionForAnswers);
-					ConfigManager.debugPrint("DEBUG: Answer save result: " + answerResult);
-
-					if (answerResult == null || !answerResult.contains("successfully")) {
-						allAnswersSaved = false;
-						ConfigManager.debugPrint("DEBUG: Failed to save answer " + (i + 1));
-						break;
-					}
+			ConfigManager.debugPrint("DEBUG: Question ID still -1, trying to refresh from database");
+			ArrayList<QuestionDTO> questionsForTheme = data.getQuestionsFor(targetTheme);
+			for (QuestionDTO dbQuestion : questionsForTheme) {
+				if (dbQuestion.getQuestionTitle().equals(question.getQuestionTitle())
+						&& dbQuestion.getText().equals(question.getText())) {
+					question.setId(dbQuestion.getId());
+					ConfigManager.debugPrint("DEBUG: Found question in DB with ID: " + question.getId());
+					break;
 				}
+			}
+		}
 
-				if (allAnswersSaved) {
-					ConfigManager.debugPrint("DEBUG: All answers saved successfully");
-					buttonPanel.setMessage(
-							String.format(UserStringConstants.MSG_QUESTION_SAVED_SUCCESS, question.getQuestionTitle()));
-					questionListPanel.updateQuestionList(questionListPanel.getSelectedThemeTitle());
+		ConfigManager.debugPrint("DEBUG: Question ID after save: " + question.getId());
 
-					if (parentFrame != null) {
-						parentFrame.onQuestionSaved();
-					}
-				} else {
-					ConfigManager.debugPrint("DEBUG: Some answers failed to save");
-					buttonPanel.setMessage(UserStringConstants.MSG_QUESTION_SAVED_ANSWERS_ERROR);
+		QuestionDTO freshQuestion = null;
+		if (question.getId() != -1) {
+			ArrayList<QuestionDTO> questionsForTheme = data.getQuestionsFor(targetTheme);
+			for (QuestionDTO dbQuestion : questionsForTheme) {
+				if (dbQuestion.getId() == question.getId()) {
+					freshQuestion = dbQuestion;
+					ConfigManager.debugPrint("DEBUG: Using fresh question object from database");
+					break;
 				}
-			} else {
-				ConfigManager.debugPrint("DEBUG: Question save failed: " + result);
-				buttonPanel.setMessage(String.format(UserStringConstants.MSG_QUESTION_SAVE_ERROR,
-						(result != null ? result : "Unbekannter Fehler")));
 			}
-			ConfigManager.debugPrint("=== DEBUG: onQuestionSaved END ===");
-		} catch (Exception e) {
-			ConfigManager.debugPrint("DEBUG: Exception occurred: " + e.getMessage());
-			e.printStackTrace();
-			buttonPanel.setMessage(String.format(UserStringConstants.MSG_QUESTION_SAVE_ERROR, e.getMessage()));
 		}
+
+		QuestionDTO questionForAnswers = (freshQuestion != null) ? freshQuestion : question;
+
+		for (int i = 0; i < answers.size(); i++) {
+			AnswerDTO answer = answers.get(i);
+			ConfigManager.debugPrint("DEBUG: Saving answer " + (i + 1) + ": '" + answer.getAnswerText()
+					+ "' (correct: " + answer.isCorrect() + ")");
+			String answerResult = data.saveAnswer(answer, questionForAnswers);
+			ConfigManager.debugPrint("DEBUG: Answer save result: " + answerResult);
+
+			if (answerResult == null || !answerResult.contains("successfully")) {
+				ConfigManager.debugPrint("DEBUG: Failed to save answer " + (i + 1));
+				ConfigManager.debugPrint("DEBUG: Some answers failed to save");
+				return new SaveOutcome(false, UserStringConstants.MSG_QUESTION_SAVED_ANSWERS_ERROR);
+			}
+		}
+
+		ConfigManager.debugPrint("DEBUG: All answers saved successfully");
+		return new SaveOutcome(true,
+				String.format(UserStringConstants.MSG_QUESTION_SAVED_SUCCESS, question.getQuestionTitle()));
 	}
 
 	/**
@@ -382,15 +435,16 @@ public class QuizQuestionMainPanel extends JPanel implements GUIConstants, QuizQ
 	/**
 	 * Finds and returns the ThemeDTO for a given theme title.
 	 * 
+	 * @param data       the data source to read from
 	 * @param themeTitle The title of the theme to find
 	 * @return The ThemeDTO if found; null otherwise
 	 */
-	private ThemeDTO findTheme(String themeTitle) {
+	private ThemeDTO findTheme(QuizDataInterface data, String themeTitle) {
 		// Remove * prefix if present to get the actual theme title
 		String actualTitle = themeTitle.startsWith("* ") ? themeTitle.substring(LogicConstants.THEME_PREFIX_LENGTH)
 				: themeTitle;
 
-		ArrayList<ThemeDTO> themes = dataManager.getAllThemes();
+		ArrayList<ThemeDTO> themes = data.getAllThemes();
 		for (ThemeDTO theme : themes) {
 			if (theme.getThemeTitle().equals(actualTitle)) {
 				return theme;
@@ -402,10 +456,9 @@ public class QuizQuestionMainPanel extends JPanel implements GUIConstants, QuizQ
 	/**
 	 * Returns the currently selected question or creates a new one.
 	 * 
-	 * @param theme The theme to associate with a new question if needed
 	 * @return Existing or new QuestionDTO
 	 */
-	private QuestionDTO getOrCreateQuestion(ThemeDTO theme) {
+	private QuestionDTO getOrCreateQuestion() {
 		int selectedIndex = questionListPanel.getQuestionList().getSelectedIndex();
 		if (selectedIndex >= 0) {
 			return questionListPanel.getQuestionByIndex(selectedIndex);
@@ -498,33 +551,6 @@ public class QuizQuestionMainPanel extends JPanel implements GUIConstants, QuizQ
 		return true;
 	}
 
-	/**
-	 * Determines the theme title for the given question by searching associated
-	 * themes.
-	 * 
-	 * @param question The question to find the theme of
-	 * @return The theme title string or empty string if none found
-	 */
-	private String getThemeNameForQuestion(QuestionDTO question) {
-		try {
-			String currentTheme = questionListPanel.getSelectedThemeTitle();
-			if (currentTheme != null && !UserStringConstants.ALL_THEMES_OPTION.equals(currentTheme)) {
-				return currentTheme;
-			}
-			ArrayList<ThemeDTO> allThemes = dataManager.getAllThemes();
-			for (ThemeDTO theme : allThemes) {
-				ArrayList<QuestionDTO> questionsForTheme = dataManager.getQuestionsFor(theme);
-				for (QuestionDTO q : questionsForTheme) {
-					if (q.getId() == question.getId()) {
-						return theme.getThemeTitle();
-					}
-				}
-			}
-		} catch (Exception e) {
-		}
-		return "";
-	}
-
 	/**
 	 * Refreshes the theme list displayed in the question list panel.
 	 * <p>
@@ -18,9 +18,11 @@ import constants.GUIConstants;
 import constants.UserStringConstants;
 import gui.subpanels.SessionsTrendChart;
 import gui.subpanels.StatisticsBarChart;
+import persistence.AsyncDataManager;
 import persistence.QuizDataInterface;
 import quizlogic.dto.QuizSessionDTO;
-import quizlogic.dto.UserAnswerDTO;
+import quizlogic.dto.QuizStatisticsSummary;
+import quizlogic.dto.SessionSummary;
 
 /**
  * Main panel for displaying quiz statistics and performance analytics.
@@ -68,11 +70,14 @@ import quizlogic.dto.UserAnswerDTO;
  * @see StatisticsBarChart
  * @see SessionsTrendChart
  * @see QuizSessionDTO
- * @see UserAnswerDTO
+ * @see quizlogic.dto.UserAnswerDTO
  */
 public class QuizStatisticsMainPanel extends JPanel implements GUIConstants {
 	private static final long serialVersionUID = 1L;
 
+	/** Number of sessions shown in the recent sessions list */
+	private static final int RECENT_SESSION_LIMIT = 10;
+
 	/** Labels for displaying statistics */
 	private JLabel correctAnswersLabel;
 	private JLabel wrongAnswersLabel;
@@ -83,6 +88,19 @@ public class QuizStatisticsMainPanel extends JPanel implements GUIConstants {
 
 	/** Data manager for accessing historical sessions */
 	private QuizDataInterface dataManager;
+	private AsyncDataManager asyncDataManager;
+
+	/** Number of the latest history request, older results are dropped */
+	private int historyRequest;
+
+	/**
+	 * Data loaded for the historical statistics.
+	 * 
+	 * @param statistics     summary of all completed sessions
+	 * @param recentSessions summaries of the most recent sessions
+	 */
+	private record SessionHistory(QuizStatisticsSummary statistics, List<SessionSummary> recentSessions) {
+	}
 
 	/** Labels for historical statistics */
 	private JLabel totalSessionsLabel;
@@ -104,6 +122,7 @@ public class QuizStatisticsMainPanel extends JPanel implements GUIConstants {
 
 	public QuizStatisticsMainPanel(QuizDataInterface dataManager) {
 		this.dataManager = dataManager;
+		this.asyncDataManager = dataManager != null ? new AsyncDataManager(dataManager) : null;
 		setBackground(BACKGROUND_COLOR);
 		setLayout(new BorderLayout(PANEL_MARGIN_H, PANEL_MARGIN_V));
 
@@ -323,11 +342,11 @@ public class QuizStatisticsMainPanel extends JPanel implements GUIConstants {
 			return;
 		}
 
-		List<UserAnswerDTO> userAnswers = currentSession.getUserAnswers();
-		int totalQuestions = countUniqueQuestions(userAnswers);
-		int correctQuestions = countCorrectQuestions(userAnswers);
+		QuizStatisticsSummary summary = QuizStatisticsSummary.of(currentSession);
+		int totalQuestions = summary.answeredQuestions();
+		int correctQuestions = summary.correctQuestions();
 
-		double successRate = totalQuestions > 0 ? (double) correctQuestions / totalQuestions * 100 : 0;
+		double successRate = summary.successRate();
 
 		correctAnswersLabel.setText(String.valueOf(correctQuestions));
 		wrongAnswersLabel.setText(String.valueOf(totalQuestions - correctQuestions));
@@ -355,32 +374,40 @@ public class QuizStatisticsMainPanel extends JPanel implements GUIConstants {
 			return;
 		}
 
-		List<QuizSessionDTO> allSessions = dataManager.getAllQuizSessions();
+		int request = ++historyRequest;
+		LoadingIndicator.track(this, asyncDataManager.read(data -> new SessionHistory(data.getQuizStatistics(),
+				data.getRecentSessionSummaries(RECENT_SESSION_LIMIT)))).whenComplete((history, error) -> {
+					if (request != historyRequest) {
+						return;
+					}
+					if (error != null) {
+						recentSessionsArea.setText(String.format(UserStringConstants.MSG_LOADING_FAILED,
+								AsyncDataManager.unwrap(error).getMessage()));
+						return;
+					}
+					showHistoricalData(history);
+				});
+	}
+
+	/**
+	 * Shows loaded historical statistics.
+	 * 
+	 * @param history the loaded sessions
+	 */
+	private void showHistoricalData(SessionHistory history) {
+		QuizStatisticsSummary statistics = history.statistics();
 
-		if (allSessions.isEmpty()) {
+		if (statistics.totalSessions() == 0) {
 			totalSessionsLabel.setText("0");
 			overallSuccessRateLabel.setText("0%");
 			recentSessionsArea.setText("Noch keine abgeschlossenen Sessions vorhanden.");
 			return;
 		}
 
-		int totalSessions = allSessions.size();
-		int totalCorrectQuestions = 0;
-		int totalAnsweredQuestions = 0;
-
-		for (QuizSessionDTO session : allSessions) {
-			if (session.getUserAnswers() != null && !session.getUserAnswers().isEmpty()) {
-				int sessionQuestions = countUniqueQuestions(session.getUserAnswers());
-				int sessionCorrect = countCorrectQuestions(session.getUserAnswers());
-
-				totalAnsweredQuestions += sessionQuestions;
-				totalCorrectQuestions += sessionCorrect;
-			}
-		}
-
-		double overallSuccessRate = totalAnsweredQuestions > 0
-				? (double) totalCorrectQuestions / totalAnsweredQuestions * 100
-				: 0;
+		int totalSessions = statistics.totalSessions();
+		int totalCorrectQuestions = statistics.correctQuestions();
+		int totalAnsweredQuestions = statistics.answeredQuestions();
+		double overallSuccessRate = statistics.successRate();
 
 		totalSessionsLabel.setText(String.valueOf(totalSessions));
 		overallSuccessRateLabel.setText(String.format("%.1f%%", overallSuccessRate));
@@ -397,26 +424,24 @@ public class QuizStatisticsMainPanel extends JPanel implements GUIConstants {
 			overallSuccessRateLabel.setForeground(ERROR_COLOR);
 		}
 
-		updateRecentSessionsList(allSessions);
+		updateRecentSessionsList(history.recentSessions());
 	}
 
 	/**
 	 * Updates the recent sessions list display.
 	 */
-	private void updateRecentSessionsList(List<QuizSessionDTO> allSessions) {
+	private void updateRecentSessionsList(List<SessionSummary> recentSessions) {
 		StringBuilder recentText = new StringBuilder();
 		recentText.append(String.format("%-25s %-12s %-12s %-12s%n", "Datum", "Fragen", "Richtig", "Rate"));
 		recentText.append("─".repeat(70)).append("\n");
 
-		List<QuizSessionDTO> recentSessions = dataManager.getRecentQuizSessions(10);
-
-		for (QuizSessionDTO session : recentSessions) {
-			if (session.getUserAnswers() != null && !session.getUserAnswers().isEmpty()) {
-				int questions = countUniqueQuestions(session.getUserAnswers());
-				int correct = countCorrectQuestions(session.getUserAnswers());
-				double rate = questions > 0 ? (double) correct / questions * 100 : 0;
+		for (SessionSummary session : recentSessions) {
+			if (session.questionCount() > 0) {
+				int questions = session.questionCount();
+				int correct = session.correctCount();
+				double rate = session.successRate();
 
-				String dateStr = session.getTimestamp().toString().substring(0, 19);
+				String dateStr = session.timestamp().toString().substring(0, 19);
 				recentText.append(String.format("%-25s %-12d %-12d %8.1f%%%n", dateStr, questions, correct, rate));
 			}
 		}
@@ -429,40 +454,6 @@ public class QuizStatisticsMainPanel extends JPanel implements GUIConstants {
 		}
 	}
 
-	/**
-	 * Counts unique questions that have been answered. Multiple answers to the same
-	 * question count as one question.
-	 */
-	private int countUniqueQuestions(List<UserAnswerDTO> userAnswers) {
-		return (int) userAnswers.stream().mapToInt(UserAnswerDTO::getQuestionId).distinct().count();
-	}
-
-	/**
-	 * Counts questions that were answered completely correctly. A question is
-	 * considered correct only if the user's selected answers match the correct
-	 * answers.
-	 */
-	private int countCorrectQuestions(List<UserAnswerDTO> userAnswers) {
-		return (int) userAnswers.stream().collect(java.util.stream.Collectors.groupingBy(UserAnswerDTO::getQuestionId))
-				.values().stream().mapToLong(answersForQuestion -> {
-
-					boolean hasSelectedAnswers = answersForQuestion.stream().anyMatch(UserAnswerDTO::isSelected);
-
-					if (!hasSelectedAnswers) {
-
-						return 0;
-					}
-
-					boolean allSelectedAreCorrect = answersForQuestion.stream().filter(UserAnswerDTO::isSelected)
-							.allMatch(UserAnswerDTO::isCorrect);
-
-					boolean noIncorrectSelected = answersForQuestion.stream()
-							.noneMatch(answer -> answer.isSelected() && !answer.isCorrect());
-
-					return (allSelectedAreCorrect && noIncorrectSelected) ? 1 : 0;
-				}).sum();
-	}
-
 	/**
 	 * Gets the current quiz session.
 	 * 
@@ -14,6 +14,7 @@ import gui.subpanels.ThemeButtonPanel;
 import gui.subpanels.ThemeListPanel;
 import gui.subpanels.ThemePanel;
 
+import persistence.AsyncDataManager;
 import persistence.QuizDataInterface;
 
 import quizlogic.dto.ThemeDTO;
@@ -36,7 +37,7 @@ public class QuizThemeMainPanel extends JPanel implements GUIConstants, QuizThem
 	private ThemeListPanel themeListPanel;
 	private ThemePanel themePanel;
 	private ThemeButtonPanel buttonPanel;
-	private QuizDataInterface dataManager;
+	private AsyncDataManager asyncDataManager;
 	private ThemeChangeListener themeChangeListener;
 
 	/**
@@ -55,7 +56,7 @@ public class QuizThemeMainPanel extends JPanel implements GUIConstants, QuizThem
 	 * @param dataManager the data manager for storage operations (database or file-based)
 	 */
 	public QuizThemeMainPanel(QuizDataInterface dataManager) {
-		this.dataManager = dataManager;
+		this.asyncDataManager = new AsyncDataManager(dataManager);
 
 		setLayout(new BorderLayout(PANEL_MARGIN_H, PANEL_MARGIN_V));
 		setBackground(BACKGROUND_COLOR);
@@ -136,40 +137,46 @@ public class QuizThemeMainPanel extends JPanel implements GUIConstants, QuizThem
 			}
 		}
 
-		ArrayList<ThemeDTO> allThemes = dataManager.getAllThemes();
-		ThemeDTO existingTheme = null;
-		for (ThemeDTO theme : allThemes) {
-			if (theme.getThemeTitle().equals(title)) {
-				existingTheme = theme;
-				break;
+		buttonPanel.setMessage(UserStringConstants.MSG_LOADING);
+		LoadingIndicator.track(this, asyncDataManager.getAllThemes().thenCompose(allThemes -> {
+			ThemeDTO existingTheme = null;
+			for (ThemeDTO theme : allThemes) {
+				if (theme.getThemeTitle().equals(title)) {
+					existingTheme = theme;
+					break;
+				}
 			}
-		}
 
-		ThemeDTO themeToSave;
-		if (existingTheme != null) {
+			ThemeDTO themeToSave;
+			if (existingTheme != null) {
 
-			existingTheme.setThemeDescription(description);
-			themeToSave = existingTheme;
-		} else {
+				existingTheme.setThemeDescription(description);
+				themeToSave = existingTheme;
+			} else {
 
-			themeToSave = new ThemeDTO();
-			themeToSave.setId(-1);
-			themeToSave.setThemeTitle(title);
-			themeToSave.setThemeDescription(description);
-			themeToSave.setQuestions(new ArrayList<>());
-		}
+				themeToSave = new ThemeDTO();
+				themeToSave.setId(-1);
+				themeToSave.setThemeTitle(title);
+				themeToSave.setThemeDescription(description);
+				themeToSave.setQuestions(new ArrayList<>());
+			}
 
-		String result = dataManager.saveTheme(themeToSave);
-		if (result != null && result.toLowerCase().contains("successfully")) {
-			buttonPanel.setMessage(String.format(UserStringConstants.MSG_THEME_CREATED_SUCCESS, title));
+			return asyncDataManager.saveTheme(themeToSave);
+		})).whenComplete((result, error) -> {
+			if (error != null) {
+				buttonPanel.setMessage(String.format(UserStringConstants.MSG_LOADING_FAILED,
+						AsyncDataManager.unwrap(error).getMessage()));
+			} else if (result != null && result.toLowerCase().contains("successfully")) {
+				buttonPanel.setMessage(String.format(UserStringConstants.MSG_THEME_CREATED_SUCCESS, title));
 
-			themePanel.fillFields(title, description);
-			themeListPanel.updateThemeList();
-			notifyThemeChanged();
-		} else {
-			buttonPanel.setMessage(String.format(UserStringConstants.MSG_THEME_DELETE_ERROR,
-					(result != null ? result : "Unbekannter Fehler")));
-		}
+				themePanel.fillFields(title, description);
+				themeListPanel.updateThemeList();
+				notifyThemeChanged();
+			} else {
+				buttonPanel.setMessage(String.format(UserStringConstants.MSG_THEME_DELETE_ERROR,
+						(result != null ? result : "Unbekannter Fehler")));
+			}
+		});
 	}
 
 	/**
@@ -194,19 +201,23 @@ public class QuizThemeMainPanel extends JPanel implements GUIConstants, QuizThem
 				JOptionPane.QUESTION_MESSAGE);
 
 		if (confirm == JOptionPane.YES_OPTION) {
-			String result = dataManager.deleteTheme(selectedTheme);
-			if (result != null && result.toLowerCase().contains("successfully")) {
-				buttonPanel.setMessage(String.format(UserStringConstants.MSG_THEME_DELETED_SUCCESS, selectedTitle));
-				themePanel.clearFields();
-				themeListPanel.clearSelection();
-				themeListPanel.updateThemeList();
-				notifyThemeChanged();
-				ConfigManager.debugPrint("DEBUG: Theme '" + selectedTitle + "' erfolgreich gelöscht");
-			} else {
-				buttonPanel.setMessage(String.format(UserStringConstants.MSG_THEME_DELETE_ERROR,
-						(result != null ? result : "Unbekannter Fehler")));
-				System.err.println("ERROR: Fehler beim Löschen: " + result);
-			}
+			buttonPanel.setMessage(UserStringConstants.MSG_LOADING);
+			LoadingIndicator.track(this, asyncDataManager.deleteTheme(selectedTheme)).whenComplete((result, error) -> {
+				if (error == null && result != null && result.toLowerCase().contains("successfully")) {
+					buttonPanel
+							.setMessage(String.format(UserStringConstants.MSG_THEME_DELETED_SUCCESS, selectedTitle));
+					themePanel.clearFields();
+					themeListPanel.clearSelection();
+					themeListPanel.updateThemeList();
+					notifyThemeChanged();
+					ConfigManager.debugPrint("DEBUG: Theme '" + selectedTitle + "' erfolgreich gelöscht");
+				} else {
+					String message = error != null ? AsyncDataManager.unwrap(error).getMessage() : result;
+					buttonPanel.setMessage(String.format(UserStringConstants.MSG_THEME_DELETE_ERROR,
+							(message != null ? message : "Unbekannter Fehler")));
+					System.err.println("ERROR: Fehler beim Löschen: " + message);
+				}
+			});
 		} else {
 			buttonPanel.setMessage(UserStringConstants.MSG_DELETE_CANCELLED);
 		}
@@ -13,7 +13,9 @@ import javax.swing.ScrollPaneConstants;
 
 import constants.GUIConstants;
 import constants.UserStringConstants;
+import gui.LoadingIndicator;
 import gui.interfaces.QuizQuestionDelegator;
+import persistence.AsyncDataManager;
 import persistence.QuizDataInterface;
 import quizlogic.dto.QuestionDTO;
 import quizlogic.dto.ThemeDTO;
@@ -42,12 +44,25 @@ public class QuestionListPanel extends JPanel implements GUIConstants {
 	private QuizThemeInfoView themeInfoView;
 
 	private QuizDataInterface dataManager;
+	private AsyncDataManager asyncDataManager;
 
 	private QuizQuestionDelegator delegate;
 
-	private ArrayList<QuestionDTO> currentQuestions;
+	private ArrayList<QuestionEntry> currentQuestions;
 	private boolean showingThemes = false;
 
+	/** Number of the latest list request, older results are dropped */
+	private int listRequest;
+
+	/**
+	 * A listed question with the title of the theme it was loaded from.
+	 *
+	 * @param question   the question
+	 * @param themeTitle title of the theme of the question
+	 */
+	private record QuestionEntry(QuestionDTO question, String themeTitle) {
+	}
+
 	/**
 	 * Constructs the question list panel with data manager integration.
 	 * 
@@ -56,6 +71,7 @@ public class QuestionListPanel extends JPanel implements GUIConstants {
 	 */
 	public QuestionListPanel(QuizDataInterface dataManager) {
 		this.dataManager = dataManager;
+		this.asyncDataManager = new AsyncDataManager(dataManager);
 		this.currentQuestions = new ArrayList<>();
 		setLayout(new BorderLayout());
 		setBackground(BACKGROUND_COLOR);
@@ -138,28 +154,64 @@ public class QuestionListPanel extends JPanel implements GUIConstants {
 	}
 
 	/**
-	 * Updates the question list based on selected theme.
+	 * Updates the question list based on selected theme. The questions are loaded
+	 * in the background; results of superseded requests are discarded.
 	 * 
 	 * @param selectedThemeTitle Theme to filter by, "Alle Themen" for all questions
 	 */
 	public void updateQuestionList(String selectedThemeTitle) {
-		listModel.clear();
-		currentQuestions.clear();
+		int request = ++listRequest;
+		LoadingIndicator.track(this, asyncDataManager.read(data -> loadQuestions(data, selectedThemeTitle)))
+				.whenComplete((questions, error) -> {
+					if (request != listRequest) {
+						return;
+					}
+					if (error != null) {
+						System.err.println("Error loading questions: " + error.getMessage());
+						return;
+					}
+					showQuestions(questions);
+					headerPanel.refreshThemes();
+				});
+	}
 
+	/**
+	 * Loads the questions for the selected theme.
+	 * 
+	 * @param data               the data source to read from
+	 * @param selectedThemeTitle Theme to filter by, "Alle Themen" for all questions
+	 * @return the questions to display with the titles of their themes
+	 */
+	private ArrayList<QuestionEntry> loadQuestions(QuizDataInterface data, String selectedThemeTitle) {
+		ArrayList<QuestionEntry> questions = new ArrayList<>();
 		if (UserStringConstants.ALL_THEMES_OPTION.equals(selectedThemeTitle)) {
-			ArrayList<ThemeDTO> themes = dataManager.getAllThemes();
-			for (ThemeDTO theme : themes) {
-				ArrayList<QuestionDTO> questions = dataManager.getQuestionsFor(theme);
-				currentQuestions.addAll(questions);
+			for (ThemeDTO theme : data.loadCatalog()) {
+				for (QuestionDTO question : theme.getQuestions()) {
+					questions.add(new QuestionEntry(question, theme.getThemeTitle()));
+				}
 			}
 		} else {
-			ThemeDTO selectedTheme = findThemeByTitle(selectedThemeTitle);
+			ThemeDTO selectedTheme = findThemeByTitle(data, selectedThemeTitle);
 			if (selectedTheme != null) {
-				currentQuestions = dataManager.getQuestionsFor(selectedTheme);
+				for (QuestionDTO question : data.getQuestionsFor(selectedTheme)) {
+					questions.add(new QuestionEntry(question, selectedTheme.getThemeTitle()));
+				}
 			}
 		}
+		return questions;
+	}
+
+	/**
+	 * Fills the list with the given questions.
+	 * 
+	 * @param questions the questions to display
+	 */
+	private void showQuestions(ArrayList<QuestionEntry> questions) {
+		listModel.clear();
+		currentQuestions = questions;
 
-		for (QuestionDTO question : currentQuestions) {
+		for (QuestionEntry entry : currentQuestions) {
+			QuestionDTO question = entry.question();
 			String displayText = question.getQuestionTitle();
 			if (displayText == null || displayText.trim().isEmpty()) {
 				displayText = question.getQuestionText();
@@ -169,8 +221,6 @@ public class QuestionListPanel extends JPanel implements GUIConstants {
 			}
 			listModel.addElement(displayText);
 		}
-
-		headerPanel.refreshThemes();
 	}
 
 	/**
@@ -184,11 +234,12 @@ public class QuestionListPanel extends JPanel implements GUIConstants {
 	/**
 	 * Finds a theme by its title.
 	 * 
+	 * @param data  the data source to read from
 	 * @param title The theme title
 	 * @return The ThemeDTO or null if not found
 	 */
-	private ThemeDTO findThemeByTitle(String title) {
-		ArrayList<ThemeDTO> themes = dataManager.getAllThemes();
+	private ThemeDTO findThemeByTitle(QuizDataInterface data, String title) {
+		ArrayList<ThemeDTO> themes = data.getAllThemes();
 		for (ThemeDTO theme : themes) {
 			if (theme.getThemeTitle().equals(title)) {
 				return theme;
@@ -223,7 +274,21 @@ public class QuestionListPanel extends JPanel implements GUIConstants {
 	 */
 	public QuestionDTO getQuestionByIndex(int index) {
 		if (index >= 0 && index < currentQuestions.size()) {
-			return currentQuestions.get(index);
+			return currentQuestions.get(index).question();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the title of the theme the question at the specified index was
+	 * loaded from.
+	 * 
+	 * @param index The index of the question
+	 * @return The theme title or null if index is invalid
+	 */
+	public String getThemeTitleByIndex(int index) {
+		if (index >= 0 && index < currentQuestions.size()) {
+			return currentQuestions.get(index).themeTitle();
 		}
 		return null;
 	}
@@ -16,6 +16,8 @@ import javax.swing.JPanel;
 
 import constants.GUIConstants;
 import constants.UserStringConstants;
+import gui.LoadingIndicator;
+import persistence.AsyncDataManager;
 import persistence.QuizDataInterface;
 import quizlogic.dto.ThemeDTO;
 
@@ -34,7 +36,10 @@ public class QuizHeaderPanel extends JPanel implements GUIConstants {
 
 	private JComboBox<String> themeComboBox;
 	private JButton switchButton;
-	private QuizDataInterface dataManager;
+	private AsyncDataManager asyncDataManager;
+
+	/** Flag suppressing selection events while the combo box is refilled */
+	private boolean updatingComboBox;
 
 	public interface ThemeSelectionListener {
 		void onThemeSelected(String themeName);
@@ -54,7 +59,7 @@ public class QuizHeaderPanel extends JPanel implements GUIConstants {
 	 *                    file-based)
 	 */
 	public QuizHeaderPanel(QuizDataInterface dataManager) {
-		this.dataManager = dataManager;
+		this.asyncDataManager = new AsyncDataManager(dataManager);
 		initializeComponents();
 
 	}
@@ -93,9 +98,13 @@ public class QuizHeaderPanel extends JPanel implements GUIConstants {
 		themeComboBox.setEditable(false);
 		themeComboBox.setBackground(TEXTFIELD_BACKGROUND);
 
-		loadThemes();
+		themeComboBox.addItem(UserStringConstants.ALL_THEMES_OPTION);
+		refreshThemes();
 
 		themeComboBox.addActionListener(_ -> {
+			if (updatingComboBox) {
+				return;
+			}
 			String selectedTheme = (String) themeComboBox.getSelectedItem();
 			if (selectedTheme != null && themeListener != null) {
 				themeListener.onThemeSelected(selectedTheme);
@@ -123,14 +132,29 @@ public class QuizHeaderPanel extends JPanel implements GUIConstants {
 	}
 
 	/**
-	 * Loads themes from database into the combo box.
+	 * Loads themes into the combo box, keeping the current selection if the theme
+	 * still exists. Listeners are only notified if the selection changed.
+	 * 
+	 * @param themes The list of theme DTOs to show
 	 */
-	private void loadThemes() {
-		themeComboBox.removeAllItems();
-		themeComboBox.addItem(UserStringConstants.ALL_THEMES_OPTION);
+	private void loadThemes(ArrayList<ThemeDTO> themes) {
+		Object previousSelection = themeComboBox.getSelectedItem();
+		updatingComboBox = true;
+		try {
+			themeComboBox.removeAllItems();
+			themeComboBox.addItem(UserStringConstants.ALL_THEMES_OPTION);
+			populateThemeComboBox(themes);
+			if (previousSelection != null) {
+				themeComboBox.setSelectedItem(previousSelection);
+			}
+		} finally {
+			updatingComboBox = false;
+		}
 
-		ArrayList<ThemeDTO> themes = dataManager.getAllThemes();
-		populateThemeComboBox(themes);
+		String selectedTheme = (String) themeComboBox.getSelectedItem();
+		if (themeListener != null && selectedTheme != null && !selectedTheme.equals(previousSelection)) {
+			themeListener.onThemeSelected(selectedTheme);
+		}
 	}
 
 	/**
@@ -167,20 +191,17 @@ public class QuizHeaderPanel extends JPanel implements GUIConstants {
 	}
 
 	/**
-	 * Refreshes the theme combo box with current themes from database.
+	 * Refreshes the theme combo box with current themes from database. The themes
+	 * are loaded in the background.
 	 */
 	public void refreshThemes() {
-		String currentSelection = (String) themeComboBox.getSelectedItem();
-		loadThemes();
-
-		if (currentSelection != null) {
-			for (int i = 0; i < themeComboBox.getItemCount(); i++) {
-				if (currentSelection.equals(themeComboBox.getItemAt(i))) {
-					themeComboBox.setSelectedIndex(i);
-					break;
-				}
+		LoadingIndicator.track(this, asyncDataManager.getAllThemes()).whenComplete((themes, error) -> {
+			if (error != null) {
+				System.err.println("Error loading themes: " + error.getMessage());
+				return;
 			}
-		}
+			loadThemes(themes);
+		});
 	}
 
 	/**
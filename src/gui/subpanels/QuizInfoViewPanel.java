@@ -13,6 +13,8 @@ import javax.swing.JScrollPane;
 
 import constants.GUIConstants;
 import constants.UserStringConstants;
+import gui.LoadingIndicator;
+import persistence.AsyncDataManager;
 import persistence.QuizDataInterface;
 import quizlogic.dto.ThemeDTO;
 
@@ -35,6 +37,9 @@ public class QuizInfoViewPanel extends JPanel implements GUIConstants {
 	private final JComboBox<String> themeComboBox;
 	private ThemeSelectionDelegate delegate;
 
+	/** Flag suppressing selection events while the combo box is refilled */
+	private boolean updatingComboBox;
+
 	/**
 	 * Interface for handling theme selection events.
 	 */
@@ -62,10 +67,12 @@ public class QuizInfoViewPanel extends JPanel implements GUIConstants {
 		themeComboBox.setEditable(false);
 		themeComboBox.addItem(UserStringConstants.ALL_THEMES_OPTION);
 
-		ArrayList<ThemeDTO> themes = dataManager.getAllThemes();
-		populateThemeComboBox(themes);
+		refreshThemeComboBox(dataManager);
 
 		themeComboBox.addActionListener(_ -> {
+			if (updatingComboBox) {
+				return;
+			}
 			String selectedTheme = (String) themeComboBox.getSelectedItem();
 			if (delegate != null && selectedTheme != null) {
 				delegate.onThemeSelected(selectedTheme);
@@ -107,25 +114,47 @@ public class QuizInfoViewPanel extends JPanel implements GUIConstants {
 
 	/**
 	 * Updates the theme combo box with the available themes from the database.
+	 * The current selection is kept if the theme still exists; otherwise the
+	 * delegate is notified about the new selection.
 	 * 
 	 * @param themes The list of theme DTOs to populate the combo box
 	 */
 	public void updateThemeComboBox(ArrayList<ThemeDTO> themes) {
-		themeComboBox.removeAllItems();
-		themeComboBox.addItem(UserStringConstants.ALL_THEMES_OPTION);
-		populateThemeComboBox(themes);
+		Object previousSelection = themeComboBox.getSelectedItem();
+		updatingComboBox = true;
+		try {
+			themeComboBox.removeAllItems();
+			themeComboBox.addItem(UserStringConstants.ALL_THEMES_OPTION);
+			populateThemeComboBox(themes);
+			if (previousSelection != null) {
+				themeComboBox.setSelectedItem(previousSelection);
+			}
+		} finally {
+			updatingComboBox = false;
+		}
+
+		String selectedTheme = (String) themeComboBox.getSelectedItem();
+		if (delegate != null && selectedTheme != null && !selectedTheme.equals(previousSelection)) {
+			delegate.onThemeSelected(selectedTheme);
+		}
 	}
 
 	/**
 	 * Refreshes the theme combo box by fetching current themes from the data
 	 * manager. This method should be called when themes are added or questions are
-	 * created.
+	 * created. The themes are loaded in the background.
 	 * 
 	 * @param dataManager The data manager to fetch fresh theme data
 	 */
 	public void refreshThemeComboBox(QuizDataInterface dataManager) {
-		ArrayList<ThemeDTO> currentThemes = dataManager.getAllThemes();
-		updateThemeComboBox(currentThemes);
+		LoadingIndicator.track(this, new AsyncDataManager(dataManager).getAllThemes())
+				.whenComplete((currentThemes, error) -> {
+					if (error != null) {
+						System.err.println("Error loading themes: " + error.getMessage());
+						return;
+					}
+					updateThemeComboBox(currentThemes);
+				});
 	}
 
 	/**
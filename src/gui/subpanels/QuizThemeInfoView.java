@@ -12,6 +12,8 @@ import javax.swing.ScrollPaneConstants;
 import constants.GUIConstants;
 import constants.LogicConstants;
 import constants.UserStringConstants;
+import gui.LoadingIndicator;
+import persistence.AsyncDataManager;
 import persistence.QuizDataInterface;
 import quizlogic.dto.ThemeDTO;
 
@@ -31,7 +33,10 @@ public class QuizThemeInfoView extends JPanel implements GUIConstants {
 	private static final long serialVersionUID = 1L;
 
 	private final JEditorPane infoPane;
-	private QuizDataInterface dataManager;
+	private AsyncDataManager asyncDataManager;
+
+	/** Number of the latest display request, older results are dropped */
+	private int displayRequest;
 
 	/**
 	 * Constructs the theme info view panel with data manager integration.
@@ -40,7 +45,7 @@ public class QuizThemeInfoView extends JPanel implements GUIConstants {
 	 *                    (database or file-based)
 	 */
 	public QuizThemeInfoView(QuizDataInterface dataManager) {
-		this.dataManager = dataManager;
+		this.asyncDataManager = new AsyncDataManager(dataManager);
 		setBackground(BACKGROUND_COLOR);
 		setOpaque(false);
 		setLayout(new BorderLayout());
@@ -67,24 +72,48 @@ public class QuizThemeInfoView extends JPanel implements GUIConstants {
 	}
 
 	/**
-	 * Shows information about the selected theme.
+	 * Shows information about the selected theme. The information is loaded in
+	 * the background; results of superseded requests are discarded.
 	 * 
 	 * @param themeTitle The title of the theme to show information for
 	 */
 	public void showThemeInfo(String themeTitle) {
+		int request = ++displayRequest;
+		LoadingIndicator.track(this, asyncDataManager.read(data -> buildThemeInfo(data, themeTitle)))
+				.whenComplete((html, error) -> {
+					if (request != displayRequest) {
+						return;
+					}
+					if (error != null) {
+						showHtml("<html><body><p>"
+								+ String.format(UserStringConstants.MSG_LOADING_FAILED, AsyncDataManager.unwrap(error).getMessage())
+								+ "</p></body></html>");
+						return;
+					}
+					showHtml(html);
+				});
+	}
+
+	/**
+	 * Builds the HTML information for a theme.
+	 * 
+	 * @param data       the data source to read from
+	 * @param themeTitle The title of the theme to show information for
+	 * @return HTML text
+	 */
+	private String buildThemeInfo(QuizDataInterface data, String themeTitle) {
 		StringBuilder html = new StringBuilder();
 		html.append("<html><body style='font-family: Helvetica, Arial, sans-serif; font-size: 16px;'>");
 
 		if (UserStringConstants.ALL_THEMES_OPTION.equals(themeTitle)) {
-			showAllThemesOverview();
-			return;
+			return buildAllThemesOverview(data);
 		}
 
 		String actualThemeTitle = themeTitle.startsWith("* ") ? themeTitle.substring(LogicConstants.THEME_PREFIX_LENGTH)
 				: themeTitle;
 
 		ThemeDTO selectedTheme = null;
-		ArrayList<ThemeDTO> themes = dataManager.getAllThemes();
+		ArrayList<ThemeDTO> themes = data.getAllThemes();
 		for (ThemeDTO theme : themes) {
 			if (theme.getThemeTitle().equals(actualThemeTitle)) {
 				selectedTheme = theme;
@@ -109,7 +138,7 @@ public class QuizThemeInfoView extends JPanel implements GUIConstants {
 			}
 			html.append("</div>");
 
-			int questionCount = dataManager.getQuestionsFor(selectedTheme).size();
+			int questionCount = data.getQuestionsFor(selectedTheme).size();
 			String backgroundColor = questionCount > 0 ? "#e8f5e8" : "#ffe8e8";
 			String textColor = questionCount > 0 ? "#006600" : "#cc0000";
 
@@ -125,19 +154,21 @@ public class QuizThemeInfoView extends JPanel implements GUIConstants {
 		}
 
 		html.append("</body></html>");
-		infoPane.setText(html.toString());
-		infoPane.setCaretPosition(0);
+		return html.toString();
 	}
 
 	/**
-	 * Shows an overview of all themes with their question counts.
+	 * Builds an overview of all themes with their question counts.
+	 * 
+	 * @param data the data source to read from
+	 * @return HTML text
 	 */
-	private void showAllThemesOverview() {
+	private String buildAllThemesOverview(QuizDataInterface data) {
 		StringBuilder html = new StringBuilder();
 		html.append("<html><body style='font-family: Helvetica, Arial, sans-serif; font-size: 16px;'>");
 		html.append("<h2 style='font-family: Helvetica, Arial, sans-serif;'>Themenübersicht</h2>");
 
-		ArrayList<ThemeDTO> themes = dataManager.getAllThemes();
+		ArrayList<ThemeDTO> themes = data.loadCatalog();
 
 		if (themes.isEmpty()) {
 			html.append("<p style='font-style: italic; color: #666666;'>Keine Themen verfügbar.</p>");
@@ -145,7 +176,7 @@ public class QuizThemeInfoView extends JPanel implements GUIConstants {
 			html.append("<div style='background-color: #f9f9f9; padding: 15px; border-radius: 8px;'>");
 
 			for (ThemeDTO theme : themes) {
-				int questionCount = dataManager.getQuestionsFor(theme).size();
+				int questionCount = theme.getQuestions().size();
 
 				String backgroundColor = questionCount > 0 ? "#e8f5e8" : "#ffe8e8";
 				String textColor = questionCount > 0 ? "#006600" : "#cc0000";
@@ -171,7 +202,16 @@ public class QuizThemeInfoView extends JPanel implements GUIConstants {
 		}
 
 		html.append("</body></html>");
-		infoPane.setText(html.toString());
+		return html.toString();
+	}
+
+	/**
+	 * Displays HTML text in the info pane.
+	 * 
+	 * @param html the HTML text to show
+	 */
+	private void showHtml(String html) {
+		infoPane.setText(html);
 		infoPane.setCaretPosition(0);
 	}
 
@@ -179,6 +219,7 @@ public class QuizThemeInfoView extends JPanel implements GUIConstants {
 	 * Shows a welcome message in the info panel.
 	 */
 	public void showWelcomeMessage() {
+		displayRequest++;
 		StringBuilder html = new StringBuilder();
 		html.append("<html><body style='font-family: Helvetica, Arial, sans-serif; font-size: 16px;'>");
 		html.append("<h2 style='font-family: Helvetica, Arial, sans-serif; color: #0066cc;'>Themeninformationen</h2>");
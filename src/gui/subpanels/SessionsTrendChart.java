@@ -10,8 +10,7 @@ import java.util.List;
 import javax.swing.JPanel;
 
 import constants.GUIConstants;
-import quizlogic.dto.QuizSessionDTO;
-import quizlogic.dto.UserAnswerDTO;
+import quizlogic.dto.SessionSummary;
 
 /**
  * Compact trend chart showing success rates of recent quiz sessions. Displays a
@@ -20,7 +19,7 @@ import quizlogic.dto.UserAnswerDTO;
 public class SessionsTrendChart extends JPanel implements GUIConstants {
 	private static final long serialVersionUID = 1L;
 
-	private List<QuizSessionDTO> sessions;
+	private List<SessionSummary> sessions;
 
 	private static final int BAR_WIDTH = 12;
 	private static final int BAR_SPACING = 2;
@@ -36,9 +35,9 @@ public class SessionsTrendChart extends JPanel implements GUIConstants {
 	/**
 	 * Updates the chart with new session data.
 	 * 
-	 * @param sessions list of recent sessions to display
+	 * @param sessions summaries of the recent sessions to display
 	 */
-	public void updateSessions(List<QuizSessionDTO> sessions) {
+	public void updateSessions(List<SessionSummary> sessions) {
 		this.sessions = sessions;
 		repaint();
 	}
@@ -75,8 +74,7 @@ public class SessionsTrendChart extends JPanel implements GUIConstants {
 		int startX = CHART_PADDING;
 
 		for (int i = 0; i < sessionsToShow && i < sessions.size(); i++) {
-			QuizSessionDTO session = sessions.get(i);
-			double successRate = calculateSuccessRate(session);
+			double successRate = sessions.get(i).successRate();
 
 			int barHeight = (int) (chartHeight * successRate / 100.0);
 			int barY = height - CHART_PADDING - barHeight;
@@ -121,17 +119,6 @@ public class SessionsTrendChart extends JPanel implements GUIConstants {
 		g2d.drawString("0%", width - 25, y0 - 2);
 	}
 
-	private double calculateSuccessRate(QuizSessionDTO session) {
-		if (session.getUserAnswers() == null || session.getUserAnswers().isEmpty()) {
-			return 0.0;
-		}
-
-		int totalQuestions = countUniqueQuestions(session.getUserAnswers());
-		int correctQuestions = countCorrectQuestions(session.getUserAnswers());
-
-		return totalQuestions > 0 ? (double) correctQuestions / totalQuestions * 100 : 0;
-	}
-
 	private Color getSuccessRateColor(double rate) {
 		if (rate >= 80) {
 			return SUCCESS_COLOR;
@@ -141,21 +128,4 @@ public class SessionsTrendChart extends JPanel implements GUIConstants {
 			return ERROR_COLOR;
 		}
 	}
-
-	private int countUniqueQuestions(List<UserAnswerDTO> userAnswers) {
-		return (int) userAnswers.stream().mapToInt(UserAnswerDTO::getQuestionId).distinct().count();
-	}
-
-	private int countCorrectQuestions(List<UserAnswerDTO> userAnswers) {
-		return (int) userAnswers.stream().collect(java.util.stream.Collectors.groupingBy(UserAnswerDTO::getQuestionId))
-				.values().stream().mapToLong(answersForQuestion -> {
-					boolean allSelectedAreCorrect = answersForQuestion.stream().filter(UserAnswerDTO::isSelected)
-							.allMatch(UserAnswerDTO::isCorrect);
-
-					boolean anyIncorrectSelected = answersForQuestion.stream()
-							.anyMatch(answer -> answer.isSelected() && !answer.isCorrect());
-
-					return (allSelectedAreCorrect && !anyIncorrectSelected) ? 1 : 0;
-				}).sum();
-	}
 }
\ No newline at end of file
@@ -16,6 +16,8 @@ import javax.swing.ScrollPaneConstants;
 import constants.GUIConstants;
 import constants.LogicConstants;
 import constants.UserStringConstants;
+import gui.LoadingIndicator;
+import persistence.AsyncDataManager;
 import persistence.QuizDataInterface;
 import quizlogic.dto.ThemeDTO;
 
@@ -38,7 +40,10 @@ public class ThemeListPanel extends JPanel implements GUIConstants {
 	private JList<String> themeList;
 	private JScrollPane scrollPane;
 
-	private QuizDataInterface dataManager;
+	private AsyncDataManager asyncDataManager;
+
+	/** Themes of the last completed load */
+	private ArrayList<ThemeDTO> themes = new ArrayList<>();
 
 	private ThemeSelectionListener selectionListener;
 
@@ -61,7 +66,7 @@ public class ThemeListPanel extends JPanel implements GUIConstants {
 	 *                    file-based)
 	 */
 	public ThemeListPanel(QuizDataInterface dataManager) {
-		this.dataManager = dataManager;
+		this.asyncDataManager = new AsyncDataManager(dataManager);
 		setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
 		setBackground(BACKGROUND_COLOR);
 
@@ -134,7 +139,6 @@ public class ThemeListPanel extends JPanel implements GUIConstants {
 		String actualTitle = displayTitle.startsWith("* ") ? displayTitle.substring(LogicConstants.THEME_PREFIX_LENGTH)
 				: displayTitle;
 
-		ArrayList<ThemeDTO> themes = dataManager.getAllThemes();
 		for (ThemeDTO theme : themes) {
 			if (theme.getThemeTitle().equals(actualTitle)) {
 				return theme;
@@ -145,11 +149,27 @@ public class ThemeListPanel extends JPanel implements GUIConstants {
 
 	/**
 	 * Updates the theme list from the database with custom sorting. Themes without
-	 * description are marked with * and sorted first.
+	 * description are marked with * and sorted first. The themes are loaded in
+	 * the background; the list is filled once they are available.
 	 */
 	public void updateThemeList() {
+		LoadingIndicator.track(this, asyncDataManager.getAllThemes()).whenComplete((loadedThemes, error) -> {
+			if (error != null) {
+				System.err.println("Error loading themes: " + error.getMessage());
+				return;
+			}
+			showThemes(loadedThemes);
+		});
+	}
+
+	/**
+	 * Fills the list with the given themes.
+	 * 
+	 * @param loadedThemes the themes to show
+	 */
+	private void showThemes(ArrayList<ThemeDTO> loadedThemes) {
+		themes = loadedThemes;
 		listModel.clear();
-		ArrayList<ThemeDTO> themes = dataManager.getAllThemes();
 
 		ArrayList<String> themesWithoutDescription = new ArrayList<>();
 		ArrayList<String> themesWithDescription = new ArrayList<>();
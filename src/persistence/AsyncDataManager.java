@@ -0,0 +1,331 @@
+package persistence;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.function.Function;
+
+import javax.swing.SwingUtilities;
+
+import persistence.mariaDB.DBManager;
+
+import quizlogic.dto.AnswerDTO;
+import quizlogic.dto.QuestionDTO;
+import quizlogic.dto.QuizSessionDTO;
+import quizlogic.dto.QuizStatisticsSummary;
+import quizlogic.dto.SessionSummary;
+import quizlogic.dto.ThemeDTO;
+
+/**
+ * Asynchronous facade over a {@link QuizDataInterface}.
+ * <p>
+ * Every operation runs on a virtual thread and returns a
+ * {@link CompletableFuture} that is completed on the Swing event dispatch
+ * thread. Callbacks attached with {@code thenAccept} or {@code whenComplete}
+ * therefore run on the EDT and may update Swing components directly, while
+ * slow queries or a storage fallback no longer block the user interface.
+ * <p>
+ * The file storage backend is not thread-safe. While it is in use, operations
+ * are coordinated through a shared read-write lock: reads run concurrently
+ * with each other, writes run alone, so a read never overlaps a save. The
+ * database backend works on pooled connections, so its operations run without
+ * the lock and in parallel. The {@link QuestionPrefetcher} and the
+ * {@link StandbySnapshotter} take the same lock for their background access to
+ * the file storage, and {@link DataManager} takes it for file storage access
+ * of callers that do not hold it, e.g. a fallback during a failover.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public class AsyncDataManager {
+
+	/** Executor running the data operations, one virtual thread per task */
+	private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+	/** Executor delivering results to the Swing event dispatch thread */
+	private static final Executor EDT_EXECUTOR = SwingUtilities::invokeLater;
+
+	/** Lock shared by all accesses to the file storage backend */
+	private static final ReentrantReadWriteLock STORAGE_LOCK = new ReentrantReadWriteLock();
+
+	/** Wrapped synchronous data source */
+	private final QuizDataInterface dataSource;
+
+	/**
+	 * Creates a new asynchronous facade.
+	 *
+	 * @param dataSource the synchronous data source to wrap
+	 */
+	public AsyncDataManager(QuizDataInterface dataSource) {
+		this.dataSource = dataSource;
+	}
+
+	/**
+	 * Returns the wrapped synchronous data source.
+	 *
+	 * @return the data source
+	 */
+	public QuizDataInterface getDataSource() {
+		return dataSource;
+	}
+
+	/**
+	 * Returns the lock coordinating all accesses to the file storage backend.
+	 * Reads take the read lock, writes and anything else that changes the state
+	 * of the backend take the write lock.
+	 *
+	 * @return the shared storage lock
+	 */
+	static ReentrantReadWriteLock storageLock() {
+		return STORAGE_LOCK;
+	}
+
+	/**
+	 * Returns whether a data source currently works on the file storage backend
+	 * and therefore needs the storage lock.
+	 *
+	 * @param dataSource the data source
+	 * @return false if the source is the database or a manager using it
+	 */
+	static boolean usesFileStorage(QuizDataInterface dataSource) {
+		QuizDataInterface source = dataSource;
+		while (source instanceof CachingDataInterface caching) {
+			source = caching.getDelegate();
+		}
+		if (source instanceof DataManager dataManager) {
+			return !dataManager.isUsingDatabase();
+		}
+		return !(source instanceof DBManager);
+	}
+
+	/**
+	 * Runs an operation, holding the storage lock while the data source uses
+	 * file storage.
+	 *
+	 * @param <T>        result type
+	 * @param dataSource the data source the operation accesses
+	 * @param exclusive  true to take the write lock, false for the read lock
+	 * @param operation  the operation
+	 * @return the operation result
+	 */
+	static <T> T withStorageLock(QuizDataInterface dataSource, boolean exclusive, Supplier<T> operation) {
+		if (!usesFileStorage(dataSource)) {
+			return operation.get();
+		}
+		Lock lock = exclusive ? STORAGE_LOCK.writeLock() : STORAGE_LOCK.readLock();
+		lock.lock();
+		try {
+			return operation.get();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Runs a read operation on a virtual thread. On file storage, read
+	 * operations run in parallel with each other, but never with a write
+	 * operation.
+	 *
+	 * @param <T>       result type
+	 * @param operation the operation to run against the data source
+	 * @return future completed on the EDT with the operation result
+	 */
+	public <T> CompletableFuture<T> read(Function<QuizDataInterface, T> operation) {
+		return onEdt(CompletableFuture.supplyAsync(
+				() -> withStorageLock(dataSource, false, () -> operation.apply(dataSource)), EXECUTOR));
+	}
+
+	/**
+	 * Runs a write operation on a virtual thread. On file storage, write
+	 * operations never run in parallel with other operations.
+	 *
+	 * @param <T>       result type
+	 * @param operation the operation to run against the data source
+	 * @return future completed on the EDT with the operation result
+	 */
+	public <T> CompletableFuture<T> write(Function<QuizDataInterface, T> operation) {
+		return onEdt(CompletableFuture.supplyAsync(
+				() -> withStorageLock(dataSource, true, () -> operation.apply(dataSource)), EXECUTOR));
+	}
+
+	/**
+	 * Loads all themes.
+	 *
+	 * @return future with all themes
+	 */
+	public CompletableFuture<ArrayList<ThemeDTO>> getAllThemes() {
+		return read(QuizDataInterface::getAllThemes);
+	}
+
+	/**
+	 * Loads all themes with their questions and answers.
+	 *
+	 * @return future with the complete catalog
+	 */
+	public CompletableFuture<ArrayList<ThemeDTO>> loadCatalog() {
+		return read(QuizDataInterface::loadCatalog);
+	}
+
+	/**
+	 * Loads all questions of a theme.
+	 *
+	 * @param theme the theme
+	 * @return future with the questions of the theme
+	 */
+	public CompletableFuture<ArrayList<QuestionDTO>> getQuestionsFor(ThemeDTO theme) {
+		return read(data -> data.getQuestionsFor(theme));
+	}
+
+	/**
+	 * Loads all answers of a question.
+	 *
+	 * @param question the question
+	 * @return future with the answers of the question
+	 */
+	public CompletableFuture<ArrayList<AnswerDTO>> getAnswersFor(QuestionDTO question) {
+		return read(data -> data.getAnswersFor(question));
+	}
+
+	/**
+	 * Loads a random question with its answers. Drawing a question updates the
+	 * no-repeat state of the data source, so it runs alone like a write.
+	 *
+	 * @param theme theme to select from, or null for all themes
+	 * @return future with the question, or null if none is available
+	 */
+	public CompletableFuture<QuestionDTO> getRandomQuestionWithAnswers(ThemeDTO theme) {
+		return write(data -> data.getRandomQuestionWithAnswers(theme));
+	}
+
+	/**
+	 * Saves a theme.
+	 *
+	 * @param theme the theme to save
+	 * @return future with the result message
+	 */
+	public CompletableFuture<String> saveTheme(ThemeDTO theme) {
+		return write(data -> data.saveTheme(theme));
+	}
+
+	/**
+	 * Deletes a theme.
+	 *
+	 * @param theme the theme to delete
+	 * @return future with the result message
+	 */
+	public CompletableFuture<String> deleteTheme(ThemeDTO theme) {
+		return write(data -> data.deleteTheme(theme));
+	}
+
+	/**
+	 * Saves a question and associates it with a theme.
+	 *
+	 * @param question the question to save
+	 * @param theme    the theme to associate with
+	 * @return future with the result message
+	 */
+	public CompletableFuture<String> saveQuestion(QuestionDTO question, ThemeDTO theme) {
+		return write(data -> data.saveQuestion(question, theme));
+	}
+
+	/**
+	 * Deletes a question.
+	 *
+	 * @param question the question to delete
+	 * @return future with the result message
+	 */
+	public CompletableFuture<String> deleteQuestion(QuestionDTO question) {
+		return write(data -> data.deleteQuestion(question));
+	}
+
+	/**
+	 * Saves a quiz session.
+	 *
+	 * @param session the session to save
+	 * @return future with the result message, null on success
+	 */
+	public CompletableFuture<String> saveQuizSession(QuizSessionDTO session) {
+		return write(data -> data.saveQuizSession(session));
+	}
+
+	/**
+	 * Loads all quiz sessions.
+	 *
+	 * @return future with all sessions
+	 */
+	public CompletableFuture<ArrayList<QuizSessionDTO>> getAllQuizSessions() {
+		return read(QuizDataInterface::getAllQuizSessions);
+	}
+
+	/**
+	 * Loads the most recent quiz sessions.
+	 *
+	 * @param limit maximum number of sessions
+	 * @return future with the recent sessions
+	 */
+	public CompletableFuture<ArrayList<QuizSessionDTO>> getRecentQuizSessions(int limit) {
+		return read(data -> data.getRecentQuizSessions(limit));
+	}
+
+	/**
+	 * Loads the aggregated statistics of all quiz sessions.
+	 *
+	 * @return future with the statistics summary
+	 */
+	public CompletableFuture<QuizStatisticsSummary> getQuizStatistics() {
+		return read(QuizDataInterface::getQuizStatistics);
+	}
+
+	/**
+	 * Loads the summaries of the most recent quiz sessions.
+	 *
+	 * @param limit maximum number of summaries
+	 * @return future with the recent session summaries
+	 */
+	public CompletableFuture<ArrayList<SessionSummary>> getRecentSessionSummaries(int limit) {
+		return read(data -> data.getRecentSessionSummaries(limit));
+	}
+
+	/**
+	 * Returns the underlying cause of a failed future, unwrapping
+	 * {@link CompletionException} and {@link ExecutionException}.
+	 *
+	 * @param error the error passed to a completion callback
+	 * @return the original exception
+	 */
+	public static Throwable unwrap(Throwable error) {
+		Throwable cause = error;
+		while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+				&& cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		return cause;
+	}
+
+	/**
+	 * Returns a future that completes on the EDT once the given future completes.
+	 *
+	 * @param <T>    result type
+	 * @param future the future to hand over
+	 * @return future completed on the EDT
+	 */
+	private static <T> CompletableFuture<T> onEdt(CompletableFuture<T> future) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		future.whenComplete((value, error) -> EDT_EXECUTOR.execute(() -> {
+			if (error != null) {
+				result.completeExceptionally(unwrap(error));
+			} else {
+				result.complete(value);
+			}
+		}));
+		return result;
+	}
+}
@@ -0,0 +1,29 @@
+package persistence;
+
+/**
+ * Snapshot of the size and hit statistics of a cache.
+ *
+ * @param name      name of the cache
+ * @param size      number of cached entries
+ * @param maxSize   maximum number of cached entries
+ * @param hits      number of lookups answered from the cache
+ * @param misses    number of lookups that had to load the value
+ * @param evictions number of entries dropped because the cache was full or the
+ *                  entry had expired
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public record CacheStats(String name, int size, int maxSize, long hits, long misses, long evictions) {
+
+	/**
+	 * Returns the share of lookups answered from the cache.
+	 *
+	 * @return hit rate in percent, 0 if there were no lookups
+	 */
+	public double hitRate() {
+		long lookups = hits + misses;
+		return lookups > 0 ? (double) hits / lookups * 100 : 0;
+	}
+}
@@ -0,0 +1,153 @@
+package persistence;
+
+import java.beans.ConstructorProperties;
+
+import persistence.mariaDB.IdentityMapStats;
+
+/**
+ * Size and hit statistics of one cache, as published by the
+ * {@link DataManagerMetricsMXBean}. JMX clients see it as composite data with
+ * one item per getter.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CacheUsage {
+
+	/** Name of the cache */
+	private final String name;
+
+	/** Number of cached entries */
+	private final int size;
+
+	/** Maximum number of cached entries */
+	private final int maxSize;
+
+	/** Number of lookups answered from the cache */
+	private final long hits;
+
+	/** Number of lookups that had to load the value */
+	private final long misses;
+
+	/** Number of entries dropped because the cache was full or had expired */
+	private final long evictions;
+
+	/** Share of lookups answered from the cache in percent */
+	private final double hitRate;
+
+	/**
+	 * Creates the statistics of a cache.
+	 *
+	 * @param name      name of the cache
+	 * @param size      number of cached entries
+	 * @param maxSize   maximum number of cached entries
+	 * @param hits      number of lookups answered from the cache
+	 * @param misses    number of lookups that had to load the value
+	 * @param evictions number of entries dropped because the cache was full or
+	 *                  the entry had expired
+	 * @param hitRate   share of lookups answered from the cache in percent
+	 */
+	@ConstructorProperties({ "name", "size", "maxSize", "hits", "misses", "evictions", "hitRate" })
+	public CacheUsage(String name, int size, int maxSize, long hits, long misses, long evictions, double hitRate) {
+		this.name = name;
+		this.size = size;
+		this.maxSize = maxSize;
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+		this.hitRate = hitRate;
+	}
+
+	/**
+	 * Creates the published statistics of a cache.
+	 *
+	 * @param stats the cache statistics
+	 * @return the published statistics
+	 */
+	public static CacheUsage of(CacheStats stats) {
+		return new CacheUsage(stats.name(), stats.size(), stats.maxSize(), stats.hits(), stats.misses(),
+				stats.evictions(), stats.hitRate());
+	}
+
+	/**
+	 * Creates the published statistics of a DAO identity map.
+	 *
+	 * @param stats the identity map statistics
+	 * @return the published statistics
+	 */
+	public static CacheUsage of(IdentityMapStats stats) {
+		return of(new CacheStats(stats.name(), stats.size(), stats.maxSize(), stats.hits(), stats.misses(),
+				stats.evictions()));
+	}
+
+	/**
+	 * Returns the name of the cache.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the number of cached entries.
+	 *
+	 * @return the size
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the maximum number of cached entries.
+	 *
+	 * @return the maximum size
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Returns the number of lookups answered from the cache.
+	 *
+	 * @return the hits
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of lookups that had to load the value.
+	 *
+	 * @return the misses
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the number of entries dropped because the cache was full or the
+	 * entry had expired.
+	 *
+	 * @return the evictions
+	 */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Returns the share of lookups answered from the cache.
+	 *
+	 * @return hit rate in percent, 0 if there were no lookups
+	 */
+	public double getHitRate() {
+		return hitRate;
+	}
+
+	@Override
+	public String toString() {
+		return name + " size=" + size + "/" + maxSize + " hits=" + hits + " misses=" + misses + " evictions="
+				+ evictions + String.format(" hitRate=%.1f%%", hitRate);
+	}
+}
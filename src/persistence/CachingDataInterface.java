@@ -0,0 +1,441 @@
+package persistence;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import constants.ConfigManager;
+import persistence.mariaDB.DBManager;
+import quizlogic.dto.AnswerDTO;
+import quizlogic.dto.QuestionDTO;
+import quizlogic.dto.QuizSessionDTO;
+import quizlogic.dto.QuizStatisticsSummary;
+import quizlogic.dto.SessionSummary;
+import quizlogic.dto.ThemeDTO;
+import quizlogic.dto.UserAnswerDTO;
+
+/**
+ * Read-through cache in front of a {@link QuizDataInterface}.
+ * <p>
+ * The theme list, the complete catalog, the question list of each theme and
+ * the answer list of each question are cached with a size limit and a time to
+ * live, so repeated panel refreshes no longer query the database or
+ * deserialize the data directory every time. Each write invalidates exactly
+ * the entries it can affect:
+ * <ul>
+ * <li>saving or deleting a theme drops the theme list, the catalog and the
+ * question list of that theme, deleting it also the answers of its
+ * questions</li>
+ * <li>saving or deleting a question drops the theme list, the catalog, every
+ * question list containing the question and its answers</li>
+ * <li>saving an answer drops the answers of its question, the catalog and
+ * every question list containing the question</li>
+ * <li>importing questions drops the theme list, the catalog and the question
+ * lists of the affected themes</li>
+ * </ul>
+ * The theme list is dropped on question writes as well, because the file
+ * backend stores the questions inside their theme.
+ * <p>
+ * Cached DTOs are copied on the way in and on the way out, so callers may
+ * modify returned objects without affecting the cache. Random question
+ * selection, streams and quiz sessions are passed through uncached. Answer
+ * lists are passed through as well while the source uses file storage, where
+ * question IDs are only unique within their theme. When the wrapped source is
+ * a {@link DataManager} that switches between database and file storage, all
+ * entries are dropped.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public class CachingDataInterface implements QuizDataInterface {
+
+	/** Key of the single entry in the theme list cache */
+	private static final Integer ALL_THEMES = 0;
+
+	/** Wrapped data source */
+	private final QuizDataInterface delegate;
+
+	/** Cached theme list */
+	private final TimedCache<Integer, ArrayList<ThemeDTO>> themeCache;
+
+	/** Cached catalog of all themes with questions and answers */
+	private final TimedCache<Integer, ArrayList<ThemeDTO>> catalogCache;
+
+	/** Cached question lists by theme ID */
+	private final TimedCache<Integer, ArrayList<QuestionDTO>> questionCache;
+
+	/** Cached answer lists by question ID */
+	private final TimedCache<Integer, ArrayList<AnswerDTO>> answerCache;
+
+	/** Storage the cached entries were loaded from, null if unknown */
+	private volatile Boolean cachedFromDatabase;
+
+	/**
+	 * Creates a new cache with the limits from the {@link ConfigManager}.
+	 *
+	 * @param delegate the data source to cache
+	 */
+	public CachingDataInterface(QuizDataInterface delegate) {
+		this(delegate, ConfigManager.getInstance().getDataCacheMaxEntries(),
+				ConfigManager.getInstance().getDataCacheTtl());
+	}
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param delegate   the data source to cache
+	 * @param maxEntries maximum number of question and answer lists to cache
+	 * @param ttlMs      time to live of a cached list in milliseconds
+	 */
+	public CachingDataInterface(QuizDataInterface delegate, int maxEntries, long ttlMs) {
+		this.delegate = delegate;
+		this.themeCache = new TimedCache<>("themes", 1, ttlMs);
+		this.catalogCache = new TimedCache<>("catalog", 1, ttlMs);
+		this.questionCache = new TimedCache<>("questions", maxEntries, ttlMs);
+		this.answerCache = new TimedCache<>("answers", maxEntries, ttlMs);
+	}
+
+	/**
+	 * Returns the wrapped data source.
+	 *
+	 * @return the data source
+	 */
+	public QuizDataInterface getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Drops all cached entries.
+	 */
+	public void invalidateAll() {
+		invalidateThemes();
+		questionCache.clear();
+		answerCache.clear();
+	}
+
+	/**
+	 * Returns size and hit statistics of the theme, question and answer caches.
+	 *
+	 * @return cache statistics
+	 */
+	public List<CacheStats> getCacheStats() {
+		return List.of(themeCache.getStats(), catalogCache.getStats(), questionCache.getStats(),
+				answerCache.getStats());
+	}
+
+	@Override
+	public QuestionDTO getRandomQuestion() {
+		return delegate.getRandomQuestion();
+	}
+
+	@Override
+	public QuestionDTO getRandomQuestionFor(ThemeDTO theme) {
+		return delegate.getRandomQuestionFor(theme);
+	}
+
+	@Override
+	public QuestionDTO getRandomQuestionWithAnswers(ThemeDTO theme) {
+		return delegate.getRandomQuestionWithAnswers(theme);
+	}
+
+	@Override
+	public void returnUnshownQuestion(QuestionDTO question, ThemeDTO theme) {
+		delegate.returnUnshownQuestion(question, theme);
+	}
+
+	@Override
+	public ArrayList<ThemeDTO> getAllThemes() {
+		checkStorage();
+		return copyThemes(themeCache.get(ALL_THEMES, () -> copyThemes(delegate.getAllThemes())));
+	}
+
+	@Override
+	public ArrayList<ThemeDTO> loadCatalog() {
+		checkStorage();
+		return copyThemes(catalogCache.get(ALL_THEMES, () -> copyThemes(delegate.loadCatalog())));
+	}
+
+	@Override
+	public String saveTheme(ThemeDTO theme) {
+		try {
+			return delegate.saveTheme(theme);
+		} finally {
+			invalidateThemes();
+			questionCache.invalidate(theme.getId());
+		}
+	}
+
+	@Override
+	public String deleteTheme(ThemeDTO theme) {
+		Set<Integer> questionIds = new HashSet<>();
+		collectIds(questionCache.peek(theme.getId()), questionIds);
+		collectIds(theme.getQuestions(), questionIds);
+		try {
+			return delegate.deleteTheme(theme);
+		} finally {
+			invalidateThemes();
+			questionCache.invalidate(theme.getId());
+			answerCache.invalidateIf((questionId, _) -> questionIds.contains(questionId));
+		}
+	}
+
+	@Override
+	public ArrayList<QuestionDTO> getQuestionsFor(ThemeDTO theme) {
+		if (theme == null || theme.getId() <= 0) {
+			return delegate.getQuestionsFor(theme);
+		}
+		checkStorage();
+		return copyQuestions(questionCache.get(theme.getId(), () -> copyQuestions(delegate.getQuestionsFor(theme))));
+	}
+
+	@Override
+	public Stream<QuestionDTO> streamQuestions(ThemeDTO theme) {
+		return delegate.streamQuestions(theme);
+	}
+
+	@Override
+	public String saveQuestion(QuestionDTO question) {
+		boolean newQuestion = question.getId() <= 0;
+		try {
+			return delegate.saveQuestion(question);
+		} finally {
+			if (newQuestion) {
+				questionCache.clear();
+			}
+			invalidateQuestion(question.getId());
+		}
+	}
+
+	@Override
+	public String saveQuestion(QuestionDTO question, ThemeDTO theme) {
+		try {
+			return delegate.saveQuestion(question, theme);
+		} finally {
+			questionCache.invalidate(theme.getId());
+			invalidateQuestion(question.getId());
+		}
+	}
+
+	@Override
+	public String deleteQuestion(QuestionDTO question) {
+		try {
+			return delegate.deleteQuestion(question);
+		} finally {
+			invalidateQuestion(question.getId());
+		}
+	}
+
+	@Override
+	public ArrayList<AnswerDTO> getAnswersFor(QuestionDTO question) {
+		checkStorage();
+		if (question == null || question.getId() <= 0 || !answersCacheable()) {
+			return delegate.getAnswersFor(question);
+		}
+		return copyAnswers(answerCache.get(question.getId(), () -> copyAnswers(delegate.getAnswersFor(question))));
+	}
+
+	@Override
+	public String saveAnswer(AnswerDTO answer, QuestionDTO question) {
+		try {
+			return delegate.saveAnswer(answer, question);
+		} finally {
+			answerCache.invalidate(answer.getQuestionId());
+			invalidateQuestion(question.getId());
+		}
+	}
+
+	@Override
+	public String importQuestions(Map<ThemeDTO, List<QuestionDTO>> questionsByTheme) {
+		try {
+			return delegate.importQuestions(questionsByTheme);
+		} finally {
+			invalidateThemes();
+			for (ThemeDTO theme : questionsByTheme.keySet()) {
+				questionCache.invalidate(theme.getId());
+			}
+		}
+	}
+
+	@Override
+	public String saveQuizSession(QuizSessionDTO session) {
+		return delegate.saveQuizSession(session);
+	}
+
+	@Override
+	public String appendUserAnswers(QuizSessionDTO session, List<UserAnswerDTO> newAnswers) {
+		return delegate.appendUserAnswers(session, newAnswers);
+	}
+
+	@Override
+	public ArrayList<QuizSessionDTO> getAllQuizSessions() {
+		return delegate.getAllQuizSessions();
+	}
+
+	@Override
+	public Stream<QuizSessionDTO> streamSessions(Date since) {
+		return delegate.streamSessions(since);
+	}
+
+	@Override
+	public ArrayList<QuizSessionDTO> getRecentQuizSessions(int limit) {
+		return delegate.getRecentQuizSessions(limit);
+	}
+
+	@Override
+	public QuizStatisticsSummary getQuizStatistics() {
+		return delegate.getQuizStatistics();
+	}
+
+	@Override
+	public ArrayList<SessionSummary> getRecentSessionSummaries(int limit) {
+		return delegate.getRecentSessionSummaries(limit);
+	}
+
+	/**
+	 * Drops the theme list, every question list containing a question and the
+	 * answers of the question.
+	 *
+	 * @param questionId ID of the changed question
+	 */
+	private void invalidateQuestion(int questionId) {
+		invalidateThemes();
+		questionCache.invalidateIf((_, questions) -> containsId(questions, questionId));
+		answerCache.invalidate(questionId);
+	}
+
+	/**
+	 * Checks whether answer lists may be cached by question ID. Only the
+	 * database numbers questions globally; file storage numbers them per theme,
+	 * so two themes can hold a question with the same ID.
+	 *
+	 * @return true if the wrapped source reads answers from the database
+	 */
+	private boolean answersCacheable() {
+		if (delegate instanceof DataManager dataManager) {
+			return dataManager.isUsingDatabase();
+		}
+		return delegate instanceof DBManager;
+	}
+
+	/**
+	 * Drops the theme list and the catalog.
+	 */
+	private void invalidateThemes() {
+		themeCache.clear();
+		catalogCache.clear();
+	}
+
+	/**
+	 * Drops all entries if the wrapped {@link DataManager} switched its storage
+	 * since the entries were loaded.
+	 */
+	private void checkStorage() {
+		if (delegate instanceof DataManager dataManager) {
+			Boolean usingDatabase = dataManager.isUsingDatabase();
+			if (!usingDatabase.equals(cachedFromDatabase)) {
+				if (cachedFromDatabase != null) {
+					ConfigManager.debugPrint("DEBUG: Storage switched, clearing data cache");
+					invalidateAll();
+				}
+				cachedFromDatabase = usingDatabase;
+			}
+		}
+	}
+
+	/**
+	 * Checks whether a question list contains a question.
+	 *
+	 * @param questions  the question list
+	 * @param questionId ID of the question
+	 * @return true if the list contains a question with the ID
+	 */
+	private static boolean containsId(List<QuestionDTO> questions, int questionId) {
+		for (QuestionDTO question : questions) {
+			if (question.getId() == questionId) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the IDs of the questions in a list to a set.
+	 *
+	 * @param questions the question list, may be null
+	 * @param ids       set receiving the IDs
+	 */
+	private static void collectIds(List<QuestionDTO> questions, Set<Integer> ids) {
+		if (questions != null) {
+			for (QuestionDTO question : questions) {
+				ids.add(question.getId());
+			}
+		}
+	}
+
+	/**
+	 * Copies a theme list including the questions and answers of each theme.
+	 *
+	 * @param themes the themes to copy, may be null
+	 * @return the copied list, or null
+	 */
+	private static ArrayList<ThemeDTO> copyThemes(List<ThemeDTO> themes) {
+		if (themes == null) {
+			return null;
+		}
+		ArrayList<ThemeDTO> copies = new ArrayList<>(themes.size());
+		for (ThemeDTO theme : themes) {
+			ThemeDTO copy = new ThemeDTO(theme.getThemeTitle(), theme.getThemeDescription());
+			copy.setId(theme.getId());
+			if (theme.getQuestions() != null) {
+				copy.setQuestions(copyQuestions(theme.getQuestions()));
+			}
+			copies.add(copy);
+		}
+		return copies;
+	}
+
+	/**
+	 * Copies a question list including the answers of each question.
+	 *
+	 * @param questions the questions to copy, may be null
+	 * @return the copied list, or null
+	 */
+	private static ArrayList<QuestionDTO> copyQuestions(List<QuestionDTO> questions) {
+		if (questions == null) {
+			return null;
+		}
+		ArrayList<QuestionDTO> copies = new ArrayList<>(questions.size());
+		for (QuestionDTO question : questions) {
+			QuestionDTO copy = new QuestionDTO(question.getQuestionText(), question.getQuestionTitle());
+			copy.setId(question.getId());
+			if (question.getAnswers() != null) {
+				copy.setAnswers(copyAnswers(question.getAnswers()));
+			}
+			copies.add(copy);
+		}
+		return copies;
+	}
+
+	/**
+	 * Copies an answer list.
+	 *
+	 * @param answers the answers to copy, may be null
+	 * @return the copied list, or null
+	 */
+	private static ArrayList<AnswerDTO> copyAnswers(List<AnswerDTO> answers) {
+		if (answers == null) {
+			return null;
+		}
+		ArrayList<AnswerDTO> copies = new ArrayList<>(answers.size());
+		for (AnswerDTO answer : answers) {
+			copies.add(new AnswerDTO(answer.getId(), answer.getAnswerText(), answer.isCorrect(),
+					answer.getQuestionId()));
+		}
+		return copies;
+	}
+}
@@ -0,0 +1,368 @@
+package persistence;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import constants.ConfigManager;
+
+/**
+ * Circuit breaker guarding a storage backend that may become unavailable.
+ * <p>
+ * While {@link State#CLOSED} requests go to the backend. After the configured
+ * number of consecutive failures the breaker opens and requests are routed
+ * elsewhere. While {@link State#OPEN} a background health probe checks the
+ * backend, first after the initial probe delay and then with a delay that
+ * doubles after every failed probe up to the maximum delay. A successful probe
+ * moves the breaker to {@link State#HALF_OPEN}: requests go to the backend
+ * again, the first success closes the breaker and the first failure opens it
+ * again with a longer probe delay.
+ * <p>
+ * State transitions are reported to the registered {@link StateListener}s on
+ * the thread that caused them; the counters are available as
+ * {@link CircuitBreakerStats}.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public class CircuitBreaker {
+
+	/**
+	 * States of a circuit breaker.
+	 */
+	public enum State {
+		/** Requests go to the backend */
+		CLOSED,
+		/** Requests are routed elsewhere while the backend is probed */
+		OPEN,
+		/** A probe succeeded, requests go to the backend on trial */
+		HALF_OPEN
+	}
+
+	/**
+	 * A state transition of a circuit breaker.
+	 *
+	 * @param name            name of the circuit breaker
+	 * @param from            state before the transition
+	 * @param to              state after the transition
+	 * @param reason          description of the cause
+	 * @param timestampMillis time of the transition
+	 */
+	public record StateChange(String name, State from, State to, String reason, long timestampMillis) {
+	}
+
+	/**
+	 * Receives the state transitions of a circuit breaker.
+	 */
+	@FunctionalInterface
+	public interface StateListener {
+
+		/**
+		 * Called after a state transition.
+		 *
+		 * @param change the transition
+		 */
+		void stateChanged(StateChange change);
+	}
+
+	/** Name of the circuit breaker, used in events and thread names */
+	private final String name;
+
+	/** Number of consecutive failures that open the breaker */
+	private final int failureThreshold;
+
+	/** Delay before the first probe after the breaker opened */
+	private final long initialProbeDelayMs;
+
+	/** Upper limit of the probe delay */
+	private final long maxProbeDelayMs;
+
+	/** Health check of the backend */
+	private final BooleanSupplier probe;
+
+	/** Registered listeners */
+	private final List<StateListener> listeners = new CopyOnWriteArrayList<>();
+
+	/** Background executor running the probes */
+	private final ScheduledExecutorService prober;
+
+	/** Current state */
+	private volatile State state = State.CLOSED;
+
+	/** Failures since the last success */
+	private volatile int consecutiveFailures;
+
+	/** Number of failed operations */
+	private long failures;
+
+	/** Number of transitions to {@link State#OPEN} */
+	private long timesOpened;
+
+	/** Number of probes run */
+	private long probes;
+
+	/** Number of failed probes */
+	private long failedProbes;
+
+	/** Time of the last state transition */
+	private long stateSinceMillis = System.currentTimeMillis();
+
+	/** Delay before the next probe while open */
+	private long nextProbeDelayMs;
+
+	/** The scheduled probe, null if none is pending */
+	private ScheduledFuture<?> scheduledProbe;
+
+	/** Flag indicating whether the breaker has been shut down */
+	private boolean shutdown;
+
+	/**
+	 * Creates a closed circuit breaker.
+	 *
+	 * @param name                name used in events and thread names
+	 * @param failureThreshold    number of consecutive failures that open the
+	 *                            breaker
+	 * @param initialProbeDelayMs delay before the first probe after the breaker
+	 *                            opened
+	 * @param maxProbeDelayMs     upper limit of the probe delay
+	 * @param probe               health check returning true if the backend is
+	 *                            available
+	 */
+	public CircuitBreaker(String name, int failureThreshold, long initialProbeDelayMs, long maxProbeDelayMs,
+			BooleanSupplier probe) {
+		this.name = name;
+		this.failureThreshold = Math.max(1, failureThreshold);
+		this.initialProbeDelayMs = Math.max(1, initialProbeDelayMs);
+		this.maxProbeDelayMs = Math.max(this.initialProbeDelayMs, maxProbeDelayMs);
+		this.probe = probe;
+		this.nextProbeDelayMs = this.initialProbeDelayMs;
+
+		prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "quizzle-" + name + "-probe");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Returns whether requests should go to the backend.
+	 *
+	 * @return false while the breaker is open
+	 */
+	public boolean allowsRequests() {
+		return state != State.OPEN;
+	}
+
+	/**
+	 * Returns the current state.
+	 *
+	 * @return the state
+	 */
+	public State getState() {
+		return state;
+	}
+
+	/**
+	 * Records a successful operation of the backend. Closes a half-open breaker.
+	 */
+	public void recordSuccess() {
+		if (state == State.CLOSED && consecutiveFailures == 0) {
+			return;
+		}
+		StateChange change = null;
+		synchronized (this) {
+			consecutiveFailures = 0;
+			if (state == State.HALF_OPEN) {
+				change = transition(State.CLOSED, "Operation succeeded");
+			}
+		}
+		fire(change);
+	}
+
+	/**
+	 * Records a failed operation of the backend. Opens the breaker if the
+	 * failure threshold is reached or the breaker is half-open.
+	 *
+	 * @param cause the failure
+	 */
+	public void recordFailure(Throwable cause) {
+		StateChange change = null;
+		synchronized (this) {
+			failures++;
+			consecutiveFailures++;
+			if (state == State.HALF_OPEN || state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+				change = transition(State.OPEN, consecutiveFailures + " consecutive failures, last: "
+						+ (cause != null ? cause.getMessage() : "unknown"));
+			}
+		}
+		fire(change);
+	}
+
+	/**
+	 * Opens the breaker regardless of the failure count, for example because the
+	 * backend is unavailable from the start.
+	 *
+	 * @param reason description of the cause
+	 */
+	public void open(String reason) {
+		StateChange change = null;
+		synchronized (this) {
+			if (state != State.OPEN) {
+				change = transition(State.OPEN, reason);
+			}
+		}
+		fire(change);
+	}
+
+	/**
+	 * Runs the health probe immediately if the breaker is open.
+	 *
+	 * @return true if the breaker allows requests afterwards
+	 */
+	public boolean probeNow() {
+		if (state == State.OPEN) {
+			runProbe();
+		}
+		return allowsRequests();
+	}
+
+	/**
+	 * Runs the health probe and half-opens the breaker if it succeeds, or
+	 * schedules the next probe with a doubled delay if it fails.
+	 */
+	private void runProbe() {
+		boolean available;
+		try {
+			available = probe.getAsBoolean();
+		} catch (RuntimeException e) {
+			ConfigManager.debugPrint("DEBUG: Health probe of " + name + " failed: " + e.getMessage());
+			available = false;
+		}
+
+		StateChange change = null;
+		synchronized (this) {
+			probes++;
+			if (state != State.OPEN) {
+				return;
+			}
+			if (available) {
+				change = transition(State.HALF_OPEN, "Health probe succeeded");
+			} else {
+				failedProbes++;
+				nextProbeDelayMs = Math.min(maxProbeDelayMs, nextProbeDelayMs * 2);
+				scheduleProbe();
+			}
+		}
+		fire(change);
+	}
+
+	/**
+	 * Changes the state. Must be called while holding the lock.
+	 *
+	 * @param to     the new state
+	 * @param reason description of the cause
+	 * @return the transition to report
+	 */
+	private StateChange transition(State to, String reason) {
+		State from = state;
+		state = to;
+		stateSinceMillis = System.currentTimeMillis();
+		switch (to) {
+		case OPEN -> {
+			timesOpened++;
+			nextProbeDelayMs = from == State.HALF_OPEN ? Math.min(maxProbeDelayMs, nextProbeDelayMs * 2)
+					: initialProbeDelayMs;
+			scheduleProbe();
+		}
+		case CLOSED -> {
+			consecutiveFailures = 0;
+			nextProbeDelayMs = initialProbeDelayMs;
+			cancelProbe();
+		}
+		case HALF_OPEN -> cancelProbe();
+		}
+		return new StateChange(name, from, to, reason, stateSinceMillis);
+	}
+
+	/**
+	 * Schedules the next probe. Must be called while holding the lock.
+	 */
+	private void scheduleProbe() {
+		cancelProbe();
+		if (!shutdown) {
+			scheduledProbe = prober.schedule(this::runProbe, nextProbeDelayMs, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Cancels the pending probe. Must be called while holding the lock.
+	 */
+	private void cancelProbe() {
+		if (scheduledProbe != null) {
+			scheduledProbe.cancel(false);
+			scheduledProbe = null;
+		}
+	}
+
+	/**
+	 * Reports a transition to the listeners.
+	 *
+	 * @param change the transition, or null if there was none
+	 */
+	private void fire(StateChange change) {
+		if (change == null) {
+			return;
+		}
+		ConfigManager.debugPrint("DEBUG: Circuit breaker " + name + " " + change.from() + " -> " + change.to()
+				+ ": " + change.reason());
+		for (StateListener listener : listeners) {
+			try {
+				listener.stateChanged(change);
+			} catch (RuntimeException e) {
+				ConfigManager.debugPrint("DEBUG: Circuit breaker listener failed: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Registers a listener for state transitions.
+	 *
+	 * @param listener the listener
+	 */
+	public void addListener(StateListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a registered listener.
+	 *
+	 * @param listener the listener
+	 */
+	public void removeListener(StateListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Returns a snapshot of the state and counters.
+	 *
+	 * @return the statistics
+	 */
+	public synchronized CircuitBreakerStats getStats() {
+		return new CircuitBreakerStats(name, state, consecutiveFailures, failures, timesOpened, probes,
+				failedProbes, stateSinceMillis, nextProbeDelayMs);
+	}
+
+	/**
+	 * Stops the background probes.
+	 */
+	public synchronized void shutdown() {
+		shutdown = true;
+		cancelProbe();
+		prober.shutdownNow();
+	}
+}
@@ -0,0 +1,23 @@
+package persistence;
+
+/**
+ * Snapshot of the state and counters of a {@link CircuitBreaker}.
+ *
+ * @param name                name of the circuit breaker
+ * @param state               current state
+ * @param consecutiveFailures failures since the last success
+ * @param failures            number of failed operations
+ * @param timesOpened         number of transitions to
+ *                            {@link CircuitBreaker.State#OPEN}
+ * @param probes              number of health probes run
+ * @param failedProbes        number of health probes that failed
+ * @param stateSinceMillis    time of the last state transition
+ * @param nextProbeDelayMs    delay before the next health probe while open
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public record CircuitBreakerStats(String name, CircuitBreaker.State state, int consecutiveFailures, long failures,
+		long timesOpened, long probes, long failedProbes, long stateSinceMillis, long nextProbeDelayMs) {
+}
@@ -1,6 +1,12 @@
 package persistence;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
 
 import constants.ConfigManager;
 import persistence.mariaDB.DBManager;
@@ -17,6 +23,31 @@ import quizlogic.dto.ThemeDTO;
  * switches to the existing QuizDataManager from the serialization package if
  * the database connection fails.
  * </p>
+ * <p>
+ * The switch is controlled by a {@link CircuitBreaker}. A failed database
+ * operation is repeated on file storage, but only the configured number of
+ * consecutive failures switches all operations to file storage. While on file
+ * storage a background probe checks the database with exponential backoff and
+ * switches back once it is reachable again. Switches can be observed with
+ * {@link #addStorageListener(CircuitBreaker.StateListener)} and
+ * {@link #getCircuitBreakerStats()}.
+ * </p>
+ * <p>
+ * Themes, questions and sessions written to file storage are recorded in an
+ * {@link OfflineWriteJournal}. When the database is reachable again, an
+ * {@link OfflineSync} replays them into the database in the background, so
+ * nothing written while offline stays on file storage only.
+ * </p>
+ * <p>
+ * While the database is in use, a {@link StandbySnapshotter} mirrors the
+ * changed themes of the database catalog into the file store at a fixed
+ * interval, so a failover serves current data. Its age and lag are available
+ * from {@link #getStandbySnapshotStats()}.
+ * </p>
+ * <p>
+ * The latency of every operation is recorded per backend in
+ * {@link DataManagerMetrics} and published over JMX.
+ * </p>
  * 
  * @author Christos Poulios
  * @version 1.0
@@ -34,13 +65,66 @@ public class DataManager implements QuizDataInterface {
 	private QuizDataManager serializationManager;
 
 	/** Flag indicating which storage method is currently active */
-	private boolean usingDatabase = false;
+	private volatile boolean usingDatabase = false;
+
+	/** Circuit breaker deciding whether the database is used */
+	private final CircuitBreaker circuitBreaker;
+
+	/** Journal of the changes written to file storage */
+	private final OfflineWriteJournal offlineJournal;
+
+	/** Replays journaled changes into the database, null until first needed */
+	private OfflineSync offlineSync;
+
+	/** Mirrors the database catalog into the file store, null if disabled */
+	private volatile StandbySnapshotter standbySnapshotter;
+
+	/** Latency statistics of the data operations */
+	private final DataManagerMetrics metrics = new DataManagerMetrics(this::getStorageMethodDescription);
 
 	/**
 	 * Private constructor for singleton pattern.
 	 */
 	private DataManager() {
+		ConfigManager configManager = ConfigManager.getInstance();
+		circuitBreaker = new CircuitBreaker("database", configManager.getDatabaseBreakerFailureThreshold(),
+				configManager.getDatabaseBreakerProbeDelay(), configManager.getDatabaseBreakerMaxProbeDelay(),
+				this::probeDatabase);
+		circuitBreaker.addListener(this::storageChanged);
+		metrics.setCircuitBreakerStats(circuitBreaker::getStats);
+		metrics.setStandbySnapshotStats(this::getStandbySnapshotStats);
+		metrics.setIdentityMapStats(() -> dbManager != null ? dbManager.getIdentityMapStats() : List.of());
+		metrics.setConnectionPool(() -> dbManager != null ? dbManager.getConnectionPool() : null);
+		if (configManager.isMetricsJmxEnabled()) {
+			metrics.register();
+		}
+		offlineJournal = new OfflineWriteJournal(Paths.get(configManager.getSyncJournalFile()));
 		initializeDataInterface();
+		if (usingDatabase && offlineJournal.getPendingCount() > 0) {
+			syncOfflineChangesAsync();
+		}
+		startStandbySnapshots(configManager);
+	}
+
+	/**
+	 * Starts the standby snapshots of the database catalog unless they are
+	 * disabled by an interval of 0.
+	 * 
+	 * @param configManager configuration providing the interval
+	 */
+	private void startStandbySnapshots(ConfigManager configManager) {
+		int interval = configManager.getStandbySnapshotInterval();
+		if (interval <= 0) {
+			return;
+		}
+		ensureSerializationManager();
+		if (dbManager == null) {
+			dbManager = DBManager.getInstance();
+		}
+		standbySnapshotter = new StandbySnapshotter(dbManager, serializationManager,
+				() -> usingDatabase && circuitBreaker.getState() == CircuitBreaker.State.CLOSED
+						&& offlineJournal.getPendingCount() == 0);
+		standbySnapshotter.start(configManager.getStandbySnapshotInitialDelay(), interval);
 	}
 
 	/**
@@ -57,8 +141,11 @@ public class DataManager implements QuizDataInterface {
 
 	/**
 	 * Initializes the appropriate data interface based on database availability.
+	 * If the database is not available, the circuit breaker is opened so that
+	 * the background probe switches to the database once it becomes available.
 	 */
 	private void initializeDataInterface() {
+		String failure;
 		try {
 			dbManager = DBManager.getInstance();
 			dbManager.connect();
@@ -68,9 +155,11 @@ public class DataManager implements QuizDataInterface {
 				ConfigManager.debugPrint("Database connection established successfully - using MariaDB storage");
 				return;
 			}
+			failure = "Database not connected";
 		} catch (Exception e) {
 			ConfigManager.debugPrint("DEBUG: Database connection failed: " + e.getMessage());
 			System.err.println("Database connection failed: " + e.getMessage());
+			failure = e.getMessage();
 		}
 
 		try {
@@ -83,6 +172,48 @@ public class DataManager implements QuizDataInterface {
 			System.err.println("ERROR: Both database and file storage initialization failed!");
 			throw new RuntimeException("Cannot initialize any data storage method", e);
 		}
+		circuitBreaker.open("Database unavailable at startup: " + failure);
+	}
+
+	/**
+	 * Health probe of the circuit breaker.
+	 * 
+	 * @return true if the database is reachable
+	 */
+	private boolean probeDatabase() {
+		if (dbManager == null) {
+			dbManager = DBManager.getInstance();
+		}
+		return dbManager.ping();
+	}
+
+	/**
+	 * Switches the storage according to a state transition of the circuit
+	 * breaker.
+	 * 
+	 * @param change the transition
+	 */
+	private void storageChanged(CircuitBreaker.StateChange change) {
+		if (change.to() == CircuitBreaker.State.OPEN) {
+			ensureSerializationManager();
+			usingDatabase = false;
+			System.err.println("Database unavailable, switching to file storage: " + change.reason());
+		} else if (change.from() == CircuitBreaker.State.OPEN) {
+			usingDatabase = true;
+			ConfigManager.debugPrint("Database reachable again - switching back to MariaDB storage");
+			if (offlineJournal.getPendingCount() > 0) {
+				syncOfflineChangesAsync();
+			}
+		}
+	}
+
+	/**
+	 * Creates the serialization manager if it does not exist yet.
+	 */
+	private synchronized void ensureSerializationManager() {
+		if (serializationManager == null) {
+			serializationManager = new QuizDataManager();
+		}
 	}
 
 	/**
@@ -105,6 +236,8 @@ public class DataManager implements QuizDataInterface {
 
 	/**
 	 * Attempts to reconnect to the database if currently using serialization.
+	 * Runs the health probe of the circuit breaker immediately instead of
+	 * waiting for the next scheduled probe.
 	 * 
 	 * @return true if successfully switched to database, false if still using
 	 *         serialization
@@ -113,29 +246,142 @@ public class DataManager implements QuizDataInterface {
 		if (usingDatabase) {
 			return true;
 		}
+		boolean reconnected = circuitBreaker.probeNow();
+		if (reconnected) {
+			ConfigManager.debugPrint("DEBUG: Successfully reconnected to database");
+		}
+		return reconnected;
+	}
 
-		try {
-			if (dbManager == null) {
-				dbManager = DBManager.getInstance();
+	/**
+	 * Registers a listener that is notified when the circuit breaker changes
+	 * its state, i.e. when the storage switches between database and files.
+	 * 
+	 * @param listener the listener
+	 */
+	public void addStorageListener(CircuitBreaker.StateListener listener) {
+		circuitBreaker.addListener(listener);
+	}
+
+	/**
+	 * Removes a listener registered with
+	 * {@link #addStorageListener(CircuitBreaker.StateListener)}.
+	 * 
+	 * @param listener the listener
+	 */
+	public void removeStorageListener(CircuitBreaker.StateListener listener) {
+		circuitBreaker.removeListener(listener);
+	}
+
+	/**
+	 * Returns the state and counters of the circuit breaker guarding the
+	 * database.
+	 * 
+	 * @return circuit breaker statistics
+	 */
+	public CircuitBreakerStats getCircuitBreakerStats() {
+		return circuitBreaker.getStats();
+	}
+
+	/**
+	 * Returns the latency statistics of the data operations, which are also
+	 * published as the MBean {@value DataManagerMetrics#OBJECT_NAME}.
+	 * 
+	 * @return the metrics
+	 */
+	public DataManagerMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Returns the number of changes written to file storage that have not been
+	 * replayed into the database yet.
+	 * 
+	 * @return number of pending offline changes
+	 */
+	public int getPendingOfflineChanges() {
+		return offlineJournal.getPendingCount();
+	}
+
+	/**
+	 * Replays the changes written to file storage into the database on a
+	 * background thread. This happens automatically when the database becomes
+	 * reachable again.
+	 * 
+	 * @return future completed with the outcome of the replay
+	 */
+	public CompletableFuture<OfflineSyncResult> syncOfflineChangesAsync() {
+		if (!usingDatabase) {
+			return CompletableFuture.completedFuture(new OfflineSyncResult(0, 0, offlineJournal.getPendingCount(),
+					List.of(), 0, "Database not available"));
+		}
+		return getOfflineSync().replayAsync().whenComplete((result, error) -> {
+			if (result != null && result.replayedChanges() > 0) {
+				catalogChanged();
 			}
-			dbManager.connect();
-			if (dbManager.isConnected()) {
-				usingDatabase = true;
-				ConfigManager.debugPrint("DEBUG: Successfully reconnected to database");
-				ConfigManager.debugPrint("Successfully reconnected to database");
-				return true;
+			if (error != null) {
+				System.err.println("Replaying offline changes failed: " + error.getMessage());
+			} else if (!result.isComplete()) {
+				System.err.println("Offline changes partly replayed, " + result.pendingChanges() + " still pending"
+						+ (result.error() != null ? ": " + result.error()
+								: ", " + result.rejectedChanges() + " rejected by the database"));
 			}
-		} catch (Exception e) {
-			ConfigManager.debugPrint("DEBUG: Database reconnection failed: " + e.getMessage());
+		});
+	}
+
+	/**
+	 * Returns the replayer of the offline changes, creating it on first use.
+	 * 
+	 * @return the offline sync
+	 */
+	private synchronized OfflineSync getOfflineSync() {
+		if (offlineSync == null) {
+			ensureSerializationManager();
+			offlineSync = new OfflineSync(offlineJournal, serializationManager, dbManager);
 		}
+		return offlineSync;
+	}
+
+	/**
+	 * Returns the age and lag of the standby copy of the database catalog in
+	 * the file store.
+	 * 
+	 * @return snapshot statistics, or null if the snapshots are disabled
+	 */
+	public StandbySnapshotStats getStandbySnapshotStats() {
+		return standbySnapshotter != null ? standbySnapshotter.getStats() : null;
+	}
 
-		return false;
+	/**
+	 * Records a change written to file storage.
+	 * 
+	 * @param operation what happened to the entity
+	 * @param kind      kind of the entity
+	 * @param themeId   file storage ID of the theme of a question, of the theme
+	 *                  itself for themes, 0 for sessions
+	 * @param fileId    file storage ID of the entity
+	 */
+	private void recordOffline(OfflineChange.Operation operation, OfflineChange.Kind kind, int themeId, int fileId) {
+		offlineJournal.record(operation, kind, themeId, fileId);
+		if (standbySnapshotter != null && kind != OfflineChange.Kind.SESSION) {
+			standbySnapshotter.invalidate();
+		}
+	}
+
+	/**
+	 * Records that the database catalog changed, so the standby copy lags
+	 * behind until the next snapshot.
+	 */
+	private void catalogChanged() {
+		if (standbySnapshotter != null) {
+			standbySnapshotter.markChanged();
+		}
 	}
 
 	@Override
 	public QuestionDTO getRandomQuestion() {
-		return executeWithFallback(() -> {
-			if (usingDatabase) {
+		return executeWithFallback("getRandomQuestion", database -> {
+			if (database) {
 				return dbManager.getRandomQuestion();
 			} else {
 				return serializationManager.getRandomQuestion();
@@ -145,8 +391,8 @@ public class DataManager implements QuizDataInterface {
 
 	@Override
 	public QuestionDTO getRandomQuestionFor(ThemeDTO theme) {
-		return executeWithFallback(() -> {
-			if (usingDatabase) {
+		return executeWithFallback("getRandomQuestionFor", database -> {
+			if (database) {
 				return dbManager.getRandomQuestionFor(theme);
 			} else {
 				return serializationManager.getRandomQuestionFor(theme);
@@ -154,10 +400,36 @@ public class DataManager implements QuizDataInterface {
 		});
 	}
 
+	@Override
+	public QuestionDTO getRandomQuestionWithAnswers(ThemeDTO theme) {
+		return executeWithFallback("getRandomQuestionWithAnswers", database -> {
+			if (database) {
+				return dbManager.getRandomQuestionWithAnswers(theme);
+			} else {
+				return serializationManager.getRandomQuestionWithAnswers(theme);
+			}
+		});
+	}
+
+	/**
+	 * Gives an unshown question back to both backends. The question may have
+	 * been drawn before a failover, and a backend that did not draw it ignores
+	 * it.
+	 */
+	@Override
+	public void returnUnshownQuestion(QuestionDTO question, ThemeDTO theme) {
+		if (dbManager != null) {
+			dbManager.returnUnshownQuestion(question, theme);
+		}
+		if (serializationManager != null) {
+			serializationManager.returnUnshownQuestion(question, theme);
+		}
+	}
+
 	@Override
 	public ArrayList<ThemeDTO> getAllThemes() {
-		return executeWithFallback(() -> {
-			if (usingDatabase) {
+		return executeWithFallback("getAllThemes", database -> {
+			if (database) {
 				return dbManager.getAllThemes();
 			} else {
 				return serializationManager.getAllThemes();
@@ -165,32 +437,51 @@ public class DataManager implements QuizDataInterface {
 		});
 	}
 
+	@Override
+	public ArrayList<ThemeDTO> loadCatalog() {
+		return executeWithFallback("loadCatalog", database -> {
+			if (database) {
+				return dbManager.loadCatalog();
+			} else {
+				return serializationManager.loadCatalog();
+			}
+		});
+	}
+
 	@Override
 	public String saveTheme(ThemeDTO theme) {
-		return executeWithFallback(() -> {
-			if (usingDatabase) {
-				return dbManager.saveTheme(theme);
+		return executeWithFallback("saveTheme", database -> {
+			if (database) {
+				String result = dbManager.saveTheme(theme);
+				catalogChanged();
+				return result;
 			} else {
-				return serializationManager.saveTheme(theme);
+				String result = serializationManager.saveTheme(theme);
+				recordOffline(OfflineChange.Operation.UPSERT, OfflineChange.Kind.THEME, theme.getId(), theme.getId());
+				return result;
 			}
 		});
 	}
 
 	@Override
 	public String deleteTheme(ThemeDTO theme) {
-		return executeWithFallback(() -> {
-			if (usingDatabase) {
-				return dbManager.deleteTheme(theme);
+		return executeWithFallback("deleteTheme", database -> {
+			if (database) {
+				String result = dbManager.deleteTheme(theme);
+				catalogChanged();
+				return result;
 			} else {
-				return serializationManager.deleteTheme(theme);
+				String result = serializationManager.deleteTheme(theme);
+				recordOffline(OfflineChange.Operation.DELETE, OfflineChange.Kind.THEME, theme.getId(), theme.getId());
+				return result;
 			}
 		});
 	}
 
 	@Override
 	public ArrayList<QuestionDTO> getQuestionsFor(ThemeDTO theme) {
-		return executeWithFallback(() -> {
-			if (usingDatabase) {
+		return executeWithFallback("getQuestionsFor", database -> {
+			if (database) {
 				return dbManager.getQuestionsFor(theme);
 			} else {
 				return serializationManager.getQuestionsFor(theme);
@@ -198,32 +489,53 @@ public class DataManager implements QuizDataInterface {
 		});
 	}
 
+	@Override
+	public Stream<QuestionDTO> streamQuestions(ThemeDTO theme) {
+		return executeWithFallback("streamQuestions", database -> {
+			if (database) {
+				return dbManager.streamQuestions(theme);
+			} else {
+				return serializationManager.streamQuestions(theme);
+			}
+		});
+	}
+
 	@Override
 	public String saveQuestion(QuestionDTO question) {
-		return executeWithFallback(() -> {
-			if (usingDatabase) {
-				return dbManager.saveQuestion(question);
+		return executeWithFallback("saveQuestion", database -> {
+			if (database) {
+				String result = dbManager.saveQuestion(question);
+				catalogChanged();
+				return result;
 			} else {
-				return serializationManager.saveQuestion(question);
+				String result = serializationManager.saveQuestion(question);
+				recordOffline(OfflineChange.Operation.UPSERT, OfflineChange.Kind.QUESTION,
+						serializationManager.findThemeIdOf(question.getId()), question.getId());
+				return result;
 			}
 		});
 	}
 
 	@Override
 	public String deleteQuestion(QuestionDTO question) {
-		return executeWithFallback(() -> {
-			if (usingDatabase) {
-				return dbManager.deleteQuestion(question);
+		return executeWithFallback("deleteQuestion", database -> {
+			if (database) {
+				String result = dbManager.deleteQuestion(question);
+				catalogChanged();
+				return result;
 			} else {
-				return serializationManager.deleteQuestion(question);
+				int themeId = serializationManager.findThemeIdOf(question.getId());
+				String result = serializationManager.deleteQuestion(question);
+				recordOffline(OfflineChange.Operation.DELETE, OfflineChange.Kind.QUESTION, themeId, question.getId());
+				return result;
 			}
 		});
 	}
 
 	@Override
 	public ArrayList<AnswerDTO> getAnswersFor(QuestionDTO question) {
-		return executeWithFallback(() -> {
-			if (usingDatabase) {
+		return executeWithFallback("getAnswersFor", database -> {
+			if (database) {
 				return dbManager.getAnswersFor(question);
 			} else {
 				return serializationManager.getAnswersFor(question);
@@ -239,11 +551,16 @@ public class DataManager implements QuizDataInterface {
 	 * @return result message
 	 */
 	public String saveQuestion(QuestionDTO question, ThemeDTO theme) {
-		return executeWithFallback(() -> {
-			if (usingDatabase) {
-				return dbManager.saveQuestion(question, theme);
+		return executeWithFallback("saveQuestion", database -> {
+			if (database) {
+				String result = dbManager.saveQuestion(question, theme);
+				catalogChanged();
+				return result;
 			} else {
-				return serializationManager.saveQuestion(question, theme);
+				String result = serializationManager.saveQuestion(question, theme);
+				recordOffline(OfflineChange.Operation.UPSERT, OfflineChange.Kind.QUESTION, theme.getId(),
+						question.getId());
+				return result;
 			}
 		});
 	}
@@ -256,30 +573,143 @@ public class DataManager implements QuizDataInterface {
 	 * @return result message
 	 */
 	public String saveAnswer(AnswerDTO answer, QuestionDTO question) {
-		return executeWithFallback(() -> {
-			if (usingDatabase) {
-				return dbManager.saveAnswer(answer, question);
+		return executeWithFallback("saveAnswer", database -> {
+			if (database) {
+				String result = dbManager.saveAnswer(answer, question);
+				catalogChanged();
+				return result;
 			} else {
 				return serializationManager.saveAnswer(answer, question);
 			}
 		});
 	}
 
+	@Override
+	public String importQuestions(Map<ThemeDTO, List<QuestionDTO>> questionsByTheme) {
+		return executeWithFallback("importQuestions", database -> {
+			if (database) {
+				String result = dbManager.importQuestions(questionsByTheme);
+				catalogChanged();
+				return result;
+			} else {
+				String result = serializationManager.importQuestions(questionsByTheme);
+				List<OfflineChange> changes = new ArrayList<>();
+				for (Map.Entry<ThemeDTO, List<QuestionDTO>> entry : questionsByTheme.entrySet()) {
+					for (QuestionDTO question : entry.getValue()) {
+						changes.add(new OfflineChange(0, OfflineChange.Operation.UPSERT, OfflineChange.Kind.QUESTION,
+								entry.getKey().getId(), question.getId()));
+					}
+				}
+				offlineJournal.recordAll(changes);
+				if (standbySnapshotter != null) {
+					standbySnapshotter.invalidate();
+				}
+				return result;
+			}
+		});
+	}
+
 	@Override
 	public String saveQuizSession(quizlogic.dto.QuizSessionDTO session) {
-		return executeWithFallback(() -> {
-			if (usingDatabase) {
-				return dbManager.saveQuizSession(session);
+		return executeWithFallback("saveQuizSession", database -> {
+			String claim = claimSessionId(session, database);
+			if (claim != null) {
+				return claim;
+			}
+			String result;
+			if (database) {
+				result = dbManager.saveQuizSession(session);
 			} else {
-				return serializationManager.saveQuizSession(session);
+				result = serializationManager.saveQuizSession(session);
+				if (result == null) {
+					recordOffline(OfflineChange.Operation.UPSERT, OfflineChange.Kind.SESSION, 0, session.getId());
+				}
+			}
+			if (result == null) {
+				session.setStorage(storageName(database));
 			}
+			return result;
 		});
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * A session is only appended to on the backend that assigned its ID. A
+	 * session created on file storage continues under the database ID the
+	 * offline replay assigned to it.
+	 */
+	@Override
+	public String appendUserAnswers(quizlogic.dto.QuizSessionDTO session,
+			java.util.List<quizlogic.dto.UserAnswerDTO> newAnswers) {
+		return executeWithFallback("appendUserAnswers", database -> {
+			String claim = claimSessionId(session, database);
+			if (claim != null) {
+				return claim;
+			}
+			String result;
+			if (database) {
+				result = dbManager.appendUserAnswers(session, newAnswers);
+			} else {
+				result = serializationManager.appendUserAnswers(session, newAnswers);
+				if (result == null) {
+					recordOffline(OfflineChange.Operation.UPSERT, OfflineChange.Kind.SESSION, 0, session.getId());
+				}
+			}
+			if (result == null) {
+				session.setStorage(storageName(database));
+			}
+			return result;
+		});
+	}
+
+	/**
+	 * Makes sure the ID of a session belongs to the backend about to store it,
+	 * since the database and file storage assign their session IDs
+	 * independently. A session created on file storage is moved to the
+	 * database ID the offline replay assigned to it. Until it has been
+	 * replayed, and for a database session while on file storage, the write is
+	 * refused, so the caller keeps the answers pending instead of writing them
+	 * into another session.
+	 *
+	 * @param session  the session to store
+	 * @param database true if the session is about to be stored in the
+	 *                 database
+	 * @return null if the session may be stored, an error message otherwise
+	 */
+	private String claimSessionId(quizlogic.dto.QuizSessionDTO session, boolean database) {
+		String storage = storageName(database);
+		if (session.getId() == constants.LogicConstants.INVALID_ID || session.getStorage() == null
+				|| storage.equals(session.getStorage())) {
+			return null;
+		}
+		if (!database) {
+			return "Quiz session " + session.getId() + " is stored in the database, which is not available";
+		}
+		int dbId = dbManager.findReplayedSessionId(session.getId());
+		if (dbId == constants.LogicConstants.INVALID_ID) {
+			return "Quiz session " + session.getId() + " has not been replayed from file storage yet";
+		}
+		ConfigManager.debugPrint("DEBUG: Quiz session " + session.getId() + " continues as database session " + dbId);
+		session.setId(dbId);
+		session.setStorage(storage);
+		return null;
+	}
+
+	/**
+	 * Returns the name of a backend as stored with session IDs.
+	 *
+	 * @param database true for the database
+	 * @return name of the backend
+	 */
+	private static String storageName(boolean database) {
+		return database ? DataManagerMetrics.BACKEND_DATABASE : DataManagerMetrics.BACKEND_FILE;
+	}
+
 	@Override
 	public java.util.ArrayList<quizlogic.dto.QuizSessionDTO> getAllQuizSessions() {
-		return executeWithFallback(() -> {
-			if (usingDatabase) {
+		return executeWithFallback("getAllQuizSessions", database -> {
+			if (database) {
 				return dbManager.getAllQuizSessions();
 			} else {
 				return serializationManager.getAllQuizSessions();
@@ -287,10 +717,21 @@ public class DataManager implements QuizDataInterface {
 		});
 	}
 
+	@Override
+	public Stream<quizlogic.dto.QuizSessionDTO> streamSessions(java.util.Date since) {
+		return executeWithFallback("streamSessions", database -> {
+			if (database) {
+				return dbManager.streamSessions(since);
+			} else {
+				return serializationManager.streamSessions(since);
+			}
+		});
+	}
+
 	@Override
 	public java.util.ArrayList<quizlogic.dto.QuizSessionDTO> getRecentQuizSessions(int count) {
-		return executeWithFallback(() -> {
-			if (usingDatabase) {
+		return executeWithFallback("getRecentQuizSessions", database -> {
+			if (database) {
 				return dbManager.getRecentQuizSessions(count);
 			} else {
 				return serializationManager.getRecentQuizSessions(count);
@@ -298,26 +739,58 @@ public class DataManager implements QuizDataInterface {
 		});
 	}
 
+	@Override
+	public quizlogic.dto.QuizStatisticsSummary getQuizStatistics() {
+		return executeWithFallback("getQuizStatistics", database -> {
+			if (database) {
+				return dbManager.getQuizStatistics();
+			} else {
+				return serializationManager.getQuizStatistics();
+			}
+		});
+	}
+
+	@Override
+	public java.util.ArrayList<quizlogic.dto.SessionSummary> getRecentSessionSummaries(int limit) {
+		return executeWithFallback("getRecentSessionSummaries", database -> {
+			if (database) {
+				return dbManager.getRecentSessionSummaries(limit);
+			} else {
+				return serializationManager.getRecentSessionSummaries(limit);
+			}
+		});
+	}
+
 	/**
 	 * Executes a data operation with automatic fallback to serialization if
-	 * database fails.
+	 * database fails. The outcome of database operations is recorded by the
+	 * circuit breaker, which decides when to stop using the database. Writes
+	 * that the database rejected return their error message and count as a
+	 * success, since the database answered; writes that could not reach the
+	 * database throw and fall back. The latency of every attempt is recorded in
+	 * the {@link DataManagerMetrics}.
+	 *
+	 * @param name      name of the operation in the metrics
+	 * @param operation the operation
 	 */
-	private <T> T executeWithFallback(DataOperation<T> operation) {
+	private <T> T executeWithFallback(String name, DataOperation<T> operation) {
+		boolean database = usingDatabase;
 		try {
-			return operation.execute();
+			T result = timed(name, database, operation);
+			if (database) {
+				circuitBreaker.recordSuccess();
+			}
+			return result;
 		} catch (Exception e) {
-			if (usingDatabase) {
+			if (database) {
 				ConfigManager.debugPrint(
 						"DEBUG: Database operation failed, falling back to serialization: " + e.getMessage());
-				System.err.println("Database operation failed, switching to file storage: " + e.getMessage());
-
-				if (serializationManager == null) {
-					serializationManager = new QuizDataManager();
-				}
-				usingDatabase = false;
+				circuitBreaker.recordFailure(e);
+				metrics.recordFallback(name);
+				ensureSerializationManager();
 
 				try {
-					return operation.execute();
+					return timed(name, false, operation);
 				} catch (Exception serializationException) {
 					ConfigManager.debugPrint(
 							"DEBUG: Serialization operation also failed: " + serializationException.getMessage());
@@ -330,15 +803,60 @@ public class DataManager implements QuizDataInterface {
 		}
 	}
 
+	/**
+	 * Executes a data operation on one backend and records its latency. File
+	 * storage is not thread-safe; if the calling thread does not hold the
+	 * storage lock of the {@link AsyncDataManager} already, e.g. because the
+	 * database was in use when it started, a file storage operation takes the
+	 * write lock.
+	 *
+	 * @param name      name of the operation in the metrics
+	 * @param database  true to execute on the database
+	 * @param operation the operation
+	 * @return result of the operation
+	 * @throws Exception if the operation fails
+	 */
+	private <T> T timed(String name, boolean database, DataOperation<T> operation) throws Exception {
+		ReentrantReadWriteLock storageLock = AsyncDataManager.storageLock();
+		if (!database && !storageLock.isWriteLockedByCurrentThread() && storageLock.getReadHoldCount() == 0) {
+			storageLock.writeLock().lock();
+			try {
+				return timed(name, false, operation);
+			} finally {
+				storageLock.writeLock().unlock();
+			}
+		}
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			T result = operation.execute(database);
+			failed = false;
+			return result;
+		} finally {
+			metrics.record(name, database, System.nanoTime() - start, failed);
+		}
+	}
+
 	@FunctionalInterface
 	private interface DataOperation<T> {
-		T execute() throws Exception;
+		T execute(boolean database) throws Exception;
 	}
 
 	/**
 	 * Closes the data manager and any active connections.
 	 */
 	public void close() {
+		circuitBreaker.shutdown();
+		metrics.unregister();
+		if (standbySnapshotter != null) {
+			standbySnapshotter.shutdown();
+		}
+		synchronized (this) {
+			if (offlineSync != null) {
+				offlineSync.close();
+			}
+		}
+		offlineJournal.close();
 		if (dbManager != null && dbManager.isConnected()) {
 			dbManager.disconnect();
 			ConfigManager.debugPrint("DEBUG: Database connection closed");
@@ -0,0 +1,360 @@
+package persistence;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import constants.ConfigManager;
+import persistence.mariaDB.ConnectionPool;
+import persistence.mariaDB.IdentityMapStats;
+
+/**
+ * Latency statistics of the {@link DataManager}, recorded per
+ * {@link QuizDataInterface} operation and backend.
+ * <p>
+ * Each operation and backend has its own {@link LatencyHistogram} together
+ * with error and fallback counters, created on the first call. Recording is
+ * lock-free. The statistics are published through the platform MBean server,
+ * so they can be watched with JConsole, VisualVM or any other JMX client.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public class DataManagerMetrics implements DataManagerMetricsMXBean {
+
+	/** Object name of the MBean */
+	public static final String OBJECT_NAME = "quizzle:type=DataManager,name=Latency";
+
+	/** Backend name of the database */
+	public static final String BACKEND_DATABASE = "database";
+
+	/** Backend name of the file storage */
+	public static final String BACKEND_FILE = "file";
+
+	/**
+	 * Statistics of one operation on one backend.
+	 *
+	 * @param operation name of the operation
+	 * @param backend   backend name
+	 * @param latency   latencies of the calls
+	 * @param errors    number of failed calls
+	 * @param fallbacks number of failed database calls repeated on file storage
+	 */
+	private record Entry(String operation, String backend, LatencyHistogram latency, LongAdder errors,
+			LongAdder fallbacks) {
+	}
+
+	/** Statistics by operation and backend */
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	/** Description of the storage in use */
+	private final Supplier<String> storage;
+
+	/** Statistics of the circuit breaker guarding the database */
+	private volatile Supplier<CircuitBreakerStats> circuitBreakerStats = () -> null;
+
+	/** Statistics of the standby snapshots, supplying null while disabled */
+	private volatile Supplier<StandbySnapshotStats> standbySnapshotStats = () -> null;
+
+	/** Statistics of the caches in front of the data manager */
+	private volatile Supplier<List<CacheStats>> cacheStats = List::of;
+
+	/** Statistics of the DAO identity maps of the database manager */
+	private volatile Supplier<List<IdentityMapStats>> identityMapStats = List::of;
+
+	/** Connection pool of the database manager, supplying null if not connected */
+	private volatile Supplier<ConnectionPool> connectionPool = () -> null;
+
+	/** Registered object name, null if not registered */
+	private ObjectName registeredName;
+
+	/**
+	 * Creates empty statistics.
+	 *
+	 * @param storage supplies the description of the storage in use
+	 */
+	public DataManagerMetrics(Supplier<String> storage) {
+		this.storage = storage;
+	}
+
+	/**
+	 * Sets the source of the circuit breaker statistics.
+	 *
+	 * @param circuitBreakerStats supplies the statistics of the circuit breaker
+	 *                            guarding the database
+	 */
+	public void setCircuitBreakerStats(Supplier<CircuitBreakerStats> circuitBreakerStats) {
+		this.circuitBreakerStats = circuitBreakerStats;
+	}
+
+	/**
+	 * Sets the source of the standby snapshot statistics.
+	 *
+	 * @param standbySnapshotStats supplies the statistics, or null while the
+	 *                             snapshots are disabled
+	 */
+	public void setStandbySnapshotStats(Supplier<StandbySnapshotStats> standbySnapshotStats) {
+		this.standbySnapshotStats = standbySnapshotStats;
+	}
+
+	/**
+	 * Sets the source of the statistics of the caches in front of the data
+	 * manager, such as a {@link CachingDataInterface}.
+	 *
+	 * @param cacheStats supplies the statistics of the caches
+	 */
+	public void setCacheStats(Supplier<List<CacheStats>> cacheStats) {
+		this.cacheStats = cacheStats;
+	}
+
+	/**
+	 * Sets the source of the DAO identity map statistics.
+	 *
+	 * @param identityMapStats supplies the statistics of the identity maps
+	 */
+	public void setIdentityMapStats(Supplier<List<IdentityMapStats>> identityMapStats) {
+		this.identityMapStats = identityMapStats;
+	}
+
+	/**
+	 * Sets the source of the connection pool whose statement cache counters
+	 * are published.
+	 *
+	 * @param connectionPool supplies the connection pool, or null if not
+	 *                       connected
+	 */
+	public void setConnectionPool(Supplier<ConnectionPool> connectionPool) {
+		this.connectionPool = connectionPool;
+	}
+
+	/**
+	 * Records a call of an operation.
+	 *
+	 * @param operation name of the operation
+	 * @param database  true if the call went to the database
+	 * @param nanos     duration of the call in nanoseconds
+	 * @param failed    true if the call threw an exception
+	 */
+	public void record(String operation, boolean database, long nanos, boolean failed) {
+		Entry entry = entry(operation, database);
+		entry.latency().record(nanos);
+		if (failed) {
+			entry.errors().increment();
+		}
+	}
+
+	/**
+	 * Records that a failed database call of an operation was repeated on file
+	 * storage.
+	 *
+	 * @param operation name of the operation
+	 */
+	public void recordFallback(String operation) {
+		entry(operation, true).fallbacks().increment();
+	}
+
+	/**
+	 * Returns the statistics of an operation and backend, creating them on the
+	 * first call.
+	 *
+	 * @param operation name of the operation
+	 * @param database  true for the database backend
+	 * @return the statistics
+	 */
+	private Entry entry(String operation, boolean database) {
+		String backend = database ? BACKEND_DATABASE : BACKEND_FILE;
+		return entries.computeIfAbsent(operation + "/" + backend,
+				key -> new Entry(operation, backend, new LatencyHistogram(), new LongAdder(), new LongAdder()));
+	}
+
+	@Override
+	public List<OperationLatency> getOperationLatencies() {
+		List<OperationLatency> latencies = new ArrayList<>();
+		for (Entry entry : entries.values()) {
+			LatencyHistogram latency = entry.latency();
+			latencies.add(new OperationLatency(entry.operation(), entry.backend(), latency.getCount(),
+					entry.errors().sum(), entry.fallbacks().sum(), micros(latency.getMeanNanos()),
+					micros(latency.getPercentileNanos(50)), micros(latency.getPercentileNanos(95)),
+					micros(latency.getPercentileNanos(99)), micros(latency.getMaxNanos())));
+		}
+		latencies.sort(Comparator.comparing(OperationLatency::getOperation).thenComparing(OperationLatency::getBackend));
+		return latencies;
+	}
+
+	@Override
+	public long getTotalCalls() {
+		return entries.values().stream().mapToLong(entry -> entry.latency().getCount()).sum();
+	}
+
+	@Override
+	public long getTotalErrors() {
+		return entries.values().stream().mapToLong(entry -> entry.errors().sum()).sum();
+	}
+
+	@Override
+	public long getTotalFallbacks() {
+		return entries.values().stream().mapToLong(entry -> entry.fallbacks().sum()).sum();
+	}
+
+	@Override
+	public String getStorage() {
+		return storage.get();
+	}
+
+	@Override
+	public String getCircuitBreakerState() {
+		CircuitBreakerStats stats = circuitBreakerStats.get();
+		return stats != null ? stats.state().name() : null;
+	}
+
+	@Override
+	public int getCircuitBreakerConsecutiveFailures() {
+		CircuitBreakerStats stats = circuitBreakerStats.get();
+		return stats != null ? stats.consecutiveFailures() : 0;
+	}
+
+	@Override
+	public long getCircuitBreakerFailures() {
+		CircuitBreakerStats stats = circuitBreakerStats.get();
+		return stats != null ? stats.failures() : 0;
+	}
+
+	@Override
+	public long getCircuitBreakerTimesOpened() {
+		CircuitBreakerStats stats = circuitBreakerStats.get();
+		return stats != null ? stats.timesOpened() : 0;
+	}
+
+	@Override
+	public long getCircuitBreakerProbes() {
+		CircuitBreakerStats stats = circuitBreakerStats.get();
+		return stats != null ? stats.probes() : 0;
+	}
+
+	@Override
+	public long getCircuitBreakerFailedProbes() {
+		CircuitBreakerStats stats = circuitBreakerStats.get();
+		return stats != null ? stats.failedProbes() : 0;
+	}
+
+	@Override
+	public long getCircuitBreakerStateAgeMs() {
+		CircuitBreakerStats stats = circuitBreakerStats.get();
+		return stats != null ? System.currentTimeMillis() - stats.stateSinceMillis() : -1;
+	}
+
+	@Override
+	public long getStandbySnapshotAgeMs() {
+		StandbySnapshotStats stats = standbySnapshotStats.get();
+		return stats != null ? stats.ageMs() : -1;
+	}
+
+	@Override
+	public long getStandbySnapshotLagMs() {
+		StandbySnapshotStats stats = standbySnapshotStats.get();
+		return stats != null ? stats.lagMs() : -1;
+	}
+
+	@Override
+	public long getStandbySnapshots() {
+		StandbySnapshotStats stats = standbySnapshotStats.get();
+		return stats != null ? stats.snapshots() : 0;
+	}
+
+	@Override
+	public long getStandbySnapshotFailures() {
+		StandbySnapshotStats stats = standbySnapshotStats.get();
+		return stats != null ? stats.failedSnapshots() : 0;
+	}
+
+	@Override
+	public String getStandbySnapshotLastError() {
+		StandbySnapshotStats stats = standbySnapshotStats.get();
+		return stats != null ? stats.lastError() : null;
+	}
+
+	@Override
+	public List<CacheUsage> getCaches() {
+		return cacheStats.get().stream().map(CacheUsage::of).toList();
+	}
+
+	@Override
+	public List<CacheUsage> getIdentityMaps() {
+		return identityMapStats.get().stream().map(CacheUsage::of).toList();
+	}
+
+	@Override
+	public long getStatementCacheHits() {
+		ConnectionPool pool = connectionPool.get();
+		return pool != null ? pool.getStatementCacheHits() : 0;
+	}
+
+	@Override
+	public long getStatementCacheMisses() {
+		ConnectionPool pool = connectionPool.get();
+		return pool != null ? pool.getStatementCacheMisses() : 0;
+	}
+
+	@Override
+	public void reset() {
+		entries.clear();
+	}
+
+	/**
+	 * Registers the statistics with the platform MBean server. Failures are
+	 * only logged, the statistics are still recorded.
+	 */
+	public synchronized void register() {
+		if (registeredName != null) {
+			return;
+		}
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(this, name);
+			registeredName = name;
+			ConfigManager.debugPrint("DEBUG: Registered data manager metrics as " + OBJECT_NAME);
+		} catch (JMException e) {
+			ConfigManager.debugPrint("DEBUG: Registering data manager metrics failed: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Removes the statistics from the platform MBean server.
+	 */
+	public synchronized void unregister() {
+		if (registeredName == null) {
+			return;
+		}
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+		} catch (JMException e) {
+			ConfigManager.debugPrint("DEBUG: Unregistering data manager metrics failed: " + e.getMessage());
+		}
+		registeredName = null;
+	}
+
+	/**
+	 * Converts nanoseconds to microseconds.
+	 *
+	 * @param nanos duration in nanoseconds
+	 * @return duration in microseconds
+	 */
+	private static long micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+}
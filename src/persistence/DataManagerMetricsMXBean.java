@@ -0,0 +1,178 @@
+package persistence;
+
+import java.util.List;
+
+/**
+ * Management interface of the {@link DataManagerMetrics}, registered with the
+ * platform MBean server under {@value DataManagerMetrics#OBJECT_NAME}.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public interface DataManagerMetricsMXBean {
+
+	/**
+	 * Returns the latency statistics of every operation and backend that has
+	 * been called.
+	 *
+	 * @return statistics ordered by operation and backend
+	 */
+	List<OperationLatency> getOperationLatencies();
+
+	/**
+	 * Returns the number of calls over all operations and backends.
+	 *
+	 * @return total calls
+	 */
+	long getTotalCalls();
+
+	/**
+	 * Returns the number of failed calls over all operations and backends.
+	 *
+	 * @return total errors
+	 */
+	long getTotalErrors();
+
+	/**
+	 * Returns the number of failed database calls repeated on file storage.
+	 *
+	 * @return total fallbacks
+	 */
+	long getTotalFallbacks();
+
+	/**
+	 * Returns the storage currently used by the data manager.
+	 *
+	 * @return description of the storage
+	 */
+	String getStorage();
+
+	/**
+	 * Returns the state of the circuit breaker guarding the database.
+	 *
+	 * @return CLOSED, OPEN or HALF_OPEN, null if no circuit breaker is set
+	 */
+	String getCircuitBreakerState();
+
+	/**
+	 * Returns the number of database failures since the last success.
+	 *
+	 * @return consecutive failures
+	 */
+	int getCircuitBreakerConsecutiveFailures();
+
+	/**
+	 * Returns the number of database operations that failed.
+	 *
+	 * @return failed operations
+	 */
+	long getCircuitBreakerFailures();
+
+	/**
+	 * Returns how often the circuit breaker has opened.
+	 *
+	 * @return number of transitions to OPEN
+	 */
+	long getCircuitBreakerTimesOpened();
+
+	/**
+	 * Returns the number of health probes run against the database.
+	 *
+	 * @return health probes
+	 */
+	long getCircuitBreakerProbes();
+
+	/**
+	 * Returns the number of health probes that failed.
+	 *
+	 * @return failed health probes
+	 */
+	long getCircuitBreakerFailedProbes();
+
+	/**
+	 * Returns the time since the last state transition of the circuit breaker.
+	 *
+	 * @return time in the current state in milliseconds, -1 if no circuit
+	 *         breaker is set
+	 */
+	long getCircuitBreakerStateAgeMs();
+
+	/**
+	 * Returns the time since the last standby snapshot of the database catalog
+	 * completed.
+	 *
+	 * @return age in milliseconds, -1 if no snapshot has completed or the
+	 *         snapshots are disabled
+	 */
+	long getStandbySnapshotAgeMs();
+
+	/**
+	 * Returns how long the oldest database change not yet in the standby copy
+	 * has been waiting.
+	 *
+	 * @return lag in milliseconds, 0 if the standby copy is current, -1 if the
+	 *         snapshots are disabled
+	 */
+	long getStandbySnapshotLagMs();
+
+	/**
+	 * Returns the number of completed standby snapshots.
+	 *
+	 * @return completed snapshots
+	 */
+	long getStandbySnapshots();
+
+	/**
+	 * Returns the number of failed standby snapshots.
+	 *
+	 * @return failed snapshots
+	 */
+	long getStandbySnapshotFailures();
+
+	/**
+	 * Returns the error of the last failed standby snapshot.
+	 *
+	 * @return the error, null if the last snapshot succeeded or the snapshots
+	 *         are disabled
+	 */
+	String getStandbySnapshotLastError();
+
+	/**
+	 * Returns the size and hit statistics of the caches in front of the data
+	 * manager.
+	 *
+	 * @return statistics of every cache, empty if no cache is set
+	 */
+	List<CacheUsage> getCaches();
+
+	/**
+	 * Returns the size and hit statistics of the DAO identity maps of the
+	 * database manager.
+	 *
+	 * @return statistics of every identity map, empty without a database
+	 *         manager
+	 */
+	List<CacheUsage> getIdentityMaps();
+
+	/**
+	 * Returns the number of prepared statements reused from the statement
+	 * caches of the database connections.
+	 *
+	 * @return statement cache hits, 0 without a connection pool
+	 */
+	long getStatementCacheHits();
+
+	/**
+	 * Returns the number of statements that had to be prepared because they
+	 * were not in the statement cache of their connection.
+	 *
+	 * @return statement cache misses, 0 without a connection pool
+	 */
+	long getStatementCacheMisses();
+
+	/**
+	 * Clears all recorded statistics.
+	 */
+	void reset();
+}
@@ -0,0 +1,155 @@
+package persistence;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of operation latencies.
+ * <p>
+ * Latencies are counted in log-linear buckets: every power of two is split
+ * into {@value #SUB_BUCKETS} equally wide buckets, so a percentile is reported
+ * with a relative error below 1/{@value #SUB_BUCKETS}. Recording a latency
+ * increments a single bucket without locking; percentiles are computed when
+ * the histogram is read. Latencies above about 18 minutes are counted in the
+ * last bucket, the maximum is exact.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public class LatencyHistogram {
+
+	/** Number of bits selecting the bucket within a power of two */
+	private static final int SUB_BUCKET_BITS = 4;
+
+	/** Number of buckets per power of two */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/** Largest latency in nanoseconds with a bucket of its own */
+	private static final long MAX_TRACKED_NANOS = (1L << 40) - 1;
+
+	/** Bucket counts */
+	private final AtomicLongArray buckets = new AtomicLongArray(bucketIndex(MAX_TRACKED_NANOS) + 1);
+
+	/** Number of recorded latencies */
+	private final LongAdder count = new LongAdder();
+
+	/** Sum of the recorded latencies in nanoseconds */
+	private final LongAdder totalNanos = new LongAdder();
+
+	/** Largest recorded latency in nanoseconds */
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanos the latency in nanoseconds
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		buckets.incrementAndGet(bucketIndex(Math.min(value, MAX_TRACKED_NANOS)));
+		count.increment();
+		totalNanos.add(value);
+		maxNanos.accumulate(value);
+	}
+
+	/**
+	 * Returns the number of recorded latencies.
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Returns the mean of the recorded latencies.
+	 *
+	 * @return mean latency in nanoseconds, 0 if nothing was recorded
+	 */
+	public long getMeanNanos() {
+		long recorded = count.sum();
+		return recorded > 0 ? totalNanos.sum() / recorded : 0;
+	}
+
+	/**
+	 * Returns the largest recorded latency.
+	 *
+	 * @return maximum latency in nanoseconds
+	 */
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * Returns a percentile of the recorded latencies. Latencies recorded while
+	 * the percentile is computed may or may not be included.
+	 *
+	 * @param percentile the percentile, between 0 and 100
+	 * @return upper bound of the bucket containing the percentile in
+	 *         nanoseconds, 0 if nothing was recorded
+	 */
+	public long getPercentileNanos(double percentile) {
+		long[] counts = new long[buckets.length()];
+		long total = 0;
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(bucketUpperBound(i), getMaxNanos());
+			}
+		}
+		return getMaxNanos();
+	}
+
+	/**
+	 * Clears all recorded latencies.
+	 */
+	public void reset() {
+		for (int i = 0; i < buckets.length(); i++) {
+			buckets.set(i, 0);
+		}
+		count.reset();
+		totalNanos.reset();
+		maxNanos.reset();
+	}
+
+	/**
+	 * Returns the bucket of a latency.
+	 *
+	 * @param nanos latency in nanoseconds, not negative
+	 * @return the bucket index
+	 */
+	private static int bucketIndex(long nanos) {
+		if (nanos < SUB_BUCKETS) {
+			return (int) nanos;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+		int subBucket = (int) (nanos >>> shift) - SUB_BUCKETS;
+		return (shift + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Returns the largest latency counted in a bucket.
+	 *
+	 * @param index the bucket index
+	 * @return upper bound of the bucket in nanoseconds
+	 */
+	private static long bucketUpperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = index / SUB_BUCKETS - 1;
+		int subBucket = index % SUB_BUCKETS;
+		return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+	}
+}
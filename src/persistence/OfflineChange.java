@@ -0,0 +1,56 @@
+package persistence;
+
+/**
+ * A change made on file storage while the database was unavailable, recorded
+ * in the {@link OfflineWriteJournal}.
+ * <p>
+ * A change only identifies the changed entity by its file storage IDs. The
+ * replay reads the current state of the entity from file storage, so several
+ * changes of the same entity are replayed as one.
+ *
+ * @param sequence  position of the change in the journal
+ * @param operation what happened to the entity
+ * @param kind      kind of the entity
+ * @param themeId   file storage ID of the theme a question belongs to; the ID
+ *                  of the theme itself for themes, 0 for sessions
+ * @param fileId    file storage ID of the entity
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public record OfflineChange(long sequence, Operation operation, Kind kind, int themeId, int fileId) {
+
+	/**
+	 * What happened to an entity.
+	 */
+	public enum Operation {
+		/** The entity was created or changed */
+		UPSERT,
+		/** The entity was deleted */
+		DELETE
+	}
+
+	/**
+	 * Kinds of entities that are journaled. Answers are part of their
+	 * question.
+	 */
+	public enum Kind {
+		/** A theme */
+		THEME,
+		/** A question with its answers */
+		QUESTION,
+		/** A quiz session with its user answers */
+		SESSION
+	}
+
+	/**
+	 * Returns a key identifying the changed entity, equal for all changes of
+	 * the same entity.
+	 *
+	 * @return the entity key
+	 */
+	public String entityKey() {
+		return kind + ":" + themeId + ":" + fileId;
+	}
+}
@@ -0,0 +1,54 @@
+package persistence;
+
+import quizlogic.dto.QuestionDTO;
+import quizlogic.dto.QuizSessionDTO;
+import quizlogic.dto.ThemeDTO;
+
+/**
+ * Read access to the file storage state that journaled offline changes are
+ * replayed from. All IDs are file storage IDs.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public interface OfflineSource {
+
+	/**
+	 * Returns a theme without its questions.
+	 *
+	 * @param themeId ID of the theme
+	 * @return the theme, or null if it does not exist anymore
+	 */
+	ThemeDTO getTheme(int themeId);
+
+	/**
+	 * Returns a question with its answers. Question IDs are only unique within
+	 * their theme on file storage.
+	 *
+	 * @param themeId    ID of the theme of the question
+	 * @param questionId ID of the question
+	 * @return the question, or null if it does not exist anymore
+	 */
+	QuestionDTO getQuestion(int themeId, int questionId);
+
+	/**
+	 * Finds the theme of a question referenced by a user answer. If several
+	 * themes contain a question with the ID, the one whose question has the
+	 * answer is chosen.
+	 *
+	 * @param questionId ID of the question
+	 * @param answerId   ID of the selected answer
+	 * @return ID of the theme, or {@link constants.LogicConstants#INVALID_ID} if
+	 *         no theme contains the question
+	 */
+	int findThemeOfQuestion(int questionId, int answerId);
+
+	/**
+	 * Returns a quiz session with its user answers.
+	 *
+	 * @param sessionId ID of the session
+	 * @return the session, or null if it does not exist
+	 */
+	QuizSessionDTO getSession(int sessionId);
+}
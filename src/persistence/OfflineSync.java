@@ -0,0 +1,222 @@
+package persistence;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import constants.ConfigManager;
+import constants.LogicConstants;
+import persistence.mariaDB.DBManager;
+import persistence.serialization.QuizDataManager;
+import quizlogic.dto.AnswerDTO;
+import quizlogic.dto.QuestionDTO;
+import quizlogic.dto.QuizSessionDTO;
+import quizlogic.dto.ThemeDTO;
+
+/**
+ * Replays the changes recorded in the {@link OfflineWriteJournal} from file
+ * storage into the database once it is available again.
+ * <p>
+ * Changes of the same entity are merged into its last change, since the
+ * replay writes the current file storage state of the entity. The merged
+ * changes are replayed in journal order, sessions after all themes and
+ * questions so their answers resolve to the replayed questions, in batches of the configured size
+ * with one transaction each. After each committed batch its changes are
+ * acknowledged in the journal, so an interrupted replay resumes with the next
+ * batch. Changes the database rejected are not acknowledged and are retried
+ * by the next replay. Repeating a batch whose acknowledgement was lost is
+ * harmless because the database side maps file storage IDs to database IDs
+ * within the same transaction.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public class OfflineSync implements AutoCloseable {
+
+	/** Journal of the offline changes */
+	private final OfflineWriteJournal journal;
+
+	/** File storage the changes are read from */
+	private final QuizDataManager fileStore;
+
+	/** Database the changes are replayed into */
+	private final DBManager database;
+
+	/** Number of changes replayed in one transaction */
+	private final int batchSize;
+
+	/** Background executor running asynchronous replays */
+	private final ExecutorService executor;
+
+	/**
+	 * File storage state loaded once per replay.
+	 */
+	private static final class FileSnapshot implements OfflineSource {
+
+		/** File storage used to load sessions */
+		private final QuizDataManager fileStore;
+
+		/** Themes with their questions by ID */
+		private final Map<Integer, ThemeDTO> themes = new HashMap<>();
+
+		/** IDs of the themes containing a question, by question ID */
+		private final Map<Integer, List<Integer>> themesByQuestion = new HashMap<>();
+
+		/**
+		 * Loads the catalog of the file storage.
+		 *
+		 * @param fileStore the file storage
+		 */
+		private FileSnapshot(QuizDataManager fileStore) {
+			this.fileStore = fileStore;
+			for (ThemeDTO theme : fileStore.loadCatalog()) {
+				themes.put(theme.getId(), theme);
+				if (theme.getQuestions() != null) {
+					for (QuestionDTO question : theme.getQuestions()) {
+						themesByQuestion.computeIfAbsent(question.getId(), id -> new ArrayList<>()).add(theme.getId());
+					}
+				}
+			}
+		}
+
+		@Override
+		public ThemeDTO getTheme(int themeId) {
+			return themes.get(themeId);
+		}
+
+		@Override
+		public QuestionDTO getQuestion(int themeId, int questionId) {
+			ThemeDTO theme = themes.get(themeId);
+			if (theme == null || theme.getQuestions() == null) {
+				return null;
+			}
+			for (QuestionDTO question : theme.getQuestions()) {
+				if (question.getId() == questionId) {
+					return question;
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public int findThemeOfQuestion(int questionId, int answerId) {
+			List<Integer> candidates = themesByQuestion.getOrDefault(questionId, List.of());
+			for (int themeId : candidates) {
+				List<AnswerDTO> answers = getQuestion(themeId, questionId).getAnswers();
+				if (answers != null && answers.stream().anyMatch(answer -> answer.getId() == answerId)) {
+					return themeId;
+				}
+			}
+			return candidates.isEmpty() ? LogicConstants.INVALID_ID : candidates.get(0);
+		}
+
+		@Override
+		public QuizSessionDTO getSession(int sessionId) {
+			return fileStore.getQuizSession(sessionId);
+		}
+	}
+
+	/**
+	 * Creates a replayer with the batch size from the {@link ConfigManager}.
+	 *
+	 * @param journal   journal of the offline changes
+	 * @param fileStore file storage the changes are read from
+	 * @param database  database the changes are replayed into
+	 */
+	public OfflineSync(OfflineWriteJournal journal, QuizDataManager fileStore, DBManager database) {
+		this.journal = journal;
+		this.fileStore = fileStore;
+		this.database = database;
+		this.batchSize = Math.max(1, ConfigManager.getInstance().getSyncBatchSize());
+		this.executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "quizzle-offline-sync");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Replays the pending changes on a background thread.
+	 *
+	 * @return future completed with the outcome of the replay
+	 */
+	public CompletableFuture<OfflineSyncResult> replayAsync() {
+		return CompletableFuture.supplyAsync(this::replay, executor);
+	}
+
+	/**
+	 * Replays the pending changes into the database. Stops at the first batch
+	 * the database rolls back; the remaining changes stay pending.
+	 *
+	 * @return the outcome of the replay
+	 */
+	public synchronized OfflineSyncResult replay() {
+		long start = System.currentTimeMillis();
+		List<OfflineChange> changes = merge(journal.getPending());
+		if (changes.isEmpty()) {
+			return new OfflineSyncResult(0, 0, 0, List.of(), System.currentTimeMillis() - start, null);
+		}
+
+		FileSnapshot source = new FileSnapshot(fileStore);
+		List<String> problems = new ArrayList<>();
+		int replayed = 0;
+		int rejected = 0;
+		String error = null;
+		for (int from = 0; from < changes.size(); from += batchSize) {
+			List<OfflineChange> batch = changes.subList(from, Math.min(changes.size(), from + batchSize));
+			List<String> batchProblems = new ArrayList<>();
+			List<OfflineChange> batchRejected = new ArrayList<>();
+			error = database.replayOfflineChanges(batch, source, batchProblems, batchRejected);
+			if (error != null) {
+				break;
+			}
+			List<OfflineChange> applied = new ArrayList<>(batch);
+			applied.removeAll(batchRejected);
+			journal.acknowledge(applied);
+			problems.addAll(batchProblems);
+			replayed += applied.size();
+			rejected += batchRejected.size();
+		}
+
+		long duration = System.currentTimeMillis() - start;
+		OfflineSyncResult result = new OfflineSyncResult(replayed, rejected, journal.getPendingCount(),
+				List.copyOf(problems), duration, error);
+		ConfigManager.debugPrint("DEBUG: Offline sync replayed " + replayed + " of " + changes.size()
+				+ " changes in " + duration + " ms, " + rejected + " rejected, " + problems.size() + " problems"
+				+ (error != null ? ", stopped: " + error : ""));
+		return result;
+	}
+
+	/**
+	 * Merges the changes of each entity into its last change.
+	 *
+	 * @param changes journaled changes in journal order
+	 * @return the last change of each entity, in journal order with the
+	 *         sessions moved behind the themes and questions
+	 */
+	private static List<OfflineChange> merge(List<OfflineChange> changes) {
+		Map<String, OfflineChange> latest = new LinkedHashMap<>();
+		for (OfflineChange change : changes) {
+			latest.remove(change.entityKey());
+			latest.put(change.entityKey(), change);
+		}
+		List<OfflineChange> merged = new ArrayList<>(latest.values());
+		merged.sort(Comparator.comparing(change -> change.kind() == OfflineChange.Kind.SESSION));
+		return merged;
+	}
+
+	/**
+	 * Stops the background thread. Pending changes stay journaled.
+	 */
+	@Override
+	public void close() {
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,34 @@
+package persistence;
+
+import java.util.List;
+
+/**
+ * Outcome of replaying the offline write journal into the database.
+ *
+ * @param replayedChanges number of changes replayed, after merging changes of
+ *                        the same entity
+ * @param rejectedChanges number of changes the database rejected; they stay
+ *                        pending and are retried with the next replay
+ * @param pendingChanges  number of journaled changes still pending afterwards
+ * @param problems        changes that were rejected by the database or
+ *                        skipped because their entity no longer exists
+ * @param durationMs      duration of the replay in milliseconds
+ * @param error           reason why the replay stopped early, null if it
+ *                        completed
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public record OfflineSyncResult(int replayedChanges, int rejectedChanges, int pendingChanges,
+		List<String> problems, long durationMs, String error) {
+
+	/**
+	 * Returns whether all journaled changes reached the database.
+	 *
+	 * @return true if the replay completed and nothing is pending
+	 */
+	public boolean isComplete() {
+		return error == null && pendingChanges == 0;
+	}
+}
@@ -0,0 +1,252 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import constants.ConfigManager;
+import constants.LogicConstants;
+
+/**
+ * Journal of the changes made on file storage while the database was
+ * unavailable.
+ * <p>
+ * Every change is appended and forced to disk before the write is reported as
+ * done, so changes survive a crash until {@link OfflineSync} has replayed them
+ * into the database. Every replayed change is acknowledged on its own,
+ * together with the earlier changes of the same entity it was merged with, so
+ * a change the database rejected stays pending even if later changes were
+ * replayed. Once nothing is pending the journal is truncated.
+ * <p>
+ * The journal is a UTF-8 text file with one tab-separated record per line:
+ * {@code W} records a change, {@code A} acknowledges a single change and
+ * {@code C} is a checkpoint acknowledging all changes up to a sequence number.
+ * A line torn by a crash is skipped when the journal is read.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public class OfflineWriteJournal implements AutoCloseable {
+
+	/** Record type of a change */
+	private static final String RECORD_CHANGE = "W";
+
+	/** Record type acknowledging a single change */
+	private static final String RECORD_ACKNOWLEDGE = "A";
+
+	/** Record type of a checkpoint */
+	private static final String RECORD_CHECKPOINT = "C";
+
+	/** Separator between the fields of a record */
+	private static final String SEPARATOR = "\t";
+
+	/** Location of the journal file */
+	private final Path path;
+
+	/** Changes not yet acknowledged, in journal order */
+	private final List<OfflineChange> pending = new ArrayList<>();
+
+	/** Sequence number of the last journaled change */
+	private long lastSequence;
+
+	/** Open journal file, null until the first change is recorded */
+	private FileChannel channel;
+
+	/**
+	 * Opens a journal and reads the changes a previous run left pending.
+	 *
+	 * @param path location of the journal file
+	 */
+	public OfflineWriteJournal(Path path) {
+		this.path = path;
+		load();
+	}
+
+	/**
+	 * Records a change.
+	 *
+	 * @param operation what happened to the entity
+	 * @param kind      kind of the entity
+	 * @param themeId   file storage ID of the theme of a question, of the theme
+	 *                  itself for themes, 0 for sessions
+	 * @param fileId    file storage ID of the entity
+	 */
+	public void record(OfflineChange.Operation operation, OfflineChange.Kind kind, int themeId, int fileId) {
+		recordAll(List.of(new OfflineChange(0, operation, kind, themeId, fileId)));
+	}
+
+	/**
+	 * Records several changes with a single write to disk. Changes of entities
+	 * without a file storage ID are ignored; their write failed.
+	 *
+	 * @param changes the changes; their sequence numbers are assigned by the
+	 *                journal
+	 */
+	public synchronized void recordAll(List<OfflineChange> changes) {
+		StringBuilder records = new StringBuilder();
+		for (OfflineChange change : changes) {
+			if (change.fileId() == LogicConstants.INVALID_ID || change.themeId() == LogicConstants.INVALID_ID) {
+				continue;
+			}
+			OfflineChange recorded = new OfflineChange(++lastSequence, change.operation(), change.kind(),
+					change.themeId(), change.fileId());
+			pending.add(recorded);
+			records.append(RECORD_CHANGE).append(SEPARATOR).append(recorded.sequence()).append(SEPARATOR)
+					.append(recorded.operation()).append(SEPARATOR).append(recorded.kind()).append(SEPARATOR)
+					.append(recorded.themeId()).append(SEPARATOR).append(recorded.fileId()).append('\n');
+		}
+		write(records);
+	}
+
+	/**
+	 * Returns the changes not yet acknowledged.
+	 *
+	 * @return copy of the pending changes in journal order
+	 */
+	public synchronized List<OfflineChange> getPending() {
+		return new ArrayList<>(pending);
+	}
+
+	/**
+	 * Returns the number of changes not yet acknowledged.
+	 *
+	 * @return number of pending changes
+	 */
+	public synchronized int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * Acknowledges replayed changes. Each change also acknowledges the earlier
+	 * changes of the same entity; later changes of the entity stay pending. The
+	 * journal is truncated if no change is left pending.
+	 *
+	 * @param replayed the replayed changes
+	 */
+	public synchronized void acknowledge(Collection<OfflineChange> replayed) {
+		StringBuilder records = new StringBuilder();
+		for (OfflineChange change : replayed) {
+			pending.removeIf(other -> {
+				boolean covered = other.entityKey().equals(change.entityKey()) && other.sequence() <= change.sequence();
+				if (covered) {
+					records.append(RECORD_ACKNOWLEDGE).append(SEPARATOR).append(other.sequence()).append('\n');
+				}
+				return covered;
+			});
+		}
+		if (pending.isEmpty()) {
+			truncate();
+		} else {
+			write(records);
+		}
+	}
+
+	/**
+	 * Reads the journal of a previous run.
+	 */
+	private void load() {
+		if (!Files.exists(path)) {
+			return;
+		}
+		List<String> lines;
+		try {
+			lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			System.err.println("Offline write journal could not be read: " + e.getMessage());
+			return;
+		}
+
+		long checkpoint = 0;
+		Set<Long> acknowledged = new HashSet<>();
+		for (String line : lines) {
+			String[] fields = line.split(SEPARATOR);
+			try {
+				if (RECORD_CHANGE.equals(fields[0])) {
+					OfflineChange change = new OfflineChange(Long.parseLong(fields[1]),
+							OfflineChange.Operation.valueOf(fields[2]), OfflineChange.Kind.valueOf(fields[3]),
+							Integer.parseInt(fields[4]), Integer.parseInt(fields[5]));
+					pending.add(change);
+					lastSequence = Math.max(lastSequence, change.sequence());
+				} else if (RECORD_ACKNOWLEDGE.equals(fields[0])) {
+					acknowledged.add(Long.parseLong(fields[1]));
+				} else if (RECORD_CHECKPOINT.equals(fields[0])) {
+					checkpoint = Math.max(checkpoint, Long.parseLong(fields[1]));
+				}
+			} catch (RuntimeException e) {
+				ConfigManager.debugPrint("DEBUG: Skipping damaged offline journal record: " + line);
+			}
+		}
+		long lastCheckpoint = checkpoint;
+		pending.removeIf(change -> change.sequence() <= lastCheckpoint || acknowledged.contains(change.sequence()));
+		ConfigManager.debugPrint("DEBUG: Offline write journal has " + pending.size() + " pending changes");
+	}
+
+	/**
+	 * Appends records to the journal and forces them to disk.
+	 *
+	 * @param records the records
+	 */
+	private void write(CharSequence records) {
+		if (records.isEmpty()) {
+			return;
+		}
+		try {
+			if (channel == null) {
+				Path parent = path.toAbsolutePath().getParent();
+				if (parent != null) {
+					Files.createDirectories(parent);
+				}
+				channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.APPEND);
+			}
+			ByteBuffer buffer = ByteBuffer.wrap(records.toString().getBytes(StandardCharsets.UTF_8));
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		} catch (IOException e) {
+			System.err.println("Offline write journal could not be written: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Empties the journal file.
+	 */
+	private void truncate() {
+		try {
+			if (channel != null) {
+				channel.truncate(0);
+				channel.force(true);
+			} else if (Files.exists(path)) {
+				Files.write(path, new byte[0]);
+			}
+		} catch (IOException e) {
+			ConfigManager.debugPrint("DEBUG: Truncating offline write journal failed: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Closes the journal file. Pending changes stay journaled for the next run.
+	 */
+	@Override
+	public synchronized void close() {
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				ConfigManager.debugPrint("DEBUG: Closing offline write journal failed: " + e.getMessage());
+			}
+			channel = null;
+		}
+	}
+}
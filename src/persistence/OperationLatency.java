@@ -0,0 +1,174 @@
+package persistence;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Latency statistics of one {@link QuizDataInterface} operation on one
+ * backend, as published by the {@link DataManagerMetricsMXBean}. JMX clients
+ * see it as composite data with one item per getter.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public final class OperationLatency {
+
+	/** Name of the operation */
+	private final String operation;
+
+	/** Backend the operation ran on */
+	private final String backend;
+
+	/** Number of calls */
+	private final long count;
+
+	/** Number of calls that failed */
+	private final long errors;
+
+	/** Number of failed database calls repeated on file storage */
+	private final long fallbacks;
+
+	/** Mean latency in microseconds */
+	private final long meanMicros;
+
+	/** Median latency in microseconds */
+	private final long p50Micros;
+
+	/** 95th percentile latency in microseconds */
+	private final long p95Micros;
+
+	/** 99th percentile latency in microseconds */
+	private final long p99Micros;
+
+	/** Maximum latency in microseconds */
+	private final long maxMicros;
+
+	/**
+	 * Creates the statistics of an operation.
+	 *
+	 * @param operation  name of the operation
+	 * @param backend    backend the operation ran on
+	 * @param count      number of calls
+	 * @param errors     number of calls that failed
+	 * @param fallbacks  number of failed database calls repeated on file
+	 *                   storage
+	 * @param meanMicros mean latency in microseconds
+	 * @param p50Micros  median latency in microseconds
+	 * @param p95Micros  95th percentile latency in microseconds
+	 * @param p99Micros  99th percentile latency in microseconds
+	 * @param maxMicros  maximum latency in microseconds
+	 */
+	@ConstructorProperties({ "operation", "backend", "count", "errors", "fallbacks", "meanMicros", "p50Micros",
+			"p95Micros", "p99Micros", "maxMicros" })
+	public OperationLatency(String operation, String backend, long count, long errors, long fallbacks,
+			long meanMicros, long p50Micros, long p95Micros, long p99Micros, long maxMicros) {
+		this.operation = operation;
+		this.backend = backend;
+		this.count = count;
+		this.errors = errors;
+		this.fallbacks = fallbacks;
+		this.meanMicros = meanMicros;
+		this.p50Micros = p50Micros;
+		this.p95Micros = p95Micros;
+		this.p99Micros = p99Micros;
+		this.maxMicros = maxMicros;
+	}
+
+	/**
+	 * Returns the name of the operation.
+	 *
+	 * @return the operation
+	 */
+	public String getOperation() {
+		return operation;
+	}
+
+	/**
+	 * Returns the backend the operation ran on.
+	 *
+	 * @return "database" or "file"
+	 */
+	public String getBackend() {
+		return backend;
+	}
+
+	/**
+	 * Returns the number of calls.
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the number of calls that failed.
+	 *
+	 * @return the errors
+	 */
+	public long getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Returns the number of failed database calls that were repeated on file
+	 * storage.
+	 *
+	 * @return the fallbacks
+	 */
+	public long getFallbacks() {
+		return fallbacks;
+	}
+
+	/**
+	 * Returns the mean latency.
+	 *
+	 * @return mean latency in microseconds
+	 */
+	public long getMeanMicros() {
+		return meanMicros;
+	}
+
+	/**
+	 * Returns the median latency.
+	 *
+	 * @return median latency in microseconds
+	 */
+	public long getP50Micros() {
+		return p50Micros;
+	}
+
+	/**
+	 * Returns the 95th percentile latency.
+	 *
+	 * @return 95th percentile latency in microseconds
+	 */
+	public long getP95Micros() {
+		return p95Micros;
+	}
+
+	/**
+	 * Returns the 99th percentile latency.
+	 *
+	 * @return 99th percentile latency in microseconds
+	 */
+	public long getP99Micros() {
+		return p99Micros;
+	}
+
+	/**
+	 * Returns the maximum latency.
+	 *
+	 * @return maximum latency in microseconds
+	 */
+	public long getMaxMicros() {
+		return maxMicros;
+	}
+
+	@Override
+	public String toString() {
+		return operation + "[" + backend + "] count=" + count + " errors=" + errors + " fallbacks=" + fallbacks
+				+ " p50=" + p50Micros + "us p95=" + p95Micros + "us p99=" + p99Micros + "us max=" + maxMicros
+				+ "us";
+	}
+}
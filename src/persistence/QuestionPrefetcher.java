@@ -0,0 +1,230 @@
+package persistence;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.SwingUtilities;
+
+import constants.ConfigManager;
+import quizlogic.dto.QuestionDTO;
+import quizlogic.dto.ThemeDTO;
+
+/**
+ * Loads quiz questions ahead of time on a background thread.
+ * <p>
+ * The prefetcher keeps a small ring of pending questions, each already
+ * hydrated with its answers via
+ * {@link QuizDataInterface#getRandomQuestionWithAnswers(ThemeDTO)}. Taking a
+ * question from the ring immediately schedules the next one, so the quiz view
+ * normally receives its next question without waiting for the storage
+ * backend.
+ * <p>
+ * All loads run on a single worker thread in submission order. Questions are
+ * therefore drawn from the data source in exactly the order they are shown,
+ * which keeps the no-repeat rules of the
+ * {@link quizlogic.QuestionSessionManager} intact, and the session manager is
+ * never accessed by two prefetch loads at once. While the data source uses
+ * file storage, each load holds the write side of the storage lock of the
+ * {@link AsyncDataManager}, since drawing a question changes that state.
+ * <p>
+ * Changing the theme or invalidating discards all pending questions. Loads
+ * that have not started yet are skipped, and questions that were already
+ * drawn are given back to the data source with
+ * {@link QuizDataInterface#returnUnshownQuestion(QuestionDTO, ThemeDTO)}, so
+ * they are not lost from the current round of questions.
+ * <p>
+ * Instances are meant to be used from the Swing event dispatch thread.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public class QuestionPrefetcher {
+
+	/** Data source for questions */
+	private final QuizDataInterface dataSource;
+
+	/** Number of questions kept ahead */
+	private final int capacity;
+
+	/** Worker thread loading the questions */
+	private final ExecutorService executor;
+
+	/** Pending questions in display order */
+	private final ArrayDeque<PendingQuestion> ring = new ArrayDeque<>();
+
+	/** Theme the pending questions belong to, null for all themes */
+	private ThemeDTO theme;
+
+	/**
+	 * A question being loaded.
+	 *
+	 * @param future    the load
+	 * @param discarded set when the question is no longer wanted, so a load that
+	 *                  has not started yet is skipped
+	 */
+	private record PendingQuestion(CompletableFuture<QuestionDTO> future, AtomicBoolean discarded) {
+	}
+
+	/**
+	 * Creates a new prefetcher and starts loading questions from all themes.
+	 *
+	 * @param dataSource data source for questions
+	 * @param capacity   number of questions to keep ahead
+	 */
+	public QuestionPrefetcher(QuizDataInterface dataSource, int capacity) {
+		this.dataSource = dataSource;
+		this.capacity = Math.max(1, capacity);
+		this.executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "quizzle-prefetch");
+			thread.setDaemon(true);
+			return thread;
+		});
+		fill();
+	}
+
+	/**
+	 * Switches to another theme. Pending questions of the previous theme are
+	 * discarded and loading starts for the new one.
+	 *
+	 * @param theme the theme to load questions for, or null for all themes
+	 */
+	public void setTheme(ThemeDTO theme) {
+		discardPending();
+		this.theme = theme;
+		fill();
+	}
+
+	/**
+	 * Discards all pending questions and starts loading new ones. Should be called
+	 * when the underlying questions have changed.
+	 */
+	public void invalidate() {
+		discardPending();
+		fill();
+	}
+
+	/**
+	 * Returns the next question. The event dispatch thread is never blocked; if
+	 * the question has not been loaded yet, the returned future completes once
+	 * it is. Cancelling the future before it completes gives the question back
+	 * to the data source.
+	 *
+	 * @return future completed on the EDT with the next question and its
+	 *         answers, or with null if no question is available; completed
+	 *         exceptionally if loading the question failed
+	 */
+	public CompletableFuture<QuestionDTO> next() {
+		fill();
+		ThemeDTO requestedTheme = theme;
+		PendingQuestion next = ring.poll();
+		fill();
+		if (next == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		CompletableFuture<QuestionDTO> pending = next.future();
+		CompletableFuture<QuestionDTO> result = new CompletableFuture<>();
+		pending.whenComplete((question, error) -> SwingUtilities.invokeLater(() -> {
+			if (result.isCancelled()) {
+				if (question != null && !executor.isShutdown()) {
+					executor.execute(() -> giveBack(List.of(pending), requestedTheme));
+				}
+			} else if (error != null) {
+				Throwable cause = AsyncDataManager.unwrap(error);
+				ConfigManager.debugPrint("DEBUG: Prefetching question failed: " + cause.getMessage());
+				invalidate();
+				result.completeExceptionally(cause);
+			} else {
+				result.complete(question);
+			}
+		}));
+		return result;
+	}
+
+	/**
+	 * Stops the worker thread and discards all pending questions.
+	 */
+	public void shutdown() {
+		ring.forEach(pending -> pending.discarded().set(true));
+		ring.clear();
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Schedules loads until the ring is full.
+	 */
+	private void fill() {
+		ThemeDTO requestedTheme = theme;
+		while (ring.size() < capacity && !executor.isShutdown()) {
+			AtomicBoolean discarded = new AtomicBoolean();
+			ring.offer(new PendingQuestion(
+					CompletableFuture.supplyAsync(() -> discarded.get() ? null : load(requestedTheme), executor),
+					discarded));
+		}
+	}
+
+	/**
+	 * Discards the pending questions. Loads that have not started yet are
+	 * skipped; the questions of the others are given back to the data source by
+	 * a task that runs on the worker after them.
+	 */
+	private void discardPending() {
+		List<CompletableFuture<QuestionDTO>> stale = new ArrayList<>();
+		for (PendingQuestion pending : ring) {
+			pending.discarded().set(true);
+			stale.add(pending.future());
+		}
+		ring.clear();
+		ThemeDTO staleTheme = theme;
+		if (!stale.isEmpty() && !executor.isShutdown()) {
+			executor.execute(() -> giveBack(stale, staleTheme));
+		}
+	}
+
+	/**
+	 * Draws a question from the data source, holding the storage lock while the
+	 * source uses file storage. A
+	 * question delivered without answers gets them loaded here, so the quiz
+	 * view never has to load them on the event dispatch thread.
+	 *
+	 * @param requestedTheme theme to draw from, or null for all themes
+	 * @return the question with its answers, or null if none is available
+	 */
+	private QuestionDTO load(ThemeDTO requestedTheme) {
+		return AsyncDataManager.withStorageLock(dataSource, true, () -> {
+			QuestionDTO question = dataSource.getRandomQuestionWithAnswers(requestedTheme);
+			if (question != null && (question.getAnswers() == null || question.getAnswers().isEmpty())) {
+				question.setAnswers(dataSource.getAnswersFor(question));
+			}
+			return question;
+		});
+	}
+
+	/**
+	 * Gives the questions of discarded loads back to the data source. Runs on
+	 * the worker, so all of these loads have completed.
+	 *
+	 * @param stale      the discarded loads
+	 * @param staleTheme theme the loads drew from, or null for all themes
+	 */
+	private void giveBack(List<CompletableFuture<QuestionDTO>> stale, ThemeDTO staleTheme) {
+		AsyncDataManager.storageLock().writeLock().lock();
+		try {
+			for (CompletableFuture<QuestionDTO> pending : stale) {
+				QuestionDTO question = pending.isCompletedExceptionally() ? null : pending.getNow(null);
+				if (question != null) {
+					dataSource.returnUnshownQuestion(question, staleTheme);
+				}
+			}
+		} catch (RuntimeException e) {
+			ConfigManager.debugPrint("DEBUG: Returning prefetched questions failed: " + e.getMessage());
+		} finally {
+			AsyncDataManager.storageLock().writeLock().unlock();
+		}
+	}
+}
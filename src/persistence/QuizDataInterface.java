@@ -1,6 +1,11 @@
 package persistence;
 
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
 import quizlogic.dto.AnswerDTO;
 import quizlogic.dto.QuestionDTO;
 import quizlogic.dto.ThemeDTO;
@@ -46,6 +51,40 @@ public interface QuizDataInterface {
 	 */
 	QuestionDTO getRandomQuestionFor(ThemeDTO theme);
 
+	/**
+	 * Gets a random question together with all of its answers.
+	 * <p>
+	 * Implementations should load the question and its answers in a single
+	 * access to the storage backend. The default implementation falls back to
+	 * {@link #getRandomQuestion()}/{@link #getRandomQuestionFor(ThemeDTO)}
+	 * followed by {@link #getAnswersFor(QuestionDTO)}.
+	 *
+	 * @param theme the {@link ThemeDTO} to select a question from, or null for
+	 *              all themes
+	 * @return a random {@link QuestionDTO} with its answers set, or null if no
+	 *         questions are available
+	 */
+	default QuestionDTO getRandomQuestionWithAnswers(ThemeDTO theme) {
+		QuestionDTO question = theme != null ? getRandomQuestionFor(theme) : getRandomQuestion();
+		if (question != null) {
+			question.setAnswers(getAnswersFor(question));
+		}
+		return question;
+	}
+
+	/**
+	 * Gives a question drawn by {@link #getRandomQuestionWithAnswers(ThemeDTO)}
+	 * back to the random selection because it was never shown, so it is not
+	 * skipped in the current round of questions. The default implementation
+	 * does nothing.
+	 *
+	 * @param question the drawn question
+	 * @param theme    the theme the question was drawn from, or null for all
+	 *                 themes
+	 */
+	default void returnUnshownQuestion(QuestionDTO question, ThemeDTO theme) {
+	}
+
 	/**
 	 * Retrieves all available quiz themes from storage.
 	 *
@@ -53,6 +92,33 @@ public interface QuizDataInterface {
 	 */
 	ArrayList<ThemeDTO> getAllThemes();
 
+	/**
+	 * Loads the complete catalog: all themes with their questions and the
+	 * answers of each question.
+	 * <p>
+	 * Implementations should read the whole graph in a single access to the
+	 * storage backend. The default implementation combines
+	 * {@link #getAllThemes()}, {@link #getQuestionsFor(ThemeDTO)} and
+	 * {@link #getAnswersFor(QuestionDTO)}.
+	 *
+	 * @return an {@link ArrayList} of {@link ThemeDTO} with questions and answers
+	 *         set
+	 */
+	default ArrayList<ThemeDTO> loadCatalog() {
+		ArrayList<ThemeDTO> themes = getAllThemes();
+		for (ThemeDTO theme : themes) {
+			ArrayList<QuestionDTO> questions = getQuestionsFor(theme);
+			if (questions == null) {
+				questions = new ArrayList<>();
+			}
+			for (QuestionDTO question : questions) {
+				question.setAnswers(getAnswersFor(question));
+			}
+			theme.setQuestions(questions);
+		}
+		return themes;
+	}
+
 	/**
 	 * Saves a theme to persistent storage.
 	 * <p>
@@ -80,6 +146,22 @@ public interface QuizDataInterface {
 	 */
 	ArrayList<QuestionDTO> getQuestionsFor(ThemeDTO theme);
 
+	/**
+	 * Streams the questions of a theme.
+	 * <p>
+	 * Implementations should read the questions lazily and hold their resources
+	 * only until the stream is closed, so large themes are processed in constant
+	 * memory. Callers must close the stream, typically in a try-with-resources
+	 * block. The default implementation streams the result of
+	 * {@link #getQuestionsFor(ThemeDTO)}.
+	 *
+	 * @param theme the {@link ThemeDTO} to stream the questions of
+	 * @return a {@link Stream} of the {@link QuestionDTO}s of the theme
+	 */
+	default Stream<QuestionDTO> streamQuestions(ThemeDTO theme) {
+		return getQuestionsFor(theme).stream();
+	}
+
 	/**
 	 * Saves a quiz question to storage.
 	 * <p>
@@ -130,6 +212,29 @@ public interface QuizDataInterface {
 		return "Answer saved successfully";
 	}
 
+	/**
+	 * Adds many new questions with their answers to existing themes in one write.
+	 * <p>
+	 * Implementations should write all questions and answers in a single
+	 * transaction or file write per theme instead of saving them one by one. The
+	 * questions receive their IDs. The default implementation saves each
+	 * question with {@link #saveQuestion(QuestionDTO, ThemeDTO)}.
+	 *
+	 * @param questionsByTheme new questions with their answers by stored theme
+	 * @return a status/result message, or null if all questions were added
+	 */
+	default String importQuestions(Map<ThemeDTO, List<QuestionDTO>> questionsByTheme) {
+		for (Map.Entry<ThemeDTO, List<QuestionDTO>> entry : questionsByTheme.entrySet()) {
+			for (QuestionDTO question : entry.getValue()) {
+				String result = saveQuestion(question, entry.getKey());
+				if (question.isNew()) {
+					return result;
+				}
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Saves a completed quiz session to persistent storage.
 	 * 
@@ -141,6 +246,25 @@ public interface QuizDataInterface {
 		return "Session persistence not implemented";
 	}
 
+	/**
+	 * Stores answers recorded in a quiz session since it was last stored.
+	 * <p>
+	 * The session holds all of its answers, the new ones at the end. If the
+	 * session has no ID yet it is created with all of its answers and receives
+	 * its ID; otherwise only the new answers are added. Implementations must
+	 * tolerate answers that were already stored, because a journal replay after a
+	 * crash may repeat them. The default implementation saves the whole session
+	 * with {@link #saveQuizSession(quizlogic.dto.QuizSessionDTO)}.
+	 * 
+	 * @param session    the session with all of its answers
+	 * @param newAnswers the answers not yet stored
+	 * @return a status/result message, or null if successful
+	 */
+	default String appendUserAnswers(quizlogic.dto.QuizSessionDTO session,
+			java.util.List<quizlogic.dto.UserAnswerDTO> newAnswers) {
+		return saveQuizSession(session);
+	}
+
 	/**
 	 * Retrieves all saved quiz sessions from storage.
 	 * 
@@ -152,6 +276,26 @@ public interface QuizDataInterface {
 		return new ArrayList<>();
 	}
 
+	/**
+	 * Streams the quiz sessions started since a point in time, oldest first,
+	 * each with its user answers.
+	 * <p>
+	 * Implementations should read the sessions lazily and hold their resources
+	 * only until the stream is closed, so exports and analytics over many
+	 * sessions run in constant memory. Callers must close the stream, typically
+	 * in a try-with-resources block. The default implementation filters and
+	 * sorts the result of {@link #getAllQuizSessions()}.
+	 * 
+	 * @param since earliest start time, or null for all sessions
+	 * @return a {@link Stream} of {@link quizlogic.dto.QuizSessionDTO}
+	 */
+	default Stream<quizlogic.dto.QuizSessionDTO> streamSessions(Date since) {
+		return getAllQuizSessions().stream()
+				.filter(session -> since == null || !session.getTimestamp().before(since))
+				.sorted(java.util.Comparator.comparing(quizlogic.dto.QuizSessionDTO::getTimestamp)
+						.thenComparingInt(quizlogic.dto.QuizSessionDTO::getId));
+	}
+
 	/**
 	 * Retrieves the most recent quiz sessions from storage.
 	 * 
@@ -163,4 +307,35 @@ public interface QuizDataInterface {
 
 		return new ArrayList<>();
 	}
+
+	/**
+	 * Retrieves aggregated statistics over all saved quiz sessions.
+	 * <p>
+	 * Implementations should compute the summary without loading every session
+	 * with all of its answers. The default implementation aggregates the result
+	 * of {@link #getAllQuizSessions()}.
+	 * 
+	 * @return the {@link quizlogic.dto.QuizStatisticsSummary} of all sessions
+	 */
+	default quizlogic.dto.QuizStatisticsSummary getQuizStatistics() {
+		return quizlogic.dto.QuizStatisticsSummary.of(getAllQuizSessions());
+	}
+
+	/**
+	 * Retrieves summaries of the most recent quiz sessions, newest first.
+	 * <p>
+	 * Implementations should read maintained summaries instead of the user
+	 * answers of each session. The default implementation summarizes the result
+	 * of {@link #getRecentQuizSessions(int)}.
+	 * 
+	 * @param limit maximum number of summaries to retrieve
+	 * @return an {@link ArrayList} of {@link quizlogic.dto.SessionSummary}
+	 */
+	default ArrayList<quizlogic.dto.SessionSummary> getRecentSessionSummaries(int limit) {
+		ArrayList<quizlogic.dto.SessionSummary> summaries = new ArrayList<>();
+		for (quizlogic.dto.QuizSessionDTO session : getRecentQuizSessions(limit)) {
+			summaries.add(quizlogic.dto.SessionSummary.of(session));
+		}
+		return summaries;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,660 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import constants.ConfigManager;
+import constants.LogicConstants;
+import quizlogic.dto.QuizSessionDTO;
+import quizlogic.dto.UserAnswerDTO;
+
+/**
+ * Write-ahead journal persisting quiz sessions answer by answer.
+ * <p>
+ * Every recorded user answer is appended to a small local journal file before
+ * it reaches the storage backend. A background writer collects appended
+ * answers in batches, writes each batch to the journal and forces it to disk
+ * with a single fsync. It then drains the new answers of every session into
+ * the data source with
+ * {@link QuizDataInterface#appendUserAnswers(QuizSessionDTO, List)} and
+ * journals a checkpoint holding the backend session ID, the backend that
+ * assigned it and the number of persisted answers. Answers the backend
+ * rejected stay pending and are retried with the next batch. The backend is
+ * handed back to the data source with the session, so a session ID is never
+ * used on the other backend after a failover. A new session is created with
+ * its first answer, and the assigned ID is journaled before the remaining
+ * answers are drained, so a crash after the backend stored the session never
+ * creates it a second time with all of its answers.
+ * <p>
+ * When started, the writer first replays the journal of a previous run, so
+ * answers recorded before a crash reach the backend. A clean {@link #close()}
+ * drains all pending answers and truncates the journal, which makes exiting
+ * the application a quick flush. While running, the journal is compacted
+ * whenever nothing is pending and it has grown to twice the size of its
+ * compacted form: it is rewritten with only the sessions still being played,
+ * each with its answers and a single checkpoint.
+ * <p>
+ * The journal is a UTF-8 text file with one tab-separated record per line:
+ * {@code S} starts a session, {@code A} records an answer and {@code C} is a
+ * checkpoint. A line torn by a crash is skipped on replay.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public class SessionJournal implements AutoCloseable {
+
+	/** Record type starting a session */
+	private static final String RECORD_SESSION = "S";
+
+	/** Record type of a user answer */
+	private static final String RECORD_ANSWER = "A";
+
+	/** Record type of a checkpoint */
+	private static final String RECORD_CHECKPOINT = "C";
+
+	/** Separator between the fields of a record */
+	private static final String SEPARATOR = "\t";
+
+	/** Maximum number of commands written with one fsync */
+	private static final int MAX_BATCH_SIZE = 64;
+
+	/** Seconds to wait for the writer when flushing or closing */
+	private static final long FLUSH_TIMEOUT_SECONDS = 10;
+
+	/** Command processed by the writer thread */
+	private sealed interface Command {
+	}
+
+	/**
+	 * Starts a journaled session.
+	 *
+	 * @param key       journal key of the session
+	 * @param timestamp start time of the session in milliseconds
+	 * @param userId    ID of the user playing the session
+	 */
+	private record Begin(String key, long timestamp, int userId) implements Command {
+	}
+
+	/**
+	 * Appends a user answer to a journaled session.
+	 *
+	 * @param key        journal key of the session
+	 * @param questionId ID of the answered question
+	 * @param answerId   ID of the chosen answer
+	 * @param selected   whether the answer was selected
+	 * @param correct    whether the question was answered correctly
+	 */
+	private record Append(String key, int questionId, int answerId, boolean selected, boolean correct)
+			implements Command {
+	}
+
+	/**
+	 * Requests a drain of all pending answers.
+	 *
+	 * @param done completed with true once all answers reached the backend
+	 * @param last whether the writer stops afterwards
+	 */
+	private record Flush(CompletableFuture<Boolean> done, boolean last) implements Command {
+	}
+
+	/** State of a journaled session, owned by the writer thread */
+	private static final class JournalSession {
+
+		/** Session with all journaled answers */
+		private final QuizSessionDTO session = new QuizSessionDTO();
+
+		/** Number of answers already stored in the backend */
+		private int persistedCount;
+
+		/**
+		 * Returns whether the session has answers not yet stored in the backend.
+		 *
+		 * @return true if answers are pending
+		 */
+		private boolean hasPending() {
+			return session.getUserAnswers().size() > persistedCount;
+		}
+	}
+
+	/** Data source the journaled answers are drained into */
+	private final QuizDataInterface dataSource;
+
+	/** Location of the journal file */
+	private final Path path;
+
+	/** Commands waiting for the writer */
+	private final LinkedBlockingQueue<Command> queue = new LinkedBlockingQueue<>();
+
+	/** Journal keys of the live sessions */
+	private final Map<QuizSessionDTO, String> sessionKeys = Collections.synchronizedMap(new IdentityHashMap<>());
+
+	/** Journaled sessions by key, accessed by the writer thread only */
+	private final LinkedHashMap<String, JournalSession> sessions = new LinkedHashMap<>();
+
+	/** Records written with the next fsync, accessed by the writer thread only */
+	private final StringBuilder pendingRecords = new StringBuilder();
+
+	/** Number of records in the journal file, accessed by the writer thread only */
+	private int journalRecords;
+
+	/** Open journal file, null if it could not be opened */
+	private FileChannel channel;
+
+	/** Background writer thread */
+	private Thread writer;
+
+	/** Whether the journal accepts no more answers */
+	private volatile boolean closed;
+
+	/**
+	 * Creates a journal at the location configured in the {@link ConfigManager}.
+	 *
+	 * @param dataSource data source the answers are drained into
+	 */
+	public SessionJournal(QuizDataInterface dataSource) {
+		this(dataSource, Path.of(ConfigManager.getInstance().getSessionJournalFile()));
+	}
+
+	/**
+	 * Creates a journal.
+	 *
+	 * @param dataSource data source the answers are drained into
+	 * @param path       location of the journal file
+	 */
+	public SessionJournal(QuizDataInterface dataSource, Path path) {
+		this.dataSource = dataSource;
+		this.path = path;
+	}
+
+	/**
+	 * Starts the background writer. The writer replays the journal of a previous
+	 * run before it processes new answers.
+	 */
+	public synchronized void start() {
+		if (writer == null) {
+			writer = new Thread(this::run, "quizzle-session-journal");
+			writer.setDaemon(true);
+			writer.start();
+		}
+	}
+
+	/**
+	 * Journals a user answer recorded in a session. The session is journaled
+	 * with its first answer.
+	 *
+	 * @param session the session the answer belongs to
+	 * @param answer  the recorded answer
+	 */
+	public void append(QuizSessionDTO session, UserAnswerDTO answer) {
+		if (closed) {
+			ConfigManager.debugPrint("DEBUG: Session journal is closed, answer not journaled");
+			return;
+		}
+		String key = sessionKeys.get(session);
+		if (key == null) {
+			key = UUID.randomUUID().toString();
+			sessionKeys.put(session, key);
+			Date timestamp = session.getTimestamp();
+			queue.add(new Begin(key, timestamp != null ? timestamp.getTime() : System.currentTimeMillis(),
+					session.getUserId()));
+		}
+		queue.add(new Append(key, answer.getQuestionId(), answer.getAnswerId(), answer.isSelected(),
+				answer.isCorrect()));
+	}
+
+	/**
+	 * Waits until all journaled answers have been written to the journal and
+	 * drained into the backend.
+	 *
+	 * @return true if all answers reached the backend
+	 */
+	public boolean flush() {
+		return awaitFlush(false);
+	}
+
+	/**
+	 * Drains all pending answers and stops the writer. The journal is truncated
+	 * if every answer reached the backend; otherwise it is kept for the replay on
+	 * the next start.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		if (awaitFlush(true)) {
+			ConfigManager.debugPrint("DEBUG: Session journal flushed and closed");
+		} else {
+			System.err.println("Not all quiz answers could be saved; they will be saved on the next start.");
+		}
+	}
+
+	/**
+	 * Enqueues a flush and waits for the writer to complete it.
+	 *
+	 * @param last whether the writer stops afterwards
+	 * @return true if all answers reached the backend
+	 */
+	private boolean awaitFlush(boolean last) {
+		Thread currentWriter;
+		synchronized (this) {
+			currentWriter = writer;
+		}
+		if (currentWriter == null) {
+			return false;
+		}
+		CompletableFuture<Boolean> done = new CompletableFuture<>();
+		queue.add(new Flush(done, last));
+		try {
+			return done.get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException | TimeoutException e) {
+			ConfigManager.debugPrint("DEBUG: Flushing session journal failed: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Main loop of the writer thread.
+	 */
+	private void run() {
+		open();
+		replay();
+		while (true) {
+			List<Command> batch = new ArrayList<>();
+			try {
+				batch.add(queue.take());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+			queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+			if (process(batch)) {
+				break;
+			}
+		}
+		closeChannel();
+	}
+
+	/**
+	 * Processes a batch of commands: journals them with one fsync, drains the
+	 * pending answers and completes the flush requests.
+	 *
+	 * @param batch the commands to process
+	 * @return true if the writer should stop
+	 */
+	private boolean process(List<Command> batch) {
+		List<Flush> flushes = new ArrayList<>();
+		for (Command command : batch) {
+			switch (command) {
+			case Begin begin -> {
+				JournalSession journalSession = new JournalSession();
+				journalSession.session.setTimestamp(new Date(begin.timestamp()));
+				journalSession.session.setUserId(begin.userId());
+				sessions.put(begin.key(), journalSession);
+				record(RECORD_SESSION, begin.key(), begin.timestamp(), begin.userId());
+			}
+			case Append append -> {
+				JournalSession journalSession = sessions.get(append.key());
+				journalSession.session.addUserAnswer(new UserAnswerDTO(LogicConstants.INVALID_ID,
+						append.questionId(), append.answerId(), append.selected(), append.correct()));
+				record(RECORD_ANSWER, append.key(), append.questionId(), append.answerId(), append.selected(),
+						append.correct());
+			}
+			case Flush flush -> flushes.add(flush);
+			}
+		}
+		sync();
+
+		boolean allPersisted = drainPending();
+		sync();
+
+		boolean last = false;
+		for (Flush flush : flushes) {
+			last |= flush.last();
+		}
+		if (last && allPersisted) {
+			truncate();
+		} else if (allPersisted) {
+			compact();
+		}
+		for (Flush flush : flushes) {
+			flush.done().complete(allPersisted);
+		}
+		return last;
+	}
+
+	/**
+	 * Drains the pending answers of all sessions into the backend and journals a
+	 * checkpoint for every session that was stored.
+	 *
+	 * @return true if no answers are pending anymore
+	 */
+	private boolean drainPending() {
+		boolean allPersisted = true;
+		for (Map.Entry<String, JournalSession> entry : sessions.entrySet()) {
+			if (entry.getValue().hasPending() && !drainSession(entry.getKey(), entry.getValue())) {
+				allPersisted = false;
+			}
+		}
+		return allPersisted;
+	}
+
+	/**
+	 * Drains the pending answers of one session into the backend. A session
+	 * without ID is first created with its first answer alone; the ID the
+	 * backend assigned is journaled and forced to disk before the remaining
+	 * answers follow.
+	 *
+	 * @param key            journal key of the session
+	 * @param journalSession the session
+	 * @return true if all answers of the session reached the backend
+	 */
+	private boolean drainSession(String key, JournalSession journalSession) {
+		QuizSessionDTO session = journalSession.session;
+		List<UserAnswerDTO> answers = session.getUserAnswers();
+		if (session.getId() == LogicConstants.INVALID_ID) {
+			QuizSessionDTO created = new QuizSessionDTO(session.getTimestamp(), session.getUserId());
+			created.addUserAnswer(answers.get(0));
+			if (!store(created, List.of(answers.get(0)))) {
+				return false;
+			}
+			session.setId(created.getId());
+			session.setStorage(created.getStorage());
+			checkpoint(key, journalSession, 1);
+			sync();
+			if (!journalSession.hasPending()) {
+				return true;
+			}
+		}
+		int answerCount = answers.size();
+		if (!store(session, new ArrayList<>(answers.subList(journalSession.persistedCount, answerCount)))) {
+			return false;
+		}
+		checkpoint(key, journalSession, answerCount);
+		return true;
+	}
+
+	/**
+	 * Stores answers of a session in the backend.
+	 *
+	 * @param session    the session with all of its answers
+	 * @param newAnswers the answers not yet stored
+	 * @return true if the backend stored the answers
+	 */
+	private boolean store(QuizSessionDTO session, List<UserAnswerDTO> newAnswers) {
+		String result;
+		try {
+			result = dataSource.appendUserAnswers(session, newAnswers);
+		} catch (RuntimeException e) {
+			result = e.getMessage();
+		}
+		if (result != null) {
+			ConfigManager.debugPrint("DEBUG: Draining journaled answers failed: " + result);
+		}
+		return result == null;
+	}
+
+	/**
+	 * Marks answers of a session as stored and queues their checkpoint.
+	 *
+	 * @param key            journal key of the session
+	 * @param journalSession the session
+	 * @param persistedCount number of answers now stored in the backend
+	 */
+	private void checkpoint(String key, JournalSession journalSession, int persistedCount) {
+		journalSession.persistedCount = persistedCount;
+		String storage = journalSession.session.getStorage();
+		record(RECORD_CHECKPOINT, key, journalSession.session.getId(), persistedCount,
+				storage != null ? storage : "");
+	}
+
+	/**
+	 * Compacts the journal once it has grown to twice the size of its compacted
+	 * form. Must only be called while no answers are pending. Sessions no
+	 * longer being played are dropped; the others are rewritten with their
+	 * answers and a single checkpoint. The compacted journal is written to a
+	 * temporary file and moved into place, so a crash keeps either the old or
+	 * the new journal.
+	 */
+	private void compact() {
+		Set<String> liveKeys;
+		synchronized (sessionKeys) {
+			liveKeys = new HashSet<>(sessionKeys.values());
+		}
+		sessions.keySet().retainAll(liveKeys);
+		if (sessions.isEmpty()) {
+			truncate();
+			return;
+		}
+		int compactedRecords = 0;
+		for (JournalSession journalSession : sessions.values()) {
+			compactedRecords += journalSession.session.getUserAnswers().size() + 2;
+		}
+		if (channel == null || journalRecords < 2 * compactedRecords) {
+			return;
+		}
+
+		for (Map.Entry<String, JournalSession> entry : sessions.entrySet()) {
+			QuizSessionDTO session = entry.getValue().session;
+			record(RECORD_SESSION, entry.getKey(), session.getTimestamp().getTime(), session.getUserId());
+			for (UserAnswerDTO answer : session.getUserAnswers()) {
+				record(RECORD_ANSWER, entry.getKey(), answer.getQuestionId(), answer.getAnswerId(),
+						answer.isSelected(), answer.isCorrect());
+			}
+			checkpoint(entry.getKey(), entry.getValue(), entry.getValue().persistedCount);
+		}
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.wrap(pendingRecords.toString().getBytes(StandardCharsets.UTF_8));
+			while (buffer.hasRemaining()) {
+				out.write(buffer);
+			}
+			out.force(true);
+		} catch (IOException e) {
+			ConfigManager.debugPrint("DEBUG: Compacting session journal failed: " + e.getMessage());
+			pendingRecords.setLength(0);
+			journalRecords -= compactedRecords;
+			return;
+		}
+		pendingRecords.setLength(0);
+		closeChannel();
+		try {
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			journalRecords = compactedRecords;
+			ConfigManager.debugPrint("DEBUG: Compacted session journal to " + compactedRecords + " records");
+		} catch (IOException e) {
+			ConfigManager.debugPrint("DEBUG: Compacting session journal failed: " + e.getMessage());
+			journalRecords -= compactedRecords;
+		}
+		open();
+	}
+
+	/**
+	 * Reads the journal of a previous run and drains the answers it recorded
+	 * after the last checkpoint of each session. Completely persisted sessions
+	 * are dropped and the journal is truncated if nothing is left pending.
+	 */
+	private void replay() {
+		if (!Files.exists(path)) {
+			return;
+		}
+		List<String> lines;
+		try {
+			lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			ConfigManager.debugPrint("DEBUG: Reading session journal failed: " + e.getMessage());
+			return;
+		}
+
+		journalRecords = lines.size();
+		for (String line : lines) {
+			try {
+				replayRecord(line.split(SEPARATOR));
+			} catch (RuntimeException e) {
+				ConfigManager.debugPrint("DEBUG: Skipping damaged journal record: " + line);
+			}
+		}
+
+		int pending = 0;
+		for (JournalSession journalSession : sessions.values()) {
+			if (journalSession.hasPending()) {
+				pending++;
+			}
+		}
+		if (pending > 0) {
+			ConfigManager.debugPrint("DEBUG: Replaying " + pending + " journaled quiz sessions");
+		}
+		if (drainPending()) {
+			sessions.clear();
+			truncate();
+		} else {
+			sync();
+			Iterator<JournalSession> iterator = sessions.values().iterator();
+			while (iterator.hasNext()) {
+				if (!iterator.next().hasPending()) {
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Applies a single journal record during replay.
+	 *
+	 * @param fields fields of the record
+	 */
+	private void replayRecord(String[] fields) {
+		switch (fields[0]) {
+		case RECORD_SESSION -> {
+			JournalSession journalSession = new JournalSession();
+			journalSession.session.setTimestamp(new Date(Long.parseLong(fields[2])));
+			journalSession.session.setUserId(Integer.parseInt(fields[3]));
+			sessions.put(fields[1], journalSession);
+		}
+		case RECORD_ANSWER -> {
+			UserAnswerDTO answer = new UserAnswerDTO(LogicConstants.INVALID_ID, Integer.parseInt(fields[2]),
+					Integer.parseInt(fields[3]), Boolean.parseBoolean(fields[4]), Boolean.parseBoolean(fields[5]));
+			sessions.get(fields[1]).session.addUserAnswer(answer);
+		}
+		case RECORD_CHECKPOINT -> {
+			JournalSession journalSession = sessions.get(fields[1]);
+			journalSession.session.setId(Integer.parseInt(fields[2]));
+			journalSession.persistedCount = Integer.parseInt(fields[3]);
+			// Checkpoints written before the backend was journaled have no fifth field
+			journalSession.session.setStorage(fields.length > 4 && !fields[4].isEmpty() ? fields[4] : null);
+		}
+		default -> throw new IllegalArgumentException("Unknown record type: " + fields[0]);
+		}
+	}
+
+	/**
+	 * Queues a record for the next fsync.
+	 *
+	 * @param type   record type
+	 * @param fields fields following the type
+	 */
+	private void record(String type, Object... fields) {
+		journalRecords++;
+		pendingRecords.append(type);
+		for (Object field : fields) {
+			pendingRecords.append(SEPARATOR).append(field);
+		}
+		pendingRecords.append('\n');
+	}
+
+	/**
+	 * Writes the queued records to the journal and forces them to disk.
+	 */
+	private void sync() {
+		if (pendingRecords.isEmpty()) {
+			return;
+		}
+		if (channel != null) {
+			try {
+				ByteBuffer buffer = ByteBuffer.wrap(pendingRecords.toString().getBytes(StandardCharsets.UTF_8));
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				channel.force(false);
+			} catch (IOException e) {
+				ConfigManager.debugPrint("DEBUG: Writing session journal failed: " + e.getMessage());
+			}
+		}
+		pendingRecords.setLength(0);
+	}
+
+	/**
+	 * Empties the journal file.
+	 */
+	private void truncate() {
+		pendingRecords.setLength(0);
+		journalRecords = 0;
+		if (channel != null) {
+			try {
+				channel.truncate(0);
+				channel.force(true);
+			} catch (IOException e) {
+				ConfigManager.debugPrint("DEBUG: Truncating session journal failed: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Opens the journal file for appending. Without a journal file answers are
+	 * still drained into the backend, but not protected against crashes.
+	 */
+	private void open() {
+		try {
+			Path parent = path.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			System.err.println("Session journal could not be opened: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Closes the journal file.
+	 */
+	private void closeChannel() {
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				ConfigManager.debugPrint("DEBUG: Closing session journal failed: " + e.getMessage());
+			}
+			channel = null;
+		}
+	}
+}
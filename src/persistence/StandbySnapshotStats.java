@@ -0,0 +1,31 @@
+package persistence;
+
+/**
+ * Snapshot of the counters of a {@link StandbySnapshotter}.
+ *
+ * @param snapshots          number of completed snapshots
+ * @param failedSnapshots    number of snapshots that failed
+ * @param skippedSnapshots   number of scheduled snapshots skipped because the
+ *                           database was not in use or offline changes were
+ *                           pending
+ * @param lastSnapshotMillis time the last snapshot completed, 0 if none has
+ * @param ageMs              time since the last snapshot completed, -1 if none
+ *                           has
+ * @param lagMs              time the oldest database change not yet in the
+ *                           file store has been waiting, 0 if the file store
+ *                           is current
+ * @param lastDurationMs     duration of the last snapshot
+ * @param lastThemesWritten  themes written by the last snapshot
+ * @param lastThemesRemoved  themes removed by the last snapshot
+ * @param themesWritten      themes written by all snapshots
+ * @param lastError          error of the last failed snapshot, null if the
+ *                           last snapshot succeeded
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public record StandbySnapshotStats(long snapshots, long failedSnapshots, long skippedSnapshots,
+		long lastSnapshotMillis, long ageMs, long lagMs, long lastDurationMs, int lastThemesWritten,
+		int lastThemesRemoved, long themesWritten, String lastError) {
+}
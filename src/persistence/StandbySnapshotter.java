@@ -0,0 +1,329 @@
+package persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import constants.ConfigManager;
+import persistence.mariaDB.DBManager;
+import persistence.serialization.QuizDataManager;
+import quizlogic.dto.AnswerDTO;
+import quizlogic.dto.QuestionDTO;
+import quizlogic.dto.ThemeDTO;
+
+/**
+ * Keeps the file store a warm standby of the database catalog.
+ * <p>
+ * At a fixed interval the catalog is loaded from the database in one pass and
+ * compared theme by theme with the file store using content fingerprints. Only
+ * changed themes are written, and themes no longer in the database are
+ * removed, so a failover to file storage serves current data right away. The
+ * fingerprints of the file store are read from the theme files on the first
+ * snapshot and kept in memory afterwards.
+ * <p>
+ * Mirrored themes keep their database IDs on file storage. Before the files
+ * are written the database maps these IDs to themselves in the
+ * {@code OfflineIdMap}, so offline changes of mirrored themes are replayed onto
+ * the same rows.
+ * <p>
+ * A snapshot only runs while the given condition holds, i.e. while the
+ * database is in use and no offline changes wait for their replay; otherwise
+ * the snapshot would overwrite changes that exist on file storage only. The
+ * condition is checked again right before the files are written, while the
+ * write side of the storage lock of the {@link AsyncDataManager} is held, so
+ * no file storage write can slip in between the check and the mirror.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public class StandbySnapshotter {
+
+	/** Database the catalog is read from */
+	private final DBManager database;
+
+	/** File store the catalog is mirrored into */
+	private final QuizDataManager fileStore;
+
+	/** Condition under which a snapshot may run */
+	private final BooleanSupplier allowed;
+
+	/** Background executor running the snapshots */
+	private final ScheduledExecutorService scheduler;
+
+	/** Fingerprints of the themes in the file store by ID, null if unknown */
+	private Map<Integer, Long> fileFingerprints;
+
+	/** Time of the oldest database change not yet mirrored, 0 if none */
+	private long pendingSinceMillis;
+
+	/** Number of completed snapshots */
+	private long snapshots;
+
+	/** Number of failed snapshots */
+	private long failedSnapshots;
+
+	/** Number of skipped snapshots */
+	private long skippedSnapshots;
+
+	/** Time the last snapshot completed */
+	private long lastSnapshotMillis;
+
+	/** Duration of the last snapshot */
+	private long lastDurationMs;
+
+	/** Themes written by the last snapshot */
+	private int lastThemesWritten;
+
+	/** Themes removed by the last snapshot */
+	private int lastThemesRemoved;
+
+	/** Themes written by all snapshots */
+	private long themesWritten;
+
+	/** Error of the last failed snapshot */
+	private String lastError;
+
+	/**
+	 * Creates a snapshotter. Call {@link #start(long, long)} to schedule the
+	 * snapshots. Until the first snapshot the file store counts as lagging
+	 * since the creation of the snapshotter.
+	 *
+	 * @param database  database the catalog is read from
+	 * @param fileStore file store the catalog is mirrored into
+	 * @param allowed   condition under which a snapshot may run
+	 */
+	public StandbySnapshotter(DBManager database, QuizDataManager fileStore, BooleanSupplier allowed) {
+		this.database = database;
+		this.fileStore = fileStore;
+		this.allowed = allowed;
+		this.pendingSinceMillis = System.currentTimeMillis();
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "quizzle-standby-snapshot");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Schedules the snapshots.
+	 *
+	 * @param initialDelayMs delay before the first snapshot
+	 * @param intervalMs     delay between the end of a snapshot and the start
+	 *                       of the next one
+	 */
+	public void start(long initialDelayMs, long intervalMs) {
+		scheduler.scheduleWithFixedDelay(this::runScheduled, Math.max(0, initialDelayMs), Math.max(1, intervalMs),
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Records that the database catalog changed, so the file store lags behind
+	 * until the next snapshot.
+	 */
+	public synchronized void markChanged() {
+		if (pendingSinceMillis == 0) {
+			pendingSinceMillis = System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * Forgets the fingerprints of the file store after it was written by
+	 * someone else, so the next snapshot reads them from the theme files again.
+	 */
+	public synchronized void invalidate() {
+		fileFingerprints = null;
+		markChanged();
+	}
+
+	/**
+	 * Runs a scheduled snapshot if it is allowed.
+	 */
+	private void runScheduled() {
+		if (!allowed.getAsBoolean()) {
+			synchronized (this) {
+				skippedSnapshots++;
+			}
+			return;
+		}
+		snapshot();
+	}
+
+	/**
+	 * Mirrors the changed themes of the database catalog into the file store.
+	 * The snapshot is skipped if the condition no longer holds once the storage
+	 * lock is taken.
+	 *
+	 * @return true if the file store is current
+	 */
+	public boolean snapshot() {
+		long start = System.currentTimeMillis();
+		Map<Integer, Long> known;
+		long changedSince;
+		synchronized (this) {
+			known = fileFingerprints;
+			changedSince = pendingSinceMillis;
+			pendingSinceMillis = 0;
+		}
+		try {
+			if (known == null) {
+				known = new HashMap<>();
+				AsyncDataManager.storageLock().readLock().lock();
+				try {
+					for (ThemeDTO theme : fileStore.loadCatalog()) {
+						known.put(theme.getId(), fingerprint(theme));
+					}
+				} finally {
+					AsyncDataManager.storageLock().readLock().unlock();
+				}
+			}
+
+			Map<Integer, Long> current = new HashMap<>();
+			List<ThemeDTO> changed = new ArrayList<>();
+			for (ThemeDTO theme : database.loadCatalog()) {
+				long fingerprint = fingerprint(theme);
+				current.put(theme.getId(), fingerprint);
+				Long previous = known.get(theme.getId());
+				if (previous == null || previous != fingerprint) {
+					changed.add(theme);
+				}
+			}
+			Set<Integer> removed = new HashSet<>(known.keySet());
+			removed.removeAll(current.keySet());
+
+			String error = database.mapMirroredThemes(changed, removed);
+			if (error != null) {
+				throw new IllegalStateException(error);
+			}
+			AsyncDataManager.storageLock().writeLock().lock();
+			try {
+				if (!allowed.getAsBoolean()) {
+					synchronized (this) {
+						restorePending(changedSince);
+						skippedSnapshots++;
+					}
+					return false;
+				}
+				fileStore.mirrorThemes(changed, removed);
+			} finally {
+				AsyncDataManager.storageLock().writeLock().unlock();
+			}
+
+			long duration = System.currentTimeMillis() - start;
+			synchronized (this) {
+				fileFingerprints = current;
+				snapshots++;
+				lastSnapshotMillis = System.currentTimeMillis();
+				lastDurationMs = duration;
+				lastThemesWritten = changed.size();
+				lastThemesRemoved = removed.size();
+				themesWritten += changed.size();
+				lastError = null;
+			}
+			ConfigManager.debugPrint("DEBUG: Standby snapshot wrote " + changed.size() + " and removed "
+					+ removed.size() + " of " + current.size() + " themes in " + duration + " ms");
+			return true;
+		} catch (Exception e) {
+			synchronized (this) {
+				fileFingerprints = null;
+				restorePending(changedSince);
+				failedSnapshots++;
+				lastError = e.getMessage();
+			}
+			ConfigManager.debugPrint("DEBUG: Standby snapshot failed: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Marks the changes a snapshot did not mirror as pending again. Must be
+	 * called while holding the monitor of this snapshotter.
+	 *
+	 * @param changedSince time of the oldest change the snapshot took over, 0 if
+	 *                     none
+	 */
+	private void restorePending(long changedSince) {
+		if (changedSince != 0 && (pendingSinceMillis == 0 || changedSince < pendingSinceMillis)) {
+			pendingSinceMillis = changedSince;
+		}
+	}
+
+	/**
+	 * Computes a fingerprint of the content of a theme with its questions and
+	 * answers.
+	 *
+	 * @param theme the theme
+	 * @return the fingerprint
+	 */
+	private static long fingerprint(ThemeDTO theme) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		update(digest, theme.getThemeTitle());
+		update(digest, theme.getThemeDescription());
+		if (theme.getQuestions() != null) {
+			for (QuestionDTO question : theme.getQuestions()) {
+				update(digest, "Q" + question.getId());
+				update(digest, question.getQuestionTitle());
+				update(digest, question.getQuestionText());
+				if (question.getAnswers() != null) {
+					for (AnswerDTO answer : question.getAnswers()) {
+						update(digest, "A" + answer.getId() + (answer.isCorrect() ? "+" : "-"));
+						update(digest, answer.getAnswerText());
+					}
+				}
+			}
+		}
+		return ByteBuffer.wrap(digest.digest()).getLong();
+	}
+
+	/**
+	 * Adds a value to a fingerprint, distinguishing null from empty values.
+	 *
+	 * @param digest the fingerprint digest
+	 * @param value  the value, may be null
+	 */
+	private static void update(MessageDigest digest, String value) {
+		if (value == null) {
+			digest.update((byte) 0);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length + 1).array());
+		digest.update(bytes);
+	}
+
+	/**
+	 * Returns a snapshot of the counters.
+	 *
+	 * @return the statistics
+	 */
+	public synchronized StandbySnapshotStats getStats() {
+		long now = System.currentTimeMillis();
+		return new StandbySnapshotStats(snapshots, failedSnapshots, skippedSnapshots, lastSnapshotMillis,
+				lastSnapshotMillis > 0 ? now - lastSnapshotMillis : -1,
+				pendingSinceMillis > 0 ? now - pendingSinceMillis : 0, lastDurationMs, lastThemesWritten,
+				lastThemesRemoved, themesWritten, lastError);
+	}
+
+	/**
+	 * Stops the scheduled snapshots.
+	 */
+	public void shutdown() {
+		scheduler.shutdownNow();
+	}
+}
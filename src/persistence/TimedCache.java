@@ -0,0 +1,167 @@
+package persistence;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded cache whose entries expire after a fixed time.
+ * <p>
+ * The cache holds at most a configured number of entries and evicts the least
+ * recently used one when full. Values are loaded outside of the cache lock, so
+ * a slow storage backend never blocks lookups of other keys. Every
+ * invalidation advances a generation counter; a value whose load started
+ * before an invalidation is returned to its caller but not cached, so a read
+ * racing with a write can never put stale data back into the cache.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+class TimedCache<K, V> {
+
+	/**
+	 * A cached value with its expiry time.
+	 *
+	 * @param value     the cached value
+	 * @param expiresAt {@link System#nanoTime()} after which the value is stale
+	 */
+	private record Entry<V>(V value, long expiresAt) {
+	}
+
+	/** Name of the cache, used for metrics */
+	private final String name;
+
+	/** Maximum number of cached entries */
+	private final int maxSize;
+
+	/** Time to live of an entry in nanoseconds */
+	private final long ttlNanos;
+
+	/** Cached entries in access order */
+	private final LinkedHashMap<K, Entry<V>> entries;
+
+	/** Generation advanced by every invalidation */
+	private long generation;
+
+	/** Number of lookups answered from the cache */
+	private final LongAdder hits = new LongAdder();
+
+	/** Number of lookups that had to load the value */
+	private final LongAdder misses = new LongAdder();
+
+	/** Number of entries dropped because the cache was full or they expired */
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param name    name of the cache, used for metrics
+	 * @param maxSize maximum number of cached entries
+	 * @param ttlMs   time to live of an entry in milliseconds
+	 */
+	TimedCache(String name, int maxSize, long ttlMs) {
+		this.name = name;
+		this.maxSize = Math.max(1, maxSize);
+		this.ttlNanos = Math.max(0, ttlMs) * 1_000_000L;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				if (size() > TimedCache.this.maxSize) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached value for a key, loading and caching it if it is
+	 * missing or expired. Null values are not cached.
+	 *
+	 * @param key    the key
+	 * @param loader loads the value on a miss
+	 * @return the cached or loaded value
+	 */
+	V get(K key, Supplier<V> loader) {
+		long loadGeneration;
+		synchronized (this) {
+			Entry<V> entry = entries.get(key);
+			if (entry != null) {
+				if (System.nanoTime() - entry.expiresAt() < 0) {
+					hits.increment();
+					return entry.value();
+				}
+				entries.remove(key);
+				evictions.increment();
+			}
+			misses.increment();
+			loadGeneration = generation;
+		}
+
+		V value = loader.get();
+		synchronized (this) {
+			if (value != null && loadGeneration == generation) {
+				entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the cached value for a key without loading it or counting the
+	 * lookup.
+	 *
+	 * @param key the key
+	 * @return the cached value, or null if it is missing or expired
+	 */
+	synchronized V peek(K key) {
+		Entry<V> entry = entries.get(key);
+		return entry != null && System.nanoTime() - entry.expiresAt() < 0 ? entry.value() : null;
+	}
+
+	/**
+	 * Removes the entry for a key.
+	 *
+	 * @param key the key
+	 */
+	synchronized void invalidate(K key) {
+		generation++;
+		entries.remove(key);
+	}
+
+	/**
+	 * Removes all entries matching a condition.
+	 *
+	 * @param condition condition on key and cached value
+	 */
+	synchronized void invalidateIf(BiPredicate<K, V> condition) {
+		generation++;
+		entries.entrySet().removeIf(entry -> condition.test(entry.getKey(), entry.getValue().value()));
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	synchronized void clear() {
+		generation++;
+		entries.clear();
+	}
+
+	/**
+	 * Returns size and hit statistics of the cache.
+	 *
+	 * @return cache statistics
+	 */
+	synchronized CacheStats getStats() {
+		return new CacheStats(name, entries.size(), maxSize, hits.sum(), misses.sum(), evictions.sum());
+	}
+}
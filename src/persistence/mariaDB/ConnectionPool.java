@@ -0,0 +1,488 @@
+package persistence.mariaDB;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import constants.ConfigManager;
+
+/**
+ * Bounded pool of MariaDB connections used by the {@link DBManager}.
+ * <p>
+ * The pool opens connections lazily up to a configured maximum and hands them
+ * out as {@link PooledConnection} instances. Connections are validated before
+ * they are handed out, closed after a maximum lifetime and evicted after being
+ * idle for too long. Callers that find the pool exhausted wait up to the
+ * configured borrow timeout.
+ * <p>
+ * All connections run with auto-commit disabled. Any transaction that is still
+ * open when a connection is returned is rolled back, so every borrower starts
+ * with a clean connection. The connections of a read-only pool, used for a
+ * read replica, are switched to read-only once when they are opened.
+ * <p>
+ * Every connection carries a {@link StatementCache}; hit and miss counts of
+ * all caches are aggregated by the pool.
+ * <p>
+ * Pool settings are read from the {@link ConfigManager}:
+ * <ul>
+ * <li>{@value ConfigManager#DB_POOL_MAX_SIZE}</li>
+ * <li>{@value ConfigManager#DB_POOL_MIN_IDLE}</li>
+ * <li>{@value ConfigManager#DB_POOL_BORROW_TIMEOUT}</li>
+ * <li>{@value ConfigManager#DB_POOL_IDLE_TIMEOUT}</li>
+ * <li>{@value ConfigManager#DB_POOL_MAX_LIFETIME}</li>
+ * <li>{@value ConfigManager#DB_POOL_VALIDATION_TIMEOUT}</li>
+ * <li>{@value ConfigManager#DB_STATEMENT_CACHE_SIZE}</li>
+ * </ul>
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public class ConnectionPool {
+
+	/** Interval of the background housekeeping run in milliseconds */
+	private static final long HOUSEKEEPING_INTERVAL_MS = 30000;
+
+	/** JDBC URL of the database */
+	private final String url;
+
+	/** Database user */
+	private final String user;
+
+	/** Database password */
+	private final String password;
+
+	/** Maximum number of open connections */
+	private final int maxSize;
+
+	/** Number of idle connections kept open by housekeeping */
+	private final int minIdle;
+
+	/** Maximum wait time for a free connection in nanoseconds */
+	private final long borrowTimeoutNanos;
+
+	/** Idle time after which a connection is closed in milliseconds */
+	private final long idleTimeoutMillis;
+
+	/** Maximum lifetime of a physical connection in milliseconds */
+	private final long maxLifetimeMillis;
+
+	/** Timeout for connection validation in seconds */
+	private final int validationTimeoutSeconds;
+
+	/** Number of cached statements per connection */
+	private final int statementCacheSize;
+
+	/** Flag indicating whether the connections are read-only */
+	private final boolean readOnly;
+
+	/** Statement cache hits over all connections */
+	private final LongAdder statementCacheHits = new LongAdder();
+
+	/** Statement cache misses over all connections */
+	private final LongAdder statementCacheMisses = new LongAdder();
+
+	/** Idle connections, most recently used last */
+	private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+
+	/** Lock guarding the idle set and the connection counter */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** Signalled whenever a connection becomes available */
+	private final Condition available = lock.newCondition();
+
+	/** Number of physical connections, idle and borrowed */
+	private int totalConnections;
+
+	/** Flag indicating whether the pool has been shut down */
+	private volatile boolean closed;
+
+	/** Background executor for eviction and minimum idle maintenance */
+	private final ScheduledExecutorService housekeeper;
+
+	/**
+	 * Creates a new pool for the given database using the pool settings of the
+	 * configuration manager. No connection is opened by the constructor.
+	 *
+	 * @param url           JDBC URL of the database
+	 * @param user          database user
+	 * @param password      database password
+	 * @param configManager configuration providing the pool settings
+	 */
+	public ConnectionPool(String url, String user, String password, ConfigManager configManager) {
+		this(url, user, password, configManager, false);
+	}
+
+	/**
+	 * Creates a new pool for the given database using the pool settings of the
+	 * configuration manager. No connection is opened by the constructor.
+	 *
+	 * @param url           JDBC URL of the database
+	 * @param user          database user
+	 * @param password      database password
+	 * @param configManager configuration providing the pool settings
+	 * @param readOnly      whether all connections are read-only
+	 */
+	public ConnectionPool(String url, String user, String password, ConfigManager configManager, boolean readOnly) {
+		this.url = url;
+		this.user = user;
+		this.password = password;
+		this.maxSize = Math.max(1, configManager.getDatabasePoolMaxSize());
+		this.minIdle = Math.max(0, Math.min(maxSize, configManager.getDatabasePoolMinIdle()));
+		this.borrowTimeoutNanos = TimeUnit.MILLISECONDS
+				.toNanos(Math.max(0, configManager.getDatabasePoolBorrowTimeout()));
+		this.idleTimeoutMillis = configManager.getDatabasePoolIdleTimeout();
+		this.maxLifetimeMillis = configManager.getDatabasePoolMaxLifetime();
+		this.validationTimeoutSeconds = Math.max(1, configManager.getDatabasePoolValidationTimeout());
+		this.statementCacheSize = configManager.getDatabaseStatementCacheSize();
+		this.readOnly = readOnly;
+
+		housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, readOnly ? "quizzle-db-read-pool" : "quizzle-db-pool");
+			thread.setDaemon(true);
+			return thread;
+		});
+		housekeeper.scheduleWithFixedDelay(this::housekeeping, HOUSEKEEPING_INTERVAL_MS, HOUSEKEEPING_INTERVAL_MS,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Borrows a validated connection from the pool, opening a new one if the pool
+	 * has not reached its maximum size. Blocks up to the borrow timeout if all
+	 * connections are in use.
+	 *
+	 * @return a connection that must be returned by calling
+	 *         {@link PooledConnection#close()}
+	 * @throws SQLException if the pool is closed, the timeout expires or a new
+	 *                      connection cannot be opened
+	 */
+	public PooledConnection borrow() throws SQLException {
+		long deadline = System.nanoTime() + borrowTimeoutNanos;
+
+		while (true) {
+			PooledConnection candidate = null;
+
+			lock.lock();
+			try {
+				ensureOpen();
+				while (idle.isEmpty() && totalConnections >= maxSize) {
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) {
+						throw new SQLTimeoutException(
+								"Timed out waiting for a database connection (pool size " + maxSize + ")");
+					}
+					try {
+						available.awaitNanos(remaining);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new SQLException("Interrupted while waiting for a database connection", e);
+					}
+					ensureOpen();
+				}
+				if (!idle.isEmpty()) {
+					candidate = idle.pollLast();
+				} else {
+					totalConnections++;
+				}
+			} finally {
+				lock.unlock();
+			}
+
+			if (candidate == null) {
+				PooledConnection created = openConnection();
+				created.markBorrowed();
+				return created;
+			}
+
+			if (isUsable(candidate)) {
+				candidate.markBorrowed();
+				return candidate;
+			}
+			discard(candidate);
+		}
+	}
+
+	/**
+	 * Returns a connection to the pool. Open transactions are rolled back;
+	 * connections that fail to roll back, have exceeded their lifetime or belong
+	 * to a closed pool are discarded.
+	 *
+	 * @param pooled the connection being returned
+	 */
+	void release(PooledConnection pooled) {
+		if (closed || isExpired(pooled, System.currentTimeMillis())) {
+			discard(pooled);
+			return;
+		}
+
+		try {
+			pooled.closeRetiredStatements();
+			Connection connection = pooled.getConnection();
+			connection.rollback();
+			if (connection.isReadOnly() != readOnly) {
+				connection.setReadOnly(readOnly);
+			}
+		} catch (SQLException e) {
+			ConfigManager.debugPrint("DEBUG: Discarding pooled connection after failed reset: " + e.getMessage());
+			discard(pooled);
+			return;
+		}
+
+		pooled.markReleased();
+		lock.lock();
+		try {
+			if (closed) {
+				totalConnections--;
+			} else {
+				idle.addLast(pooled);
+				available.signal();
+				return;
+			}
+		} finally {
+			lock.unlock();
+		}
+		pooled.closePhysical();
+	}
+
+	/**
+	 * Closes the pool and all idle connections. Borrowed connections are closed
+	 * when they are returned.
+	 */
+	public void close() {
+		List<PooledConnection> toClose;
+		lock.lock();
+		try {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			toClose = new ArrayList<>(idle);
+			totalConnections -= idle.size();
+			idle.clear();
+			available.signalAll();
+		} finally {
+			lock.unlock();
+		}
+		housekeeper.shutdownNow();
+		toClose.forEach(PooledConnection::closePhysical);
+	}
+
+	/**
+	 * Checks whether the pool has been closed.
+	 *
+	 * @return true if the pool is closed
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Returns the number of open physical connections.
+	 *
+	 * @return number of idle and borrowed connections
+	 */
+	public int getTotalCount() {
+		lock.lock();
+		try {
+			return totalConnections;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of idle connections.
+	 *
+	 * @return number of idle connections
+	 */
+	public int getIdleCount() {
+		lock.lock();
+		try {
+			return idle.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of connections currently borrowed.
+	 *
+	 * @return number of borrowed connections
+	 */
+	public int getActiveCount() {
+		lock.lock();
+		try {
+			return totalConnections - idle.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of statement cache hits over all connections.
+	 *
+	 * @return statement cache hits
+	 */
+	public long getStatementCacheHits() {
+		return statementCacheHits.sum();
+	}
+
+	/**
+	 * Returns the number of statement cache misses over all connections.
+	 *
+	 * @return statement cache misses
+	 */
+	public long getStatementCacheMisses() {
+		return statementCacheMisses.sum();
+	}
+
+	/**
+	 * Opens a new physical connection. The caller must already have reserved a
+	 * slot in {@link #totalConnections}; the slot is freed again on failure.
+	 *
+	 * @return new pooled connection
+	 * @throws SQLException if the connection cannot be opened
+	 */
+	private PooledConnection openConnection() throws SQLException {
+		try {
+			Connection connection = DriverManager.getConnection(url, user, password);
+			connection.setAutoCommit(false);
+			if (readOnly) {
+				connection.setReadOnly(true);
+			}
+			return new PooledConnection(this, connection,
+					new StatementCache(connection, statementCacheSize, statementCacheHits, statementCacheMisses));
+		} catch (SQLException | RuntimeException e) {
+			lock.lock();
+			try {
+				totalConnections--;
+				available.signal();
+			} finally {
+				lock.unlock();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Checks whether an idle connection may be handed out.
+	 *
+	 * @param pooled the connection to check
+	 * @return true if the connection is within its lifetime and still valid
+	 */
+	private boolean isUsable(PooledConnection pooled) {
+		if (isExpired(pooled, System.currentTimeMillis())) {
+			return false;
+		}
+		try {
+			return pooled.getConnection().isValid(validationTimeoutSeconds);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Checks whether a connection has exceeded its maximum lifetime.
+	 *
+	 * @param pooled the connection to check
+	 * @param now    current time in milliseconds
+	 * @return true if the connection is too old
+	 */
+	private boolean isExpired(PooledConnection pooled, long now) {
+		return maxLifetimeMillis > 0 && pooled.getAge(now) >= maxLifetimeMillis;
+	}
+
+	/**
+	 * Closes a connection that is no longer tracked as idle and frees its slot.
+	 *
+	 * @param pooled the connection to discard
+	 */
+	private void discard(PooledConnection pooled) {
+		pooled.closePhysical();
+		lock.lock();
+		try {
+			totalConnections--;
+			available.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Evicts idle and expired connections and tops the pool up to the minimum
+	 * number of idle connections.
+	 */
+	private void housekeeping() {
+		long now = System.currentTimeMillis();
+		List<PooledConnection> evicted = new ArrayList<>();
+		int missing;
+
+		lock.lock();
+		try {
+			if (closed) {
+				return;
+			}
+			Iterator<PooledConnection> iterator = idle.iterator();
+			while (iterator.hasNext()) {
+				PooledConnection pooled = iterator.next();
+				boolean idleTooLong = idleTimeoutMillis > 0 && pooled.getIdleTime(now) >= idleTimeoutMillis
+						&& idle.size() > minIdle;
+				if (idleTooLong || isExpired(pooled, now)) {
+					iterator.remove();
+					evicted.add(pooled);
+				}
+			}
+			totalConnections -= evicted.size();
+			missing = Math.min(minIdle - idle.size(), maxSize - totalConnections);
+			if (missing > 0) {
+				totalConnections += missing;
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		evicted.forEach(PooledConnection::closePhysical);
+		if (!evicted.isEmpty()) {
+			ConfigManager.debugPrint("DEBUG: Connection pool evicted " + evicted.size() + " connection(s)");
+		}
+
+		for (int i = 0; i < missing; i++) {
+			try {
+				PooledConnection created = openConnection();
+				created.markBorrowed();
+				created.close();
+			} catch (SQLException e) {
+				ConfigManager.debugPrint("DEBUG: Connection pool could not open idle connection: " + e.getMessage());
+				lock.lock();
+				try {
+					totalConnections -= missing - i - 1;
+				} finally {
+					lock.unlock();
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Throws if the pool has been closed. Must be called with the lock held.
+	 *
+	 * @throws SQLException if the pool is closed
+	 */
+	private void ensureOpen() throws SQLException {
+		if (closed) {
+			throw new SQLException("Connection pool is closed", "08003");
+		}
+	}
+}
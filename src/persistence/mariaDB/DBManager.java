@@ -1,17 +1,24 @@
 package persistence.mariaDB;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
 import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import constants.ConfigManager;
 import constants.UserStringConstants;
+import persistence.OfflineChange;
+import persistence.OfflineSource;
 import persistence.QuizDataInterface;
 import persistence.mariaDB.dao.AnswerDAO_MariaDB;
 import persistence.mariaDB.dao.QuestionDAO_MariaDB;
@@ -33,18 +40,24 @@ import quizlogic.dto.ThemeDTO;
  * It uses DAOs from the {@code persistence.mariaDB.dao} package to map between
  * database table rows and DTO objects from the {@code quizlogic.dto} package.
  * <p>
- * The DBManager is a <b>Singleton</b>, ensuring a single shared connection is
- * used throughout the application's lifecycle.
+ * The DBManager is a <b>Singleton</b> that owns a {@link ConnectionPool}. Every
+ * operation borrows a connection for its duration and returns it afterwards,
+ * so read operations can run in parallel with an open write transaction.
+ * <p>
+ * If a read replica is configured, catalog, session and statistics reads are
+ * routed to it through a {@link ReadReplica}; writes and the reads of the quiz
+ * flow stay on the primary. Reads fall back to the primary while the replica
+ * is down or lags behind.
  * <p>
  * Connection configuration is loaded from the ConfigManager.
- * 
+ *
  * <b>Responsibilities:</b>
  * <ul>
- * <li>Manage lifecycle of the MariaDB connection</li>
+ * <li>Manage lifecycle of the MariaDB connection pool</li>
  * <li>Implement persistence logic declared in {@link QuizDataInterface}</li>
  * <li>Maintain in-memory mappings between DTOs and their associated DAOs</li>
  * </ul>
- * 
+ *
  * @author Christos Poulios
  * @version 1.0
  * @since 1.0
@@ -54,30 +67,125 @@ public class DBManager implements QuizDataInterface {
 	/** Singleton instance */
 	private static DBManager instance;
 
-	/** Active database connection instance */
-	private Connection connection;
+	/** Pool providing the database connections */
+	private volatile ConnectionPool connectionPool;
+
+	/** Read replica for read-only queries, null if none is configured */
+	private volatile ReadReplica readReplica;
 
 	/** Configuration manager for database settings */
 	private ConfigManager configManager;
 
-	/** Map of ThemeDTO to ThemeDAO_MariaDB for caching */
-	private Map<ThemeDTO, ThemeDAO_MariaDB> themeDaoMap = new HashMap<>();
+	/** Identity map of theme DAOs by theme ID */
+	private final DaoIdentityMap<ThemeDAO_MariaDB> themeDaoMap;
 
-	/** Map of QuestionDTO to QuestionDAO_MariaDB for caching */
-	private Map<QuestionDTO, QuestionDAO_MariaDB> questionDaoMap = new HashMap<>();
+	/** Identity map of question DAOs by question ID */
+	private final DaoIdentityMap<QuestionDAO_MariaDB> questionDaoMap;
 
-	/** Map of AnswerDTO to AnswerDAO_MariaDB for caching */
-	private Map<AnswerDTO, AnswerDAO_MariaDB> answerDaoMap = new HashMap<>();
+	/** Identity map of answer DAOs by answer ID */
+	private final DaoIdentityMap<AnswerDAO_MariaDB> answerDaoMap;
 
 	/** Question session manager to avoid repetitive questions */
 	private QuestionSessionManager questionSessionManager = new QuestionSessionManager();
 
+	/** In-memory index of question IDs used for random selection */
+	private final QuestionIdIndex questionIdIndex = new QuestionIdIndex();
+
+	/** Number of selections tried before giving up when questions vanish */
+	private static final int MAX_SELECTION_ATTEMPTS = 3;
+
+	/** SQL query for a single question joined with its answers */
+	private static final String SQL_SELECT_QUESTION_WITH_ANSWERS = "SELECT q.id, q.title, q.text, q.theme_id, "
+			+ "a.id AS answer_id, a.text AS answer_text, a.isCorrect AS answer_correct "
+			+ "FROM Questions q LEFT JOIN Answers a ON a.question_id = q.id WHERE q.id = ? ORDER BY a.id";
+
+	/** SQL query for all themes joined with their questions and answers */
+	private static final String SQL_SELECT_CATALOG = "SELECT t.id, t.title, t.description, "
+			+ "q.id AS question_id, q.title AS question_title, q.text AS question_text, "
+			+ "a.id AS answer_id, a.text AS answer_text, a.isCorrect AS answer_correct "
+			+ "FROM Theme t LEFT JOIN Questions q ON q.theme_id = t.id "
+			+ "LEFT JOIN Answers a ON a.question_id = q.id ORDER BY t.id, q.id, a.id";
+
+	/** SQL statement inserting a new quiz session */
+	private static final String SQL_INSERT_SESSION = "INSERT INTO QuizSession (timestamp, user_id) VALUES (?, ?)";
+
+	/** SQL statement inserting or updating a quiz session by its ID */
+	private static final String SQL_UPSERT_SESSION = "INSERT INTO QuizSession (id, timestamp, user_id) "
+			+ "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE timestamp = VALUES(timestamp), user_id = VALUES(user_id)";
+
+	/**
+	 * SQL statement inserting a user answer or updating it on its position
+	 * within the session
+	 */
+	private static final String SQL_UPSERT_USER_ANSWER = "INSERT INTO UserAnswer "
+			+ "(quizsession_id, answer_index, question_id, answer_id, isSelected, isCorrect) "
+			+ "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE question_id = VALUES(question_id), "
+			+ "answer_id = VALUES(answer_id), isSelected = VALUES(isSelected), isCorrect = VALUES(isCorrect)";
+
+	/** SQL query for all sessions with their user answers, newest first */
+	private static final String SQL_SELECT_SESSIONS_WITH_ANSWERS = "SELECT s.id, s.timestamp, s.user_id, "
+			+ "ua.question_id, ua.answer_id, ua.isCorrect "
+			+ "FROM QuizSession s LEFT JOIN UserAnswer ua ON ua.quizsession_id = s.id "
+			+ "ORDER BY s.timestamp DESC, s.id, ua.id";
+
+	/** SQL query for the sessions started since a point in time with their user answers, oldest first */
+	private static final String SQL_SELECT_SESSIONS_SINCE_WITH_ANSWERS = "SELECT s.id, s.timestamp, s.user_id, "
+			+ "ua.question_id, ua.answer_id, ua.isCorrect "
+			+ "FROM QuizSession s LEFT JOIN UserAnswer ua ON ua.quizsession_id = s.id "
+			+ "WHERE s.timestamp >= ? ORDER BY s.timestamp, s.id, ua.id";
+
+	/** SQL query for the most recent sessions with their user answers */
+	private static final String SQL_SELECT_RECENT_SESSIONS_WITH_ANSWERS = "SELECT s.id, s.timestamp, s.user_id, "
+			+ "ua.question_id, ua.answer_id, ua.isCorrect "
+			+ "FROM (SELECT id, timestamp, user_id FROM QuizSession ORDER BY timestamp DESC, id LIMIT ?) s "
+			+ "LEFT JOIN UserAnswer ua ON ua.quizsession_id = s.id "
+			+ "ORDER BY s.timestamp DESC, s.id, ua.id";
+
+	/** SQL statement inserting or replacing the summary of a session */
+	private static final String SQL_UPSERT_SESSION_SUMMARY = "INSERT INTO SessionSummary "
+			+ "(session_id, timestamp, question_count, correct_count, success_rate) VALUES (?, ?, ?, ?, ?) "
+			+ "ON DUPLICATE KEY UPDATE timestamp = VALUES(timestamp), question_count = VALUES(question_count), "
+			+ "correct_count = VALUES(correct_count), success_rate = VALUES(success_rate)";
+
+	/** SQL query for the most recent session summaries */
+	private static final String SQL_SELECT_RECENT_SESSION_SUMMARIES = "SELECT session_id, timestamp, "
+			+ "question_count, correct_count FROM SessionSummary ORDER BY timestamp DESC, session_id LIMIT ?";
+
+	/** SQL query aggregating all sessions from their summaries */
+	private static final String SQL_SELECT_SESSION_STATISTICS = "SELECT COUNT(*) AS total_sessions, "
+			+ "COALESCE(SUM(question_count), 0) AS answered_questions, "
+			+ "COALESCE(SUM(correct_count), 0) AS correct_questions FROM SessionSummary";
+
+	/** SQL query for the questions of a theme */
+	private static final String SQL_SELECT_QUESTIONS_FOR_THEME = QuestionDAO_MariaDB.SQL_SELECT
+			+ " WHERE theme_id = ? ORDER BY id";
+
+	/** Number of answers written by one multi-row insert during an import */
+	private static final int IMPORT_ANSWER_ROWS = 100;
+
+	/** Row placeholders of a multi-row answer insert */
+	private static final String ANSWER_ROW = "(?, ?, ?)";
+
+	/** SQL statement inserting {@link #IMPORT_ANSWER_ROWS} answers at once */
+	private static final String SQL_INSERT_ANSWER_ROWS = multiRowAnswerInsert(IMPORT_ANSWER_ROWS);
+
+	/** SQL query for the answers of a question */
+	private static final String SQL_SELECT_ANSWERS_FOR_QUESTION = AnswerDAO_MariaDB.SQL_SELECT
+			+ " WHERE question_id = ? ORDER BY id";
+
 	/**
 	 * Private constructor (singleton). Use {@link #getInstance()} to access the
 	 * shared instance.
 	 */
 	private DBManager() {
 		configManager = ConfigManager.getInstance();
+		int identityMapSize = configManager.getDatabaseIdentityMapSize();
+		themeDaoMap = new DaoIdentityMap<>("themes", identityMapSize, ThemeDAO_MariaDB.SQL_SELECT,
+				ThemeDAO_MariaDB::new);
+		questionDaoMap = new DaoIdentityMap<>("questions", identityMapSize, QuestionDAO_MariaDB.SQL_SELECT,
+				QuestionDAO_MariaDB::new);
+		answerDaoMap = new DaoIdentityMap<>("answers", identityMapSize, AnswerDAO_MariaDB.SQL_SELECT,
+				AnswerDAO_MariaDB::new);
 	}
 
 	/**
@@ -85,7 +193,7 @@ public class DBManager implements QuizDataInterface {
 	 *
 	 * @return DBManager singleton
 	 */
-	public static DBManager getInstance() {
+	public static synchronized DBManager getInstance() {
 		if (instance == null) {
 			instance = new DBManager();
 		}
@@ -93,87 +201,224 @@ public class DBManager implements QuizDataInterface {
 	}
 
 	/**
-	 * Establishes a connection to the MariaDB database if not already connected.
+	 * Creates the connection pool if it does not exist yet and verifies that a
+	 * connection to the MariaDB database can be established. Pending schema
+	 * migrations are applied by the {@link SchemaMigrator} before the pool is
+	 * used.
 	 *
 	 * @throws RuntimeException if the connection fails
 	 */
 	public void connect() {
-		try {
-			if (connection == null || connection.isClosed()) {
+		if (connectionPool != null && !connectionPool.isClosed()) {
+			return;
+		}
+		synchronized (this) {
+			if (connectionPool != null && !connectionPool.isClosed()) {
+				return;
+			}
+			ConnectionPool pool = null;
+			try {
 				Class.forName(configManager.getDatabaseDriver());
-				connection = DriverManager.getConnection(configManager.getDatabaseUrl(),
-						configManager.getDatabaseUser(), configManager.getDatabasePassword());
-				connection.setAutoCommit(false);
+				pool = new ConnectionPool(configManager.getDatabaseUrl(), configManager.getDatabaseUser(),
+						configManager.getDatabasePassword(), configManager);
+				try (PooledConnection pooled = pool.borrow()) {
+					// Borrowing once verifies that the database is reachable
+					int applied = new SchemaMigrator().migrate(pooled);
+					if (applied > 0) {
+						ConfigManager.debugPrint("DEBUG: Applied " + applied + " schema migrations, now at version "
+								+ SchemaMigrator.getLatestVersion());
+					}
+				}
+				if (configManager.getDatabaseReadUrl() != null && readReplica == null) {
+					readReplica = new ReadReplica(configManager);
+				}
+				connectionPool = pool;
+			} catch (Exception e) {
+				if (pool != null) {
+					pool.close();
+				}
+				throw new RuntimeException(UserStringConstants.DB_ERROR_CONNECTION_FAILED, e);
 			}
-		} catch (Exception e) {
-			throw new RuntimeException(UserStringConstants.DB_ERROR_CONNECTION_FAILED, e);
 		}
 	}
 
 	/**
-	 * Closes the database connection if it is open.
+	 * Closes the connection pool and all idle connections.
 	 *
-	 * @throws RuntimeException if closing the connection fails
+	 * @throws RuntimeException if closing the pool fails
 	 */
-	public void disconnect() {
+	public synchronized void disconnect() {
 		try {
-			if (connection != null && !connection.isClosed()) {
-				connection.close();
-				connection = null;
+			if (connectionPool != null) {
+				connectionPool.close();
+				connectionPool = null;
 			}
-		} catch (SQLException e) {
+			if (readReplica != null) {
+				readReplica.close();
+				readReplica = null;
+			}
+		} catch (RuntimeException e) {
 			throw new RuntimeException(UserStringConstants.DB_ERROR_DISCONNECT_FAILED, e);
 		}
 	}
 
 	/**
-	 * Checks whether the DBManager currently has an active database connection.
+	 * Checks whether the DBManager currently has an open connection pool.
 	 *
 	 * @return true if connected, false otherwise
 	 */
 	public boolean isConnected() {
+		ConnectionPool pool = connectionPool;
+		return pool != null && !pool.isClosed();
+	}
+
+	/**
+	 * Checks whether the database is reachable by connecting if necessary and
+	 * borrowing a validated connection.
+	 *
+	 * @return true if a usable connection could be obtained
+	 */
+	public boolean ping() {
 		try {
-			return connection != null && !connection.isClosed();
-		} catch (SQLException e) {
+			borrowConnection().close();
+			return true;
+		} catch (Exception e) {
+			ConfigManager.debugPrint("DEBUG: Database ping failed: " + e.getMessage());
 			return false;
 		}
 	}
 
 	/**
-	 * Retrieves a random question from all themes in the database, avoiding
-	 * recently asked questions. Uses improved algorithm to ensure variety in
-	 * question selection.
+	 * Borrows a connection from the pool, connecting first if necessary. The
+	 * returned connection must be closed to give it back to the pool; any
+	 * transaction still open at that point is rolled back.
 	 *
-	 * @return a random {@link QuestionDTO} or null if no questions exist
+	 * @return a borrowed connection
+	 * @throws SQLException if no connection can be obtained
 	 */
-	@Override
-	public QuestionDTO getRandomQuestion() {
+	public PooledConnection borrowConnection() throws SQLException {
 		connect();
+		return connectionPool.borrow();
+	}
 
-		String sql = "SELECT id, title, text, theme_id FROM Questions";
-		java.util.List<QuestionDTO> allQuestions = new java.util.ArrayList<>();
-
-		try (PreparedStatement ps = connection.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+	/**
+	 * Borrows a connection for a read-only query: a connection to the read
+	 * replica if it is configured, healthy and current, otherwise a connection
+	 * to the primary.
+	 *
+	 * @return a borrowed connection
+	 * @throws SQLException if no connection can be obtained
+	 */
+	private PooledConnection borrowReadConnection() throws SQLException {
+		connect();
+		ReadReplica replica = readReplica;
+		PooledConnection pooled = replica != null ? replica.borrow() : null;
+		return pooled != null ? pooled : connectionPool.borrow();
+	}
 
-			while (rs.next()) {
-				QuestionDAO_MariaDB dao = new QuestionDAO_MariaDB();
-				dao.fromResultSet(rs);
-				QuestionDTO dto = dao.forTransport();
-				questionDaoMap.put(dto, dao);
-				allQuestions.add(dto);
+	/**
+	 * Runs a read-only operation, on the read replica if possible. If the
+	 * operation fails on the replica, the replica is skipped for a while and
+	 * the operation is repeated on the primary.
+	 *
+	 * @param <T>       result type
+	 * @param operation the operation
+	 * @return result of the operation
+	 * @throws SQLException if the operation fails on the primary
+	 */
+	private <T> T read(ReadOperation<T> operation) throws SQLException {
+		connect();
+		ReadReplica replica = readReplica;
+		PooledConnection replicaConnection = replica != null ? replica.borrow() : null;
+		if (replicaConnection != null) {
+			try (PooledConnection pooled = replicaConnection) {
+				return operation.execute(pooled);
+			} catch (SQLException e) {
+				replica.markFailed(e);
 			}
+		}
+		try (PooledConnection pooled = connectionPool.borrow()) {
+			return operation.execute(pooled);
+		}
+	}
 
-			return questionSessionManager.getRandomQuestionWithVariety(allQuestions);
+	/**
+	 * A read-only database operation on a borrowed connection.
+	 *
+	 * @param <T> result type
+	 */
+	@FunctionalInterface
+	private interface ReadOperation<T> {
+		T execute(PooledConnection pooled) throws SQLException;
+	}
 
+	/**
+	 * Rethrows a database error of a write if it means that the database is
+	 * unreachable or does not answer in time. Writes report other errors, such
+	 * as a rejected statement, as their result message; an unavailable database
+	 * must surface as an exception instead, so the circuit breaker of the
+	 * {@link persistence.DataManager} counts it and the write falls back to file
+	 * storage.
+	 *
+	 * @param e the database error
+	 * @throws RuntimeException if the database is unavailable
+	 */
+	private static void throwIfUnavailable(SQLException e) {
+		String state = e.getSQLState();
+		if (e instanceof SQLTransientConnectionException || e instanceof SQLNonTransientConnectionException
+				|| e instanceof SQLRecoverableException || e instanceof SQLTimeoutException
+				|| (state != null && state.startsWith("08"))) {
+			throw new RuntimeException(UserStringConstants.DB_ERROR_CONNECTION_FAILED, e);
+		}
+	}
+
+	/**
+	 * Returns the routing counters of the read replica.
+	 *
+	 * @return read routing statistics, or null if no replica is configured
+	 */
+	public ReadRoutingStats getReadRoutingStats() {
+		ReadReplica replica = readReplica;
+		return replica != null ? replica.getStats() : null;
+	}
+
+	/**
+	 * Retrieves a random question from all themes in the database, avoiding
+	 * recently asked questions. The selection works on the in-memory
+	 * {@link QuestionIdIndex}; only the selected question and its answers are
+	 * loaded from the database.
+	 *
+	 * @return a random {@link QuestionDTO} or null if no questions exist
+	 */
+	@Override
+	public QuestionDTO getRandomQuestion() {
+		try (PooledConnection pooled = borrowConnection()) {
+			for (int attempt = 0; attempt < MAX_SELECTION_ATTEMPTS; attempt++) {
+				questionIdIndex.refresh(pooled);
+				int questionId;
+				synchronized (questionSessionManager) {
+					questionId = questionSessionManager.getRandomQuestionIdWithVariety(questionIdIndex.getAllIds());
+				}
+				if (questionId == constants.LogicConstants.INVALID_ID) {
+					return null;
+				}
+				QuestionDTO question = loadQuestionWithAnswers(pooled, questionId);
+				if (question != null) {
+					return question;
+				}
+				questionIdIndex.invalidate();
+			}
 		} catch (SQLException e) {
 			throw new RuntimeException("Failed to get random question", e);
 		}
+		return null;
 	}
 
 	/**
 	 * Retrieves a random question for a given theme from the database, avoiding
-	 * recently asked questions. Uses improved algorithm to ensure variety in
-	 * question selection within the theme.
+	 * recently asked questions. The selection works on the in-memory
+	 * {@link QuestionIdIndex}; only the selected question and its answers are
+	 * loaded from the database.
 	 *
 	 * @param theme the {@link ThemeDTO} representing the theme
 	 * @return a random {@link QuestionDTO} or null if no questions exist for that
@@ -181,34 +426,106 @@ public class DBManager implements QuizDataInterface {
 	 */
 	@Override
 	public QuestionDTO getRandomQuestionFor(ThemeDTO theme) {
-		connect();
-		ThemeDAO_MariaDB themeDao = themeDaoMap.get(theme);
-		if (themeDao == null) {
-			return null;
+		try (PooledConnection pooled = borrowConnection()) {
+			ThemeDAO_MariaDB themeDao = themeDaoMap.getOrLoad(pooled, theme.getId());
+			if (themeDao == null) {
+				return null;
+			}
+			for (int attempt = 0; attempt < MAX_SELECTION_ATTEMPTS; attempt++) {
+				questionIdIndex.refresh(pooled);
+				int questionId;
+				synchronized (questionSessionManager) {
+					questionId = questionSessionManager.getRandomQuestionIdForThemeWithVariety(theme.getId(),
+							questionIdIndex.getIdsForTheme(themeDao.getId()));
+				}
+				if (questionId == constants.LogicConstants.INVALID_ID) {
+					return null;
+				}
+				QuestionDTO question = loadQuestionWithAnswers(pooled, questionId);
+				if (question != null) {
+					return question;
+				}
+				questionIdIndex.invalidate();
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("Failed to get random question for theme", e);
 		}
+		return null;
+	}
 
-		String sql = "SELECT id, title, text, theme_id FROM Questions WHERE theme_id = ?";
-		java.util.List<QuestionDTO> themeQuestions = new java.util.ArrayList<>();
+	/**
+	 * Returns a random question together with its answers. The question is picked
+	 * from the in-memory ID index and loaded with its answers by a single JOIN
+	 * query.
+	 *
+	 * @param theme theme to select from, or null for all themes
+	 * @return a random {@link QuestionDTO} with answers, or null if no questions
+	 *         exist
+	 */
+	@Override
+	public QuestionDTO getRandomQuestionWithAnswers(ThemeDTO theme) {
+		return theme != null ? getRandomQuestionFor(theme) : getRandomQuestion();
+	}
 
-		try (PreparedStatement ps = connection.prepareStatement(sql)) {
-			ps.setInt(1, themeDao.getId());
-			try (ResultSet rs = ps.executeQuery()) {
-				while (rs.next()) {
+	/**
+	 * Gives an unshown question back to the in-memory selection. No database
+	 * access is needed.
+	 *
+	 * @param question the drawn question
+	 * @param theme    the theme the question was drawn from, or null for all
+	 *                 themes
+	 */
+	@Override
+	public void returnUnshownQuestion(QuestionDTO question, ThemeDTO theme) {
+		synchronized (questionSessionManager) {
+			if (theme != null) {
+				questionSessionManager.returnQuestionIdForTheme(theme.getId(), question.getId());
+			} else {
+				questionSessionManager.returnQuestionId(question.getId());
+			}
+		}
+	}
+
+	/**
+	 * Loads a single question by its ID together with its answers in one JOIN
+	 * query and registers both in the DAO caches.
+	 *
+	 * @param pooled     connection to run the query on
+	 * @param questionId ID of the question
+	 * @return the question with its answers, or null if it no longer exists
+	 * @throws SQLException if a database error occurs
+	 */
+	private QuestionDTO loadQuestionWithAnswers(PooledConnection pooled, int questionId) throws SQLException {
+		QuestionDTO question = null;
+		ArrayList<AnswerDTO> answers = new ArrayList<>();
+		PreparedStatement ps = pooled.prepareStatement(SQL_SELECT_QUESTION_WITH_ANSWERS);
+		ps.setInt(1, questionId);
+		try (ResultSet rs = ps.executeQuery()) {
+			while (rs.next()) {
+				if (question == null) {
 					QuestionDAO_MariaDB dao = new QuestionDAO_MariaDB();
 					dao.fromResultSet(rs);
-					QuestionDTO dto = dao.forTransport();
-					questionDaoMap.put(dto, dao);
-					themeQuestions.add(dto);
+					question = dao.forTransport();
+					questionDaoMap.put(dao);
+				}
+				int answerId = rs.getInt("answer_id");
+				if (rs.wasNull()) {
+					continue;
 				}
+				AnswerDAO_MariaDB dao = new AnswerDAO_MariaDB();
+				dao.setId(answerId);
+				dao.setText(rs.getString("answer_text"));
+				dao.setCorrect(rs.getBoolean("answer_correct"));
+				dao.setQuestionId(questionId);
+				AnswerDTO dto = dao.forTransport();
+				answerDaoMap.put(dao);
+				answers.add(dto);
 			}
-		} catch (SQLException e) {
-			throw new RuntimeException("Failed to get random question for theme", e);
 		}
-
-		ThemeDTO tempTheme = new ThemeDTO(theme.getId());
-		tempTheme.setQuestions(themeQuestions);
-
-		return questionSessionManager.getRandomQuestionForThemeWithVariety(tempTheme);
+		if (question != null) {
+			question.setAnswers(answers);
+		}
+		return question;
 	}
 
 	/**
@@ -218,19 +535,94 @@ public class DBManager implements QuizDataInterface {
 	 */
 	@Override
 	public ArrayList<ThemeDTO> getAllThemes() {
-		connect();
+		String sql = ThemeDAO_MariaDB.SQL_SELECT;
+		try {
+			return read(pooled -> {
+				ArrayList<ThemeDTO> themes = new ArrayList<>();
+				try (ResultSet rs = pooled.prepareStatement(sql).executeQuery()) {
+					while (rs.next()) {
+						ThemeDAO_MariaDB dao = new ThemeDAO_MariaDB();
+						dao.fromResultSet(rs);
+						ThemeDTO dto = dao.forTransport();
+						themeDaoMap.put(dao);
+						themes.add(dto);
+					}
+				}
+				return themes;
+			});
+		} catch (SQLException e) {
+			throw new RuntimeException("Failed to get all themes", e);
+		}
+	}
+
+	/**
+	 * Loads all themes with their questions and answers from a single JOIN query.
+	 * The rows are streamed in theme and question order and linked in one pass;
+	 * all loaded DAOs are registered in the identity maps.
+	 *
+	 * @return list of {@link ThemeDTO} objects with questions and answers set
+	 */
+	@Override
+	public ArrayList<ThemeDTO> loadCatalog() {
+		try {
+			return read(this::loadCatalog);
+		} catch (SQLException e) {
+			throw new RuntimeException("Failed to load catalog", e);
+		}
+	}
+
+	/**
+	 * Loads the catalog using the given connection.
+	 *
+	 * @param pooled connection to run the query on
+	 * @return list of {@link ThemeDTO} objects with questions and answers set
+	 * @throws SQLException if a database error occurs
+	 */
+	private ArrayList<ThemeDTO> loadCatalog(PooledConnection pooled) throws SQLException {
 		ArrayList<ThemeDTO> themes = new ArrayList<>();
-		String sql = new ThemeDAO_MariaDB().getSelectStatement();
-		try (PreparedStatement ps = connection.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+		PreparedStatement ps = pooled.prepareStatement(SQL_SELECT_CATALOG);
+		ps.setFetchSize(configManager.getDatabaseFetchSize());
+		ThemeDTO theme = null;
+		QuestionDTO question = null;
+		try (ResultSet rs = ps.executeQuery()) {
 			while (rs.next()) {
-				ThemeDAO_MariaDB dao = new ThemeDAO_MariaDB();
-				dao.fromResultSet(rs);
-				ThemeDTO dto = dao.forTransport();
-				themeDaoMap.put(dto, dao);
-				themes.add(dto);
+				int themeId = rs.getInt("id");
+				if (theme == null || theme.getId() != themeId) {
+					ThemeDAO_MariaDB dao = new ThemeDAO_MariaDB();
+					dao.fromResultSet(rs);
+					themeDaoMap.put(dao);
+					theme = dao.forTransport();
+					themes.add(theme);
+					question = null;
+				}
+
+				int questionId = rs.getInt("question_id");
+				if (rs.wasNull()) {
+					continue;
+				}
+				if (question == null || question.getId() != questionId) {
+					QuestionDAO_MariaDB dao = new QuestionDAO_MariaDB();
+					dao.setId(questionId);
+					dao.setTitle(rs.getString("question_title"));
+					dao.setQuestionText(rs.getString("question_text"));
+					dao.setThemeId(themeId);
+					questionDaoMap.put(dao);
+					question = dao.forTransport();
+					theme.getQuestions().add(question);
+				}
+
+				int answerId = rs.getInt("answer_id");
+				if (rs.wasNull()) {
+					continue;
+				}
+				AnswerDAO_MariaDB dao = new AnswerDAO_MariaDB();
+				dao.setId(answerId);
+				dao.setText(rs.getString("answer_text"));
+				dao.setCorrect(rs.getBoolean("answer_correct"));
+				dao.setQuestionId(questionId);
+				answerDaoMap.put(dao);
+				question.getAnswers().add(dao.forTransport());
 			}
-		} catch (SQLException e) {
-			throw new RuntimeException("Failed to get all themes", e);
 		}
 		return themes;
 	}
@@ -244,15 +636,13 @@ public class DBManager implements QuizDataInterface {
 	 */
 	@Override
 	public String saveTheme(ThemeDTO theme) {
-		connect();
-		try {
-			ThemeDAO_MariaDB dao = themeDaoMap.get(theme);
-			if (dao == null) {
-				dao = ThemeDAO_MariaDB.fromTransport(theme);
-			} else {
-				dao.setThemeTitle(theme.getThemeTitle());
-				dao.setThemeDescription(theme.getThemeDescription());
-			}
+		try (PooledConnection pooled = borrowConnection()) {
+			Connection connection = pooled.getConnection();
+			// The cached DAO is replaced only after the commit, so a failed save
+			// leaves it untouched
+			ThemeDAO_MariaDB cached = themeDaoMap.getOrLoad(pooled, theme.getId());
+			ThemeDAO_MariaDB dao = cached == null ? ThemeDAO_MariaDB.fromTransport(theme)
+					: new ThemeDAO_MariaDB(cached.getId(), theme.getThemeTitle(), theme.getThemeDescription());
 
 			try {
 				dao.performValidation();
@@ -261,46 +651,36 @@ public class DBManager implements QuizDataInterface {
 			}
 
 			if (dao.isNew()) {
-				try (PreparedStatement ps = connection.prepareStatement(dao.getInsertStatement(),
-						Statement.RETURN_GENERATED_KEYS)) {
-					dao.setPreparedStatementParameters(ps);
-					int rowsAffected = ps.executeUpdate();
-					if (rowsAffected > 0) {
-						try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
-							if (generatedKeys.next()) {
-								int newId = generatedKeys.getInt(1);
-								dao.setId(newId);
-								theme.setId(newId);
-								themeDaoMap.put(theme, dao);
-								connection.commit();
-								return UserStringConstants.DB_MSG_THEME_CREATED_SUCCESS;
-							}
+				PreparedStatement ps = pooled.prepareStatement(dao.getInsertStatement(),
+						Statement.RETURN_GENERATED_KEYS);
+				dao.setPreparedStatementParameters(ps);
+				int rowsAffected = ps.executeUpdate();
+				if (rowsAffected > 0) {
+					try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+						if (generatedKeys.next()) {
+							int newId = generatedKeys.getInt(1);
+							dao.setId(newId);
+							connection.commit();
+							theme.setId(newId);
+							themeDaoMap.put(dao);
+							return UserStringConstants.DB_MSG_THEME_CREATED_SUCCESS;
 						}
 					}
 				}
 			} else {
-				try (PreparedStatement ps = connection.prepareStatement(dao.getUpdateStatement())) {
-					dao.setPreparedStatementParameters(ps);
-					int rowsAffected = ps.executeUpdate();
-					if (rowsAffected > 0) {
-						connection.commit();
-						return UserStringConstants.DB_MSG_THEME_UPDATED_SUCCESS;
-					}
+				PreparedStatement ps = pooled.prepareStatement(dao.getUpdateStatement());
+				dao.setPreparedStatementParameters(ps);
+				int rowsAffected = ps.executeUpdate();
+				if (rowsAffected > 0) {
+					connection.commit();
+					themeDaoMap.put(dao);
+					return UserStringConstants.DB_MSG_THEME_UPDATED_SUCCESS;
 				}
 			}
 		} catch (SQLException e) {
-			try {
-				connection.rollback();
-			} catch (SQLException rollbackEx) {
-
-			}
+			throwIfUnavailable(e);
 			return String.format(UserStringConstants.DB_ERROR_DATABASE, e.getMessage());
 		} catch (Exception e) {
-			try {
-				connection.rollback();
-			} catch (SQLException rollbackEx) {
-
-			}
 			return String.format(UserStringConstants.DB_ERROR_GENERAL, e.getMessage());
 		}
 		return UserStringConstants.DB_ERROR_THEME_SAVE_FAILED;
@@ -314,27 +694,26 @@ public class DBManager implements QuizDataInterface {
 	 */
 	@Override
 	public String deleteTheme(ThemeDTO theme) {
-		connect();
-		ThemeDAO_MariaDB dao = themeDaoMap.get(theme);
-		if (dao == null || dao.isNew()) {
-			return UserStringConstants.DB_ERROR_THEME_NOT_FOUND;
-		}
-		try (PreparedStatement ps = connection.prepareStatement(dao.getDeleteStatement())) {
+		try (PooledConnection pooled = borrowConnection()) {
+			ThemeDAO_MariaDB dao = themeDaoMap.getOrLoad(pooled, theme.getId());
+			if (dao == null) {
+				return UserStringConstants.DB_ERROR_THEME_NOT_FOUND;
+			}
+			PreparedStatement ps = pooled.prepareStatement(dao.getDeleteStatement());
 			ps.setInt(1, dao.getId());
 			int rowsAffected = ps.executeUpdate();
 			if (rowsAffected > 0) {
-				themeDaoMap.remove(theme);
-				connection.commit();
+				pooled.getConnection().commit();
+				int themeId = dao.getId();
+				themeDaoMap.remove(themeId);
+				questionDaoMap.removeIf(questionDao -> questionDao.getThemeId() == themeId);
+				questionIdIndex.invalidate();
 				return UserStringConstants.DB_MSG_THEME_DELETED_SUCCESS;
 			} else {
 				return UserStringConstants.DB_ERROR_THEME_NOT_FOUND_FOR_DELETE;
 			}
 		} catch (SQLException e) {
-			try {
-				connection.rollback();
-			} catch (SQLException rollbackEx) {
-
-			}
+			throwIfUnavailable(e);
 			return String.format(UserStringConstants.DB_ERROR_DATABASE, e.getMessage());
 		}
 	}
@@ -347,30 +726,61 @@ public class DBManager implements QuizDataInterface {
 	 */
 	@Override
 	public ArrayList<QuestionDTO> getQuestionsFor(ThemeDTO theme) {
-		connect();
-		ThemeDAO_MariaDB themeDao = themeDaoMap.get(theme);
-		if (themeDao == null) {
-			return new ArrayList<>();
-		}
-		ArrayList<QuestionDTO> questions = new ArrayList<>();
-		String sql = new QuestionDAO_MariaDB().getSelectStatement() + " WHERE theme_id = ? ORDER BY id";
-		try (PreparedStatement ps = connection.prepareStatement(sql)) {
-			ps.setInt(1, themeDao.getId());
-			try (ResultSet rs = ps.executeQuery()) {
-				while (rs.next()) {
-					QuestionDAO_MariaDB dao = new QuestionDAO_MariaDB();
-					dao.fromResultSet(rs);
-					QuestionDTO dto = dao.forTransport();
-					questionDaoMap.put(dto, dao);
-					questions.add(dto);
+		try {
+			return read(pooled -> {
+				ThemeDAO_MariaDB themeDao = themeDaoMap.getOrLoad(pooled, theme.getId());
+				if (themeDao == null) {
+					return new ArrayList<>();
 				}
-			}
+				return getQuestionsFor(pooled, themeDao.getId());
+			});
 		} catch (SQLException e) {
 			throw new RuntimeException("Failed to get questions for theme", e);
 		}
+	}
+
+	/**
+	 * Retrieves all questions for a theme ID using the given connection.
+	 *
+	 * @param pooled  connection to run the query on
+	 * @param themeId ID of the theme
+	 * @return list of {@link QuestionDTO}s
+	 * @throws SQLException if a database error occurs
+	 */
+	private ArrayList<QuestionDTO> getQuestionsFor(PooledConnection pooled, int themeId) throws SQLException {
+		ArrayList<QuestionDTO> questions = new ArrayList<>();
+		PreparedStatement ps = pooled.prepareStatement(SQL_SELECT_QUESTIONS_FOR_THEME);
+		ps.setInt(1, themeId);
+		try (ResultSet rs = ps.executeQuery()) {
+			while (rs.next()) {
+				QuestionDAO_MariaDB dao = new QuestionDAO_MariaDB();
+				dao.fromResultSet(rs);
+				QuestionDTO dto = dao.forTransport();
+				questionDaoMap.put(dao);
+				questions.add(dto);
+			}
+		}
 		return questions;
 	}
 
+	/**
+	 * Streams the questions of a theme without materializing them. The rows are
+	 * fetched in chunks of the configured fetch size and bypass the identity
+	 * maps, so a long stream does not evict the cached DAOs.
+	 *
+	 * @param theme the theme to stream the questions of
+	 * @return stream of {@link QuestionDTO}s, to be closed by the caller
+	 */
+	@Override
+	public Stream<QuestionDTO> streamQuestions(ThemeDTO theme) {
+		return openStream(SQL_SELECT_QUESTIONS_FOR_THEME, ps -> ps.setInt(1, theme.getId()), cursor -> {
+			QuestionDAO_MariaDB dao = new QuestionDAO_MariaDB();
+			dao.fromResultSet(cursor.getResultSet());
+			cursor.next();
+			return dao.forTransport();
+		}, "questions");
+	}
+
 	/**
 	 * Saves a question to the database (must already be linked to a theme in
 	 * cache).
@@ -380,146 +790,114 @@ public class DBManager implements QuizDataInterface {
 	 */
 	@Override
 	public String saveQuestion(QuestionDTO question) {
-		connect();
-		try {
-			QuestionDAO_MariaDB dao = questionDaoMap.get(question);
-			if (dao == null) {
+		try (PooledConnection pooled = borrowConnection()) {
+			Connection connection = pooled.getConnection();
+			QuestionDAO_MariaDB cached = questionDaoMap.getOrLoad(pooled, question.getId());
+			if (cached == null) {
 				return UserStringConstants.DB_ERROR_QUESTION_NOT_ASSOCIATED;
 			}
-			dao.setQuestionText(question.getQuestionText());
+			// The cached DAO is replaced only after the commit, so a failed save
+			// leaves it untouched
+			QuestionDAO_MariaDB dao = new QuestionDAO_MariaDB(cached.getId(), cached.getTitle(),
+					question.getQuestionText(), cached.getThemeId());
 			try {
 				dao.performValidation();
 			} catch (IllegalArgumentException ex) {
 				return String.format(UserStringConstants.DB_ERROR_VALIDATION_FAILED, ex.getMessage());
 			}
 			if (dao.isNew()) {
-				try (PreparedStatement ps = connection.prepareStatement(dao.getInsertStatement(),
-						Statement.RETURN_GENERATED_KEYS)) {
-					dao.setPreparedStatementParameters(ps);
-					int rowsAffected = ps.executeUpdate();
-					if (rowsAffected > 0) {
-						try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
-							if (generatedKeys.next()) {
-								dao.setId(generatedKeys.getInt(1));
-								connection.commit();
-								return UserStringConstants.DB_MSG_QUESTION_CREATED_SUCCESS;
-							}
+				PreparedStatement ps = pooled.prepareStatement(dao.getInsertStatement(),
+						Statement.RETURN_GENERATED_KEYS);
+				dao.setPreparedStatementParameters(ps);
+				int rowsAffected = ps.executeUpdate();
+				if (rowsAffected > 0) {
+					try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+						if (generatedKeys.next()) {
+							dao.setId(generatedKeys.getInt(1));
+							connection.commit();
+							questionDaoMap.put(dao);
+							return UserStringConstants.DB_MSG_QUESTION_CREATED_SUCCESS;
 						}
 					}
 				}
 			} else {
-				try (PreparedStatement ps = connection.prepareStatement(dao.getUpdateStatement())) {
-					dao.setPreparedStatementParameters(ps);
-					int rowsAffected = ps.executeUpdate();
-					if (rowsAffected > 0) {
-						connection.commit();
-						return UserStringConstants.DB_MSG_QUESTION_UPDATED_SUCCESS;
-					}
+				PreparedStatement ps = pooled.prepareStatement(dao.getUpdateStatement());
+				dao.setPreparedStatementParameters(ps);
+				int rowsAffected = ps.executeUpdate();
+				if (rowsAffected > 0) {
+					connection.commit();
+					questionDaoMap.put(dao);
+					return UserStringConstants.DB_MSG_QUESTION_UPDATED_SUCCESS;
 				}
 			}
 		} catch (SQLException e) {
-			try {
-				connection.rollback();
-			} catch (SQLException rollbackEx) {
-
-			}
+			throwIfUnavailable(e);
 			return String.format(UserStringConstants.DB_ERROR_DATABASE, e.getMessage());
 		} catch (Exception e) {
-			try {
-				connection.rollback();
-			} catch (SQLException rollbackEx) {
-
-			}
 			return String.format(UserStringConstants.DB_ERROR_GENERAL, e.getMessage());
 		}
 		return UserStringConstants.DB_ERROR_QUESTION_SAVE_FAILED;
 	}
 
 	/**
-	 * Saves a question and associates it with a specific theme.
+	 * Saves a question and associates it with a specific theme. The question and
+	 * all of its answers are written in a single transaction on one borrowed
+	 * connection.
 	 *
 	 * @param question question DTO
 	 * @param theme    theme DTO
 	 * @return result message
 	 */
 	public String saveQuestion(QuestionDTO question, ThemeDTO theme) {
-		connect();
-		ThemeDAO_MariaDB themeDao = themeDaoMap.get(theme);
-		if (themeDao == null) {
-			return UserStringConstants.DB_ERROR_THEME_NOT_FOUND;
-		}
-		
-		try {
-			// Starte explizit eine neue Transaction falls noch keine läuft
-			if (connection.getAutoCommit()) {
-				connection.setAutoCommit(false);
+		try (PooledConnection pooled = borrowConnection()) {
+			Connection connection = pooled.getConnection();
+
+			ThemeDAO_MariaDB themeDao = themeDaoMap.getOrLoad(pooled, theme.getId());
+			if (themeDao == null) {
+				return UserStringConstants.DB_ERROR_THEME_NOT_FOUND;
 			}
-			
-			QuestionDAO_MariaDB dao = questionDaoMap.get(question);
-			if (dao == null) {
-				// Suche nach bestehender Frage anhand der globalen ID in der Datenbank (wie im Original)
-				if (question.getId() > 0) {
-					// Lade alle Fragen für das Thema und suche nach der ID
-					ArrayList<QuestionDTO> questionsForTheme = getQuestionsFor(theme);
-					for (QuestionDTO dbQuestion : questionsForTheme) {
-						if (dbQuestion.getId() == question.getId()) {
-							// Verwende die Frage aus der Datenbank und deren DAO
-							dao = questionDaoMap.get(dbQuestion);
-							if (dao != null) {
-								// Aktualisiere die Daten der bestehenden DAO
-								dao.setTitle(question.getQuestionTitle());
-								dao.setQuestionText(question.getQuestionText());
-								dao.setThemeId(themeDao.getId());
-								questionDaoMap.put(question, dao); // Neue Referenz im Cache
-							}
-							break;
-						}
-					}
-				}
-				
-				if (dao == null) {
-					// Erstelle neue DAO für neue Frage
-					dao = QuestionDAO_MariaDB.fromTransport(question, themeDao.getId());
-					questionDaoMap.put(question, dao);
-				}
+
+			// Bestehende Frage wird bei Bedarf anhand ihrer ID aus der Datenbank geladen
+			QuestionDAO_MariaDB cached = questionDaoMap.getOrLoad(pooled, question.getId());
+			QuestionDAO_MariaDB dao;
+			if (cached == null) {
+				// Erstelle neue DAO für neue Frage
+				dao = QuestionDAO_MariaDB.fromTransport(question, themeDao.getId());
 			} else {
-				// Aktualisiere bestehende DAO
-				dao.setTitle(question.getQuestionTitle());
-				dao.setQuestionText(question.getQuestionText());
-				dao.setThemeId(themeDao.getId());
+				// Änderungen an einer Kopie, die gecachte DAO wird erst nach dem Commit ersetzt
+				dao = new QuestionDAO_MariaDB(cached.getId(), question.getQuestionTitle(),
+						question.getQuestionText(), themeDao.getId());
 			}
-			
+
 			try {
 				dao.performValidation();
 			} catch (IllegalArgumentException ex) {
-				connection.rollback();
 				return String.format(UserStringConstants.DB_ERROR_VALIDATION_FAILED, ex.getMessage());
 			}
 
+			boolean existingQuestion = !dao.isNew();
 			String questionResult = null;
 			if (dao.isNew()) {
-				try (PreparedStatement ps = connection.prepareStatement(dao.getInsertStatement(),
-						Statement.RETURN_GENERATED_KEYS)) {
-					dao.setPreparedStatementParameters(ps);
-					int rowsAffected = ps.executeUpdate();
-					if (rowsAffected > 0) {
-						try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
-							if (generatedKeys.next()) {
-								int newId = generatedKeys.getInt(1);
-								dao.setId(newId);
-								question.setId(newId);
-								questionResult = UserStringConstants.DB_MSG_QUESTION_CREATED_SUCCESS;
-							}
+				PreparedStatement ps = pooled.prepareStatement(dao.getInsertStatement(),
+						Statement.RETURN_GENERATED_KEYS);
+				dao.setPreparedStatementParameters(ps);
+				int rowsAffected = ps.executeUpdate();
+				if (rowsAffected > 0) {
+					try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+						if (generatedKeys.next()) {
+							int newId = generatedKeys.getInt(1);
+							dao.setId(newId);
+							question.setId(newId);
+							questionResult = UserStringConstants.DB_MSG_QUESTION_CREATED_SUCCESS;
 						}
 					}
 				}
 			} else {
-				try (PreparedStatement ps = connection.prepareStatement(dao.getUpdateStatement())) {
-					dao.setPreparedStatementParameters(ps);
-					int rowsAffected = ps.executeUpdate();
-					if (rowsAffected > 0) {
-						questionResult = UserStringConstants.DB_MSG_QUESTION_UPDATED_SUCCESS;
-					}
+				PreparedStatement ps = pooled.prepareStatement(dao.getUpdateStatement());
+				dao.setPreparedStatementParameters(ps);
+				int rowsAffected = ps.executeUpdate();
+				if (rowsAffected > 0) {
+					questionResult = UserStringConstants.DB_MSG_QUESTION_UPDATED_SUCCESS;
 				}
 			}
 
@@ -527,42 +905,42 @@ public class DBManager implements QuizDataInterface {
 				StringBuilder results = new StringBuilder(questionResult);
 
 				if (!dao.isNew()) {
-					deleteAnswersForQuestion(dao.getId());
+					deleteAnswersForQuestion(pooled, dao.getId());
 				}
 
+				List<AnswerDAO_MariaDB> savedAnswers = new ArrayList<>();
 				for (AnswerDTO answer : question.getAnswers()) {
 					answer.setQuestionId(dao.getId());
-					String answerResult = saveAnswer(answer, question);
+					String answerResult = saveAnswer(pooled, answer, dao.getId(), savedAnswers);
 					if (!answerResult.contains("successfully")) {
 						results.append("; Answer save failed: ").append(answerResult);
 					}
 				}
 
 				connection.commit();
+				questionDaoMap.put(dao);
+				savedAnswers.forEach(answerDaoMap::put);
+				if (existingQuestion) {
+					questionIdIndex.invalidate();
+				}
 				return results.toString();
 			}
 
 			if (questionResult != null) {
 				connection.commit();
+				questionDaoMap.put(dao);
+				if (existingQuestion) {
+					questionIdIndex.invalidate();
+				}
 				return questionResult;
 			} else {
-				connection.rollback();
 				return UserStringConstants.DB_ERROR_QUESTION_SAVE_FAILED;
 			}
 
 		} catch (SQLException e) {
-			try {
-				connection.rollback();
-			} catch (SQLException rollbackEx) {
-				// Log rollback error but don't throw
-			}
+			throwIfUnavailable(e);
 			return String.format(UserStringConstants.DB_ERROR_DATABASE, e.getMessage());
 		} catch (Exception e) {
-			try {
-				connection.rollback();
-			} catch (SQLException rollbackEx) {
-				// Log rollback error but don't throw
-			}
 			return String.format(UserStringConstants.DB_ERROR_GENERAL, e.getMessage());
 		}
 	}
@@ -575,27 +953,26 @@ public class DBManager implements QuizDataInterface {
 	 */
 	@Override
 	public String deleteQuestion(QuestionDTO question) {
-		connect();
-		QuestionDAO_MariaDB dao = questionDaoMap.get(question);
-		if (dao == null || dao.isNew()) {
-			return UserStringConstants.DB_ERROR_QUESTION_NOT_FOUND;
-		}
-		try (PreparedStatement ps = connection.prepareStatement(dao.getDeleteStatement())) {
+		try (PooledConnection pooled = borrowConnection()) {
+			QuestionDAO_MariaDB dao = questionDaoMap.getOrLoad(pooled, question.getId());
+			if (dao == null) {
+				return UserStringConstants.DB_ERROR_QUESTION_NOT_FOUND;
+			}
+			PreparedStatement ps = pooled.prepareStatement(dao.getDeleteStatement());
 			ps.setInt(1, dao.getId());
 			int rowsAffected = ps.executeUpdate();
 			if (rowsAffected > 0) {
-				questionDaoMap.remove(question);
-				connection.commit();
+				pooled.getConnection().commit();
+				int questionId = dao.getId();
+				questionDaoMap.remove(questionId);
+				answerDaoMap.removeIf(answerDao -> answerDao.getQuestionId() == questionId);
+				questionIdIndex.invalidate();
 				return UserStringConstants.DB_MSG_QUESTION_DELETED_SUCCESS;
 			} else {
 				return UserStringConstants.DB_ERROR_QUESTION_NOT_FOUND_FOR_DELETE;
 			}
 		} catch (SQLException e) {
-			try {
-				connection.rollback();
-			} catch (SQLException rollbackEx) {
-
-			}
+			throwIfUnavailable(e);
 			return String.format(UserStringConstants.DB_ERROR_DATABASE, e.getMessage());
 		}
 	}
@@ -608,28 +985,30 @@ public class DBManager implements QuizDataInterface {
 	 */
 	@Override
 	public ArrayList<AnswerDTO> getAnswersFor(QuestionDTO question) {
-		connect();
-		QuestionDAO_MariaDB questionDao = questionDaoMap.get(question);
-		if (questionDao == null) {
-			return new ArrayList<>();
-		}
-		ArrayList<AnswerDTO> answers = new ArrayList<>();
-		String sql = new AnswerDAO_MariaDB().getSelectStatement() + " WHERE question_id = ? ORDER BY id";
-		try (PreparedStatement ps = connection.prepareStatement(sql)) {
-			ps.setInt(1, questionDao.getId());
-			try (ResultSet rs = ps.executeQuery()) {
-				while (rs.next()) {
-					AnswerDAO_MariaDB dao = new AnswerDAO_MariaDB();
-					dao.fromResultSet(rs);
-					AnswerDTO dto = dao.forTransport();
-					answerDaoMap.put(dto, dao);
-					answers.add(dto);
+		String sql = SQL_SELECT_ANSWERS_FOR_QUESTION;
+		try {
+			return read(pooled -> {
+				ArrayList<AnswerDTO> answers = new ArrayList<>();
+				QuestionDAO_MariaDB questionDao = questionDaoMap.getOrLoad(pooled, question.getId());
+				if (questionDao == null) {
+					return answers;
 				}
-			}
+				PreparedStatement ps = pooled.prepareStatement(sql);
+				ps.setInt(1, questionDao.getId());
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						AnswerDAO_MariaDB dao = new AnswerDAO_MariaDB();
+						dao.fromResultSet(rs);
+						AnswerDTO dto = dao.forTransport();
+						answerDaoMap.put(dao);
+						answers.add(dto);
+					}
+				}
+				return answers;
+			});
 		} catch (SQLException e) {
 			throw new RuntimeException("Failed to get answers for question", e);
 		}
-		return answers;
 	}
 
 	/**
@@ -640,66 +1019,77 @@ public class DBManager implements QuizDataInterface {
 	 * @return result message
 	 */
 	public String saveAnswer(AnswerDTO answer, QuestionDTO question) {
-		connect();
-		QuestionDAO_MariaDB questionDao = questionDaoMap.get(question);
-		if (questionDao == null) {
-			return UserStringConstants.DB_ERROR_QUESTION_NOT_FOUND;
+		try (PooledConnection pooled = borrowConnection()) {
+			QuestionDAO_MariaDB questionDao = questionDaoMap.getOrLoad(pooled, question.getId());
+			if (questionDao == null) {
+				return UserStringConstants.DB_ERROR_QUESTION_NOT_FOUND;
+			}
+			List<AnswerDAO_MariaDB> saved = new ArrayList<>(1);
+			String result = saveAnswer(pooled, answer, questionDao.getId(), saved);
+			if (UserStringConstants.DB_MSG_ANSWER_CREATED_SUCCESS.equals(result)
+					|| UserStringConstants.DB_MSG_ANSWER_UPDATED_SUCCESS.equals(result)) {
+				pooled.getConnection().commit();
+				saved.forEach(answerDaoMap::put);
+			}
+			return result;
+		} catch (SQLException e) {
+			throwIfUnavailable(e);
+			return String.format(UserStringConstants.DB_ERROR_DATABASE, e.getMessage());
 		}
+	}
+
+	/**
+	 * Saves an answer on the given connection without committing, so it can take
+	 * part in a surrounding transaction. The written DAO is not registered in the
+	 * identity map; it is added to {@code saved}, which the caller puts into the
+	 * map once the transaction is committed.
+	 *
+	 * @param pooled     connection to write on
+	 * @param answer     Answer DTO
+	 * @param questionId ID of the stored question of the answer
+	 * @param saved      receives the written DAO
+	 * @return result message
+	 */
+	private String saveAnswer(PooledConnection pooled, AnswerDTO answer, int questionId,
+			List<AnswerDAO_MariaDB> saved) {
 		try {
-			AnswerDAO_MariaDB dao = answerDaoMap.get(answer);
-			if (dao == null) {
-				dao = AnswerDAO_MariaDB.fromTransport(answer, questionDao.getId());
-				answerDaoMap.put(answer, dao);
-			} else {
-				dao.setText(answer.getAnswerText());
-				dao.setCorrect(answer.isCorrect());
-				dao.setQuestionId(questionDao.getId());
-			}
+			AnswerDAO_MariaDB cached = answerDaoMap.getOrLoad(pooled, answer.getId());
+			AnswerDAO_MariaDB dao = cached == null ? AnswerDAO_MariaDB.fromTransport(answer, questionId)
+					: new AnswerDAO_MariaDB(cached.getId(), answer.getAnswerText(), answer.isCorrect(), questionId);
 			try {
 				dao.performValidation();
 			} catch (IllegalArgumentException ex) {
 				return String.format(UserStringConstants.DB_ERROR_VALIDATION_FAILED, ex.getMessage());
 			}
 			if (dao.isNew()) {
-				try (PreparedStatement ps = connection.prepareStatement(dao.getInsertStatement(),
-						Statement.RETURN_GENERATED_KEYS)) {
-					dao.setPreparedStatementParameters(ps);
-					int rowsAffected = ps.executeUpdate();
-					if (rowsAffected > 0) {
-						try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
-							if (generatedKeys.next()) {
-								int newId = generatedKeys.getInt(1);
-								dao.setId(newId);
-								answer.setId(newId);
-								connection.commit();
-								return UserStringConstants.DB_MSG_ANSWER_CREATED_SUCCESS;
-							}
+				PreparedStatement ps = pooled.prepareStatement(dao.getInsertStatement(),
+						Statement.RETURN_GENERATED_KEYS);
+				dao.setPreparedStatementParameters(ps);
+				int rowsAffected = ps.executeUpdate();
+				if (rowsAffected > 0) {
+					try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+						if (generatedKeys.next()) {
+							int newId = generatedKeys.getInt(1);
+							dao.setId(newId);
+							answer.setId(newId);
+							saved.add(dao);
+							return UserStringConstants.DB_MSG_ANSWER_CREATED_SUCCESS;
 						}
 					}
 				}
 			} else {
-				try (PreparedStatement ps = connection.prepareStatement(dao.getUpdateStatement())) {
-					dao.setPreparedStatementParameters(ps);
-					int rowsAffected = ps.executeUpdate();
-					if (rowsAffected > 0) {
-						connection.commit();
-						return UserStringConstants.DB_MSG_ANSWER_UPDATED_SUCCESS;
-					}
+				PreparedStatement ps = pooled.prepareStatement(dao.getUpdateStatement());
+				dao.setPreparedStatementParameters(ps);
+				int rowsAffected = ps.executeUpdate();
+				if (rowsAffected > 0) {
+					saved.add(dao);
+					return UserStringConstants.DB_MSG_ANSWER_UPDATED_SUCCESS;
 				}
 			}
 		} catch (SQLException e) {
-			try {
-				connection.rollback();
-			} catch (SQLException rollbackEx) {
-
-			}
+			throwIfUnavailable(e);
 			return String.format(UserStringConstants.DB_ERROR_DATABASE, e.getMessage());
 		} catch (Exception e) {
-			try {
-				connection.rollback();
-			} catch (SQLException rollbackEx) {
-
-			}
 			return String.format(UserStringConstants.DB_ERROR_GENERAL, e.getMessage());
 		}
 		return UserStringConstants.DB_ERROR_ANSWER_SAVE_FAILED;
@@ -712,17 +1102,147 @@ public class DBManager implements QuizDataInterface {
 	 * @throws SQLException if a database error occurs
 	 */
 	public void deleteAnswersForQuestion(int questionId) throws SQLException {
+		try (PooledConnection pooled = borrowConnection()) {
+			deleteAnswersForQuestion(pooled, questionId);
+			pooled.getConnection().commit();
+		}
+	}
+
+	/**
+	 * Deletes all answers for a specific question on the given connection without
+	 * committing.
+	 *
+	 * @param pooled     connection to write on
+	 * @param questionId ID of the question whose answers should be deleted
+	 * @throws SQLException if a database error occurs
+	 */
+	private void deleteAnswersForQuestion(PooledConnection pooled, int questionId) throws SQLException {
 		String deleteSQL = "DELETE FROM Answers WHERE question_id = ?";
-		try (PreparedStatement ps = connection.prepareStatement(deleteSQL)) {
-			ps.setInt(1, questionId);
-			ps.executeUpdate();
-			answerDaoMap.entrySet().removeIf(entry -> {
-				AnswerDAO_MariaDB dao = entry.getValue();
-				return dao.getQuestionId() == questionId;
-			});
+		PreparedStatement ps = pooled.prepareStatement(deleteSQL);
+		ps.setInt(1, questionId);
+		ps.executeUpdate();
+		answerDaoMap.removeIf(dao -> dao.getQuestionId() == questionId);
+	}
+
+	/**
+	 * Adds many new questions with their answers in one transaction. The
+	 * questions are inserted as one JDBC batch, the answers with multi-row
+	 * inserts of {@value #IMPORT_ANSWER_ROWS} rows each. Imported DAOs are not
+	 * registered in the identity maps.
+	 *
+	 * @param questionsByTheme new questions with their answers by stored theme
+	 * @return null on success, an error message otherwise
+	 */
+	@Override
+	public String importQuestions(Map<ThemeDTO, List<QuestionDTO>> questionsByTheme) {
+		try (PooledConnection pooled = borrowConnection()) {
+			PreparedStatement ps = pooled.prepareStatement(QuestionDAO_MariaDB.SQL_INSERT,
+					Statement.RETURN_GENERATED_KEYS);
+			List<QuestionDTO> questions = new ArrayList<>();
+			for (Map.Entry<ThemeDTO, List<QuestionDTO>> entry : questionsByTheme.entrySet()) {
+				for (QuestionDTO question : entry.getValue()) {
+					ps.setString(1, question.getQuestionTitle() != null ? question.getQuestionTitle() : "");
+					ps.setString(2, question.getQuestionText());
+					ps.setInt(3, entry.getKey().getId());
+					ps.addBatch();
+					questions.add(question);
+				}
+			}
+			if (questions.isEmpty()) {
+				return null;
+			}
+			ps.executeBatch();
+
+			int[] questionIds = new int[questions.size()];
+			try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+				for (int i = 0; i < questionIds.length; i++) {
+					if (!generatedKeys.next()) {
+						return UserStringConstants.DB_ERROR_QUESTION_SAVE_FAILED;
+					}
+					questionIds[i] = generatedKeys.getInt(1);
+				}
+			}
+
+			List<AnswerDTO> answers = new ArrayList<>();
+			for (int i = 0; i < questionIds.length; i++) {
+				for (AnswerDTO answer : questions.get(i).getAnswers()) {
+					answer.setQuestionId(questionIds[i]);
+					answers.add(answer);
+				}
+			}
+			insertAnswerRows(pooled, answers);
+
+			pooled.getConnection().commit();
+			for (int i = 0; i < questionIds.length; i++) {
+				questions.get(i).setId(questionIds[i]);
+			}
+			ConfigManager.debugPrint("DEBUG: Imported " + questions.size() + " questions with " + answers.size()
+					+ " answers");
+			return null;
+		} catch (SQLException e) {
+			throwIfUnavailable(e);
+			return String.format(UserStringConstants.DB_ERROR_DATABASE, e.getMessage());
+		}
+	}
+
+	/**
+	 * Inserts answers with multi-row inserts without committing. Full groups of
+	 * {@value #IMPORT_ANSWER_ROWS} rows are sent as one batch, the remaining rows
+	 * as a batch of single-row inserts, so the statement cache holds only these
+	 * two statements.
+	 *
+	 * @param pooled  connection to write on
+	 * @param answers the answers, each with its question ID set
+	 * @throws SQLException if a database error occurs
+	 */
+	private void insertAnswerRows(PooledConnection pooled, List<AnswerDTO> answers) throws SQLException {
+		int fullRows = answers.size() - answers.size() % IMPORT_ANSWER_ROWS;
+		if (fullRows > 0) {
+			PreparedStatement ps = pooled.prepareStatement(SQL_INSERT_ANSWER_ROWS);
+			for (int offset = 0; offset < fullRows; offset += IMPORT_ANSWER_ROWS) {
+				bindAnswerRows(ps, answers.subList(offset, offset + IMPORT_ANSWER_ROWS));
+				ps.addBatch();
+			}
+			ps.executeBatch();
+		}
+		if (fullRows < answers.size()) {
+			// One cached statement for every remainder instead of one per row count
+			PreparedStatement ps = pooled.prepareStatement(AnswerDAO_MariaDB.SQL_INSERT);
+			for (AnswerDTO answer : answers.subList(fullRows, answers.size())) {
+				bindAnswerRows(ps, List.of(answer));
+				ps.addBatch();
+			}
+			ps.executeBatch();
 		}
 	}
 
+	/**
+	 * Binds the parameters of a multi-row answer insert.
+	 *
+	 * @param ps      the multi-row insert
+	 * @param answers one answer per row
+	 * @throws SQLException if a parameter cannot be set
+	 */
+	private static void bindAnswerRows(PreparedStatement ps, List<AnswerDTO> answers) throws SQLException {
+		int index = 1;
+		for (AnswerDTO answer : answers) {
+			ps.setString(index++, answer.getAnswerText());
+			ps.setBoolean(index++, answer.isCorrect());
+			ps.setInt(index++, answer.getQuestionId());
+		}
+	}
+
+	/**
+	 * Builds an insert statement for several answers.
+	 *
+	 * @param rows number of answers
+	 * @return SQL statement with one row of placeholders per answer
+	 */
+	private static String multiRowAnswerInsert(int rows) {
+		return "INSERT INTO Answers (text, isCorrect, question_id) VALUES "
+				+ String.join(", ", Collections.nCopies(rows, ANSWER_ROW));
+	}
+
 	/**
 	 * Tests database connectivity.
 	 *
@@ -730,7 +1250,7 @@ public class DBManager implements QuizDataInterface {
 	 */
 	public String testConnection() {
 		try {
-			connect();
+			borrowConnection().close();
 			return isConnected() ? UserStringConstants.DB_MSG_CONNECTION_SUCCESS
 					: UserStringConstants.DB_MSG_CONNECTION_FAILED;
 		} catch (Exception e) {
@@ -739,18 +1259,17 @@ public class DBManager implements QuizDataInterface {
 	}
 
 	/**
-	 * Returns the active JDBC connection.
+	 * Returns the connection pool used by this manager.
 	 *
-	 * @return active database connection
-	 * @throws SQLException if not connected
+	 * @return the connection pool, or null if not connected
 	 */
-	public Connection getConnection() throws SQLException {
-		connect();
-		return connection;
+	public ConnectionPool getConnectionPool() {
+		return connectionPool;
 	}
 
 	/**
-	 * Clears all cached DTO-to-DAO mappings.
+	 * Clears all cached DAO identity maps. Evicted DAOs are reloaded from the
+	 * database on their next access.
 	 */
 	public void clearMappings() {
 		themeDaoMap.clear();
@@ -758,16 +1277,25 @@ public class DBManager implements QuizDataInterface {
 		answerDaoMap.clear();
 	}
 
+	/**
+	 * Returns size and hit statistics of the DAO identity maps.
+	 *
+	 * @return statistics of the theme, question and answer identity maps
+	 */
+	public List<IdentityMapStats> getIdentityMapStats() {
+		return List.of(themeDaoMap.getStats(), questionDaoMap.getStats(), answerDaoMap.getStats());
+	}
+
 	/**
 	 * Returns a list of all theme titles from the database.
 	 *
 	 * @return list of theme titles
 	 */
 	public ArrayList<String> getThemeTitles() {
-		connect();
 		ArrayList<String> titles = new ArrayList<>();
-		String sql = new ThemeDAO_MariaDB().getSelectStatement();
-		try (PreparedStatement ps = connection.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+		String sql = ThemeDAO_MariaDB.SQL_SELECT;
+		try (PooledConnection pooled = borrowConnection();
+				ResultSet rs = pooled.prepareStatement(sql).executeQuery()) {
 			while (rs.next()) {
 				titles.add(rs.getString("title"));
 			}
@@ -784,11 +1312,11 @@ public class DBManager implements QuizDataInterface {
 	 * @return list of question text entries
 	 */
 	public ArrayList<String> getQuestionListEntries(String selectedThemeTitle) {
-		connect();
 		ArrayList<String> entries = new ArrayList<>();
 		if (selectedThemeTitle == null || selectedThemeTitle.equals(UserStringConstants.ALL_THEMES_OPTION)) {
-			String sql = new QuestionDAO_MariaDB().getSelectStatement();
-			try (PreparedStatement ps = connection.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+			String sql = QuestionDAO_MariaDB.SQL_SELECT;
+			try (PooledConnection pooled = borrowConnection();
+					ResultSet rs = pooled.prepareStatement(sql).executeQuery()) {
 				while (rs.next()) {
 					entries.add(rs.getString("text"));
 				}
@@ -796,9 +1324,10 @@ public class DBManager implements QuizDataInterface {
 				throw new RuntimeException("Failed to get all questions", e);
 			}
 		} else {
-			String sql = new QuestionDAO_MariaDB().getSelectStatement()
+			String sql = QuestionDAO_MariaDB.SQL_SELECT
 					+ " WHERE theme_id = (SELECT id FROM Theme WHERE title = ?)";
-			try (PreparedStatement ps = connection.prepareStatement(sql)) {
+			try (PooledConnection pooled = borrowConnection()) {
+				PreparedStatement ps = pooled.prepareStatement(sql);
 				ps.setString(1, selectedThemeTitle);
 				try (ResultSet rs = ps.executeQuery()) {
 					while (rs.next()) {
@@ -819,16 +1348,16 @@ public class DBManager implements QuizDataInterface {
 	 * @return QuestionDTO or null if index is invalid
 	 */
 	public QuestionDTO getQuestionByGlobalIndex(int index) {
-		connect();
-		String sql = new QuestionDAO_MariaDB().getSelectStatement() + " LIMIT 1 OFFSET ?";
-		try (PreparedStatement ps = connection.prepareStatement(sql)) {
+		String sql = QuestionDAO_MariaDB.SQL_SELECT + " LIMIT 1 OFFSET ?";
+		try (PooledConnection pooled = borrowConnection()) {
+			PreparedStatement ps = pooled.prepareStatement(sql);
 			ps.setInt(1, index);
 			try (ResultSet rs = ps.executeQuery()) {
 				if (rs.next()) {
 					QuestionDAO_MariaDB dao = new QuestionDAO_MariaDB();
 					dao.fromResultSet(rs);
 					QuestionDTO dto = dao.forTransport();
-					questionDaoMap.put(dto, dao);
+					questionDaoMap.put(dao);
 					return dto;
 				}
 			}
@@ -838,196 +1367,422 @@ public class DBManager implements QuizDataInterface {
 		return null;
 	}
 
+	/**
+	 * Saves a quiz session incrementally. A new session is inserted; a stored
+	 * session is upserted by its ID without probing for it first. Only answers
+	 * not yet stored for the session are written, as upserts on their position
+	 * within the session, so repeated saves cost O(new answers). Repeated
+	 * attempts at the same question are kept as separate rows.
+	 *
+	 * @param session the session to save
+	 * @return null on success, an error message otherwise
+	 */
 	@Override
 	public String saveQuizSession(quizlogic.dto.QuizSessionDTO session) {
-		try {
-			if (session == null || session.getUserAnswers() == null || session.getUserAnswers().isEmpty()) {
-				return "Cannot save empty session";
-			}
-
-			connect();
-
-			boolean isUpdate = session.getId() != constants.LogicConstants.INVALID_ID && sessionExists(session.getId());
-
-			if (isUpdate) {
-
-				String updateSQL = "UPDATE QuizSession SET timestamp = ?, user_id = ? WHERE id = ?";
-				try (PreparedStatement ps = connection.prepareStatement(updateSQL)) {
-					ps.setTimestamp(1, new java.sql.Timestamp(session.getTimestamp().getTime()));
-					ps.setInt(2, session.getUserId());
-					ps.setInt(3, session.getId());
-					ps.executeUpdate();
-				}
-
-				deleteUserAnswersForSession(session.getId());
-			} else {
+		if (session == null || session.getUserAnswers() == null || session.getUserAnswers().isEmpty()) {
+			return "Cannot save empty session";
+		}
 
-				String insertSQL = "INSERT INTO QuizSession (timestamp, user_id) VALUES (?, ?)";
-				try (PreparedStatement ps = connection.prepareStatement(insertSQL, Statement.RETURN_GENERATED_KEYS)) {
-					ps.setTimestamp(1, new java.sql.Timestamp(session.getTimestamp().getTime()));
-					ps.setInt(2, session.getUserId());
-
-					int rowsAffected = ps.executeUpdate();
-					if (rowsAffected > 0) {
-						try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
-							if (generatedKeys.next()) {
-								int newId = generatedKeys.getInt(1);
-								session.setId(newId);
-							}
-						}
+		boolean created = session.getId() == constants.LogicConstants.INVALID_ID;
+		try (PooledConnection pooled = borrowConnection()) {
+			if (created) {
+				PreparedStatement ps = pooled.prepareStatement(SQL_INSERT_SESSION, Statement.RETURN_GENERATED_KEYS);
+				ps.setTimestamp(1, new java.sql.Timestamp(session.getTimestamp().getTime()));
+				ps.setInt(2, session.getUserId());
+				ps.executeUpdate();
+				try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+					if (!generatedKeys.next()) {
+						return "Error saving quiz session: no ID generated";
 					}
+					session.setId(generatedKeys.getInt(1));
 				}
+			} else {
+				PreparedStatement ps = pooled.prepareStatement(SQL_UPSERT_SESSION);
+				ps.setInt(1, session.getId());
+				ps.setTimestamp(2, new java.sql.Timestamp(session.getTimestamp().getTime()));
+				ps.setInt(3, session.getUserId());
+				ps.executeUpdate();
 			}
 
-			String answerSQL = "INSERT INTO UserAnswer (quizsession_id, question_id, answer_id, isSelected, isCorrect) VALUES (?, ?, ?, ?, ?)";
-			try (PreparedStatement ps = connection.prepareStatement(answerSQL)) {
-				for (quizlogic.dto.UserAnswerDTO userAnswer : session.getUserAnswers()) {
-					ps.setInt(1, session.getId());
-					ps.setInt(2, userAnswer.getQuestionId());
-					ps.setInt(3, userAnswer.getSelectedAnswerId());
-					ps.setBoolean(4, true);
-					ps.setBoolean(5, userAnswer.isCorrect());
-					ps.addBatch();
-				}
-				ps.executeBatch();
-			}
+			int written = upsertUserAnswers(pooled, session.getId(), session.getUserAnswers(), 0);
+			saveSessionSummary(pooled, quizlogic.dto.SessionSummary.of(session));
 
-			connection.commit();
-			ConfigManager.debugPrint("DEBUG: Quiz session saved to database with ID: " + session.getId());
+			pooled.getConnection().commit();
+			markStored(session.getId(), session.getUserAnswers());
+			ConfigManager.debugPrint("DEBUG: Quiz session saved to database with ID: " + session.getId() + " ("
+					+ written + " new answers)");
 			return null;
 
 		} catch (SQLException e) {
-			try {
-				connection.rollback();
-			} catch (SQLException rollbackEx) {
-
+			if (created) {
+				// The insert was rolled back, the ID must not be reused
+				session.setId(constants.LogicConstants.INVALID_ID);
 			}
+			throwIfUnavailable(e);
 			ConfigManager.debugPrint("DEBUG: Error saving quiz session to database: " + e.getMessage());
 			return "Error saving quiz session: " + e.getMessage();
 		} catch (Exception e) {
+			if (created) {
+				session.setId(constants.LogicConstants.INVALID_ID);
+			}
 			ConfigManager.debugPrint("DEBUG: General error saving quiz session: " + e.getMessage());
 			return "Error saving quiz session: " + e.getMessage();
 		}
 	}
 
+	/**
+	 * Adds answers to a stored quiz session and updates its summary in one
+	 * transaction. The new answers are the last answers of the session and are
+	 * upserted on their position within it, so a journal replay can safely
+	 * repeat them. A session without ID is saved in full.
+	 *
+	 * @param session    the session with all of its answers
+	 * @param newAnswers the answers not yet stored
+	 * @return null on success, an error message otherwise
+	 */
 	@Override
-	public ArrayList<quizlogic.dto.QuizSessionDTO> getAllQuizSessions() {
-		ArrayList<quizlogic.dto.QuizSessionDTO> sessions = new ArrayList<>();
+	public String appendUserAnswers(quizlogic.dto.QuizSessionDTO session,
+			java.util.List<quizlogic.dto.UserAnswerDTO> newAnswers) {
+		if (session.getId() == constants.LogicConstants.INVALID_ID) {
+			return saveQuizSession(session);
+		}
 
-		try {
-			connect();
+		try (PooledConnection pooled = borrowConnection()) {
+			int written = upsertUserAnswers(pooled, session.getId(), newAnswers,
+					session.getUserAnswers().size() - newAnswers.size());
+			saveSessionSummary(pooled, quizlogic.dto.SessionSummary.of(session));
 
-			String sql = "SELECT * FROM QuizSession ORDER BY timestamp DESC";
-			try (PreparedStatement ps = connection.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+			pooled.getConnection().commit();
+			markStored(session.getId(), newAnswers);
+			ConfigManager.debugPrint("DEBUG: Appended " + written + " answers to quiz session " + session.getId());
+			return null;
+		} catch (SQLException e) {
+			throwIfUnavailable(e);
+			ConfigManager.debugPrint("DEBUG: Error appending answers to quiz session: " + e.getMessage());
+			return "Error saving quiz session: " + e.getMessage();
+		}
+	}
 
-				while (rs.next()) {
-					quizlogic.dto.QuizSessionDTO session = new quizlogic.dto.QuizSessionDTO();
-					session.setId(rs.getInt("id"));
-					session.setTimestamp(new java.util.Date(rs.getTimestamp("timestamp").getTime()));
-					session.setUserId(rs.getInt("user_id"));
+	/**
+	 * Upserts the answers of a session in one batch without committing. Each
+	 * answer is keyed by its position within the session. Answers already
+	 * carrying the session ID are stored and skipped, null entries only take
+	 * up their position.
+	 *
+	 * @param pooled     connection to write on
+	 * @param sessionId  ID of the session
+	 * @param answers    the answers to write
+	 * @param firstIndex position of the first answer within the session
+	 * @return number of answers written
+	 * @throws SQLException if a database error occurs
+	 */
+	int upsertUserAnswers(PooledConnection pooled, int sessionId,
+			java.util.List<quizlogic.dto.UserAnswerDTO> answers, int firstIndex) throws SQLException {
+		PreparedStatement ps = pooled.prepareStatement(SQL_UPSERT_USER_ANSWER);
+		int written = 0;
+		int index = firstIndex;
+		for (quizlogic.dto.UserAnswerDTO userAnswer : answers) {
+			int position = index++;
+			if (userAnswer == null || userAnswer.getQuizSessionId() == sessionId) {
+				continue;
+			}
+			ps.setInt(1, sessionId);
+			ps.setInt(2, position);
+			ps.setInt(3, userAnswer.getQuestionId());
+			ps.setInt(4, userAnswer.getSelectedAnswerId());
+			ps.setBoolean(5, true);
+			ps.setBoolean(6, userAnswer.isCorrect());
+			ps.addBatch();
+			written++;
+		}
+		if (written > 0) {
+			ps.executeBatch();
+		}
+		return written;
+	}
 
-					loadUserAnswersForSession(session);
+	/**
+	 * Marks answers as stored for a session after their transaction committed,
+	 * so later saves of the session skip them.
+	 *
+	 * @param sessionId ID of the session
+	 * @param answers   the stored answers
+	 */
+	private void markStored(int sessionId, java.util.List<quizlogic.dto.UserAnswerDTO> answers) {
+		for (quizlogic.dto.UserAnswerDTO userAnswer : answers) {
+			userAnswer.setQuizSessionId(sessionId);
+		}
+	}
 
-					sessions.add(session);
-				}
-			}
+	/**
+	 * Replays changes made on file storage while the database was unavailable
+	 * in a single transaction. File storage IDs are translated to database IDs
+	 * by the {@link OfflineReplay}; the ID mapping is written in the same
+	 * transaction, so replaying the same changes again after a crash does not
+	 * duplicate rows. Changes the database rejects are skipped, reported and
+	 * handed back, so they are not acknowledged.
+	 *
+	 * @param changes  the changes, at most one per entity
+	 * @param source   file storage state the changes are read from
+	 * @param problems receives a message for every skipped change
+	 * @param rejected receives the changes the database rejected
+	 * @return null on success, an error message if the batch was rolled back
+	 */
+	public String replayOfflineChanges(List<OfflineChange> changes, OfflineSource source, List<String> problems,
+			List<OfflineChange> rejected) {
+		try (PooledConnection pooled = borrowConnection()) {
+			new OfflineReplay(this, pooled, source, problems, rejected).apply(changes);
+			pooled.getConnection().commit();
+		} catch (SQLException e) {
+			ConfigManager.debugPrint("DEBUG: Error replaying offline changes: " + e.getMessage());
+			return String.format(UserStringConstants.DB_ERROR_DATABASE, e.getMessage());
+		} finally {
+			clearMappings();
+			questionIdIndex.invalidate();
+		}
+		ConfigManager.debugPrint("DEBUG: Replayed " + changes.size() + " offline changes");
+		return null;
+	}
 
+	/**
+	 * Returns the database ID the offline replay assigned to a session that was
+	 * created on file storage. The mapping is read from the primary, so it is
+	 * visible right after the replay committed.
+	 *
+	 * @param fileSessionId file storage ID of the session
+	 * @return the database ID, or INVALID_ID if the session has not been
+	 *         replayed yet
+	 */
+	public int findReplayedSessionId(int fileSessionId) {
+		try (PooledConnection pooled = borrowConnection()) {
+			Integer dbId = OfflineReplay.findMapping(pooled, OfflineChange.Kind.SESSION, 0, fileSessionId);
+			return dbId != null ? dbId : constants.LogicConstants.INVALID_ID;
 		} catch (SQLException e) {
-			ConfigManager.debugPrint("DEBUG: Error loading quiz sessions from database: " + e.getMessage());
+			throwIfUnavailable(e);
+			ConfigManager.debugPrint("DEBUG: Error looking up replayed session: " + e.getMessage());
+			return constants.LogicConstants.INVALID_ID;
 		}
+	}
 
-		return sessions;
+	/**
+	 * Records that themes were mirrored from the database to file storage
+	 * under their database IDs, so changes made to the mirrored themes while
+	 * the database is unavailable are replayed onto the same rows.
+	 *
+	 * @param themes          themes written to file storage, with questions set
+	 * @param removedThemeIds IDs of the themes removed from file storage
+	 * @return null on success, an error message otherwise
+	 */
+	public String mapMirroredThemes(java.util.Collection<ThemeDTO> themes,
+			java.util.Collection<Integer> removedThemeIds) {
+		if (themes.isEmpty() && removedThemeIds.isEmpty()) {
+			return null;
+		}
+		try (PooledConnection pooled = borrowConnection()) {
+			OfflineReplay.mapMirroredThemes(pooled, themes, removedThemeIds);
+			pooled.getConnection().commit();
+			return null;
+		} catch (SQLException e) {
+			ConfigManager.debugPrint("DEBUG: Error mapping mirrored themes: " + e.getMessage());
+			return String.format(UserStringConstants.DB_ERROR_DATABASE, e.getMessage());
+		}
+	}
+
+	@Override
+	public ArrayList<quizlogic.dto.QuizSessionDTO> getAllQuizSessions() {
+		try {
+			return read(pooled -> loadSessionsWithAnswers(pooled.prepareStatement(SQL_SELECT_SESSIONS_WITH_ANSWERS)));
+		} catch (SQLException e) {
+			ConfigManager.debugPrint("DEBUG: Error loading quiz sessions from database: " + e.getMessage());
+			return new ArrayList<>();
+		}
 	}
 
 	@Override
 	public ArrayList<quizlogic.dto.QuizSessionDTO> getRecentQuizSessions(int limit) {
-		ArrayList<quizlogic.dto.QuizSessionDTO> sessions = new ArrayList<>();
+		try {
+			return read(pooled -> {
+				PreparedStatement ps = pooled.prepareStatement(SQL_SELECT_RECENT_SESSIONS_WITH_ANSWERS);
+				ps.setInt(1, limit);
+				return loadSessionsWithAnswers(ps);
+			});
+		} catch (SQLException e) {
+			ConfigManager.debugPrint("DEBUG: Error loading recent quiz sessions from database: " + e.getMessage());
+			return new ArrayList<>();
+		}
+	}
+
+	/**
+	 * Streams the sessions started since a point in time with their user answers,
+	 * oldest first. The joined rows are fetched in chunks of the configured fetch
+	 * size and grouped into sessions while the stream is consumed.
+	 *
+	 * @param since earliest start time, or null for all sessions
+	 * @return stream of sessions, to be closed by the caller
+	 */
+	@Override
+	public Stream<quizlogic.dto.QuizSessionDTO> streamSessions(java.util.Date since) {
+		java.sql.Timestamp from = new java.sql.Timestamp(since != null ? since.getTime() : 0);
+		return openStream(SQL_SELECT_SESSIONS_SINCE_WITH_ANSWERS, ps -> ps.setTimestamp(1, from), cursor -> {
+			ResultSet rs = cursor.getResultSet();
+			quizlogic.dto.QuizSessionDTO session = readSession(rs);
+			do {
+				if (rs.getInt("id") != session.getId()) {
+					break;
+				}
+				quizlogic.dto.UserAnswerDTO userAnswer = readUserAnswer(rs);
+				if (userAnswer != null) {
+					session.getUserAnswers().add(userAnswer);
+				}
+			} while (cursor.next());
+			return session;
+		}, "quiz sessions");
+	}
 
+	@Override
+	public quizlogic.dto.QuizStatisticsSummary getQuizStatistics() {
 		try {
-			connect();
+			return read(pooled -> {
+				try (ResultSet rs = pooled.prepareStatement(SQL_SELECT_SESSION_STATISTICS).executeQuery()) {
+					if (rs.next()) {
+						return new quizlogic.dto.QuizStatisticsSummary(rs.getInt("total_sessions"),
+								rs.getInt("answered_questions"), rs.getInt("correct_questions"));
+					}
+				}
+				return quizlogic.dto.QuizStatisticsSummary.EMPTY;
+			});
+		} catch (SQLException e) {
+			ConfigManager.debugPrint("DEBUG: Error loading quiz statistics from database: " + e.getMessage());
+		}
+		return quizlogic.dto.QuizStatisticsSummary.EMPTY;
+	}
 
-			String sql = "SELECT * FROM QuizSession ORDER BY timestamp DESC LIMIT ?";
-			try (PreparedStatement ps = connection.prepareStatement(sql)) {
+	@Override
+	public ArrayList<quizlogic.dto.SessionSummary> getRecentSessionSummaries(int limit) {
+		try {
+			return read(pooled -> {
+				ArrayList<quizlogic.dto.SessionSummary> summaries = new ArrayList<>();
+				PreparedStatement ps = pooled.prepareStatement(SQL_SELECT_RECENT_SESSION_SUMMARIES);
 				ps.setInt(1, limit);
-
 				try (ResultSet rs = ps.executeQuery()) {
 					while (rs.next()) {
-						quizlogic.dto.QuizSessionDTO session = new quizlogic.dto.QuizSessionDTO();
-						session.setId(rs.getInt("id"));
-						session.setTimestamp(new java.util.Date(rs.getTimestamp("timestamp").getTime()));
-						session.setUserId(rs.getInt("user_id"));
-
-						loadUserAnswersForSession(session);
-
-						sessions.add(session);
+						java.sql.Timestamp timestamp = rs.getTimestamp("timestamp");
+						summaries.add(new quizlogic.dto.SessionSummary(rs.getInt("session_id"),
+								timestamp != null ? new java.util.Date(timestamp.getTime()) : null,
+								rs.getInt("question_count"), rs.getInt("correct_count")));
 					}
 				}
-			}
-
+				return summaries;
+			});
 		} catch (SQLException e) {
-			ConfigManager.debugPrint("DEBUG: Error loading recent quiz sessions from database: " + e.getMessage());
+			ConfigManager.debugPrint("DEBUG: Error loading session summaries from database: " + e.getMessage());
 		}
+		return new ArrayList<>();
+	}
 
-		return sessions;
+	/**
+	 * Inserts or replaces the summary of a session without committing, so it is
+	 * written in the same transaction as the session itself.
+	 *
+	 * @param pooled  connection to write on
+	 * @param summary the session summary
+	 * @throws SQLException if a database error occurs
+	 */
+	void saveSessionSummary(PooledConnection pooled, quizlogic.dto.SessionSummary summary)
+			throws SQLException {
+		PreparedStatement ps = pooled.prepareStatement(SQL_UPSERT_SESSION_SUMMARY);
+		ps.setInt(1, summary.sessionId());
+		ps.setTimestamp(2, new java.sql.Timestamp(summary.timestamp().getTime()));
+		ps.setInt(3, summary.questionCount());
+		ps.setInt(4, summary.correctCount());
+		ps.setDouble(5, summary.successRate());
+		ps.executeUpdate();
 	}
 
 	/**
-	 * Checks if a quiz session with the given ID exists in the database.
-	 * 
-	 * @param sessionId the session ID to check
-	 * @return true if session exists, false otherwise
+	 * Runs a session query joined with the user answers and groups the rows into
+	 * sessions in a single pass. The query must return the rows of each session
+	 * consecutively; sessions without answers appear as a single row with NULL
+	 * answer columns.
+	 *
+	 * @param ps the prepared session query
+	 * @return sessions in query order, each with its user answers
 	 * @throws SQLException if a database error occurs
 	 */
-	private boolean sessionExists(int sessionId) throws SQLException {
-		String sql = "SELECT COUNT(*) FROM QuizSession WHERE id = ?";
-		try (PreparedStatement ps = connection.prepareStatement(sql)) {
-			ps.setInt(1, sessionId);
-			try (ResultSet rs = ps.executeQuery()) {
-				if (rs.next()) {
-					return rs.getInt(1) > 0;
+	private ArrayList<quizlogic.dto.QuizSessionDTO> loadSessionsWithAnswers(PreparedStatement ps)
+			throws SQLException {
+		ArrayList<quizlogic.dto.QuizSessionDTO> sessions = new ArrayList<>();
+		quizlogic.dto.QuizSessionDTO session = null;
+
+		try (ResultSet rs = ps.executeQuery()) {
+			while (rs.next()) {
+				if (session == null || session.getId() != rs.getInt("id")) {
+					session = readSession(rs);
+					sessions.add(session);
+				}
+				quizlogic.dto.UserAnswerDTO userAnswer = readUserAnswer(rs);
+				if (userAnswer != null) {
+					session.getUserAnswers().add(userAnswer);
 				}
 			}
 		}
-		return false;
+
+		return sessions;
 	}
 
 	/**
-	 * Deletes all user answers for a specific session.
-	 * 
-	 * @param sessionId the session ID
+	 * Reads the session columns of a joined session row.
+	 *
+	 * @param rs result set positioned on the row
+	 * @return the session with an empty answer list
 	 * @throws SQLException if a database error occurs
 	 */
-	private void deleteUserAnswersForSession(int sessionId) throws SQLException {
-		String sql = "DELETE FROM UserAnswer WHERE quizsession_id = ?";
-		try (PreparedStatement ps = connection.prepareStatement(sql)) {
-			ps.setInt(1, sessionId);
-			ps.executeUpdate();
-		}
+	private static quizlogic.dto.QuizSessionDTO readSession(ResultSet rs) throws SQLException {
+		quizlogic.dto.QuizSessionDTO session = new quizlogic.dto.QuizSessionDTO();
+		session.setId(rs.getInt("id"));
+		session.setTimestamp(new java.util.Date(rs.getTimestamp("timestamp").getTime()));
+		session.setUserId(rs.getInt("user_id"));
+		session.setUserAnswers(new ArrayList<>());
+		return session;
 	}
 
 	/**
-	 * Loads all user answers for a specific session.
-	 * 
-	 * @param session the session to load answers for
+	 * Reads the user answer columns of a joined session row.
+	 *
+	 * @param rs result set positioned on the row
+	 * @return the user answer, or null if the row holds a session without answers
 	 * @throws SQLException if a database error occurs
 	 */
-	private void loadUserAnswersForSession(quizlogic.dto.QuizSessionDTO session) throws SQLException {
-		String sql = "SELECT * FROM UserAnswer WHERE quizsession_id = ?";
-		try (PreparedStatement ps = connection.prepareStatement(sql)) {
-			ps.setInt(1, session.getId());
-			try (ResultSet rs = ps.executeQuery()) {
-				ArrayList<quizlogic.dto.UserAnswerDTO> userAnswers = new ArrayList<>();
-
-				while (rs.next()) {
-					quizlogic.dto.UserAnswerDTO userAnswer = new quizlogic.dto.UserAnswerDTO();
-					userAnswer.setQuestionId(rs.getInt("question_id"));
-					userAnswer.setSelectedAnswerId(rs.getInt("answer_id"));
-					userAnswer.setCorrect(rs.getBoolean("isCorrect"));
-					userAnswers.add(userAnswer);
-				}
+	private static quizlogic.dto.UserAnswerDTO readUserAnswer(ResultSet rs) throws SQLException {
+		int questionId = rs.getInt("question_id");
+		if (rs.wasNull()) {
+			return null;
+		}
+		quizlogic.dto.UserAnswerDTO userAnswer = new quizlogic.dto.UserAnswerDTO();
+		userAnswer.setQuestionId(questionId);
+		userAnswer.setSelectedAnswerId(rs.getInt("answer_id"));
+		userAnswer.setCorrect(rs.getBoolean("isCorrect"));
+		return userAnswer;
+	}
 
-				session.setUserAnswers(userAnswers);
-			}
+	/**
+	 * Opens a lazily read query on a connection of its own, to the read replica
+	 * if possible. The connection stays borrowed until the returned stream is
+	 * exhausted or closed.
+	 *
+	 * @param <T>         element type
+	 * @param sql         SQL query
+	 * @param binder      binds the query parameters
+	 * @param reader      reads the elements from the rows
+	 * @param description what is streamed, used in error messages
+	 * @return stream of the elements
+	 */
+	private <T> Stream<T> openStream(String sql, ResultSetStream.Binder binder, ResultSetStream.RowReader<T> reader,
+			String description) {
+		try {
+			return ResultSetStream.open(borrowReadConnection(), sql, configManager.getDatabaseFetchSize(), binder, reader);
+		} catch (SQLException e) {
+			throw new RuntimeException("Failed to stream " + description, e);
 		}
 	}
 }
@@ -0,0 +1,182 @@
+package persistence.mariaDB;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded identity map of DAOs keyed by their database ID.
+ * <p>
+ * The {@link DBManager} keeps the DAOs it has loaded or saved here, so a DTO
+ * handed back by the user interface can be matched with its DAO again. Entries
+ * are keyed by the immutable row ID instead of the DTO itself, whose hash code
+ * changes when an ID is assigned. Only persisted DAOs are stored.
+ * <p>
+ * The map holds at most a configured number of DAOs and evicts the least
+ * recently used one when full. A DAO that is no longer cached is transparently
+ * reloaded from the database by {@link #getOrLoad(PooledConnection, int)}.
+ *
+ * @param <D> DAO type
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+class DaoIdentityMap<D extends MariaAccessObject> {
+
+	/** Name of the map, used for metrics */
+	private final String name;
+
+	/** Maximum number of cached DAOs */
+	private final int maxSize;
+
+	/** SQL query loading a single row by its ID */
+	private final String selectByIdSql;
+
+	/** Factory for empty DAOs filled from a result set */
+	private final Supplier<D> factory;
+
+	/** Cached DAOs in access order */
+	private final LinkedHashMap<Integer, D> entries;
+
+	/** Number of lookups answered from the map */
+	private final LongAdder hits = new LongAdder();
+
+	/** Number of lookups that had to load the DAO */
+	private final LongAdder misses = new LongAdder();
+
+	/** Number of DAOs evicted because the map was full */
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Creates a new identity map.
+	 *
+	 * @param name      name of the map, used for metrics
+	 * @param maxSize   maximum number of cached DAOs
+	 * @param selectSql SELECT statement of the DAO without WHERE clause
+	 * @param factory   factory for empty DAOs
+	 */
+	DaoIdentityMap(String name, int maxSize, String selectSql, Supplier<D> factory) {
+		this.name = name;
+		this.maxSize = Math.max(1, maxSize);
+		this.selectByIdSql = selectSql + " WHERE id = ?";
+		this.factory = factory;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, D> eldest) {
+				if (size() > DaoIdentityMap.this.maxSize) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached DAO for an ID without touching the database.
+	 *
+	 * @param id the row ID
+	 * @return the cached DAO, or null if it is not cached
+	 */
+	synchronized D get(int id) {
+		return entries.get(id);
+	}
+
+	/**
+	 * Returns the DAO for an ID, loading it from the database if it is not
+	 * cached.
+	 *
+	 * @param pooled connection to load from
+	 * @param id     the row ID
+	 * @return the DAO, or null if the ID is not persisted or the row does not
+	 *         exist
+	 * @throws SQLException if a database error occurs
+	 */
+	D getOrLoad(PooledConnection pooled, int id) throws SQLException {
+		if (id <= 0) {
+			return null;
+		}
+		D dao = get(id);
+		if (dao != null) {
+			hits.increment();
+			return dao;
+		}
+		misses.increment();
+
+		PreparedStatement ps = pooled.prepareStatement(selectByIdSql);
+		ps.setInt(1, id);
+		try (ResultSet rs = ps.executeQuery()) {
+			if (!rs.next()) {
+				return null;
+			}
+			dao = factory.get();
+			dao.fromResultSet(rs);
+		}
+		synchronized (this) {
+			D cached = entries.putIfAbsent(id, dao);
+			return cached != null ? cached : dao;
+		}
+	}
+
+	/**
+	 * Caches a DAO under its ID. DAOs that are not persisted yet are ignored.
+	 *
+	 * @param dao the DAO to cache
+	 */
+	synchronized void put(D dao) {
+		if (!dao.isNew()) {
+			entries.put(dao.getId(), dao);
+		}
+	}
+
+	/**
+	 * Removes the DAO with the given ID.
+	 *
+	 * @param id the row ID
+	 */
+	synchronized void remove(int id) {
+		entries.remove(id);
+	}
+
+	/**
+	 * Removes all DAOs matching a condition.
+	 *
+	 * @param condition condition selecting the DAOs to remove
+	 */
+	synchronized void removeIf(Predicate<D> condition) {
+		entries.values().removeIf(condition);
+	}
+
+	/**
+	 * Removes all DAOs.
+	 */
+	synchronized void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Returns the number of cached DAOs.
+	 *
+	 * @return map size
+	 */
+	synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns a snapshot of the usage counters.
+	 *
+	 * @return current statistics
+	 */
+	IdentityMapStats getStats() {
+		return new IdentityMapStats(name, size(), maxSize, hits.sum(), misses.sum(), evictions.sum());
+	}
+}
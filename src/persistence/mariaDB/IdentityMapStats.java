@@ -0,0 +1,18 @@
+package persistence.mariaDB;
+
+/**
+ * Snapshot of the usage of a DAO identity map in the {@link DBManager}.
+ *
+ * @param name      name of the map
+ * @param size      number of cached DAOs
+ * @param maxSize   maximum number of cached DAOs
+ * @param hits      lookups answered from the map
+ * @param misses    lookups that had to load the DAO from the database
+ * @param evictions DAOs dropped because the map was full
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public record IdentityMapStats(String name, int size, int maxSize, long hits, long misses, long evictions) {
+}
@@ -0,0 +1,582 @@
+package persistence.mariaDB;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import constants.ConfigManager;
+import constants.LogicConstants;
+import persistence.OfflineChange;
+import persistence.OfflineSource;
+import persistence.mariaDB.dao.AnswerDAO_MariaDB;
+import persistence.mariaDB.dao.QuestionDAO_MariaDB;
+import persistence.mariaDB.dao.ThemeDAO_MariaDB;
+import quizlogic.dto.AnswerDTO;
+import quizlogic.dto.QuestionDTO;
+import quizlogic.dto.QuizSessionDTO;
+import quizlogic.dto.SessionSummary;
+import quizlogic.dto.ThemeDTO;
+import quizlogic.dto.UserAnswerDTO;
+
+/**
+ * Replays journaled offline changes into the database within the transaction
+ * of one borrowed connection.
+ * <p>
+ * File storage IDs are translated to database IDs with the
+ * {@code OfflineIdMap} table. An entity without mapping is inserted and its
+ * mapping is written in the same transaction, so a batch that is replayed
+ * again after a crash updates the rows it inserted before instead of
+ * duplicating them. A mapped entity whose row has been deleted in the
+ * meantime is inserted again and remapped.
+ * <p>
+ * Only entities with a journaled change of their own are written. A replayed
+ * question whose theme never reached the database writes the theme first,
+ * since that theme was created offline. Sessions never write catalog rows:
+ * the questions of their user answers are resolved through the rows replayed
+ * in this batch or the ID map, and user answers whose question never reached
+ * the database are dropped and reported. Answers of a question are matched to
+ * the database rows by position, so the user answers of replayed sessions
+ * keep pointing to the right answers. User answers are upserted on their
+ * position within the session.
+ * <p>
+ * Each change runs under a savepoint. A change the database rejects, for
+ * example because it violates a constraint, is rolled back, reported and
+ * handed back as rejected, so it stays pending in the journal; the rest of
+ * the batch is still replayed. Transient and connection errors abort the
+ * whole batch.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+final class OfflineReplay {
+
+	/** SQL query for the database ID of a file storage entity */
+	private static final String SQL_SELECT_MAPPING = "SELECT db_id FROM OfflineIdMap "
+			+ "WHERE entity = ? AND scope_id = ? AND file_id = ?";
+
+	/** SQL statement recording the database ID of a file storage entity */
+	private static final String SQL_UPSERT_MAPPING = "INSERT INTO OfflineIdMap (entity, scope_id, file_id, db_id) "
+			+ "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE db_id = VALUES(db_id)";
+
+	/** SQL statement removing the mapping of a deleted entity */
+	private static final String SQL_DELETE_MAPPING = "DELETE FROM OfflineIdMap "
+			+ "WHERE entity = ? AND scope_id = ? AND file_id = ?";
+
+	/** SQL statement removing the mappings of all questions of a theme */
+	private static final String SQL_DELETE_QUESTION_MAPPINGS = "DELETE FROM OfflineIdMap "
+			+ "WHERE entity = 'QUESTION' AND scope_id = ?";
+
+	/** SQL statement inserting a replayed quiz session */
+	private static final String SQL_INSERT_SESSION = "INSERT INTO QuizSession (timestamp, user_id) VALUES (?, ?)";
+
+	/** SQL statement updating a replayed quiz session */
+	private static final String SQL_UPDATE_SESSION = "UPDATE QuizSession SET timestamp = ?, user_id = ? WHERE id = ?";
+
+	/** SQL statement deleting a quiz session */
+	private static final String SQL_DELETE_SESSION = "DELETE FROM QuizSession WHERE id = ?";
+
+	/** SQL query for the answer IDs of a question in position order */
+	private static final String SQL_SELECT_ANSWER_IDS = "SELECT id FROM Answers WHERE question_id = ? ORDER BY id";
+
+	/** SQL statement updating an answer in place */
+	private static final String SQL_UPDATE_ANSWER = "UPDATE Answers SET text = ?, isCorrect = ? WHERE id = ?";
+
+	/** Scope of themes and sessions in the ID map */
+	private static final int NO_SCOPE = 0;
+
+	/** Database manager providing the session helpers */
+	private final DBManager dbManager;
+
+	/** Connection whose transaction the changes are replayed in */
+	private final PooledConnection pooled;
+
+	/** File storage state the changes are read from */
+	private final OfflineSource source;
+
+	/** Problems reported for changes that could not be replayed */
+	private final List<String> problems;
+
+	/** Changes the database rejected */
+	private final List<OfflineChange> rejected;
+
+	/** Database IDs of the entities replayed or resolved in this batch, by entity key */
+	private final Map<String, Integer> replayed = new HashMap<>();
+
+	/** Database answer IDs in position order of the questions replayed or resolved in this batch */
+	private final Map<String, List<Integer>> answerIds = new HashMap<>();
+
+	/**
+	 * Creates a replay for one batch.
+	 *
+	 * @param dbManager database manager providing the session helpers
+	 * @param pooled    connection whose transaction the changes are replayed in
+	 * @param source    file storage state the changes are read from
+	 * @param problems  receives a message for every change that could not be
+	 *                  replayed
+	 * @param rejected  receives the changes the database rejected
+	 */
+	OfflineReplay(DBManager dbManager, PooledConnection pooled, OfflineSource source, List<String> problems,
+			List<OfflineChange> rejected) {
+		this.dbManager = dbManager;
+		this.pooled = pooled;
+		this.source = source;
+		this.problems = problems;
+		this.rejected = rejected;
+	}
+
+	/**
+	 * Maps the IDs of themes mirrored from the database to file storage to
+	 * themselves, so offline changes of a mirrored theme or its questions update
+	 * the database rows instead of inserting copies. The mappings of the
+	 * questions of each theme are rewritten, and the mappings of themes removed
+	 * from file storage are dropped. Does not commit.
+	 *
+	 * @param pooled          connection to write on
+	 * @param themes          themes written to file storage with their database
+	 *                        IDs, with questions set
+	 * @param removedThemeIds IDs of the themes removed from file storage
+	 * @throws SQLException if a database error occurs
+	 */
+	static void mapMirroredThemes(PooledConnection pooled, Collection<ThemeDTO> themes,
+			Collection<Integer> removedThemeIds) throws SQLException {
+		PreparedStatement deleteTheme = pooled.prepareStatement(SQL_DELETE_MAPPING);
+		PreparedStatement deleteQuestions = pooled.prepareStatement(SQL_DELETE_QUESTION_MAPPINGS);
+		for (int themeId : removedThemeIds) {
+			bind(deleteTheme, OfflineChange.Kind.THEME.name(), NO_SCOPE, themeId);
+			deleteTheme.addBatch();
+			deleteQuestions.setInt(1, themeId);
+			deleteQuestions.addBatch();
+		}
+		for (ThemeDTO theme : themes) {
+			deleteQuestions.setInt(1, theme.getId());
+			deleteQuestions.addBatch();
+		}
+		deleteTheme.executeBatch();
+		deleteQuestions.executeBatch();
+
+		PreparedStatement upsert = pooled.prepareStatement(SQL_UPSERT_MAPPING);
+		for (ThemeDTO theme : themes) {
+			bind(upsert, OfflineChange.Kind.THEME.name(), NO_SCOPE, theme.getId(), theme.getId());
+			upsert.addBatch();
+			if (theme.getQuestions() != null) {
+				for (QuestionDTO question : theme.getQuestions()) {
+					bind(upsert, OfflineChange.Kind.QUESTION.name(), theme.getId(), question.getId(), question.getId());
+					upsert.addBatch();
+				}
+			}
+		}
+		upsert.executeBatch();
+	}
+
+	/**
+	 * Replays a batch of changes without committing.
+	 *
+	 * @param changes the changes, at most one per entity
+	 * @throws SQLException if a transient or connection error aborts the batch
+	 */
+	void apply(List<OfflineChange> changes) throws SQLException {
+		for (OfflineChange change : changes) {
+			Savepoint savepoint = pooled.getConnection().setSavepoint();
+			try {
+				applyChange(change);
+				pooled.getConnection().releaseSavepoint(savepoint);
+			} catch (SQLTransientException | SQLRecoverableException e) {
+				throw e;
+			} catch (SQLException e) {
+				pooled.getConnection().rollback(savepoint);
+				clearBatchState();
+				report(change, e.getMessage());
+				rejected.add(change);
+			}
+		}
+	}
+
+	/**
+	 * Replays a single change.
+	 *
+	 * @param change the change
+	 * @throws SQLException if a database error occurs
+	 */
+	private void applyChange(OfflineChange change) throws SQLException {
+		boolean delete = change.operation() == OfflineChange.Operation.DELETE;
+		switch (change.kind()) {
+		case THEME -> {
+			if (delete) {
+				deleteMapped(change, ThemeDAO_MariaDB.SQL_DELETE);
+			} else if (upsertTheme(change.fileId()) == LogicConstants.INVALID_ID) {
+				report(change, "theme no longer exists on file storage");
+			}
+		}
+		case QUESTION -> {
+			if (delete) {
+				deleteMapped(change, QuestionDAO_MariaDB.SQL_DELETE);
+			} else if (upsertQuestion(change.themeId(), change.fileId()) == LogicConstants.INVALID_ID) {
+				report(change, "question or its theme no longer exists on file storage");
+			}
+		}
+		case SESSION -> {
+			if (delete) {
+				deleteMapped(change, SQL_DELETE_SESSION);
+			} else if (upsertSession(change.fileId()) == LogicConstants.INVALID_ID) {
+				report(change, "session no longer exists on file storage");
+			}
+		}
+		}
+	}
+
+	/**
+	 * Writes a theme from file storage.
+	 *
+	 * @param themeId file storage ID of the theme
+	 * @return database ID of the theme, or INVALID_ID if it does not exist on
+	 *         file storage
+	 * @throws SQLException if a database error occurs
+	 */
+	private int upsertTheme(int themeId) throws SQLException {
+		String key = key(OfflineChange.Kind.THEME, NO_SCOPE, themeId);
+		ThemeDTO theme = source.getTheme(themeId);
+		if (theme == null) {
+			return LogicConstants.INVALID_ID;
+		}
+		Integer dbId = findMapping(OfflineChange.Kind.THEME, NO_SCOPE, themeId);
+		if (dbId == null || !update(ThemeDAO_MariaDB.SQL_UPDATE, theme.getThemeTitle(), theme.getThemeDescription(),
+				dbId)) {
+			dbId = insert(ThemeDAO_MariaDB.SQL_INSERT, theme.getThemeTitle(), theme.getThemeDescription());
+			saveMapping(OfflineChange.Kind.THEME, NO_SCOPE, themeId, dbId);
+		}
+		replayed.put(key, dbId);
+		return dbId;
+	}
+
+	/**
+	 * Writes a question with its answers from file storage. Its theme is
+	 * resolved through this batch or the ID map and only written first if it
+	 * never reached the database.
+	 *
+	 * @param themeId    file storage ID of the theme
+	 * @param questionId file storage ID of the question
+	 * @return database ID of the question, or INVALID_ID if the question or its
+	 *         theme does not exist on file storage
+	 * @throws SQLException if a database error occurs
+	 */
+	private int upsertQuestion(int themeId, int questionId) throws SQLException {
+		String key = key(OfflineChange.Kind.QUESTION, themeId, questionId);
+		QuestionDTO question = source.getQuestion(themeId, questionId);
+		if (question == null) {
+			return LogicConstants.INVALID_ID;
+		}
+		Integer dbThemeId = replayed.get(key(OfflineChange.Kind.THEME, NO_SCOPE, themeId));
+		if (dbThemeId == null) {
+			dbThemeId = findMapping(OfflineChange.Kind.THEME, NO_SCOPE, themeId);
+		}
+		if (dbThemeId == null) {
+			dbThemeId = upsertTheme(themeId);
+			if (dbThemeId == LogicConstants.INVALID_ID) {
+				return LogicConstants.INVALID_ID;
+			}
+		}
+
+		Integer dbId = findMapping(OfflineChange.Kind.QUESTION, themeId, questionId);
+		if (dbId == null || !update(QuestionDAO_MariaDB.SQL_UPDATE, question.getQuestionTitle(),
+				question.getQuestionText(), dbThemeId, dbId)) {
+			dbId = insert(QuestionDAO_MariaDB.SQL_INSERT, question.getQuestionTitle(), question.getQuestionText(),
+					dbThemeId);
+			saveMapping(OfflineChange.Kind.QUESTION, themeId, questionId, dbId);
+		}
+		answerIds.put(key, syncAnswers(dbId, question.getAnswers()));
+		replayed.put(key, dbId);
+		return dbId;
+	}
+
+	/**
+	 * Brings the answers of a database question in line with the answers on
+	 * file storage, position by position: existing rows are updated in place,
+	 * missing rows inserted and surplus rows deleted.
+	 *
+	 * @param dbQuestionId database ID of the question
+	 * @param answers      answers on file storage
+	 * @return database IDs of the answers in position order
+	 * @throws SQLException if a database error occurs
+	 */
+	private List<Integer> syncAnswers(int dbQuestionId, List<AnswerDTO> answers) throws SQLException {
+		List<Integer> existing = loadAnswerIds(dbQuestionId);
+
+		List<AnswerDTO> fileAnswers = answers != null ? answers : List.of();
+		List<Integer> ids = new ArrayList<>(fileAnswers.size());
+		for (int i = 0; i < fileAnswers.size(); i++) {
+			AnswerDTO answer = fileAnswers.get(i);
+			if (i < existing.size()) {
+				update(SQL_UPDATE_ANSWER, answer.getAnswerText(), answer.isCorrect(), existing.get(i));
+				ids.add(existing.get(i));
+			} else {
+				ids.add(insert(AnswerDAO_MariaDB.SQL_INSERT, answer.getAnswerText(), answer.isCorrect(),
+						dbQuestionId));
+			}
+		}
+		for (int i = fileAnswers.size(); i < existing.size(); i++) {
+			update(AnswerDAO_MariaDB.SQL_DELETE, existing.get(i));
+		}
+		return ids;
+	}
+
+	/**
+	 * Loads the answer IDs of a database question.
+	 *
+	 * @param dbQuestionId database ID of the question
+	 * @return database IDs of the answers in position order
+	 * @throws SQLException if a database error occurs
+	 */
+	private List<Integer> loadAnswerIds(int dbQuestionId) throws SQLException {
+		List<Integer> ids = new ArrayList<>();
+		PreparedStatement select = pooled.prepareStatement(SQL_SELECT_ANSWER_IDS);
+		select.setInt(1, dbQuestionId);
+		try (ResultSet rs = select.executeQuery()) {
+			while (rs.next()) {
+				ids.add(rs.getInt(1));
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * Writes a quiz session with its user answers and summary from file
+	 * storage. The questions the user answers refer to are only resolved, never
+	 * written; user answers whose question cannot be found on file storage or
+	 * never reached the database are dropped and reported.
+	 *
+	 * @param sessionId file storage ID of the session
+	 * @return database ID of the session, or INVALID_ID if it does not exist on
+	 *         file storage
+	 * @throws SQLException if a database error occurs
+	 */
+	private int upsertSession(int sessionId) throws SQLException {
+		QuizSessionDTO session = source.getSession(sessionId);
+		if (session == null) {
+			return LogicConstants.INVALID_ID;
+		}
+		Timestamp timestamp = new Timestamp(
+				(session.getTimestamp() != null ? session.getTimestamp() : new java.util.Date()).getTime());
+
+		Integer dbId = findMapping(OfflineChange.Kind.SESSION, NO_SCOPE, sessionId);
+		if (dbId == null || !update(SQL_UPDATE_SESSION, timestamp, session.getUserId(), dbId)) {
+			dbId = insert(SQL_INSERT_SESSION, timestamp, session.getUserId());
+			saveMapping(OfflineChange.Kind.SESSION, NO_SCOPE, sessionId, dbId);
+		}
+
+		QuizSessionDTO stored = new QuizSessionDTO(new java.util.Date(timestamp.getTime()), session.getUserId());
+		stored.setId(dbId);
+		// Dropped answers keep their position, so the answers after them are
+		// upserted onto the rows of their own positions
+		List<UserAnswerDTO> positioned = new ArrayList<>();
+		for (UserAnswerDTO userAnswer : session.getUserAnswers()) {
+			UserAnswerDTO mapped = mapUserAnswer(userAnswer);
+			positioned.add(mapped);
+			if (mapped != null) {
+				stored.addUserAnswer(mapped);
+			} else {
+				problems.add("Session " + sessionId + ": dropped answer to question " + userAnswer.getQuestionId()
+						+ ", which no longer exists on file storage or in the database");
+			}
+		}
+		dbManager.upsertUserAnswers(pooled, dbId, positioned, 0);
+		dbManager.saveSessionSummary(pooled, SessionSummary.of(stored));
+		replayed.put(key(OfflineChange.Kind.SESSION, NO_SCOPE, sessionId), dbId);
+		return dbId;
+	}
+
+	/**
+	 * Translates the question and answer of a user answer to database IDs. The
+	 * question is resolved through the rows replayed in this batch or the ID
+	 * map; it is not written.
+	 *
+	 * @param userAnswer user answer with file storage IDs
+	 * @return user answer with database IDs, or null if the question or answer
+	 *         cannot be found on file storage or in the database
+	 * @throws SQLException if a database error occurs
+	 */
+	private UserAnswerDTO mapUserAnswer(UserAnswerDTO userAnswer) throws SQLException {
+		int themeId = source.findThemeOfQuestion(userAnswer.getQuestionId(), userAnswer.getAnswerId());
+		if (themeId == LogicConstants.INVALID_ID) {
+			return null;
+		}
+		String key = key(OfflineChange.Kind.QUESTION, themeId, userAnswer.getQuestionId());
+		Integer dbQuestionId = replayed.get(key);
+		if (dbQuestionId == null) {
+			dbQuestionId = findMapping(OfflineChange.Kind.QUESTION, themeId, userAnswer.getQuestionId());
+			if (dbQuestionId == null) {
+				return null;
+			}
+			replayed.put(key, dbQuestionId);
+			answerIds.put(key, loadAnswerIds(dbQuestionId));
+		}
+
+		List<AnswerDTO> answers = source.getQuestion(themeId, userAnswer.getQuestionId()).getAnswers();
+		List<Integer> dbAnswerIds = answerIds.get(key);
+		for (int i = 0; answers != null && i < answers.size(); i++) {
+			if (answers.get(i).getId() == userAnswer.getAnswerId()) {
+				return i < dbAnswerIds.size() ? new UserAnswerDTO(LogicConstants.INVALID_ID, dbQuestionId,
+						dbAnswerIds.get(i), userAnswer.isSelected(), userAnswer.isCorrect()) : null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Deletes the database row of a mapped entity and its mapping. Entities
+	 * without mapping never reached the database and are ignored.
+	 *
+	 * @param change    the delete change
+	 * @param deleteSql SQL statement deleting the row by ID
+	 * @throws SQLException if a database error occurs
+	 */
+	private void deleteMapped(OfflineChange change, String deleteSql) throws SQLException {
+		int scope = change.kind() == OfflineChange.Kind.QUESTION ? change.themeId() : NO_SCOPE;
+		Integer dbId = findMapping(change.kind(), scope, change.fileId());
+		if (dbId == null) {
+			return;
+		}
+		update(deleteSql, dbId);
+		update(SQL_DELETE_MAPPING, change.kind().name(), scope, change.fileId());
+		replayed.remove(key(change.kind(), scope, change.fileId()));
+	}
+
+	/**
+	 * Looks up the database ID of a file storage entity.
+	 *
+	 * @param kind   kind of the entity
+	 * @param scope  file storage ID of the theme for questions, 0 otherwise
+	 * @param fileId file storage ID of the entity
+	 * @return the database ID, or null if the entity has no mapping
+	 * @throws SQLException if a database error occurs
+	 */
+	private Integer findMapping(OfflineChange.Kind kind, int scope, int fileId) throws SQLException {
+		return findMapping(pooled, kind, scope, fileId);
+	}
+
+	/**
+	 * Looks up the database ID of a file storage entity.
+	 *
+	 * @param pooled connection to read on
+	 * @param kind   kind of the entity
+	 * @param scope  file storage ID of the theme for questions, 0 otherwise
+	 * @param fileId file storage ID of the entity
+	 * @return the database ID, or null if the entity has no mapping
+	 * @throws SQLException if a database error occurs
+	 */
+	static Integer findMapping(PooledConnection pooled, OfflineChange.Kind kind, int scope, int fileId)
+			throws SQLException {
+		PreparedStatement ps = pooled.prepareStatement(SQL_SELECT_MAPPING);
+		ps.setString(1, kind.name());
+		ps.setInt(2, scope);
+		ps.setInt(3, fileId);
+		try (ResultSet rs = ps.executeQuery()) {
+			return rs.next() ? rs.getInt(1) : null;
+		}
+	}
+
+	/**
+	 * Records the database ID of a file storage entity.
+	 *
+	 * @param kind   kind of the entity
+	 * @param scope  file storage ID of the theme for questions, 0 otherwise
+	 * @param fileId file storage ID of the entity
+	 * @param dbId   database ID of the entity
+	 * @throws SQLException if a database error occurs
+	 */
+	private void saveMapping(OfflineChange.Kind kind, int scope, int fileId, int dbId) throws SQLException {
+		update(SQL_UPSERT_MAPPING, kind.name(), scope, fileId, dbId);
+	}
+
+	/**
+	 * Executes an insert and returns the generated ID.
+	 *
+	 * @param sql        the insert statement
+	 * @param parameters values of the statement parameters
+	 * @return the generated ID
+	 * @throws SQLException if a database error occurs or no ID was generated
+	 */
+	private int insert(String sql, Object... parameters) throws SQLException {
+		PreparedStatement ps = pooled.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+		bind(ps, parameters);
+		ps.executeUpdate();
+		try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+			if (!generatedKeys.next()) {
+				throw new SQLException("No ID generated by: " + sql);
+			}
+			return generatedKeys.getInt(1);
+		}
+	}
+
+	/**
+	 * Executes an update or delete.
+	 *
+	 * @param sql        the statement
+	 * @param parameters values of the statement parameters
+	 * @return true if at least one row matched; the MariaDB driver reports
+	 *         matched rather than changed rows, so an update to the same values
+	 *         counts as well
+	 * @throws SQLException if a database error occurs
+	 */
+	private boolean update(String sql, Object... parameters) throws SQLException {
+		PreparedStatement ps = pooled.prepareStatement(sql);
+		bind(ps, parameters);
+		return ps.executeUpdate() > 0;
+	}
+
+	/**
+	 * Binds parameter values to a statement.
+	 *
+	 * @param ps         the statement
+	 * @param parameters the values
+	 * @throws SQLException if a value cannot be bound
+	 */
+	private static void bind(PreparedStatement ps, Object... parameters) throws SQLException {
+		for (int i = 0; i < parameters.length; i++) {
+			ps.setObject(i + 1, parameters[i]);
+		}
+	}
+
+	/**
+	 * Forgets what was replayed in this batch after a change was rolled back,
+	 * so later changes do not rely on rows of the rolled back change.
+	 */
+	private void clearBatchState() {
+		replayed.clear();
+		answerIds.clear();
+	}
+
+	/**
+	 * Records a change that could not be replayed.
+	 *
+	 * @param change the change
+	 * @param reason why it could not be replayed
+	 */
+	private void report(OfflineChange change, String reason) {
+		String message = change.operation() + " " + change.kind() + " " + change.fileId() + ": " + reason;
+		ConfigManager.debugPrint("DEBUG: Offline change not replayed: " + message);
+		problems.add(message);
+	}
+
+	/**
+	 * Builds the key of an entity.
+	 *
+	 * @param kind   kind of the entity
+	 * @param scope  file storage ID of the theme for questions, 0 otherwise
+	 * @param fileId file storage ID of the entity
+	 * @return the key
+	 */
+	private static String key(OfflineChange.Kind kind, int scope, int fileId) {
+		return kind + ":" + scope + ":" + fileId;
+	}
+}
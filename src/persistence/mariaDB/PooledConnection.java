@@ -0,0 +1,160 @@
+package persistence.mariaDB;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * A physical JDBC connection that is owned by a {@link ConnectionPool}.
+ * <p>
+ * Callers borrow an instance from the pool, use {@link #getConnection()} for
+ * their statements and hand it back by calling {@link #close()}, typically in
+ * a try-with-resources block. Closing does not close the physical connection;
+ * it only returns it to the pool.
+ * <p>
+ * Statements obtained through {@link #prepareStatement(String)} are cached per
+ * connection and must not be closed by the caller.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public class PooledConnection implements AutoCloseable {
+
+	/** Pool this connection belongs to */
+	private final ConnectionPool pool;
+
+	/** Underlying physical connection */
+	private final Connection connection;
+
+	/** Cache of prepared statements for this connection */
+	private final StatementCache statementCache;
+
+	/** Creation time of the physical connection in milliseconds */
+	private final long createdAt;
+
+	/** Time the connection was last returned to the pool in milliseconds */
+	private long lastReleasedAt;
+
+	/** Flag indicating whether the connection is currently handed out */
+	private boolean borrowed;
+
+	/**
+	 * Creates a new pooled connection wrapper.
+	 *
+	 * @param pool           owning pool
+	 * @param connection     physical connection
+	 * @param statementCache statement cache bound to the connection
+	 */
+	PooledConnection(ConnectionPool pool, Connection connection, StatementCache statementCache) {
+		this.pool = pool;
+		this.connection = connection;
+		this.statementCache = statementCache;
+		this.createdAt = System.currentTimeMillis();
+		this.lastReleasedAt = createdAt;
+	}
+
+	/**
+	 * Returns the physical JDBC connection.
+	 *
+	 * @return the underlying connection
+	 */
+	public Connection getConnection() {
+		return connection;
+	}
+
+	/**
+	 * Returns a cached prepared statement for the given SQL. The statement is
+	 * owned by the connection and must not be closed by the caller.
+	 *
+	 * @param sql SQL text
+	 * @return cached prepared statement
+	 * @throws SQLException if the statement cannot be prepared
+	 */
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		return statementCache.prepare(sql);
+	}
+
+	/**
+	 * Returns a cached prepared statement for the given SQL and generated-keys
+	 * mode. The statement is owned by the connection and must not be closed by
+	 * the caller.
+	 *
+	 * @param sql               SQL text
+	 * @param autoGeneratedKeys generated-keys mode
+	 * @return cached prepared statement
+	 * @throws SQLException if the statement cannot be prepared
+	 */
+	public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+		return statementCache.prepare(sql, autoGeneratedKeys);
+	}
+
+	/**
+	 * Returns this connection to its pool. Calling this method more than once has
+	 * no effect.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (!borrowed) {
+				return;
+			}
+			borrowed = false;
+		}
+		pool.release(this);
+	}
+
+	/**
+	 * Marks the connection as handed out to a caller.
+	 */
+	synchronized void markBorrowed() {
+		borrowed = true;
+	}
+
+	/**
+	 * Records the time the connection went back to the idle set.
+	 */
+	void markReleased() {
+		lastReleasedAt = System.currentTimeMillis();
+	}
+
+	/**
+	 * Returns the age of the physical connection.
+	 *
+	 * @param now current time in milliseconds
+	 * @return age in milliseconds
+	 */
+	long getAge(long now) {
+		return now - createdAt;
+	}
+
+	/**
+	 * Returns how long the connection has been idle in the pool.
+	 *
+	 * @param now current time in milliseconds
+	 * @return idle time in milliseconds
+	 */
+	long getIdleTime(long now) {
+		return now - lastReleasedAt;
+	}
+
+	/**
+	 * Closes statements that were evicted from the cache while the connection
+	 * was borrowed.
+	 */
+	void closeRetiredStatements() {
+		statementCache.closeRetired();
+	}
+
+	/**
+	 * Closes all cached statements and the physical connection, ignoring errors.
+	 */
+	void closePhysical() {
+		statementCache.close();
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			// Connection is being discarded anyway
+		}
+	}
+}
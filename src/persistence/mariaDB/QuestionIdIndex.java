@@ -0,0 +1,208 @@
+package persistence.mariaDB;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact in-memory index of question IDs per theme.
+ * <p>
+ * Random question selection only needs the IDs of the candidate questions, so
+ * the {@link DBManager} keeps them here as plain {@code int} arrays instead of
+ * loading the whole {@code Questions} table on every request. The selected
+ * question is then fetched by its ID.
+ * <p>
+ * The index is refreshed incrementally: new questions are appended by reading
+ * only rows with an ID above the highest known one. If the row count shows that
+ * questions were deleted, or the index was invalidated after a local write that
+ * may have moved a question, the index is rebuilt from scratch. Checks against
+ * the database are throttled to {@link #REFRESH_INTERVAL_MS}.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+class QuestionIdIndex {
+
+	/** Minimum time between two refresh checks in milliseconds */
+	static final long REFRESH_INTERVAL_MS = 2000;
+
+	/** SQL query for the row count and highest question ID */
+	private static final String SQL_STATE = "SELECT COUNT(*), COALESCE(MAX(id), 0) FROM Questions";
+
+	/** SQL query for all question IDs */
+	private static final String SQL_ALL_IDS = "SELECT id, theme_id FROM Questions ORDER BY id";
+
+	/** SQL query for question IDs above a known ID */
+	private static final String SQL_NEW_IDS = "SELECT id, theme_id FROM Questions WHERE id > ? ORDER BY id";
+
+	/** Empty ID array */
+	private static final int[] NO_IDS = new int[0];
+
+	/** IDs of all questions */
+	private int[] allIds = NO_IDS;
+
+	/** Number of valid entries in {@link #allIds} */
+	private int allCount;
+
+	/** IDs of the questions per theme ID */
+	private final Map<Integer, IdList> idsByTheme = new HashMap<>();
+
+	/** Highest indexed question ID */
+	private int maxId;
+
+	/** Time of the last refresh check in milliseconds */
+	private long lastCheck;
+
+	/** Flag forcing a full rebuild on the next refresh */
+	private boolean invalid = true;
+
+	/**
+	 * Growable list of question IDs.
+	 */
+	private static final class IdList {
+
+		/** Stored IDs */
+		private int[] ids = new int[16];
+
+		/** Number of stored IDs */
+		private int size;
+
+		/**
+		 * Appends an ID.
+		 *
+		 * @param id the ID to append
+		 */
+		void add(int id) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			ids[size++] = id;
+		}
+
+		/**
+		 * Returns a copy of the stored IDs.
+		 *
+		 * @return stored IDs
+		 */
+		int[] toArray() {
+			return Arrays.copyOf(ids, size);
+		}
+	}
+
+	/**
+	 * Brings the index up to date if the last check is older than the refresh
+	 * interval or the index was invalidated.
+	 *
+	 * @param pooled connection to read from
+	 * @throws SQLException if a database error occurs
+	 */
+	synchronized void refresh(PooledConnection pooled) throws SQLException {
+		long now = System.currentTimeMillis();
+		if (!invalid && now - lastCheck < REFRESH_INTERVAL_MS) {
+			return;
+		}
+		lastCheck = now;
+
+		if (invalid) {
+			rebuild(pooled);
+			return;
+		}
+
+		int count;
+		int highestId;
+		try (ResultSet rs = pooled.prepareStatement(SQL_STATE).executeQuery()) {
+			rs.next();
+			count = rs.getInt(1);
+			highestId = rs.getInt(2);
+		}
+
+		if (highestId > maxId) {
+			appendNewIds(pooled);
+		}
+		if (allCount != count) {
+			rebuild(pooled);
+		}
+	}
+
+	/**
+	 * Forces a full rebuild on the next refresh. Called after local writes that
+	 * delete or move questions.
+	 */
+	synchronized void invalidate() {
+		invalid = true;
+	}
+
+	/**
+	 * Returns the IDs of all questions.
+	 *
+	 * @return question IDs
+	 */
+	synchronized int[] getAllIds() {
+		return Arrays.copyOf(allIds, allCount);
+	}
+
+	/**
+	 * Returns the IDs of all questions of a theme.
+	 *
+	 * @param themeId the theme ID
+	 * @return question IDs, empty if the theme has no questions
+	 */
+	synchronized int[] getIdsForTheme(int themeId) {
+		IdList list = idsByTheme.get(themeId);
+		return list != null ? list.toArray() : NO_IDS;
+	}
+
+	/**
+	 * Reloads all question IDs.
+	 *
+	 * @param pooled connection to read from
+	 * @throws SQLException if a database error occurs
+	 */
+	private void rebuild(PooledConnection pooled) throws SQLException {
+		allIds = NO_IDS;
+		allCount = 0;
+		idsByTheme.clear();
+		maxId = 0;
+		try (ResultSet rs = pooled.prepareStatement(SQL_ALL_IDS).executeQuery()) {
+			addRows(rs);
+		}
+		invalid = false;
+	}
+
+	/**
+	 * Appends question IDs above the highest known ID.
+	 *
+	 * @param pooled connection to read from
+	 * @throws SQLException if a database error occurs
+	 */
+	private void appendNewIds(PooledConnection pooled) throws SQLException {
+		PreparedStatement ps = pooled.prepareStatement(SQL_NEW_IDS);
+		ps.setInt(1, maxId);
+		try (ResultSet rs = ps.executeQuery()) {
+			addRows(rs);
+		}
+	}
+
+	/**
+	 * Adds the rows of an {@code id, theme_id} result set to the index.
+	 *
+	 * @param rs result set to read
+	 * @throws SQLException if a database error occurs
+	 */
+	private void addRows(ResultSet rs) throws SQLException {
+		while (rs.next()) {
+			int id = rs.getInt(1);
+			int themeId = rs.getInt(2);
+			if (allCount == allIds.length) {
+				allIds = Arrays.copyOf(allIds, Math.max(16, allCount * 2));
+			}
+			allIds[allCount++] = id;
+			idsByTheme.computeIfAbsent(themeId, _ -> new IdList()).add(id);
+			maxId = Math.max(maxId, id);
+		}
+	}
+}
@@ -0,0 +1,210 @@
+package persistence.mariaDB;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+import constants.ConfigManager;
+
+/**
+ * Read replica that read-only queries of the {@link DBManager} are routed to.
+ * <p>
+ * The replica has a {@link ConnectionPool} of its own whose connections are
+ * read-only. Before a connection is handed out the replica must be healthy:
+ * after a failure it is skipped for the configured retry delay, and the
+ * replication lag reported by {@code SHOW SLAVE STATUS} is checked at the
+ * configured interval. While the lag exceeds the configured maximum, or
+ * replication is stopped, the replica is skipped as well. A skipped replica
+ * makes {@link #borrow()} return null and the caller reads from the primary.
+ * <p>
+ * An instance without replication status, e.g. a cluster node, counts as
+ * current. If the database user may not query the replication status the lag
+ * is not checked.
+ * <p>
+ * Settings are read from the {@link ConfigManager}:
+ * <ul>
+ * <li>{@value ConfigManager#DB_READ_URL}</li>
+ * <li>{@value ConfigManager#DB_READ_USER}</li>
+ * <li>{@value ConfigManager#DB_READ_PASSWORD}</li>
+ * <li>{@value ConfigManager#DB_READ_MAX_LAG}</li>
+ * <li>{@value ConfigManager#DB_READ_LAG_CHECK_INTERVAL}</li>
+ * <li>{@value ConfigManager#DB_READ_RETRY_DELAY}</li>
+ * </ul>
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+class ReadReplica {
+
+	/** SQL query for the replication status */
+	private static final String SQL_REPLICATION_STATUS = "SHOW SLAVE STATUS";
+
+	/** Column of the replication status holding the lag */
+	private static final String LAG_COLUMN = "Seconds_Behind_Master";
+
+	/** JDBC URL of the replica */
+	private final String url;
+
+	/** Pool of read-only connections to the replica */
+	private final ConnectionPool pool;
+
+	/** Replication lag in seconds above which the replica is skipped */
+	private final long maxLagSeconds;
+
+	/** Interval between two lag checks in milliseconds */
+	private final long lagCheckIntervalMs;
+
+	/** Time the replica is skipped after a failure in milliseconds */
+	private final long retryDelayMs;
+
+	/** Reads served by the replica */
+	private final LongAdder replicaReads = new LongAdder();
+
+	/** Reads routed to the primary */
+	private final LongAdder primaryReads = new LongAdder();
+
+	/** Replica failures */
+	private final LongAdder failures = new LongAdder();
+
+	/** Time until which the replica is skipped */
+	private volatile long skipUntilMillis;
+
+	/** Time of the last lag check */
+	private volatile long lastLagCheckMillis;
+
+	/** Replication lag of the last check, -1 if unknown */
+	private volatile long lagSeconds = -1;
+
+	/** Flag indicating whether the lag can be checked */
+	private volatile boolean lagCheckSupported = true;
+
+	/** Error of the last failure */
+	private volatile String lastError;
+
+	/**
+	 * Creates a replica with the settings of the configuration manager. No
+	 * connection is opened by the constructor.
+	 *
+	 * @param configManager configuration providing the replica settings
+	 */
+	ReadReplica(ConfigManager configManager) {
+		this.url = configManager.getDatabaseReadUrl();
+		this.pool = new ConnectionPool(url, configManager.getDatabaseReadUser(),
+				configManager.getDatabaseReadPassword(), configManager, true);
+		this.maxLagSeconds = Math.max(0, configManager.getDatabaseReadMaxLag());
+		this.lagCheckIntervalMs = Math.max(0, configManager.getDatabaseReadLagCheckInterval());
+		this.retryDelayMs = Math.max(0, configManager.getDatabaseReadRetryDelay());
+	}
+
+	/**
+	 * Borrows a read-only connection to the replica if the replica is healthy
+	 * and current.
+	 *
+	 * @return a borrowed connection, or null if reads must go to the primary
+	 */
+	PooledConnection borrow() {
+		long now = System.currentTimeMillis();
+		if (now < skipUntilMillis) {
+			primaryReads.increment();
+			return null;
+		}
+		PooledConnection pooled = null;
+		try {
+			pooled = pool.borrow();
+			if (lagCheckSupported && now - lastLagCheckMillis >= lagCheckIntervalMs) {
+				checkLag(pooled, now);
+			}
+			if (lagSeconds > maxLagSeconds) {
+				pooled.close();
+				primaryReads.increment();
+				return null;
+			}
+			replicaReads.increment();
+			return pooled;
+		} catch (SQLException e) {
+			if (pooled != null) {
+				pooled.close();
+			}
+			markFailed(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Skips the replica for the retry delay after a query on it failed. The
+	 * caller repeats the read on the primary.
+	 *
+	 * @param e the failure
+	 */
+	void markFailed(SQLException e) {
+		skipUntilMillis = System.currentTimeMillis() + retryDelayMs;
+		lastLagCheckMillis = 0;
+		lastError = e.getMessage();
+		failures.increment();
+		primaryReads.increment();
+		ConfigManager.debugPrint("DEBUG: Read replica failed, reading from primary for " + retryDelayMs + " ms: "
+				+ e.getMessage());
+	}
+
+	/**
+	 * Reads the replication lag of the replica. Stopped replication counts as
+	 * infinite lag.
+	 *
+	 * @param pooled connection to the replica
+	 * @param now    current time in milliseconds
+	 * @throws SQLException if the replica fails
+	 */
+	private void checkLag(PooledConnection pooled, long now) throws SQLException {
+		try (Statement statement = pooled.getConnection().createStatement();
+				ResultSet rs = statement.executeQuery(SQL_REPLICATION_STATUS)) {
+			if (!rs.next()) {
+				lagSeconds = 0;
+			} else {
+				long lag = rs.getLong(LAG_COLUMN);
+				lagSeconds = rs.wasNull() ? Long.MAX_VALUE : lag;
+			}
+		} catch (SQLException e) {
+			String state = e.getSQLState();
+			if (state == null || !state.startsWith("42")) {
+				throw e;
+			}
+			// Access denied or unknown statement: the lag cannot be checked
+			lagCheckSupported = false;
+			lagSeconds = -1;
+			ConfigManager.debugPrint("DEBUG: Replication lag of read replica cannot be checked: " + e.getMessage());
+		}
+		lastLagCheckMillis = now;
+		if (lagSeconds > maxLagSeconds) {
+			ConfigManager.debugPrint("DEBUG: Read replica lags behind, reading from primary");
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the routing counters.
+	 *
+	 * @return the statistics
+	 */
+	ReadRoutingStats getStats() {
+		boolean available = System.currentTimeMillis() >= skipUntilMillis && lagSeconds <= maxLagSeconds;
+		return new ReadRoutingStats(url, available, replicaReads.sum(), primaryReads.sum(), failures.sum(),
+				lagSeconds, lastError);
+	}
+
+	/**
+	 * Returns the connection pool of the replica.
+	 *
+	 * @return the replica pool
+	 */
+	ConnectionPool getConnectionPool() {
+		return pool;
+	}
+
+	/**
+	 * Closes the connection pool of the replica.
+	 */
+	void close() {
+		pool.close();
+	}
+}
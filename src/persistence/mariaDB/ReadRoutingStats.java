@@ -0,0 +1,22 @@
+package persistence.mariaDB;
+
+/**
+ * Snapshot of the routing counters of a {@link ReadReplica}.
+ *
+ * @param replicaUrl   JDBC URL of the read replica
+ * @param available    whether reads currently go to the replica
+ * @param replicaReads reads served by the replica
+ * @param primaryReads reads routed to the primary because the replica was
+ *                     unavailable or lagging
+ * @param failures     replica failures that sent reads to the primary
+ * @param lagSeconds   replication lag measured by the last check, -1 if
+ *                     unknown
+ * @param lastError    error of the last replica failure, null if none
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public record ReadRoutingStats(String replicaUrl, boolean available, long replicaReads, long primaryReads,
+		long failures, long lagSeconds, String lastError) {
+}
@@ -0,0 +1,228 @@
+package persistence.mariaDB;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import constants.ConfigManager;
+
+/**
+ * Lazily reads the rows of a query as a {@link Stream}.
+ * <p>
+ * The query runs on its own forward-only, read-only statement with a fetch
+ * size, so the driver transfers the rows in chunks instead of materializing
+ * the whole result. The borrowed connection, the statement and the result set
+ * stay open while the stream is consumed and are released when the last row
+ * was read or the stream is closed. Callers that may stop early must close the
+ * stream, typically in a try-with-resources block.
+ *
+ * @param <T> element type of the stream
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+final class ResultSetStream<T> extends Spliterators.AbstractSpliterator<T> {
+
+	/**
+	 * Binds the parameters of a streamed query.
+	 */
+	@FunctionalInterface
+	interface Binder {
+
+		/**
+		 * Sets the parameters of the statement.
+		 *
+		 * @param ps the prepared statement
+		 * @throws SQLException if a parameter cannot be set
+		 */
+		void bind(PreparedStatement ps) throws SQLException;
+	}
+
+	/**
+	 * Reads one stream element from the rows of a result set.
+	 *
+	 * @param <T> element type
+	 */
+	@FunctionalInterface
+	interface RowReader<T> {
+
+		/**
+		 * Reads the next element, starting at the current row of the cursor. The
+		 * reader must advance the cursor past every row it consumed, which lets a
+		 * single element span several rows.
+		 *
+		 * @param cursor cursor positioned on an unread row
+		 * @return the element
+		 * @throws SQLException if a database error occurs
+		 */
+		T read(Cursor cursor) throws SQLException;
+	}
+
+	/**
+	 * Forward-only position in a streamed result set.
+	 */
+	static final class Cursor {
+
+		/** Result set being read */
+		private final ResultSet resultSet;
+
+		/** Whether the result set is positioned on an unread row */
+		private boolean onRow;
+
+		/**
+		 * Creates a cursor before the first row.
+		 *
+		 * @param resultSet the result set
+		 */
+		private Cursor(ResultSet resultSet) {
+			this.resultSet = resultSet;
+		}
+
+		/**
+		 * Returns the result set positioned on the current row.
+		 *
+		 * @return the result set
+		 */
+		ResultSet getResultSet() {
+			return resultSet;
+		}
+
+		/**
+		 * Moves to the next row.
+		 *
+		 * @return true if the cursor is on a row, false after the last row
+		 * @throws SQLException if a database error occurs
+		 */
+		boolean next() throws SQLException {
+			onRow = resultSet.next();
+			return onRow;
+		}
+
+		/**
+		 * Returns whether the cursor is positioned on an unread row.
+		 *
+		 * @return true if a row is available
+		 */
+		boolean isOnRow() {
+			return onRow;
+		}
+	}
+
+	/** Connection the query runs on */
+	private final PooledConnection pooled;
+
+	/** Statement of the query, owned by this stream */
+	private final PreparedStatement statement;
+
+	/** Cursor over the result of the query */
+	private final Cursor cursor;
+
+	/** Reader turning rows into elements */
+	private final RowReader<T> reader;
+
+	/** Whether the resources have been released */
+	private boolean closed;
+
+	/**
+	 * Creates a stream source over an executed query.
+	 *
+	 * @param pooled    connection the query runs on
+	 * @param statement statement of the query
+	 * @param resultSet result of the query
+	 * @param reader    reader turning rows into elements
+	 */
+	private ResultSetStream(PooledConnection pooled, PreparedStatement statement, ResultSet resultSet,
+			RowReader<T> reader) {
+		super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+		this.pooled = pooled;
+		this.statement = statement;
+		this.cursor = new Cursor(resultSet);
+		this.reader = reader;
+	}
+
+	/**
+	 * Runs a query and returns its rows as a lazy stream. The stream takes over
+	 * the borrowed connection; it is returned to the pool when the stream is
+	 * exhausted or closed, or right away if the query fails.
+	 *
+	 * @param <T>       element type
+	 * @param pooled    borrowed connection to run the query on
+	 * @param sql       SQL query
+	 * @param fetchSize number of rows fetched per round trip
+	 * @param binder    binds the query parameters
+	 * @param reader    reads the elements from the rows
+	 * @return stream of the elements, to be closed by the caller
+	 * @throws SQLException if the query cannot be executed
+	 */
+	static <T> Stream<T> open(PooledConnection pooled, String sql, int fetchSize, Binder binder,
+			RowReader<T> reader) throws SQLException {
+		PreparedStatement statement = null;
+		try {
+			Connection connection = pooled.getConnection();
+			connection.setReadOnly(true);
+			statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			statement.setFetchSize(fetchSize);
+			binder.bind(statement);
+			ResultSetStream<T> source = new ResultSetStream<>(pooled, statement, statement.executeQuery(), reader);
+			if (!source.cursor.next()) {
+				source.close();
+			}
+			return StreamSupport.stream(source, false).onClose(source::close);
+		} catch (SQLException | RuntimeException e) {
+			if (statement != null) {
+				try {
+					statement.close();
+				} catch (SQLException closeException) {
+					e.addSuppressed(closeException);
+				}
+			}
+			pooled.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if (closed) {
+			return false;
+		}
+		T element;
+		try {
+			element = reader.read(cursor);
+		} catch (SQLException e) {
+			close();
+			throw new RuntimeException("Failed to read streamed rows", e);
+		}
+		if (!cursor.isOnRow()) {
+			close();
+		}
+		action.accept(element);
+		return true;
+	}
+
+	/**
+	 * Closes the result set and the statement and returns the connection to the
+	 * pool. Calling this method more than once has no effect.
+	 */
+	void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			cursor.getResultSet().close();
+			statement.close();
+		} catch (SQLException e) {
+			ConfigManager.debugPrint("DEBUG: Error closing streamed query: " + e.getMessage());
+		} finally {
+			pooled.close();
+		}
+	}
+}
@@ -0,0 +1,193 @@
+package persistence.mariaDB;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import constants.ConfigManager;
+
+/**
+ * Applies versioned schema migrations to the Quizzle database.
+ * <p>
+ * The applied schema version is recorded in the {@code schema_version} table.
+ * On {@link DBManager#connect()} every migration with a higher version than
+ * the recorded one is applied in order and recorded afterwards, so existing
+ * installations pick up schema changes automatically. All statements are
+ * written to be idempotent, which makes it safe to rerun a migration that was
+ * interrupted before its version was recorded, or to run it against a database
+ * created from a newer {@code quizzle.sql}.
+ * <p>
+ * A named database lock keeps several clients connecting at the same time from
+ * migrating concurrently.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+class SchemaMigrator {
+
+	/** Name of the database lock held while migrating */
+	private static final String LOCK_NAME = "quizzle_schema_migration";
+
+	/** Seconds to wait for the migration lock */
+	private static final int LOCK_TIMEOUT_SECONDS = 30;
+
+	/** SQL statement creating the version table */
+	private static final String SQL_CREATE_VERSION_TABLE = "CREATE TABLE IF NOT EXISTS schema_version ("
+			+ "version INT PRIMARY KEY, description VARCHAR(200) NOT NULL, "
+			+ "applied_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+
+	/** SQL query for the current schema version */
+	private static final String SQL_SELECT_VERSION = "SELECT COALESCE(MAX(version), 0) FROM schema_version";
+
+	/** SQL statement recording an applied migration */
+	private static final String SQL_INSERT_VERSION = "INSERT INTO schema_version (version, description) VALUES (?, ?)";
+
+	/** Rule deciding whether the user answers grouped per question are correct */
+	private static final String SQL_QUESTION_CORRECT = "CASE WHEN SUM(isSelected) > 0 "
+			+ "AND SUM(isSelected AND NOT isCorrect) = 0 THEN 1 ELSE 0 END";
+
+	/**
+	 * A single schema migration.
+	 *
+	 * @param version     schema version reached by the migration
+	 * @param description short description stored in the version table
+	 * @param statements  idempotent SQL statements to execute in order
+	 */
+	record Migration(int version, String description, List<String> statements) {
+	}
+
+	/** All migrations in ascending version order */
+	static final List<Migration> MIGRATIONS = List.of(
+			new Migration(1, "Session summary table", List.of(
+					"CREATE TABLE IF NOT EXISTS SessionSummary (session_id INT PRIMARY KEY, timestamp DATETIME, "
+							+ "question_count INT NOT NULL, correct_count INT NOT NULL, "
+							+ "success_rate DOUBLE NOT NULL, "
+							+ "FOREIGN KEY (session_id) REFERENCES QuizSession(id) ON DELETE CASCADE)",
+					"INSERT INTO SessionSummary (session_id, timestamp, question_count, correct_count, success_rate) "
+							+ "SELECT s.id, s.timestamp, COUNT(pq.question_id), COALESCE(SUM(pq.correct), 0), "
+							+ "COALESCE(100 * SUM(pq.correct) / COUNT(pq.question_id), 0) "
+							+ "FROM QuizSession s LEFT JOIN (SELECT quizsession_id, question_id, "
+							+ SQL_QUESTION_CORRECT + " AS correct FROM UserAnswer "
+							+ "GROUP BY quizsession_id, question_id) pq ON pq.quizsession_id = s.id "
+							+ "WHERE NOT EXISTS (SELECT 1 FROM SessionSummary ss WHERE ss.session_id = s.id) "
+							+ "GROUP BY s.id, s.timestamp")),
+			new Migration(2, "Secondary indexes for session, question and answer lookups", List.of(
+					"CREATE INDEX IF NOT EXISTS idx_quizsession_timestamp ON QuizSession (timestamp, id)",
+					"CREATE INDEX IF NOT EXISTS idx_session_summary_timestamp "
+							+ "ON SessionSummary (timestamp, session_id)",
+					"CREATE INDEX IF NOT EXISTS idx_questions_theme ON Questions (theme_id, id)",
+					"CREATE INDEX IF NOT EXISTS idx_answers_question ON Answers (question_id, id)",
+					"CREATE INDEX IF NOT EXISTS idx_useranswer_session "
+							+ "ON UserAnswer (quizsession_id, question_id, id)")),
+			new Migration(3, "Position of user answers within their session", List.of(
+					"ALTER TABLE UserAnswer ADD COLUMN IF NOT EXISTS answer_index INT NULL AFTER quizsession_id",
+					// Existing answers keep their insertion order as their position
+					"UPDATE UserAnswer ua JOIN (SELECT id, "
+							+ "ROW_NUMBER() OVER (PARTITION BY quizsession_id ORDER BY id) - 1 AS position "
+							+ "FROM UserAnswer) numbered ON numbered.id = ua.id "
+							+ "SET ua.answer_index = numbered.position WHERE ua.answer_index IS NULL",
+					"ALTER TABLE UserAnswer MODIFY answer_index INT NOT NULL",
+					"CREATE UNIQUE INDEX IF NOT EXISTS uq_useranswer_position "
+							+ "ON UserAnswer (quizsession_id, answer_index)")),
+			new Migration(4, "ID map of changes replayed from file storage", List.of(
+					"CREATE TABLE IF NOT EXISTS OfflineIdMap (entity VARCHAR(16) NOT NULL, scope_id INT NOT NULL, "
+							+ "file_id INT NOT NULL, db_id INT NOT NULL, PRIMARY KEY (entity, scope_id, file_id))")));
+
+	/**
+	 * Brings the schema up to the latest version.
+	 *
+	 * @param pooled connection to migrate on
+	 * @return number of applied migrations
+	 * @throws SQLException if a migration fails; migrations applied before the
+	 *                      failing one stay recorded
+	 */
+	int migrate(PooledConnection pooled) throws SQLException {
+		Connection connection = pooled.getConnection();
+		acquireLock(pooled);
+		try (Statement statement = connection.createStatement()) {
+			statement.execute(SQL_CREATE_VERSION_TABLE);
+			connection.commit();
+
+			int currentVersion = getCurrentVersion(pooled);
+			int applied = 0;
+			for (Migration migration : MIGRATIONS) {
+				if (migration.version() <= currentVersion) {
+					continue;
+				}
+				ConfigManager.debugPrint("DEBUG: Applying schema migration " + migration.version() + ": "
+						+ migration.description());
+				for (String sql : migration.statements()) {
+					statement.execute(sql);
+				}
+				PreparedStatement ps = pooled.prepareStatement(SQL_INSERT_VERSION);
+				ps.setInt(1, migration.version());
+				ps.setString(2, migration.description());
+				ps.executeUpdate();
+				connection.commit();
+				applied++;
+			}
+			return applied;
+		} finally {
+			releaseLock(pooled);
+		}
+	}
+
+	/**
+	 * Returns the latest schema version known to this migrator.
+	 *
+	 * @return latest version
+	 */
+	static int getLatestVersion() {
+		return MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+	}
+
+	/**
+	 * Reads the recorded schema version.
+	 *
+	 * @param pooled connection to read from
+	 * @return recorded version, 0 if no migration was applied yet
+	 * @throws SQLException if a database error occurs
+	 */
+	private int getCurrentVersion(PooledConnection pooled) throws SQLException {
+		try (ResultSet rs = pooled.prepareStatement(SQL_SELECT_VERSION).executeQuery()) {
+			return rs.next() ? rs.getInt(1) : 0;
+		}
+	}
+
+	/**
+	 * Acquires the named migration lock.
+	 *
+	 * @param pooled connection to lock on
+	 * @throws SQLException if the lock cannot be acquired in time
+	 */
+	private void acquireLock(PooledConnection pooled) throws SQLException {
+		PreparedStatement ps = pooled.prepareStatement("SELECT GET_LOCK(?, ?)");
+		ps.setString(1, LOCK_NAME);
+		ps.setInt(2, LOCK_TIMEOUT_SECONDS);
+		try (ResultSet rs = ps.executeQuery()) {
+			if (!rs.next() || rs.getInt(1) != 1) {
+				throw new SQLException("Timed out waiting for the schema migration lock");
+			}
+		}
+	}
+
+	/**
+	 * Releases the named migration lock.
+	 *
+	 * @param pooled connection holding the lock
+	 */
+	private void releaseLock(PooledConnection pooled) {
+		try {
+			PreparedStatement ps = pooled.prepareStatement("SELECT RELEASE_LOCK(?)");
+			ps.setString(1, LOCK_NAME);
+			// Result only reports whether the lock was held
+			ps.executeQuery().close();
+		} catch (SQLException e) {
+			ConfigManager.debugPrint("DEBUG: Error releasing schema migration lock: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,165 @@
+package persistence.mariaDB;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of {@link PreparedStatement}s for a single pooled
+ * connection.
+ * <p>
+ * Statements are keyed by their SQL text and generated-keys mode. Statements
+ * handed out by the cache stay owned by it and must not be closed by the
+ * caller; their result sets still have to be closed as usual. Statements that
+ * fall out of the cache while the connection is borrowed are only closed when
+ * the connection is returned, so a statement in use is never closed underneath
+ * its caller.
+ * <p>
+ * Hit and miss counters are shared by all caches of a pool.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+class StatementCache {
+
+	/**
+	 * Cache key combining SQL text and generated-keys mode.
+	 *
+	 * @param sql               SQL text of the statement
+	 * @param autoGeneratedKeys generated-keys mode passed to the driver
+	 */
+	private record Key(String sql, int autoGeneratedKeys) {
+	}
+
+	/** Connection the statements belong to */
+	private final Connection connection;
+
+	/** Maximum number of cached statements */
+	private final int maxSize;
+
+	/** Shared counter of cache hits */
+	private final LongAdder hits;
+
+	/** Shared counter of cache misses */
+	private final LongAdder misses;
+
+	/** Evicted statements waiting to be closed on release */
+	private final List<PreparedStatement> retired = new ArrayList<>();
+
+	/** Cached statements in access order */
+	private final LinkedHashMap<Key, PreparedStatement> statements;
+
+	/**
+	 * Creates a new statement cache.
+	 *
+	 * @param connection connection to prepare statements on
+	 * @param maxSize    maximum number of cached statements
+	 * @param hits       shared hit counter
+	 * @param misses     shared miss counter
+	 */
+	StatementCache(Connection connection, int maxSize, LongAdder hits, LongAdder misses) {
+		this.connection = connection;
+		this.maxSize = Math.max(1, maxSize);
+		this.hits = hits;
+		this.misses = misses;
+		this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+				if (size() > StatementCache.this.maxSize) {
+					retired.add(eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns a cached statement for the SQL text, preparing it on a miss.
+	 *
+	 * @param sql SQL text
+	 * @return prepared statement owned by the cache
+	 * @throws SQLException if the statement cannot be prepared
+	 */
+	synchronized PreparedStatement prepare(String sql) throws SQLException {
+		return prepare(sql, Statement.NO_GENERATED_KEYS);
+	}
+
+	/**
+	 * Returns a cached statement for the SQL text and generated-keys mode,
+	 * preparing it on a miss.
+	 *
+	 * @param sql               SQL text
+	 * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} or
+	 *                          {@link Statement#NO_GENERATED_KEYS}
+	 * @return prepared statement owned by the cache
+	 * @throws SQLException if the statement cannot be prepared
+	 */
+	synchronized PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+		Key key = new Key(sql, autoGeneratedKeys);
+		PreparedStatement ps = statements.get(key);
+		if (ps != null && !ps.isClosed()) {
+			hits.increment();
+			ps.clearParameters();
+			// A batch left behind by a failed earlier use must not run again
+			ps.clearBatch();
+			return ps;
+		}
+
+		misses.increment();
+		ps = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+				? connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+				: connection.prepareStatement(sql);
+		statements.put(key, ps);
+		return ps;
+	}
+
+	/**
+	 * Closes statements evicted since the last call. Called when the connection
+	 * goes back to the pool.
+	 */
+	synchronized void closeRetired() {
+		retired.forEach(StatementCache::closeQuietly);
+		retired.clear();
+	}
+
+	/**
+	 * Closes all cached and evicted statements.
+	 */
+	synchronized void close() {
+		closeRetired();
+		statements.values().forEach(StatementCache::closeQuietly);
+		statements.clear();
+	}
+
+	/**
+	 * Returns the number of cached statements.
+	 *
+	 * @return cache size
+	 */
+	synchronized int size() {
+		return statements.size();
+	}
+
+	/**
+	 * Closes a statement, ignoring errors.
+	 *
+	 * @param ps statement to close
+	 */
+	private static void closeQuietly(PreparedStatement ps) {
+		try {
+			ps.close();
+		} catch (SQLException e) {
+			// Statement is being discarded anyway
+		}
+	}
+}
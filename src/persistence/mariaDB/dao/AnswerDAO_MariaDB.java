@@ -39,16 +39,16 @@ public class AnswerDAO_MariaDB extends MariaAccessObject {
 	private static final long serialVersionUID = 1L;
 
 	/** SQL INSERT statement for the Answers table */
-	private final String SQL_INSERT = "INSERT INTO Answers (text, isCorrect, question_id) VALUES (?, ?, ?)";
+	public static final String SQL_INSERT = "INSERT INTO Answers (text, isCorrect, question_id) VALUES (?, ?, ?)";
 
 	/** SQL UPDATE statement for the Answers table */
-	private final String SQL_UPDATE = "UPDATE Answers SET text = ?, isCorrect = ?, question_id = ? WHERE id = ?";
+	public static final String SQL_UPDATE = "UPDATE Answers SET text = ?, isCorrect = ?, question_id = ? WHERE id = ?";
 
 	/** SQL SELECT statement for the Answers table */
-	private final String SQL_SELECT = "SELECT id, text, isCorrect, question_id FROM Answers";
+	public static final String SQL_SELECT = "SELECT id, text, isCorrect, question_id FROM Answers";
 
 	/** SQL DELETE statement for the Answers table */
-	private final String SQL_DELETE = "DELETE FROM Answers WHERE id = ?";
+	public static final String SQL_DELETE = "DELETE FROM Answers WHERE id = ?";
 
 	/** Answer text */
 	private String text;
@@ -38,16 +38,16 @@ public class QuestionDAO_MariaDB extends MariaAccessObject {
 	private static final long serialVersionUID = 1L;
 
 	/** SQL INSERT statement for questions */
-	private final String SQL_INSERT = "INSERT INTO Questions (title, text, theme_id) VALUES (?, ?, ?)";
+	public static final String SQL_INSERT = "INSERT INTO Questions (title, text, theme_id) VALUES (?, ?, ?)";
 
 	/** SQL UPDATE statement for questions */
-	private final String SQL_UPDATE = "UPDATE Questions SET title = ?, text = ?, theme_id = ? WHERE id = ?";
+	public static final String SQL_UPDATE = "UPDATE Questions SET title = ?, text = ?, theme_id = ? WHERE id = ?";
 
 	/** SQL SELECT statement for questions */
-	private final String SQL_SELECT = "SELECT id, title, text, theme_id FROM Questions";
+	public static final String SQL_SELECT = "SELECT id, title, text, theme_id FROM Questions";
 
 	/** SQL DELETE statement for questions */
-	private final String SQL_DELETE = "DELETE FROM Questions WHERE id = ?";
+	public static final String SQL_DELETE = "DELETE FROM Questions WHERE id = ?";
 
 	/** Question title */
 	private String title;
@@ -31,16 +31,16 @@ public class ThemeDAO_MariaDB extends MariaAccessObject {
 	private static final long serialVersionUID = 1L;
 
 	/** SQL INSERT statement for themes */
-	private final String SQL_INSERT = "INSERT INTO Theme (title, description) VALUES (?, ?)";
+	public static final String SQL_INSERT = "INSERT INTO Theme (title, description) VALUES (?, ?)";
 
 	/** SQL UPDATE statement for themes */
-	private final String SQL_UPDATE = "UPDATE Theme SET title = ?, description = ? WHERE id = ?";
+	public static final String SQL_UPDATE = "UPDATE Theme SET title = ?, description = ? WHERE id = ?";
 
 	/** SQL SELECT statement for themes */
-	private final String SQL_SELECT = "SELECT id, title, description FROM Theme";
+	public static final String SQL_SELECT = "SELECT id, title, description FROM Theme";
 
 	/** SQL DELETE statement for themes */
-	private final String SQL_DELETE = "DELETE FROM Theme WHERE id = ?";
+	public static final String SQL_DELETE = "DELETE FROM Theme WHERE id = ?";
 
 	/** Title of the theme */
 	private String themeTitle;
@@ -38,11 +38,38 @@ CREATE TABLE QuizSession (
 CREATE TABLE UserAnswer (
     						id INT AUTO_INCREMENT PRIMARY KEY,
    							quizsession_id INT NOT NULL,
+    						answer_index INT NOT NULL,
     						question_id INT NOT NULL,
    							answer_id INT NOT NULL,
     						isSelected BOOLEAN NOT NULL DEFAULT FALSE,
     						isCorrect BOOLEAN NOT NULL DEFAULT FALSE,
+    						UNIQUE KEY uq_useranswer_position (quizsession_id, answer_index),
     						FOREIGN KEY (quizsession_id) REFERENCES QuizSession(id) ON DELETE CASCADE,
     						FOREIGN KEY (question_id) REFERENCES Questions(id) ON DELETE CASCADE,
     						FOREIGN KEY (answer_id) REFERENCES Answers(id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+-- Tabelle SessionSummary (wird beim Speichern einer Session gepflegt)
+CREATE TABLE SessionSummary (
+    						session_id INT PRIMARY KEY,
+    						timestamp DATETIME,
+    						question_count INT NOT NULL,
+    						correct_count INT NOT NULL,
+    						success_rate DOUBLE NOT NULL,
+    						INDEX idx_session_summary_timestamp (timestamp, session_id),
+    						FOREIGN KEY (session_id) REFERENCES QuizSession(id) ON DELETE CASCADE
+);
+
+-- Tabelle OfflineIdMap (ordnet offline in Dateien angelegte IDs den Datenbank-IDs zu)
+CREATE TABLE OfflineIdMap (
+    						entity VARCHAR(16) NOT NULL,
+    						scope_id INT NOT NULL,
+    						file_id INT NOT NULL,
+    						db_id INT NOT NULL,
+    						PRIMARY KEY (entity, scope_id, file_id)
+);
+
+-- Sekundärindizes (werden bei bestehenden Installationen vom SchemaMigrator angelegt)
+CREATE INDEX idx_quizsession_timestamp ON QuizSession (timestamp, id);
+CREATE INDEX idx_questions_theme ON Questions (theme_id, id);
+CREATE INDEX idx_answers_question ON Answers (question_id, id);
+CREATE INDEX idx_useranswer_session ON UserAnswer (quizsession_id, question_id, id);
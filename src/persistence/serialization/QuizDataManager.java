@@ -9,7 +9,16 @@ import java.io.ObjectOutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import constants.ConfigManager;
 import constants.LogicConstants;
@@ -83,13 +92,9 @@ public class QuizDataManager implements QuizDataInterface {
 				theme.setId(newId);
 				ConfigManager.debugPrint("DEBUG: New Theme ID assigned: " + newId);
 			}
-			String filename = THEME_FILE_PREFIX + theme.getId() + FILE_EXTENSION;
-			ConfigManager.debugPrint("DEBUG: Saving Theme to file: " + filename);
-
-			try (ObjectOutputStream oos = new ObjectOutputStream(
-					new FileOutputStream(getDataDirectory() + File.separator + filename))) {
-				oos.writeObject(theme);
-			}
+			ConfigManager.debugPrint(
+					"DEBUG: Saving Theme to file: " + THEME_FILE_PREFIX + theme.getId() + FILE_EXTENSION);
+			writeThemeFile(theme);
 			return String.format(SAVE_SUCCESS_MESSAGE, "Theme", theme.getThemeTitle());
 		} catch (IOException e) {
 			return String.format(SAVE_ERROR_MESSAGE, "Theme", e.getMessage());
@@ -124,6 +129,28 @@ public class QuizDataManager implements QuizDataInterface {
 		return themes;
 	}
 
+	/**
+	 * Loads the complete catalog in one pass over the theme files. Each theme
+	 * file already holds the questions of the theme with their answers.
+	 *
+	 * @return all themes with questions and answers set
+	 */
+	@Override
+	public ArrayList<ThemeDTO> loadCatalog() {
+		ArrayList<ThemeDTO> themes = getAllThemes();
+		for (ThemeDTO theme : themes) {
+			if (theme.getQuestions() == null) {
+				theme.setQuestions(new ArrayList<>());
+			}
+			for (QuestionDTO question : theme.getQuestions()) {
+				if (question.getAnswers() == null) {
+					question.setAnswers(new ArrayList<>());
+				}
+			}
+		}
+		return themes;
+	}
+
 	/**
 	 * Generates the next available theme ID by examining existing files.
 	 * 
@@ -163,6 +190,43 @@ public class QuizDataManager implements QuizDataInterface {
 		return newId;
 	}
 
+	/**
+	 * Writes a theme file. The theme is written to a temporary file first and
+	 * moved into place, so a concurrent reader or a failure during the write
+	 * still finds the previous version of the theme, never a partial file.
+	 *
+	 * @param theme theme to write under its own ID
+	 * @throws IOException if the theme file cannot be written
+	 */
+	private void writeThemeFile(ThemeDTO theme) throws IOException {
+		Path target = Paths.get(getDataDirectory(), THEME_FILE_PREFIX + theme.getId() + FILE_EXTENSION);
+		Path temp = Paths.get(getDataDirectory(), THEME_FILE_PREFIX + theme.getId() + FILE_EXTENSION + ".tmp");
+		try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(temp.toFile()))) {
+			oos.writeObject(theme);
+		}
+		Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Mirrors themes into the file store under their own IDs. Each theme file
+	 * is replaced atomically, so a failover during the write still finds the
+	 * previous version of the theme.
+	 *
+	 * @param themes          themes to write, with questions and answers set
+	 * @param removedThemeIds IDs of the themes whose files are deleted
+	 * @throws IOException if a theme file cannot be written or deleted
+	 */
+	public void mirrorThemes(java.util.Collection<ThemeDTO> themes, java.util.Collection<Integer> removedThemeIds)
+			throws IOException {
+		for (ThemeDTO theme : themes) {
+			writeThemeFile(theme);
+		}
+		for (int themeId : removedThemeIds) {
+			Files.deleteIfExists(Paths.get(getDataDirectory(), THEME_FILE_PREFIX + themeId + FILE_EXTENSION));
+		}
+		ConfigManager.debugPrint("DEBUG: Mirrored " + themes.size() + " themes, removed " + removedThemeIds.size());
+	}
+
 	@Override
 	public String deleteTheme(ThemeDTO theme) {
 		try {
@@ -224,6 +288,28 @@ public class QuizDataManager implements QuizDataInterface {
 		return questionSessionManager.getRandomQuestionForThemeWithVariety(theme);
 	}
 
+	/**
+	 * Returns a random question with its answers. Themes are stored with their
+	 * complete question and answer graph, so the selected question is already
+	 * fully populated.
+	 * 
+	 * @param theme The theme to select a question from, or null for all themes
+	 * @return A randomly selected question with answers, or null if no questions exist
+	 */
+	@Override
+	public QuestionDTO getRandomQuestionWithAnswers(ThemeDTO theme) {
+		return theme != null ? getRandomQuestionFor(theme) : getRandomQuestion();
+	}
+
+	@Override
+	public void returnUnshownQuestion(QuestionDTO question, ThemeDTO theme) {
+		if (theme != null) {
+			questionSessionManager.returnQuestionIdForTheme(theme.getId(), question.getId());
+		} else {
+			questionSessionManager.returnQuestionId(question.getId());
+		}
+	}
+
 	@Override
 	public ArrayList<QuestionDTO> getQuestionsFor(ThemeDTO theme) {
 		return (ArrayList<QuestionDTO>) theme.getQuestions();
@@ -264,6 +350,29 @@ public class QuizDataManager implements QuizDataInterface {
 		}
 	}
 
+	/**
+	 * Finds the theme containing a question. Question IDs are only unique
+	 * within a theme; like {@link #saveQuestion(QuestionDTO)} and
+	 * {@link #deleteQuestion(QuestionDTO)} this picks the first theme that
+	 * contains the ID.
+	 * 
+	 * @param questionId ID of the question
+	 * @return ID of the theme, or {@link LogicConstants#INVALID_ID} if no theme
+	 *         contains the question
+	 */
+	public int findThemeIdOf(int questionId) {
+		for (ThemeDTO theme : getAllThemes()) {
+			if (theme.getQuestions() != null) {
+				for (QuestionDTO question : theme.getQuestions()) {
+					if (question.getId() == questionId) {
+						return theme.getId();
+					}
+				}
+			}
+		}
+		return LogicConstants.INVALID_ID;
+	}
+
 	@Override
 	public String deleteQuestion(QuestionDTO question) {
 		try {
@@ -436,9 +545,66 @@ public class QuizDataManager implements QuizDataInterface {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Each theme file is read and written once, however many questions are added
+	 * to the theme. Question and answer IDs continue the numbering of the stored
+	 * theme.
+	 */
+	@Override
+	public String importQuestions(Map<ThemeDTO, List<QuestionDTO>> questionsByTheme) {
+		for (Map.Entry<ThemeDTO, List<QuestionDTO>> entry : questionsByTheme.entrySet()) {
+			File file = new File(getDataDirectory(), THEME_FILE_PREFIX + entry.getKey().getId() + FILE_EXTENSION);
+			ThemeDTO theme;
+			try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
+				theme = (ThemeDTO) ois.readObject();
+			} catch (IOException | ClassNotFoundException e) {
+				return String.format(SAVE_ERROR_MESSAGE, "questions", e.getMessage());
+			}
+			if (theme.getQuestions() == null) {
+				theme.setQuestions(new ArrayList<>());
+			}
+
+			int maxId = 0;
+			for (QuestionDTO question : theme.getQuestions()) {
+				maxId = Math.max(maxId, question.getId());
+			}
+			for (QuestionDTO question : entry.getValue()) {
+				question.setId(++maxId);
+				int answerId = 0;
+				for (AnswerDTO answer : question.getAnswers()) {
+					answer.setId(++answerId);
+					answer.setQuestionId(question.getId());
+				}
+				theme.getQuestions().add(question);
+			}
+
+			String result = saveTheme(theme);
+			if (!result.contains("successfully")) {
+				for (QuestionDTO question : entry.getValue()) {
+					question.setId(LogicConstants.INVALID_ID);
+				}
+				return result;
+			}
+			ConfigManager.debugPrint("DEBUG: Imported " + entry.getValue().size() + " questions into theme "
+					+ theme.getThemeTitle());
+		}
+		return null;
+	}
+
 	/** File prefix for session files */
 	private static final String SESSION_FILE_PREFIX = "session_";
 
+	/** File holding the summary index of all session files */
+	private static final String SUMMARY_INDEX_FILE = "session_summaries.idx";
+
+	/** Session summaries by session file name, null if not loaded yet */
+	private HashMap<String, quizlogic.dto.SessionSummary> summaryIndex;
+
+	/** Cached statistics summary of all sessions, null if not computed yet */
+	private quizlogic.dto.QuizStatisticsSummary cachedStatistics;
+
 	@Override
 	public String saveQuizSession(quizlogic.dto.QuizSessionDTO session) {
 		try {
@@ -454,19 +620,9 @@ public class QuizDataManager implements QuizDataInterface {
 
 			String timestamp = String.valueOf(System.currentTimeMillis());
 			String filename = SESSION_FILE_PREFIX + session.getId() + "_" + timestamp + FILE_EXTENSION;
-			String filepath = DATA_DIRECTORY + File.separator + filename;
-
-			File dataDir = new File(DATA_DIRECTORY);
-			if (!dataDir.exists()) {
-				dataDir.mkdirs();
-			}
-
-			try (FileOutputStream fos = new FileOutputStream(filepath);
-					ObjectOutputStream oos = new ObjectOutputStream(fos)) {
-				oos.writeObject(session);
-				ConfigManager.debugPrint("DEBUG: Session saved to: " + filepath);
-				return null;
-			}
+			writeSessionFile(filename, session);
+			addToSummaryIndex(filename, session);
+			return null;
 
 		} catch (Exception e) {
 			ConfigManager.debugPrint("DEBUG: Error saving session: " + e.getMessage());
@@ -474,6 +630,89 @@ public class QuizDataManager implements QuizDataInterface {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * A session that was saved before is rewritten in place, so repeated appends
+	 * keep a single session file.
+	 */
+	@Override
+	public String appendUserAnswers(quizlogic.dto.QuizSessionDTO session,
+			java.util.List<quizlogic.dto.UserAnswerDTO> newAnswers) {
+		if (session.getId() == LogicConstants.INVALID_ID) {
+			return saveQuizSession(session);
+		}
+		String filename = findSessionFile(session.getId());
+		if (filename == null) {
+			return saveQuizSession(session);
+		}
+		try {
+			writeSessionFile(filename, session);
+			addToSummaryIndex(filename, session);
+			return null;
+		} catch (IOException e) {
+			ConfigManager.debugPrint("DEBUG: Error saving session: " + e.getMessage());
+			return "Error saving session: " + e.getMessage();
+		}
+	}
+
+	/**
+	 * Writes a session file. The session is written to a temporary file first
+	 * and moved into place, so an interrupted write never damages an existing
+	 * session file.
+	 *
+	 * @param filename name of the session file
+	 * @param session  the session to write
+	 * @throws IOException if the file cannot be written
+	 */
+	private void writeSessionFile(String filename, quizlogic.dto.QuizSessionDTO session) throws IOException {
+		File dataDir = new File(DATA_DIRECTORY);
+		if (!dataDir.exists()) {
+			dataDir.mkdirs();
+		}
+
+		Path target = Paths.get(DATA_DIRECTORY, filename);
+		Path temp = Paths.get(DATA_DIRECTORY, filename + ".tmp");
+		try (FileOutputStream fos = new FileOutputStream(temp.toFile());
+				ObjectOutputStream oos = new ObjectOutputStream(fos)) {
+			oos.writeObject(session);
+		}
+		Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		ConfigManager.debugPrint("DEBUG: Session saved to: " + target);
+	}
+
+	/**
+	 * Loads a single quiz session.
+	 *
+	 * @param sessionId ID of the session
+	 * @return the session with its user answers, or null if it does not exist
+	 */
+	public quizlogic.dto.QuizSessionDTO getQuizSession(int sessionId) {
+		String filename = findSessionFile(sessionId);
+		return filename != null ? readSessionFile(new File(DATA_DIRECTORY, filename)) : null;
+	}
+
+	/**
+	 * Finds the file of a saved session.
+	 *
+	 * @param sessionId ID of the session
+	 * @return name of the newest file of the session, or null if none exists
+	 */
+	private String findSessionFile(int sessionId) {
+		String prefix = SESSION_FILE_PREFIX + sessionId + "_";
+		File[] files = new File(DATA_DIRECTORY)
+				.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(FILE_EXTENSION));
+		String newest = null;
+		if (files != null) {
+			for (File file : files) {
+				if (newest == null || file.getName().compareTo(newest) > 0) {
+					newest = file.getName();
+				}
+			}
+		}
+		return newest;
+	}
+
 	/**
 	 * Generates the next available session ID by examining existing session files.
 	 * 
@@ -526,16 +765,9 @@ public class QuizDataManager implements QuizDataInterface {
 
 			if (files != null) {
 				for (File file : files) {
-					try (FileInputStream fis = new FileInputStream(file);
-							ObjectInputStream ois = new ObjectInputStream(fis)) {
-
-						quizlogic.dto.QuizSessionDTO session = (quizlogic.dto.QuizSessionDTO) ois.readObject();
+					quizlogic.dto.QuizSessionDTO session = readSessionFile(file);
+					if (session != null) {
 						sessions.add(session);
-						ConfigManager.debugPrint("DEBUG: Loaded session from: " + file.getName());
-
-					} catch (Exception e) {
-						ConfigManager.debugPrint(
-								"DEBUG: Error loading session from " + file.getName() + ": " + e.getMessage());
 					}
 				}
 			}
@@ -549,6 +781,179 @@ public class QuizDataManager implements QuizDataInterface {
 		return sessions;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The session files to read are selected and ordered by the session summary
+	 * index; each file is only deserialized when the stream reaches it.
+	 */
+	@Override
+	public Stream<quizlogic.dto.QuizSessionDTO> streamSessions(java.util.Date since) {
+		List<String> filenames;
+		synchronized (this) {
+			syncSummaryIndex();
+			filenames = summaryIndex.entrySet().stream()
+					.filter(entry -> since == null
+							|| entry.getValue().timestamp() != null && !entry.getValue().timestamp().before(since))
+					.sorted(Map.Entry.comparingByValue(Comparator
+							.comparing(quizlogic.dto.SessionSummary::timestamp,
+									Comparator.nullsFirst(Comparator.naturalOrder()))
+							.thenComparingInt(quizlogic.dto.SessionSummary::sessionId)))
+					.map(Map.Entry::getKey).toList();
+		}
+		return filenames.stream().map(filename -> readSessionFile(new File(DATA_DIRECTORY, filename)))
+				.filter(Objects::nonNull);
+	}
+
+	/**
+	 * Reads a session file.
+	 *
+	 * @param file the session file
+	 * @return the session, or null if the file cannot be read
+	 */
+	private quizlogic.dto.QuizSessionDTO readSessionFile(File file) {
+		try (FileInputStream fis = new FileInputStream(file); ObjectInputStream ois = new ObjectInputStream(fis)) {
+			quizlogic.dto.QuizSessionDTO session = (quizlogic.dto.QuizSessionDTO) ois.readObject();
+			ConfigManager.debugPrint("DEBUG: Loaded session from: " + file.getName());
+			return session;
+		} catch (Exception e) {
+			ConfigManager.debugPrint("DEBUG: Error loading session from " + file.getName() + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The summary is computed from the session summary index and cached until the
+	 * session files change.
+	 */
+	@Override
+	public synchronized quizlogic.dto.QuizStatisticsSummary getQuizStatistics() {
+		syncSummaryIndex();
+		if (cachedStatistics == null) {
+			int answeredQuestions = 0;
+			int correctQuestions = 0;
+			for (quizlogic.dto.SessionSummary summary : summaryIndex.values()) {
+				answeredQuestions += summary.questionCount();
+				correctQuestions += summary.correctCount();
+			}
+			cachedStatistics = new quizlogic.dto.QuizStatisticsSummary(summaryIndex.size(), answeredQuestions,
+					correctQuestions);
+		}
+		return cachedStatistics;
+	}
+
+	@Override
+	public synchronized ArrayList<quizlogic.dto.SessionSummary> getRecentSessionSummaries(int limit) {
+		syncSummaryIndex();
+		ArrayList<quizlogic.dto.SessionSummary> summaries = new ArrayList<>(summaryIndex.values());
+		// Newest first; legacy session files without a timestamp go last
+		summaries.sort(Comparator
+				.comparing(quizlogic.dto.SessionSummary::timestamp,
+						Comparator.nullsLast(Comparator.<java.util.Date>reverseOrder()))
+				.thenComparingInt(quizlogic.dto.SessionSummary::sessionId));
+		return summaries.size() <= limit ? summaries : new ArrayList<>(summaries.subList(0, limit));
+	}
+
+	/**
+	 * Adds a newly saved session to the summary index. If the index has not been
+	 * loaded yet, the session is picked up by the next synchronization instead.
+	 *
+	 * @param filename name of the session file
+	 * @param session  the saved session
+	 */
+	private synchronized void addToSummaryIndex(String filename, quizlogic.dto.QuizSessionDTO session) {
+		if (summaryIndex == null) {
+			return;
+		}
+		quizlogic.dto.SessionSummary previous = summaryIndex.put(filename,
+				quizlogic.dto.SessionSummary.of(session));
+		if (previous != null) {
+			cachedStatistics = null;
+		} else if (cachedStatistics != null) {
+			cachedStatistics = cachedStatistics.plus(quizlogic.dto.QuizStatisticsSummary.of(session));
+		}
+		writeSummaryIndex();
+	}
+
+	/**
+	 * Brings the summary index in line with the session files. Only session files
+	 * missing from the index are read; entries of deleted files are dropped.
+	 */
+	private void syncSummaryIndex() {
+		if (summaryIndex == null) {
+			summaryIndex = readSummaryIndex();
+		}
+
+		File[] files = new File(DATA_DIRECTORY)
+				.listFiles((dir, name) -> name.startsWith(SESSION_FILE_PREFIX) && name.endsWith(FILE_EXTENSION));
+		Set<String> filenames = new HashSet<>();
+		if (files != null) {
+			for (File file : files) {
+				filenames.add(file.getName());
+			}
+		}
+
+		boolean changed = summaryIndex.keySet().retainAll(filenames);
+		for (String filename : filenames) {
+			if (summaryIndex.containsKey(filename)) {
+				continue;
+			}
+			File file = new File(DATA_DIRECTORY, filename);
+			try (FileInputStream fis = new FileInputStream(file);
+					ObjectInputStream ois = new ObjectInputStream(fis)) {
+				quizlogic.dto.QuizSessionDTO session = (quizlogic.dto.QuizSessionDTO) ois.readObject();
+				summaryIndex.put(filename, quizlogic.dto.SessionSummary.of(session));
+				changed = true;
+			} catch (Exception e) {
+				ConfigManager.debugPrint("DEBUG: Error indexing session from " + filename + ": " + e.getMessage());
+			}
+		}
+
+		if (changed) {
+			cachedStatistics = null;
+			writeSummaryIndex();
+		}
+	}
+
+	/**
+	 * Reads the summary index file.
+	 *
+	 * @return the stored index, or an empty index if none exists or it cannot be
+	 *         read
+	 */
+	@SuppressWarnings("unchecked")
+	private HashMap<String, quizlogic.dto.SessionSummary> readSummaryIndex() {
+		File indexFile = new File(DATA_DIRECTORY, SUMMARY_INDEX_FILE);
+		if (indexFile.exists()) {
+			try (FileInputStream fis = new FileInputStream(indexFile);
+					ObjectInputStream ois = new ObjectInputStream(fis)) {
+				return (HashMap<String, quizlogic.dto.SessionSummary>) ois.readObject();
+			} catch (Exception e) {
+				ConfigManager.debugPrint("DEBUG: Rebuilding unreadable session summary index: " + e.getMessage());
+			}
+		}
+		return new HashMap<>();
+	}
+
+	/**
+	 * Writes the summary index file. Errors are logged only, since the index can
+	 * always be rebuilt from the session files.
+	 */
+	private void writeSummaryIndex() {
+		File dataDir = new File(DATA_DIRECTORY);
+		if (!dataDir.exists()) {
+			dataDir.mkdirs();
+		}
+		try (FileOutputStream fos = new FileOutputStream(new File(dataDir, SUMMARY_INDEX_FILE));
+				ObjectOutputStream oos = new ObjectOutputStream(fos)) {
+			oos.writeObject(summaryIndex);
+		} catch (IOException e) {
+			ConfigManager.debugPrint("DEBUG: Error writing session summary index: " + e.getMessage());
+		}
+	}
+
 	@Override
 	public ArrayList<quizlogic.dto.QuizSessionDTO> getRecentQuizSessions(int limit) {
 		ArrayList<quizlogic.dto.QuizSessionDTO> allSessions = getAllQuizSessions();
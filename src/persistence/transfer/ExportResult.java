@@ -0,0 +1,17 @@
+package persistence.transfer;
+
+/**
+ * Outcome of an export.
+ *
+ * @param chunks     number of chunk files the export consists of
+ * @param records    number of records written by this run, without the
+ *                   chunk headers
+ * @param resumed    whether this run continued an interrupted export
+ * @param durationMs duration of this run in milliseconds
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public record ExportResult(int chunks, long records, boolean resumed, long durationMs) {
+}
@@ -0,0 +1,31 @@
+package persistence.transfer;
+
+import java.util.List;
+
+/**
+ * Outcome of a question bank import.
+ *
+ * @param importedQuestions number of questions stored
+ * @param rejectedRows      number of rows skipped because they were invalid or
+ *                          could not be stored
+ * @param createdThemes     number of themes created for the import
+ * @param errors            error messages with their line numbers, at most
+ *                          {@link QuestionBankImporter#MAX_REPORTED_ERRORS}
+ * @param durationMs        duration of the import in milliseconds
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public record ImportResult(int importedQuestions, int rejectedRows, int createdThemes, List<String> errors,
+		long durationMs) {
+
+	/**
+	 * Returns whether every row of the file was imported.
+	 *
+	 * @return true if no row was rejected
+	 */
+	public boolean isComplete() {
+		return rejectedRows == 0;
+	}
+}
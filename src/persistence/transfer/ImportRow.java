@@ -0,0 +1,31 @@
+package persistence.transfer;
+
+import quizlogic.dto.QuestionDTO;
+
+/**
+ * A single question read from a question bank file.
+ *
+ * @param line             line of the file the question starts on
+ * @param themeTitle       title of the theme the question belongs to
+ * @param themeDescription description used if the theme has to be created
+ * @param question         the question with its answers, null if the row could
+ *                         not be read
+ * @param error            reason why the row could not be read, null otherwise
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+record ImportRow(long line, String themeTitle, String themeDescription, QuestionDTO question, String error) {
+
+	/**
+	 * Creates a row that could not be read.
+	 *
+	 * @param line    line of the file the row starts on
+	 * @param message reason why the row could not be read
+	 * @return the failed row
+	 */
+	static ImportRow failed(long line, String message) {
+		return new ImportRow(line, null, null, null, message);
+	}
+}
@@ -0,0 +1,263 @@
+package persistence.transfer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON parser for single lines of a JSON-lines file.
+ * <p>
+ * Objects are returned as {@link Map}s with their keys in document order,
+ * arrays as {@link List}s, strings as {@link String}s, numbers as
+ * {@link Long}s or {@link Double}s and {@code true}, {@code false} and
+ * {@code null} as {@link Boolean}s and null.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+final class JsonParser {
+
+	/** Text being parsed */
+	private final String text;
+
+	/** Position of the next character */
+	private int position;
+
+	/**
+	 * Creates a parser for a text.
+	 *
+	 * @param text the JSON text
+	 */
+	private JsonParser(String text) {
+		this.text = text;
+	}
+
+	/**
+	 * Parses a JSON value.
+	 *
+	 * @param text the JSON text
+	 * @return the parsed value
+	 * @throws IllegalArgumentException if the text is not valid JSON
+	 */
+	static Object parse(String text) {
+		JsonParser parser = new JsonParser(text);
+		Object value = parser.readValue();
+		parser.skipWhitespace();
+		if (parser.position < text.length()) {
+			throw parser.error("Unexpected content after JSON value");
+		}
+		return value;
+	}
+
+	/**
+	 * Reads the value starting at the current position.
+	 *
+	 * @return the value
+	 */
+	private Object readValue() {
+		skipWhitespace();
+		if (position >= text.length()) {
+			throw error("Unexpected end of JSON");
+		}
+		char c = text.charAt(position);
+		switch (c) {
+		case '{':
+			return readObject();
+		case '[':
+			return readArray();
+		case '"':
+			return readString();
+		case 't':
+			expect("true");
+			return Boolean.TRUE;
+		case 'f':
+			expect("false");
+			return Boolean.FALSE;
+		case 'n':
+			expect("null");
+			return null;
+		default:
+			return readNumber();
+		}
+	}
+
+	/**
+	 * Reads an object.
+	 *
+	 * @return the members of the object
+	 */
+	private Map<String, Object> readObject() {
+		Map<String, Object> members = new LinkedHashMap<>();
+		position++;
+		skipWhitespace();
+		if (peek() == '}') {
+			position++;
+			return members;
+		}
+		while (true) {
+			skipWhitespace();
+			if (peek() != '"') {
+				throw error("Expected member name");
+			}
+			String name = readString();
+			skipWhitespace();
+			if (peek() != ':') {
+				throw error("Expected ':'");
+			}
+			position++;
+			members.put(name, readValue());
+			skipWhitespace();
+			char c = next();
+			if (c == '}') {
+				return members;
+			}
+			if (c != ',') {
+				throw error("Expected ',' or '}'");
+			}
+		}
+	}
+
+	/**
+	 * Reads an array.
+	 *
+	 * @return the elements of the array
+	 */
+	private List<Object> readArray() {
+		List<Object> elements = new ArrayList<>();
+		position++;
+		skipWhitespace();
+		if (peek() == ']') {
+			position++;
+			return elements;
+		}
+		while (true) {
+			elements.add(readValue());
+			skipWhitespace();
+			char c = next();
+			if (c == ']') {
+				return elements;
+			}
+			if (c != ',') {
+				throw error("Expected ',' or ']'");
+			}
+		}
+	}
+
+	/**
+	 * Reads a string including its escape sequences.
+	 *
+	 * @return the string
+	 */
+	private String readString() {
+		StringBuilder sb = new StringBuilder();
+		position++;
+		while (true) {
+			char c = next();
+			if (c == '"') {
+				return sb.toString();
+			}
+			if (c != '\\') {
+				sb.append(c);
+				continue;
+			}
+			char escaped = next();
+			switch (escaped) {
+			case '"', '\\', '/' -> sb.append(escaped);
+			case 'b' -> sb.append('\b');
+			case 'f' -> sb.append('\f');
+			case 'n' -> sb.append('\n');
+			case 'r' -> sb.append('\r');
+			case 't' -> sb.append('\t');
+			case 'u' -> {
+				if (position + 4 > text.length()) {
+					throw error("Incomplete unicode escape");
+				}
+				try {
+					sb.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+				} catch (NumberFormatException e) {
+					throw error("Invalid unicode escape");
+				}
+				position += 4;
+			}
+			default -> throw error("Invalid escape sequence");
+			}
+		}
+	}
+
+	/**
+	 * Reads a number.
+	 *
+	 * @return the number as {@link Long} if it is integral, {@link Double}
+	 *         otherwise
+	 */
+	private Number readNumber() {
+		int start = position;
+		while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+			position++;
+		}
+		String number = text.substring(start, position);
+		try {
+			if (number.contains(".") || number.contains("e") || number.contains("E")) {
+				return Double.parseDouble(number);
+			}
+			return Long.parseLong(number);
+		} catch (NumberFormatException e) {
+			position = start;
+			throw error("Invalid value");
+		}
+	}
+
+	/**
+	 * Consumes a literal.
+	 *
+	 * @param literal the expected literal
+	 */
+	private void expect(String literal) {
+		if (!text.startsWith(literal, position)) {
+			throw error("Invalid value");
+		}
+		position += literal.length();
+	}
+
+	/**
+	 * Skips whitespace.
+	 */
+	private void skipWhitespace() {
+		while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+			position++;
+		}
+	}
+
+	/**
+	 * Returns the next character without consuming it.
+	 *
+	 * @return the next character, or 0 at the end of the text
+	 */
+	private char peek() {
+		return position < text.length() ? text.charAt(position) : 0;
+	}
+
+	/**
+	 * Consumes the next character.
+	 *
+	 * @return the consumed character
+	 */
+	private char next() {
+		if (position >= text.length()) {
+			throw error("Unexpected end of JSON");
+		}
+		return text.charAt(position++);
+	}
+
+	/**
+	 * Creates a parse error for the current position.
+	 *
+	 * @param message description of the error
+	 * @return the exception to throw
+	 */
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException(message + " at position " + (position + 1));
+	}
+}
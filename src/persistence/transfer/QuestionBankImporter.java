@@ -0,0 +1,281 @@
+package persistence.transfer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import constants.ConfigManager;
+import constants.LogicConstants;
+import constants.UserStringConstants;
+import persistence.DataManager;
+import persistence.QuizDataInterface;
+import quizlogic.dto.AnswerDTO;
+import quizlogic.dto.QuestionDTO;
+import quizlogic.dto.ThemeDTO;
+
+/**
+ * Imports question banks from CSV or JSON-lines files.
+ * <p>
+ * The file is read as a stream in batches of the configured size. The rows of
+ * a batch are validated in parallel with the validation rules of the DTOs and
+ * the rules of the question editor: at least one answer, at least one of them
+ * correct. Valid questions are assigned to their theme by title; missing
+ * themes are created. Each batch is then written with a single
+ * {@link QuizDataInterface#importQuestions(Map)} call, which the database
+ * backend turns into JDBC batches and multi-row inserts with one commit and
+ * the file backend into one write per theme file.
+ * <p>
+ * Invalid rows are skipped and reported with their line numbers. A batch the
+ * backend rejects is reported as a whole; batches stored before stay stored.
+ * See {@link QuestionBankReader} for the file formats.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public class QuestionBankImporter {
+
+	/** Maximum number of error messages kept in the {@link ImportResult} */
+	public static final int MAX_REPORTED_ERRORS = 100;
+
+	/** Data source the questions are imported into */
+	private final QuizDataInterface dataSource;
+
+	/** Number of rows validated and written together */
+	private final int batchSize;
+
+	/**
+	 * Counters of a running import.
+	 */
+	private static final class Progress {
+
+		/** Number of stored questions */
+		private int importedQuestions;
+
+		/** Number of skipped rows */
+		private int rejectedRows;
+
+		/** Number of created themes */
+		private int createdThemes;
+
+		/** Reported error messages */
+		private final List<String> errors = new ArrayList<>();
+
+		/**
+		 * Records a skipped row.
+		 *
+		 * @param line    line of the row
+		 * @param message reason why the row was skipped
+		 */
+		private void reject(long line, String message) {
+			rejectedRows++;
+			if (errors.size() < MAX_REPORTED_ERRORS) {
+				errors.add("Line " + line + ": " + message);
+			}
+		}
+	}
+
+	/**
+	 * Creates an importer with the batch size from the {@link ConfigManager}.
+	 *
+	 * @param dataSource data source to import into
+	 */
+	public QuestionBankImporter(QuizDataInterface dataSource) {
+		this(dataSource, ConfigManager.getInstance().getImportBatchSize());
+	}
+
+	/**
+	 * Creates an importer.
+	 *
+	 * @param dataSource data source to import into
+	 * @param batchSize  number of rows validated and written together
+	 */
+	public QuestionBankImporter(QuizDataInterface dataSource, int batchSize) {
+		this.dataSource = dataSource;
+		this.batchSize = Math.max(1, batchSize);
+	}
+
+	/**
+	 * Imports a question bank file.
+	 *
+	 * @param file the CSV or JSON-lines file
+	 * @return counts and errors of the import
+	 * @throws IOException if the file cannot be read
+	 */
+	public ImportResult importFile(Path file) throws IOException {
+		long start = System.currentTimeMillis();
+		Progress progress = new Progress();
+		Map<String, ThemeDTO> themes = new HashMap<>();
+		for (ThemeDTO theme : dataSource.getAllThemes()) {
+			themes.putIfAbsent(theme.getThemeTitle(), theme);
+		}
+		Map<String, String> failedThemes = new HashMap<>();
+
+		try (Stream<ImportRow> rows = QuestionBankReader.open(file)) {
+			Iterator<ImportRow> iterator = rows.iterator();
+			List<ImportRow> batch = new ArrayList<>(batchSize);
+			while (iterator.hasNext()) {
+				batch.add(iterator.next());
+				if (batch.size() == batchSize || !iterator.hasNext()) {
+					importBatch(batch, themes, failedThemes, progress);
+					batch.clear();
+				}
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+
+		long duration = System.currentTimeMillis() - start;
+		ConfigManager.debugPrint("DEBUG: Imported " + progress.importedQuestions + " questions from " + file
+				+ " in " + duration + " ms, " + progress.rejectedRows + " rows rejected");
+		return new ImportResult(progress.importedQuestions, progress.rejectedRows, progress.createdThemes,
+				List.copyOf(progress.errors), duration);
+	}
+
+	/**
+	 * Validates a batch of rows in parallel and writes the valid questions.
+	 *
+	 * @param batch        the rows of the batch
+	 * @param themes       known themes by title
+	 * @param failedThemes errors of themes that could not be created, by title
+	 * @param progress     counters of the import
+	 */
+	private void importBatch(List<ImportRow> batch, Map<String, ThemeDTO> themes, Map<String, String> failedThemes,
+			Progress progress) {
+		List<String> validationErrors = batch.parallelStream().map(QuestionBankImporter::validate).toList();
+
+		Map<ThemeDTO, List<QuestionDTO>> questionsByTheme = new LinkedHashMap<>();
+		List<ImportRow> accepted = new ArrayList<>();
+		for (int i = 0; i < batch.size(); i++) {
+			ImportRow row = batch.get(i);
+			if (validationErrors.get(i) != null) {
+				progress.reject(row.line(), validationErrors.get(i));
+				continue;
+			}
+			ThemeDTO theme = resolveTheme(row, themes, failedThemes, progress);
+			if (theme == null) {
+				progress.reject(row.line(), failedThemes.get(row.themeTitle()));
+				continue;
+			}
+			questionsByTheme.computeIfAbsent(theme, key -> new ArrayList<>()).add(row.question());
+			accepted.add(row);
+		}
+		if (accepted.isEmpty()) {
+			return;
+		}
+
+		String result;
+		try {
+			result = dataSource.importQuestions(questionsByTheme);
+		} catch (RuntimeException e) {
+			result = e.getMessage();
+		}
+		if (result == null) {
+			progress.importedQuestions += accepted.size();
+		} else {
+			ConfigManager.debugPrint("DEBUG: Import batch failed: " + result);
+			for (ImportRow row : accepted) {
+				progress.reject(row.line(), result);
+			}
+		}
+	}
+
+	/**
+	 * Finds the theme of a row by title and creates it if it does not exist yet.
+	 *
+	 * @param row          the row
+	 * @param themes       known themes by title
+	 * @param failedThemes errors of themes that could not be created, by title
+	 * @param progress     counters of the import
+	 * @return the stored theme, or null if it could not be created
+	 */
+	private ThemeDTO resolveTheme(ImportRow row, Map<String, ThemeDTO> themes, Map<String, String> failedThemes,
+			Progress progress) {
+		ThemeDTO theme = themes.get(row.themeTitle());
+		if (theme != null || failedThemes.containsKey(row.themeTitle())) {
+			return theme;
+		}
+		theme = new ThemeDTO(row.themeTitle(), row.themeDescription());
+		theme.setId(LogicConstants.INVALID_ID);
+		String result;
+		try {
+			result = dataSource.saveTheme(theme);
+		} catch (RuntimeException e) {
+			result = e.getMessage();
+		}
+		if (theme.getId() == LogicConstants.INVALID_ID) {
+			failedThemes.put(row.themeTitle(), "Theme '" + row.themeTitle() + "' could not be created: " + result);
+			return null;
+		}
+		themes.put(row.themeTitle(), theme);
+		progress.createdThemes++;
+		return theme;
+	}
+
+	/**
+	 * Validates a row.
+	 *
+	 * @param row the row
+	 * @return the reason why the row is invalid, or null if it is valid
+	 */
+	private static String validate(ImportRow row) {
+		if (row.error() != null) {
+			return row.error();
+		}
+		String error = new ThemeDTO(row.themeTitle(), row.themeDescription()).getValidationError();
+		if (error != null) {
+			return error;
+		}
+		QuestionDTO question = row.question();
+		error = question.getValidationError();
+		if (error != null) {
+			return error;
+		}
+		if (question.getAnswers().isEmpty()) {
+			return UserStringConstants.MSG_PLEASE_ENTER_AT_LEAST_ONE_ANSWER;
+		}
+		for (AnswerDTO answer : question.getAnswers()) {
+			error = answer.getValidationError();
+			if (error != null) {
+				return error;
+			}
+		}
+		if (!question.hasCorrectAnswer()) {
+			return UserStringConstants.MSG_PLEASE_MARK_AT_LEAST_ONE_CORRECT;
+		}
+		return null;
+	}
+
+	/**
+	 * Imports a question bank file from the command line into the storage
+	 * selected by the {@link DataManager}.
+	 *
+	 * @param args path of the CSV or JSON-lines file
+	 */
+	public static void main(String[] args) {
+		if (args.length != 1) {
+			System.err.println("Usage: QuestionBankImporter <file.csv|file.jsonl>");
+			System.exit(1);
+		}
+		DataManager dataManager = DataManager.getInstance();
+		try {
+			ImportResult result = new QuestionBankImporter(dataManager).importFile(Path.of(args[0]));
+			System.out.println("Imported " + result.importedQuestions() + " questions, created "
+					+ result.createdThemes() + " themes, rejected " + result.rejectedRows() + " rows in "
+					+ result.durationMs() + " ms");
+			result.errors().forEach(System.err::println);
+		} catch (IOException e) {
+			System.err.println("Import failed: " + e.getMessage());
+			System.exit(1);
+		} finally {
+			dataManager.close();
+		}
+	}
+}
@@ -0,0 +1,384 @@
+package persistence.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+
+import quizlogic.dto.AnswerDTO;
+import quizlogic.dto.QuestionDTO;
+
+/**
+ * Reads question bank files lazily, one question per row.
+ * <p>
+ * Two formats are supported, chosen by the file extension:
+ * <ul>
+ * <li>{@code .csv}: a header row followed by one question per row with the
+ * columns theme, theme description, question title and question text, then
+ * pairs of answer text and correct flag. Fields may be quoted; quoted fields
+ * may contain separators, line breaks and doubled quotes. The separator is a
+ * comma, or a semicolon if the header contains semicolons but no commas.</li>
+ * <li>{@code .jsonl} or {@code .ndjson}: one JSON object per line with the
+ * members {@code theme}, {@code themeDescription}, {@code title},
+ * {@code text} and {@code answers}, an array of objects with {@code text}
+ * and {@code correct}.</li>
+ * </ul>
+ * Files ending in {@code .gz} are decompressed first. JSON objects with a
+ * {@code type} member other than {@code question} are skipped, so the chunks
+ * written by the {@link QuizDataExporter} can be imported as well.
+ * <p>
+ * Rows that cannot be read are returned as failed {@link ImportRow}s, so the
+ * import can report them with their line numbers.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+final class QuestionBankReader {
+
+	/** Byte order mark written by some spreadsheet applications */
+	private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+	/** Suffix of gzip-compressed files */
+	private static final String GZIP_SUFFIX = ".gz";
+
+	/** Type of the JSON records that hold questions */
+	private static final String QUESTION_TYPE = "question";
+
+	/** Number of leading CSV columns before the answer pairs */
+	private static final int CSV_QUESTION_COLUMNS = 4;
+
+	/** Maximum length of the CSV header line examined for the separator */
+	private static final int HEADER_PEEK_LIMIT = 64 * 1024;
+
+	/**
+	 * Not instantiable.
+	 */
+	private QuestionBankReader() {
+	}
+
+	/**
+	 * Opens a question bank file as a lazy stream of rows. The file stays open
+	 * until the stream is closed.
+	 *
+	 * @param file the question bank file
+	 * @return stream of the rows of the file
+	 * @throws IOException if the file cannot be opened or has an unsupported
+	 *                     format
+	 */
+	static Stream<ImportRow> open(Path file) throws IOException {
+		String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+		InputStream in = Files.newInputStream(file);
+		BufferedReader reader;
+		try {
+			if (name.endsWith(GZIP_SUFFIX)) {
+				name = name.substring(0, name.length() - GZIP_SUFFIX.length());
+				in = new GZIPInputStream(in);
+			}
+			reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		} catch (IOException | RuntimeException e) {
+			in.close();
+			throw e;
+		}
+		Iterator<ImportRow> rows;
+		try {
+			if (name.endsWith(".csv")) {
+				rows = new CsvRows(reader);
+			} else if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+				rows = new JsonRows(reader);
+			} else {
+				throw new IOException("Unsupported question bank format: " + file.getFileName()
+						+ " (expected .csv or .jsonl)");
+			}
+		} catch (IOException | RuntimeException e) {
+			reader.close();
+			throw e;
+		}
+		Spliterator<ImportRow> spliterator = Spliterators.spliteratorUnknownSize(rows,
+				Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(() -> {
+			try {
+				reader.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	/**
+	 * Parses the correct flag of an answer.
+	 *
+	 * @param value the flag as written in the file
+	 * @return true for {@code true}, {@code 1}, {@code x}, {@code ja} and
+	 *         {@code yes}, ignoring case
+	 */
+	private static boolean parseCorrect(String value) {
+		return switch (value.strip().toLowerCase(Locale.ROOT)) {
+		case "true", "1", "x", "ja", "yes" -> true;
+		default -> false;
+		};
+	}
+
+	/**
+	 * Iterator reading ahead one row at a time.
+	 */
+	private abstract static class RowIterator implements Iterator<ImportRow> {
+
+		/** Row read ahead, null if not read yet */
+		private ImportRow pending;
+
+		/**
+		 * Reads the next row.
+		 *
+		 * @return the row, or null at the end of the file
+		 * @throws IOException if the file cannot be read
+		 */
+		abstract ImportRow readRow() throws IOException;
+
+		@Override
+		public boolean hasNext() {
+			if (pending == null) {
+				try {
+					pending = readRow();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+			return pending != null;
+		}
+
+		@Override
+		public ImportRow next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			ImportRow row = pending;
+			pending = null;
+			return row;
+		}
+	}
+
+	/**
+	 * Rows of a CSV file.
+	 */
+	private static final class CsvRows extends RowIterator {
+
+		/** Reader of the file */
+		private final BufferedReader reader;
+
+		/** Field separator */
+		private final char separator;
+
+		/** Number of lines consumed so far */
+		private long lineNumber;
+
+		/**
+		 * Reads the header and detects the separator.
+		 *
+		 * @param reader reader of the file
+		 * @throws IOException if the file cannot be read
+		 */
+		CsvRows(BufferedReader reader) throws IOException {
+			this.reader = reader;
+			reader.mark(HEADER_PEEK_LIMIT);
+			String header = reader.readLine();
+			reader.reset();
+			this.separator = header != null && header.indexOf(';') >= 0 && header.indexOf(',') < 0 ? ';' : ',';
+			reader.mark(1);
+			if (reader.read() != BYTE_ORDER_MARK) {
+				reader.reset();
+			}
+			readRecord();
+		}
+
+		@Override
+		ImportRow readRow() throws IOException {
+			List<String> fields;
+			long line;
+			do {
+				line = lineNumber + 1;
+				fields = readRecord();
+				if (fields == null) {
+					return null;
+				}
+			} while (fields.size() == 1 && fields.get(0).isBlank());
+
+			if (fields.size() < CSV_QUESTION_COLUMNS) {
+				return ImportRow.failed(line, "Expected at least " + CSV_QUESTION_COLUMNS + " columns");
+			}
+			QuestionDTO question = new QuestionDTO(fields.get(3).strip(), fields.get(2).strip());
+			List<AnswerDTO> answers = new ArrayList<>();
+			for (int i = CSV_QUESTION_COLUMNS; i < fields.size(); i += 2) {
+				String text = fields.get(i).strip();
+				if (!text.isEmpty()) {
+					answers.add(new AnswerDTO(text, i + 1 < fields.size() && parseCorrect(fields.get(i + 1))));
+				}
+			}
+			question.setAnswers(answers);
+			return new ImportRow(line, fields.get(0).strip(), fields.get(1).strip(), question, null);
+		}
+
+		/**
+		 * Reads the fields of the next record.
+		 *
+		 * @return the fields, or null at the end of the file
+		 * @throws IOException if the file cannot be read
+		 */
+		private List<String> readRecord() throws IOException {
+			int c = reader.read();
+			if (c == -1) {
+				return null;
+			}
+			lineNumber++;
+			List<String> fields = new ArrayList<>();
+			StringBuilder field = new StringBuilder();
+			boolean quoted = false;
+			while (c != -1) {
+				char ch = (char) c;
+				if (quoted) {
+					if (ch == '"') {
+						reader.mark(1);
+						if (reader.read() == '"') {
+							field.append('"');
+						} else {
+							reader.reset();
+							quoted = false;
+						}
+					} else {
+						if (ch == '\n') {
+							lineNumber++;
+						}
+						field.append(ch);
+					}
+				} else if (ch == '"' && field.isEmpty()) {
+					quoted = true;
+				} else if (ch == separator) {
+					fields.add(field.toString());
+					field.setLength(0);
+				} else if (ch == '\n') {
+					break;
+				} else if (ch != '\r') {
+					field.append(ch);
+				}
+				c = reader.read();
+			}
+			fields.add(field.toString());
+			return fields;
+		}
+	}
+
+	/**
+	 * Rows of a JSON-lines file.
+	 */
+	private static final class JsonRows extends RowIterator {
+
+		/** Reader of the file */
+		private final BufferedReader reader;
+
+		/** Number of lines consumed so far */
+		private long lineNumber;
+
+		/**
+		 * Creates the rows of a JSON-lines file.
+		 *
+		 * @param reader reader of the file
+		 */
+		JsonRows(BufferedReader reader) {
+			this.reader = reader;
+		}
+
+		@Override
+		ImportRow readRow() throws IOException {
+			Map<?, ?> object;
+			while (true) {
+				String text = reader.readLine();
+				if (text == null) {
+					return null;
+				}
+				lineNumber++;
+				if (lineNumber == 1 && !text.isEmpty() && text.charAt(0) == BYTE_ORDER_MARK) {
+					text = text.substring(1);
+				}
+				if (text.isBlank()) {
+					continue;
+				}
+				try {
+					object = asObject(JsonParser.parse(text));
+				} catch (IllegalArgumentException e) {
+					return ImportRow.failed(lineNumber, e.getMessage());
+				}
+				Object type = object.get("type");
+				if (type == null || QUESTION_TYPE.equals(type)) {
+					break;
+				}
+			}
+
+			try {
+				QuestionDTO question = new QuestionDTO(getString(object, "text"), getString(object, "title"));
+				List<AnswerDTO> answers = new ArrayList<>();
+				Object answerValues = object.get("answers");
+				if (answerValues != null) {
+					if (!(answerValues instanceof List<?> list)) {
+						throw new IllegalArgumentException("'answers' must be an array");
+					}
+					for (Object answerValue : list) {
+						Map<?, ?> answer = asObject(answerValue);
+						boolean correct = Boolean.TRUE.equals(answer.get("correct"));
+						answers.add(new AnswerDTO(getString(answer, "text"), correct));
+					}
+				}
+				question.setAnswers(answers);
+				return new ImportRow(lineNumber, getString(object, "theme"), getString(object, "themeDescription"),
+						question, null);
+			} catch (IllegalArgumentException e) {
+				return ImportRow.failed(lineNumber, e.getMessage());
+			}
+		}
+
+		/**
+		 * Checks that a JSON value is an object.
+		 *
+		 * @param value the value
+		 * @return the members of the object
+		 */
+		private static Map<?, ?> asObject(Object value) {
+			if (value instanceof Map<?, ?> object) {
+				return object;
+			}
+			throw new IllegalArgumentException("Expected a JSON object");
+		}
+
+		/**
+		 * Reads a string member of an object.
+		 *
+		 * @param object the object
+		 * @param name   name of the member
+		 * @return the stripped string, empty if the member is missing
+		 */
+		private static String getString(Map<?, ?> object, String name) {
+			Object value = object.get(name);
+			if (value == null) {
+				return "";
+			}
+			if (!(value instanceof String string)) {
+				throw new IllegalArgumentException("'" + name + "' must be a string");
+			}
+			return string.strip();
+		}
+	}
+}
@@ -0,0 +1,582 @@
+package persistence.transfer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import constants.ConfigManager;
+import constants.LogicConstants;
+import persistence.DataManager;
+import persistence.QuizDataInterface;
+import quizlogic.dto.AnswerDTO;
+import quizlogic.dto.QuestionDTO;
+import quizlogic.dto.QuizSessionDTO;
+import quizlogic.dto.ThemeDTO;
+import quizlogic.dto.UserAnswerDTO;
+
+/**
+ * Exports themes, questions, answers and quiz sessions to a directory of
+ * compressed JSON-lines chunks.
+ * <p>
+ * Every chunk is a gzip file named {@code quizzle-export-NNNNN.jsonl.gz}
+ * holding at most the configured number of records, one JSON object per line.
+ * Its first line is a header with the format name, the format version and the
+ * chunk number. The records follow in a fixed order:
+ * <ul>
+ * <li>{@code theme}: id, title and description of a theme, ordered by id,
+ * each followed by</li>
+ * <li>{@code question}: a question of that theme with its answers, ordered by
+ * id. Question records use the member names of {@link QuestionBankReader}, so
+ * the chunks can be imported again with the {@link QuestionBankImporter}.</li>
+ * <li>{@code session}: a quiz session with its user answers, ordered by
+ * timestamp and id.</li>
+ * </ul>
+ * Questions and sessions are read through
+ * {@link QuizDataInterface#streamQuestions(ThemeDTO)} and
+ * {@link QuizDataInterface#streamSessions(Date)} and written as they arrive,
+ * so the export runs in constant memory regardless of the size of the
+ * history.
+ * <p>
+ * A chunk is written to a temporary file and renamed when it is complete.
+ * After each completed chunk the {@code manifest.properties} of the directory
+ * records the number of chunks and the key of the last exported record. An
+ * interrupted export can therefore be resumed: it continues after the last
+ * completed chunk instead of starting over.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public class QuizDataExporter {
+
+	/** Name of the export format written to every chunk header */
+	public static final String FORMAT = "quizzle-export";
+
+	/** Version of the export format */
+	public static final int FORMAT_VERSION = 1;
+
+	/** Name of the manifest file in the export directory */
+	public static final String MANIFEST_FILE = "manifest.properties";
+
+	/** File name prefix of the chunks */
+	private static final String CHUNK_PREFIX = "quizzle-export-";
+
+	/** File name suffix of the chunks */
+	private static final String CHUNK_SUFFIX = ".jsonl.gz";
+
+	/** Suffix of chunks and manifests that are still being written */
+	private static final String TEMP_SUFFIX = ".tmp";
+
+	/** Manifest keys */
+	private static final String KEY_FORMAT = "format";
+	private static final String KEY_VERSION = "version";
+	private static final String KEY_CHUNKS = "chunks";
+	private static final String KEY_COMPLETE = "complete";
+	private static final String KEY_SECTION = "cursor.section";
+	private static final String KEY_THEME_ID = "cursor.themeId";
+	private static final String KEY_QUESTION_ID = "cursor.questionId";
+	private static final String KEY_SESSION_TIME = "cursor.sessionTime";
+	private static final String KEY_SESSION_ID = "cursor.sessionId";
+
+	/** Sections of an export, in the order they are written */
+	private static final String SECTION_CATALOG = "catalog";
+	private static final String SECTION_SESSIONS = "sessions";
+
+	/** Data source the records are read from */
+	private final QuizDataInterface dataSource;
+
+	/** Maximum number of records per chunk */
+	private final int chunkSize;
+
+	/**
+	 * Key of the last exported record. Themes and questions are identified by
+	 * their IDs, sessions by timestamp and ID.
+	 */
+	private static final class Cursor {
+
+		/** Section the last record belongs to */
+		private String section = SECTION_CATALOG;
+
+		/** ID of the last exported theme */
+		private int themeId = LogicConstants.INVALID_ID;
+
+		/** ID of the last exported question of that theme */
+		private int questionId = LogicConstants.INVALID_ID;
+
+		/** Timestamp of the last exported session */
+		private long sessionTime = Long.MIN_VALUE;
+
+		/** ID of the last exported session */
+		private int sessionId = LogicConstants.INVALID_ID;
+	}
+
+	/**
+	 * Writes records to chunk files and updates the manifest after each
+	 * completed chunk.
+	 */
+	private final class ChunkWriter {
+
+		/** The export directory */
+		private final Path directory;
+
+		/** Key of the last written record */
+		private final Cursor cursor;
+
+		/** Number of the chunk being written */
+		private int chunkIndex;
+
+		/** Number of records in the chunk being written */
+		private int recordsInChunk;
+
+		/** Number of records written by this run */
+		private long records;
+
+		/** Writer of the chunk being written, null between chunks */
+		private Writer writer;
+
+		/**
+		 * Creates a writer that continues with the given chunk.
+		 *
+		 * @param directory  the export directory
+		 * @param cursor     key of the last written record
+		 * @param chunkIndex number of the next chunk
+		 */
+		private ChunkWriter(Path directory, Cursor cursor, int chunkIndex) {
+			this.directory = directory;
+			this.cursor = cursor;
+			this.chunkIndex = chunkIndex;
+		}
+
+		/**
+		 * Writes a record. The cursor must already identify the record.
+		 *
+		 * @param record the JSON object of the record
+		 * @throws IOException if the chunk cannot be written
+		 */
+		private void write(CharSequence record) throws IOException {
+			if (writer == null) {
+				OutputStream out = Files.newOutputStream(tempChunkFile(directory, chunkIndex));
+				writer = new BufferedWriter(
+						new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8));
+				writer.append("{\"type\":\"header\",\"format\":\"").append(FORMAT).append("\",\"version\":")
+						.append(String.valueOf(FORMAT_VERSION)).append(",\"chunk\":")
+						.append(String.valueOf(chunkIndex)).append("}\n");
+			}
+			writer.append(record).append('\n');
+			records++;
+			if (++recordsInChunk >= chunkSize) {
+				finishChunk();
+			}
+		}
+
+		/**
+		 * Completes the chunk being written and records it in the manifest.
+		 *
+		 * @throws IOException if the chunk or the manifest cannot be written
+		 */
+		private void finishChunk() throws IOException {
+			writer.close();
+			writer = null;
+			Files.move(tempChunkFile(directory, chunkIndex), chunkFile(directory, chunkIndex),
+					StandardCopyOption.REPLACE_EXISTING);
+			chunkIndex++;
+			recordsInChunk = 0;
+			saveManifest(directory, chunkIndex, cursor, false);
+		}
+
+		/**
+		 * Completes the last chunk and marks the export as complete.
+		 *
+		 * @throws IOException if the chunk or the manifest cannot be written
+		 */
+		private void finish() throws IOException {
+			if (writer != null) {
+				finishChunk();
+			}
+			saveManifest(directory, chunkIndex, cursor, true);
+		}
+
+		/**
+		 * Closes the chunk being written without completing it.
+		 */
+		private void abort() {
+			if (writer != null) {
+				try {
+					writer.close();
+				} catch (IOException e) {
+					ConfigManager.debugPrint("DEBUG: Error closing export chunk: " + e.getMessage());
+				}
+				writer = null;
+			}
+		}
+	}
+
+	/**
+	 * Creates an exporter with the chunk size from the {@link ConfigManager}.
+	 *
+	 * @param dataSource data source to export from
+	 */
+	public QuizDataExporter(QuizDataInterface dataSource) {
+		this(dataSource, ConfigManager.getInstance().getExportChunkSize());
+	}
+
+	/**
+	 * Creates an exporter.
+	 *
+	 * @param dataSource data source to export from
+	 * @param chunkSize  maximum number of records per chunk
+	 */
+	public QuizDataExporter(QuizDataInterface dataSource, int chunkSize) {
+		this.dataSource = dataSource;
+		this.chunkSize = Math.max(1, chunkSize);
+	}
+
+	/**
+	 * Exports all data to a directory.
+	 *
+	 * @param directory the export directory, created if it does not exist
+	 * @param resume    true to continue an interrupted export in the directory,
+	 *                  false to replace any export in it
+	 * @return counts and duration of the export
+	 * @throws IOException if the export cannot be written or the directory
+	 *                     holds an export of another format version
+	 */
+	public ExportResult export(Path directory, boolean resume) throws IOException {
+		long start = System.currentTimeMillis();
+		Files.createDirectories(directory);
+		Cursor cursor = new Cursor();
+		int firstChunk = 0;
+		boolean resumed = false;
+
+		Path manifestFile = directory.resolve(MANIFEST_FILE);
+		if (resume && Files.exists(manifestFile)) {
+			Properties manifest = loadManifest(manifestFile);
+			firstChunk = Integer.parseInt(manifest.getProperty(KEY_CHUNKS, "0"));
+			if (Boolean.parseBoolean(manifest.getProperty(KEY_COMPLETE))) {
+				return new ExportResult(firstChunk, 0, true, System.currentTimeMillis() - start);
+			}
+			cursor.section = manifest.getProperty(KEY_SECTION, SECTION_CATALOG);
+			cursor.themeId = Integer.parseInt(manifest.getProperty(KEY_THEME_ID, "-1"));
+			cursor.questionId = Integer.parseInt(manifest.getProperty(KEY_QUESTION_ID, "-1"));
+			cursor.sessionTime = Long.parseLong(manifest.getProperty(KEY_SESSION_TIME, "" + Long.MIN_VALUE));
+			cursor.sessionId = Integer.parseInt(manifest.getProperty(KEY_SESSION_ID, "-1"));
+			resumed = true;
+		}
+		deleteChunks(directory, firstChunk);
+		if (!resumed) {
+			saveManifest(directory, 0, cursor, false);
+		}
+
+		ChunkWriter out = new ChunkWriter(directory, cursor, firstChunk);
+		try {
+			if (SECTION_CATALOG.equals(cursor.section)) {
+				exportCatalog(out, cursor);
+				cursor.section = SECTION_SESSIONS;
+			}
+			exportSessions(out, cursor);
+			out.finish();
+		} finally {
+			out.abort();
+		}
+
+		long duration = System.currentTimeMillis() - start;
+		ConfigManager.debugPrint("DEBUG: Exported " + out.records + " records to " + directory + " in "
+				+ duration + " ms" + (resumed ? " (resumed at chunk " + firstChunk + ")" : ""));
+		return new ExportResult(out.chunkIndex, out.records, resumed, duration);
+	}
+
+	/**
+	 * Writes the themes with their questions, skipping those before the cursor.
+	 *
+	 * @param out    the chunk writer
+	 * @param cursor key of the last exported record
+	 * @throws IOException if a chunk cannot be written
+	 */
+	private void exportCatalog(ChunkWriter out, Cursor cursor) throws IOException {
+		List<ThemeDTO> themes = new ArrayList<>(dataSource.getAllThemes());
+		themes.sort(Comparator.comparingInt(ThemeDTO::getId));
+		for (ThemeDTO theme : themes) {
+			if (theme.getId() < cursor.themeId) {
+				continue;
+			}
+			if (theme.getId() != cursor.themeId) {
+				cursor.themeId = theme.getId();
+				cursor.questionId = LogicConstants.INVALID_ID;
+				out.write(themeRecord(theme));
+			}
+			try (Stream<QuestionDTO> questions = dataSource.streamQuestions(theme)) {
+				int lastExported = cursor.questionId;
+				Iterator<QuestionDTO> iterator = questions.iterator();
+				while (iterator.hasNext()) {
+					QuestionDTO question = iterator.next();
+					if (question.getId() > lastExported) {
+						cursor.questionId = question.getId();
+						out.write(questionRecord(theme, question));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the quiz sessions, skipping those before the cursor.
+	 *
+	 * @param out    the chunk writer
+	 * @param cursor key of the last exported record
+	 * @throws IOException if a chunk cannot be written
+	 */
+	private void exportSessions(ChunkWriter out, Cursor cursor) throws IOException {
+		long lastTime = cursor.sessionTime;
+		int lastId = cursor.sessionId;
+		Date since = lastTime == Long.MIN_VALUE ? null : new Date(lastTime);
+		try (Stream<QuizSessionDTO> sessions = dataSource.streamSessions(since)) {
+			Iterator<QuizSessionDTO> iterator = sessions.iterator();
+			while (iterator.hasNext()) {
+				QuizSessionDTO session = iterator.next();
+				long time = session.getTimestamp() != null ? session.getTimestamp().getTime() : Long.MIN_VALUE;
+				if (time < lastTime || time == lastTime && session.getId() <= lastId) {
+					continue;
+				}
+				cursor.sessionTime = time;
+				cursor.sessionId = session.getId();
+				out.write(sessionRecord(session));
+			}
+		}
+	}
+
+	/**
+	 * Builds the record of a theme.
+	 *
+	 * @param theme the theme
+	 * @return the JSON object
+	 */
+	private static StringBuilder themeRecord(ThemeDTO theme) {
+		StringBuilder sb = new StringBuilder(128);
+		sb.append("{\"type\":\"theme\",\"id\":").append(theme.getId()).append(",\"title\":");
+		appendString(sb, theme.getThemeTitle());
+		sb.append(",\"description\":");
+		appendString(sb, theme.getThemeDescription());
+		return sb.append('}');
+	}
+
+	/**
+	 * Builds the record of a question with its answers.
+	 *
+	 * @param theme    the theme of the question
+	 * @param question the question
+	 * @return the JSON object
+	 */
+	private static StringBuilder questionRecord(ThemeDTO theme, QuestionDTO question) {
+		StringBuilder sb = new StringBuilder(512);
+		sb.append("{\"type\":\"question\",\"id\":").append(question.getId()).append(",\"themeId\":")
+				.append(theme.getId()).append(",\"theme\":");
+		appendString(sb, theme.getThemeTitle());
+		sb.append(",\"themeDescription\":");
+		appendString(sb, theme.getThemeDescription());
+		sb.append(",\"title\":");
+		appendString(sb, question.getQuestionTitle());
+		sb.append(",\"text\":");
+		appendString(sb, question.getQuestionText());
+		sb.append(",\"answers\":[");
+		List<AnswerDTO> answers = question.getAnswers() != null ? question.getAnswers() : List.of();
+		for (int i = 0; i < answers.size(); i++) {
+			AnswerDTO answer = answers.get(i);
+			sb.append(i == 0 ? "" : ",").append("{\"id\":").append(answer.getId()).append(",\"text\":");
+			appendString(sb, answer.getAnswerText());
+			sb.append(",\"correct\":").append(answer.isCorrect()).append('}');
+		}
+		return sb.append("]}");
+	}
+
+	/**
+	 * Builds the record of a quiz session with its user answers.
+	 *
+	 * @param session the session
+	 * @return the JSON object
+	 */
+	private static StringBuilder sessionRecord(QuizSessionDTO session) {
+		StringBuilder sb = new StringBuilder(256);
+		sb.append("{\"type\":\"session\",\"id\":").append(session.getId()).append(",\"timestamp\":")
+				.append(session.getTimestamp() != null ? String.valueOf(session.getTimestamp().getTime()) : "null")
+				.append(",\"userId\":").append(session.getUserId()).append(",\"answers\":[");
+		List<UserAnswerDTO> userAnswers = session.getUserAnswers() != null ? session.getUserAnswers() : List.of();
+		for (int i = 0; i < userAnswers.size(); i++) {
+			UserAnswerDTO userAnswer = userAnswers.get(i);
+			sb.append(i == 0 ? "" : ",").append("{\"id\":").append(userAnswer.getId()).append(",\"questionId\":")
+					.append(userAnswer.getQuestionId()).append(",\"answerId\":").append(userAnswer.getAnswerId())
+					.append(",\"selected\":").append(userAnswer.isSelected()).append(",\"correct\":")
+					.append(userAnswer.isCorrect()).append('}');
+		}
+		return sb.append("]}");
+	}
+
+	/**
+	 * Appends a string as JSON string literal.
+	 *
+	 * @param sb    the builder
+	 * @param value the string, may be null
+	 */
+	private static void appendString(StringBuilder sb, String value) {
+		if (value == null) {
+			sb.append("null");
+			return;
+		}
+		sb.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"' -> sb.append("\\\"");
+			case '\\' -> sb.append("\\\\");
+			case '\n' -> sb.append("\\n");
+			case '\r' -> sb.append("\\r");
+			case '\t' -> sb.append("\\t");
+			default -> {
+				if (c < 0x20) {
+					sb.append(String.format("\\u%04x", (int) c));
+				} else {
+					sb.append(c);
+				}
+			}
+			}
+		}
+		sb.append('"');
+	}
+
+	/**
+	 * Reads the manifest of an export directory and checks its format.
+	 *
+	 * @param manifestFile the manifest file
+	 * @return the manifest
+	 * @throws IOException if the manifest cannot be read or belongs to another
+	 *                     format version
+	 */
+	private static Properties loadManifest(Path manifestFile) throws IOException {
+		Properties manifest = new Properties();
+		try (InputStream in = Files.newInputStream(manifestFile)) {
+			manifest.load(in);
+		}
+		if (!FORMAT.equals(manifest.getProperty(KEY_FORMAT))
+				|| !String.valueOf(FORMAT_VERSION).equals(manifest.getProperty(KEY_VERSION))) {
+			throw new IOException("Cannot resume export in " + manifestFile.getParent() + ": format "
+					+ manifest.getProperty(KEY_FORMAT) + " version " + manifest.getProperty(KEY_VERSION));
+		}
+		return manifest;
+	}
+
+	/**
+	 * Replaces the manifest of an export directory.
+	 *
+	 * @param directory the export directory
+	 * @param chunks    number of completed chunks
+	 * @param cursor    key of the last record of the completed chunks
+	 * @param complete  whether the export is complete
+	 * @throws IOException if the manifest cannot be written
+	 */
+	private static void saveManifest(Path directory, int chunks, Cursor cursor, boolean complete)
+			throws IOException {
+		Properties manifest = new Properties();
+		manifest.setProperty(KEY_FORMAT, FORMAT);
+		manifest.setProperty(KEY_VERSION, String.valueOf(FORMAT_VERSION));
+		manifest.setProperty(KEY_CHUNKS, String.valueOf(chunks));
+		manifest.setProperty(KEY_COMPLETE, String.valueOf(complete));
+		manifest.setProperty(KEY_SECTION, cursor.section);
+		manifest.setProperty(KEY_THEME_ID, String.valueOf(cursor.themeId));
+		manifest.setProperty(KEY_QUESTION_ID, String.valueOf(cursor.questionId));
+		manifest.setProperty(KEY_SESSION_TIME, String.valueOf(cursor.sessionTime));
+		manifest.setProperty(KEY_SESSION_ID, String.valueOf(cursor.sessionId));
+
+		Path manifestFile = directory.resolve(MANIFEST_FILE);
+		Path tempFile = directory.resolve(MANIFEST_FILE + TEMP_SUFFIX);
+		try (OutputStream out = Files.newOutputStream(tempFile)) {
+			manifest.store(out, "Quizzle export");
+		}
+		Files.move(tempFile, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Deletes the chunks of an earlier export from a chunk number on, including
+	 * incomplete ones.
+	 *
+	 * @param directory  the export directory
+	 * @param firstChunk number of the first chunk to delete
+	 * @throws IOException if a chunk cannot be deleted
+	 */
+	private static void deleteChunks(Path directory, int firstChunk) throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, CHUNK_PREFIX + "*")) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				int end = name.indexOf('.');
+				try {
+					if (end > 0 && Integer.parseInt(name.substring(CHUNK_PREFIX.length(), end)) >= firstChunk) {
+						Files.delete(file);
+					}
+				} catch (NumberFormatException e) {
+					ConfigManager.debugPrint("DEBUG: Ignoring unexpected file in export directory: " + name);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the file of a completed chunk.
+	 *
+	 * @param directory  the export directory
+	 * @param chunkIndex number of the chunk
+	 * @return the chunk file
+	 */
+	private static Path chunkFile(Path directory, int chunkIndex) {
+		return directory.resolve(String.format("%s%05d%s", CHUNK_PREFIX, chunkIndex, CHUNK_SUFFIX));
+	}
+
+	/**
+	 * Returns the file of a chunk that is still being written.
+	 *
+	 * @param directory  the export directory
+	 * @param chunkIndex number of the chunk
+	 * @return the temporary chunk file
+	 */
+	private static Path tempChunkFile(Path directory, int chunkIndex) {
+		return directory.resolve(chunkFile(directory, chunkIndex).getFileName() + TEMP_SUFFIX);
+	}
+
+	/**
+	 * Exports the storage selected by the {@link DataManager} from the command
+	 * line.
+	 *
+	 * @param args the export directory, optionally followed by
+	 *             {@code --resume}
+	 */
+	public static void main(String[] args) {
+		if (args.length < 1 || args.length > 2 || args.length == 2 && !"--resume".equals(args[1])) {
+			System.err.println("Usage: QuizDataExporter <directory> [--resume]");
+			System.exit(1);
+		}
+		DataManager dataManager = DataManager.getInstance();
+		try {
+			ExportResult result = new QuizDataExporter(dataManager).export(Path.of(args[0]), args.length == 2);
+			System.out.println("Exported " + result.records() + " records in " + result.chunks() + " chunks in "
+					+ result.durationMs() + " ms" + (result.resumed() ? " (resumed)" : ""));
+		} catch (IOException | RuntimeException e) {
+			System.err.println("Export failed: " + e.getMessage());
+			System.exit(1);
+		} finally {
+			dataManager.close();
+		}
+	}
+}
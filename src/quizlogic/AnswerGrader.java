@@ -0,0 +1,77 @@
+package quizlogic;
+
+import java.util.List;
+
+import constants.ConfigManager;
+import quizlogic.dto.AnswerDTO;
+
+/**
+ * Grades the answers a user selected for a question.
+ * <p>
+ * For questions with multiple correct answers (2 or more), ALL correct answers
+ * must be selected and NO incorrect answers must be selected for the question
+ * to be considered correct. If only some of the correct answers are selected,
+ * the question is marked as incorrect.
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public final class AnswerGrader {
+
+	/**
+	 * Private constructor, only static methods.
+	 */
+	private AnswerGrader() {
+	}
+
+	/**
+	 * Checks if the user's selected answers are correct.
+	 *
+	 * @param selectedIndices List of indices of answers selected by the user
+	 * @param answers         List of all answers for the question
+	 * @return true if all selected answers are correct and no correct answers are
+	 *         missed
+	 */
+	public static boolean isCorrect(List<Integer> selectedIndices, List<AnswerDTO> answers) {
+
+		int totalCorrectAnswers = 0;
+		int userCorrectAnswers = 0;
+
+		for (int i = 0; i < answers.size(); i++) {
+			AnswerDTO answer = answers.get(i);
+			if (answer.isCorrect()) {
+				totalCorrectAnswers++;
+
+				if (selectedIndices.contains(i)) {
+					userCorrectAnswers++;
+				}
+			} else {
+
+				if (selectedIndices.contains(i)) {
+					ConfigManager.debugPrint("DEBUG: User selected incorrect answer at index " + i);
+					return false;
+				}
+			}
+		}
+
+		ConfigManager.debugPrint("DEBUG: Total correct answers: " + totalCorrectAnswers);
+		ConfigManager.debugPrint("DEBUG: User correct answers: " + userCorrectAnswers);
+		ConfigManager.debugPrint("DEBUG: Selected indices: " + selectedIndices);
+
+		if (totalCorrectAnswers >= 2) {
+			boolean result = userCorrectAnswers == totalCorrectAnswers;
+			ConfigManager.debugPrint("DEBUG: Multiple correct answers case - returning: " + result);
+			return result;
+		}
+
+		if (totalCorrectAnswers == 1) {
+			boolean result = userCorrectAnswers == 1;
+			ConfigManager.debugPrint("DEBUG: Single correct answer case - returning: " + result);
+			return result;
+		}
+
+		ConfigManager.debugPrint("DEBUG: No correct answers found - returning false");
+		return false;
+	}
+}
@@ -187,11 +187,21 @@ public abstract class DataTransportObject implements Serializable {
 	 *         exception, false otherwise
 	 */
 	public boolean isValid() {
+		return getValidationError() == null;
+	}
+
+	/**
+	 * Returns the reason why the DTO content is invalid.
+	 *
+	 * @return the message of the exception thrown by {@link #validate()}, or
+	 *         null if the DTO is valid
+	 */
+	public String getValidationError() {
 		try {
 			validate();
-			return true;
+			return null;
 		} catch (IllegalArgumentException e) {
-			return false;
+			return e.getMessage();
 		}
 	}
 
@@ -1,6 +1,8 @@
 package quizlogic;
 
 import java.util.*;
+
+import constants.LogicConstants;
 import quizlogic.dto.QuestionDTO;
 import quizlogic.dto.ThemeDTO;
 
@@ -26,10 +28,10 @@ public class QuestionSessionManager {
 	private static final int MAX_RECENT_QUESTIONS = 500;
 
 	/** Queue to track recently asked questions for global session */
-	private Queue<Integer> recentGlobalQuestions = new LinkedList<>();
+	private Deque<Integer> recentGlobalQuestions = new LinkedList<>();
 
 	/** Map of recently asked questions per theme */
-	private Map<Integer, Queue<Integer>> recentThemeQuestions = new HashMap<>();
+	private Map<Integer, Deque<Integer>> recentThemeQuestions = new HashMap<>();
 
 	/**
 	 * Gets a random question from all available themes, avoiding recently asked
@@ -43,23 +45,39 @@ public class QuestionSessionManager {
 		if (allQuestions == null || allQuestions.isEmpty()) {
 			return null;
 		}
+		return findQuestionById(allQuestions, getRandomQuestionIdWithVariety(toIdArray(allQuestions)));
+	}
+
+	/**
+	 * Gets a random question ID from all available question IDs, avoiding recently
+	 * asked questions. Works on IDs only, so callers can load just the selected
+	 * question afterwards.
+	 * 
+	 * @param allQuestionIds IDs of all available questions
+	 * @return A randomly selected question ID, or {@link LogicConstants#INVALID_ID}
+	 *         if no questions available
+	 */
+	public int getRandomQuestionIdWithVariety(int[] allQuestionIds) {
+		if (allQuestionIds == null || allQuestionIds.length == 0) {
+			return LogicConstants.INVALID_ID;
+		}
 
 		if (globalAvailableQuestions.isEmpty()) {
-			initializeGlobalSession(allQuestions);
+			initializeGlobalSession(allQuestionIds);
 		}
 
 		if (globalAvailableQuestions.isEmpty()) {
-			resetGlobalSession(allQuestions);
+			resetGlobalSession(allQuestionIds);
 		}
 
 		Random random = new Random();
 		int randomIndex = random.nextInt(globalAvailableQuestions.size());
-		Integer selectedQuestionId = globalAvailableQuestions.remove(randomIndex);
+		Integer selectedQuestionId = removeAt(globalAvailableQuestions, randomIndex);
 
 		addToRecentQuestions(selectedQuestionId, recentGlobalQuestions);
 		globalAskedQuestions.add(selectedQuestionId);
 
-		return findQuestionById(allQuestions, selectedQuestionId);
+		return selectedQuestionId;
 	}
 
 	/**
@@ -75,27 +93,45 @@ public class QuestionSessionManager {
 			return null;
 		}
 
-		int themeId = theme.getId();
+		int selectedQuestionId = getRandomQuestionIdForThemeWithVariety(theme.getId(),
+				toIdArray(theme.getQuestions()));
+
+		// Find and return the question
+		return findQuestionById(theme.getQuestions(), selectedQuestionId);
+	}
+
+	/**
+	 * Gets a random question ID from a specific theme, avoiding recently asked
+	 * questions.
+	 * 
+	 * @param themeId     The theme to select a question from
+	 * @param questionIds IDs of all questions of the theme
+	 * @return A randomly selected question ID from the theme, or
+	 *         {@link LogicConstants#INVALID_ID} if the theme has no questions
+	 */
+	public int getRandomQuestionIdForThemeWithVariety(int themeId, int[] questionIds) {
+		if (questionIds == null || questionIds.length == 0) {
+			return LogicConstants.INVALID_ID;
+		}
 
 		if (!themeAvailableQuestions.containsKey(themeId) || themeAvailableQuestions.get(themeId).isEmpty()) {
-			initializeThemeSession(theme);
+			initializeThemeSession(themeId, questionIds);
 		}
 
 		if (themeAvailableQuestions.get(themeId).isEmpty()) {
-			resetThemeSession(theme);
+			resetThemeSession(themeId, questionIds);
 		}
 
 		List<Integer> availableForTheme = themeAvailableQuestions.get(themeId);
 		if (availableForTheme.isEmpty()) {
 
 			Random random = new Random();
-			int randomIndex = random.nextInt(theme.getQuestions().size());
-			return theme.getQuestions().get(randomIndex);
+			return questionIds[random.nextInt(questionIds.length)];
 		}
 
 		Random random = new Random();
 		int randomIndex = random.nextInt(availableForTheme.size());
-		Integer selectedQuestionId = availableForTheme.remove(randomIndex);
+		Integer selectedQuestionId = removeAt(availableForTheme, randomIndex);
 
 		Queue<Integer> recentForTheme = recentThemeQuestions.computeIfAbsent(themeId, _ -> new LinkedList<>());
 		addToRecentQuestions(selectedQuestionId, recentForTheme);
@@ -103,18 +139,59 @@ public class QuestionSessionManager {
 		Set<Integer> askedForTheme = themeAskedQuestions.computeIfAbsent(themeId, _ -> new HashSet<>());
 		askedForTheme.add(selectedQuestionId);
 
-		// Find and return the question
-		return findQuestionById(theme.getQuestions(), selectedQuestionId);
+		return selectedQuestionId;
+	}
+
+	/**
+	 * Gives a question drawn by {@link #getRandomQuestionIdWithVariety(int[])}
+	 * back because it was never shown, so it can be drawn again in the current
+	 * session. Does nothing if the question was not drawn recently.
+	 *
+	 * @param questionId ID of the drawn question
+	 */
+	public void returnQuestionId(int questionId) {
+		if (!recentGlobalQuestions.removeLastOccurrence(questionId)) {
+			return;
+		}
+		globalAskedQuestions.remove(questionId);
+		if (!globalAvailableQuestions.isEmpty() && !globalAvailableQuestions.contains(questionId)) {
+			globalAvailableQuestions.add(questionId);
+		}
+	}
+
+	/**
+	 * Gives a question drawn by
+	 * {@link #getRandomQuestionIdForThemeWithVariety(int, int[])} back because it
+	 * was never shown, so it can be drawn again in the current session of the
+	 * theme. Does nothing if the question was not drawn recently.
+	 *
+	 * @param themeId    the theme the question was drawn from
+	 * @param questionId ID of the drawn question
+	 */
+	public void returnQuestionIdForTheme(int themeId, int questionId) {
+		Deque<Integer> recentForTheme = recentThemeQuestions.get(themeId);
+		if (recentForTheme == null || !recentForTheme.removeLastOccurrence(questionId)) {
+			return;
+		}
+		Set<Integer> askedForTheme = themeAskedQuestions.get(themeId);
+		if (askedForTheme != null) {
+			askedForTheme.remove(questionId);
+		}
+		List<Integer> availableForTheme = themeAvailableQuestions.get(themeId);
+		if (availableForTheme != null && !availableForTheme.isEmpty() && !availableForTheme.contains(questionId)) {
+			availableForTheme.add(questionId);
+		}
 	}
 
 	/**
 	 * Initializes the global question session with all available questions.
 	 */
-	private void initializeGlobalSession(List<QuestionDTO> allQuestions) {
+	private void initializeGlobalSession(int[] allQuestionIds) {
 		globalAvailableQuestions.clear();
-		for (QuestionDTO question : allQuestions) {
-			if (!recentGlobalQuestions.contains(question.getId())) {
-				globalAvailableQuestions.add(question.getId());
+		Set<Integer> recent = new HashSet<>(recentGlobalQuestions);
+		for (int questionId : allQuestionIds) {
+			if (!recent.contains(questionId)) {
+				globalAvailableQuestions.add(questionId);
 			}
 		}
 	}
@@ -122,15 +199,15 @@ public class QuestionSessionManager {
 	/**
 	 * Initializes the question session for a specific theme.
 	 */
-	private void initializeThemeSession(ThemeDTO theme) {
-		int themeId = theme.getId();
+	private void initializeThemeSession(int themeId, int[] questionIds) {
 		List<Integer> availableForTheme = new ArrayList<>();
 
 		Queue<Integer> recentForTheme = recentThemeQuestions.get(themeId);
+		Set<Integer> recent = recentForTheme != null ? new HashSet<>(recentForTheme) : Collections.emptySet();
 
-		for (QuestionDTO question : theme.getQuestions()) {
-			if (recentForTheme == null || !recentForTheme.contains(question.getId())) {
-				availableForTheme.add(question.getId());
+		for (int questionId : questionIds) {
+			if (!recent.contains(questionId)) {
+				availableForTheme.add(questionId);
 			}
 		}
 
@@ -141,21 +218,20 @@ public class QuestionSessionManager {
 	 * Resets the global session, allowing all questions except recent ones to be
 	 * asked again.
 	 */
-	private void resetGlobalSession(List<QuestionDTO> allQuestions) {
+	private void resetGlobalSession(int[] allQuestionIds) {
 		globalAskedQuestions.clear();
-		initializeGlobalSession(allQuestions);
+		initializeGlobalSession(allQuestionIds);
 	}
 
 	/**
 	 * Resets the session for a specific theme, allowing all questions except recent
 	 * ones to be asked again.
 	 */
-	private void resetThemeSession(ThemeDTO theme) {
-		int themeId = theme.getId();
+	private void resetThemeSession(int themeId, int[] questionIds) {
 		if (themeAskedQuestions.containsKey(themeId)) {
 			themeAskedQuestions.get(themeId).clear();
 		}
-		initializeThemeSession(theme);
+		initializeThemeSession(themeId, questionIds);
 	}
 
 	/**
@@ -168,6 +244,29 @@ public class QuestionSessionManager {
 		recentQueue.offer(questionId);
 	}
 
+	/**
+	 * Removes the element at the given index by moving the last element into its
+	 * place. Selection order is random anyway, so the list order does not matter.
+	 */
+	private Integer removeAt(List<Integer> list, int index) {
+		int lastIndex = list.size() - 1;
+		Integer removed = list.get(index);
+		list.set(index, list.get(lastIndex));
+		list.remove(lastIndex);
+		return removed;
+	}
+
+	/**
+	 * Collects the IDs of a list of questions.
+	 */
+	private int[] toIdArray(List<QuestionDTO> questions) {
+		int[] ids = new int[questions.size()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = questions.get(i).getId();
+		}
+		return ids;
+	}
+
 	/**
 	 * Finds a question by its ID in a list of questions.
 	 */
@@ -43,6 +43,9 @@ public class QuizSessionDTO extends DataTransportObject {
 	/** List of all user answers collected during this quiz session */
 	private List<UserAnswerDTO> userAnswers;
 
+	/** Storage backend the ID of this session belongs to, null if unknown */
+	private transient String storage;
+
 	/**
 	 * Default constructor for creating a new quiz session.
 	 * <p>
@@ -128,6 +131,24 @@ public class QuizSessionDTO extends DataTransportObject {
 		this.userId = userId;
 	}
 
+	/**
+	 * Gets the storage backend the ID of this session was assigned by.
+	 *
+	 * @return name of the backend, or null if unknown
+	 */
+	public String getStorage() {
+		return storage;
+	}
+
+	/**
+	 * Sets the storage backend the ID of this session was assigned by.
+	 *
+	 * @param storage name of the backend, or null if unknown
+	 */
+	public void setStorage(String storage) {
+		this.storage = storage;
+	}
+
 	/**
 	 * Gets the list of all user answers collected during this quiz session.
 	 *
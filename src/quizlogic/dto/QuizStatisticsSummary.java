@@ -0,0 +1,102 @@
+package quizlogic.dto;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Aggregated statistics over a set of quiz sessions.
+ * <p>
+ * A question counts once per session in which it was answered. It counts as
+ * correct if at least one answer was selected and none of the selected answers
+ * is incorrect.
+ *
+ * @param totalSessions     number of sessions
+ * @param answeredQuestions number of answered questions, summed over sessions
+ * @param correctQuestions  number of correctly answered questions, summed over
+ *                          sessions
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public record QuizStatisticsSummary(int totalSessions, int answeredQuestions, int correctQuestions)
+		implements Serializable {
+
+	/** Summary without any sessions */
+	public static final QuizStatisticsSummary EMPTY = new QuizStatisticsSummary(0, 0, 0);
+
+	/**
+	 * Computes the summary of a single session.
+	 *
+	 * @param session the session to evaluate
+	 * @return summary counting the session once
+	 */
+	public static QuizStatisticsSummary of(QuizSessionDTO session) {
+		List<UserAnswerDTO> userAnswers = session.getUserAnswers();
+		if (userAnswers == null || userAnswers.isEmpty()) {
+			return new QuizStatisticsSummary(1, 0, 0);
+		}
+
+		Set<Integer> answered = new HashSet<>();
+		Set<Integer> selected = new HashSet<>();
+		Set<Integer> wrongSelected = new HashSet<>();
+		for (UserAnswerDTO answer : userAnswers) {
+			answered.add(answer.getQuestionId());
+			if (answer.isSelected()) {
+				selected.add(answer.getQuestionId());
+				if (!answer.isCorrect()) {
+					wrongSelected.add(answer.getQuestionId());
+				}
+			}
+		}
+
+		selected.removeAll(wrongSelected);
+		return new QuizStatisticsSummary(1, answered.size(), selected.size());
+	}
+
+	/**
+	 * Computes the summary of several sessions.
+	 *
+	 * @param sessions the sessions to evaluate
+	 * @return combined summary
+	 */
+	public static QuizStatisticsSummary of(Collection<QuizSessionDTO> sessions) {
+		QuizStatisticsSummary summary = EMPTY;
+		for (QuizSessionDTO session : sessions) {
+			summary = summary.plus(of(session));
+		}
+		return summary;
+	}
+
+	/**
+	 * Combines this summary with another one.
+	 *
+	 * @param other the summary to add
+	 * @return combined summary
+	 */
+	public QuizStatisticsSummary plus(QuizStatisticsSummary other) {
+		return new QuizStatisticsSummary(totalSessions + other.totalSessions,
+				answeredQuestions + other.answeredQuestions, correctQuestions + other.correctQuestions);
+	}
+
+	/**
+	 * Returns the number of incorrectly answered questions.
+	 *
+	 * @return answered minus correct questions
+	 */
+	public int wrongQuestions() {
+		return answeredQuestions - correctQuestions;
+	}
+
+	/**
+	 * Returns the share of correctly answered questions.
+	 *
+	 * @return success rate in percent, 0 if no question was answered
+	 */
+	public double successRate() {
+		return answeredQuestions > 0 ? (double) correctQuestions / answeredQuestions * 100 : 0;
+	}
+}
@@ -0,0 +1,46 @@
+package quizlogic.dto;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Compact summary of a single quiz session.
+ * <p>
+ * Summaries are maintained by the storage backends whenever a session is
+ * saved, so lists and charts of recent sessions can be shown without loading
+ * the user answers of each session.
+ *
+ * @param sessionId     ID of the summarized session
+ * @param timestamp     time the session was started
+ * @param questionCount number of answered questions
+ * @param correctCount  number of correctly answered questions
+ *
+ * @author Christos Poulios
+ * @version 1.0
+ * @since 1.0
+ */
+public record SessionSummary(int sessionId, Date timestamp, int questionCount, int correctCount)
+		implements Serializable {
+
+	/**
+	 * Computes the summary of a session from its user answers, using the rules of
+	 * {@link QuizStatisticsSummary}.
+	 *
+	 * @param session the session to summarize
+	 * @return summary of the session
+	 */
+	public static SessionSummary of(QuizSessionDTO session) {
+		QuizStatisticsSummary statistics = QuizStatisticsSummary.of(session);
+		return new SessionSummary(session.getId(), session.getTimestamp(), statistics.answeredQuestions(),
+				statistics.correctQuestions());
+	}
+
+	/**
+	 * Returns the share of correctly answered questions.
+	 *
+	 * @return success rate in percent, 0 if no question was answered
+	 */
+	public double successRate() {
+		return questionCount > 0 ? (double) correctCount / questionCount * 100 : 0;
+	}
+}